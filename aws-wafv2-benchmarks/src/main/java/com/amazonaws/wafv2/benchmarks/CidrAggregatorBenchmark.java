@@ -0,0 +1,92 @@
+package com.amazonaws.wafv2.benchmarks;
+
+import com.amazonaws.wafv2.ipset.CidrAggregator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the aggregation of IP set addresses, one operation aggregating a whole list of addresses.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CidrAggregatorBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    private int size;
+
+    // IPV4_HOSTS: consecutive host routes in random order, collapsing into a handful of blocks
+    // IPV4_MIXED: random /16 to /32 blocks, one in four a duplicate or the sibling of another one
+    // IPV6_HOSTS: random /128 host routes, none of which can be collapsed
+    @Param({"IPV4_HOSTS", "IPV4_MIXED", "IPV6_HOSTS"})
+    private String addresses;
+
+    private List<String> input;
+
+    @Setup
+    public void setup() {
+        final Random random = new Random(size);
+        input = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            switch (addresses) {
+                case "IPV4_HOSTS":
+                    input.add(String.format("10.%d.%d.%d/32", i >> 16 & 0xff, i >> 8 & 0xff, i & 0xff));
+                    break;
+                case "IPV4_MIXED":
+                    if (i % 4 == 3) {
+                        input.add(sibling(input.get(random.nextInt(i))));
+                    } else {
+                        input.add(String.format("%d.%d.%d.%d/%d", random.nextInt(224), random.nextInt(256),
+                                random.nextInt(256), random.nextInt(256), 16 + random.nextInt(17)));
+                    }
+                    break;
+                case "IPV6_HOSTS":
+                    input.add(String.format("2001:db8:%x:%x:%x:%x:%x:%x/128", random.nextInt(0x10000),
+                            random.nextInt(0x10000), random.nextInt(0x10000), random.nextInt(0x10000),
+                            random.nextInt(0x10000), random.nextInt(0x10000)));
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown addresses " + addresses);
+            }
+        }
+        Collections.shuffle(input, random);
+    }
+
+    @Benchmark
+    public List<String> aggregate() {
+        return CidrAggregator.aggregate(input);
+    }
+
+    // the block with the same prefix length and the last prefix bit flipped, or the block itself for a /0
+    private static String sibling(final String block) {
+        final int slash = block.indexOf('/');
+        final int length = Integer.parseInt(block.substring(slash + 1));
+        long address = 0;
+        for (final String octet : block.substring(0, slash).split("\\.")) {
+            address = address << 8 | Integer.parseInt(octet);
+        }
+        if (length > 0) {
+            address ^= 1L << (32 - length);
+        }
+        return String.format("%d.%d.%d.%d/%d", address >> 24 & 0xff, address >> 16 & 0xff, address >> 8 & 0xff,
+                address & 0xff, length);
+    }
+}
@@ -0,0 +1,42 @@
+package com.amazonaws.wafv2.benchmarks;
+
+import com.amazonaws.wafv2.commons.Wafv2ClientRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.awssdk.core.client.config.ClientOverrideConfiguration;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.wafv2.Wafv2Client;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the per-handler cost of building a client, as handlers did before {@link Wafv2ClientRegistry}, with
+ * the cost of looking up the shared client.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ClientInitializationBenchmark {
+
+    private static final ClientOverrideConfiguration CONFIGURATION = ClientOverrideConfiguration.builder().build();
+
+    @Benchmark
+    public void buildClient() {
+        Wafv2ClientRegistry.newClient(Region.US_EAST_1, CONFIGURATION).close();
+    }
+
+    @Benchmark
+    public Wafv2Client lookUpSharedClient() {
+        return Wafv2ClientRegistry.getClient(Region.US_EAST_1, CONFIGURATION);
+    }
+}
@@ -0,0 +1,187 @@
+package com.amazonaws.wafv2.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Loads the JSON fixtures of the resource modules' test-data directories as benchmark input.
+ *
+ * Most fixtures hold a single statement type, e.g. an AndStatement. They are wrapped into a Statement, and every
+ * statement is also wrapped into a Rule, so one corpus drives both the statement and the rule converters.
+ */
+public final class Fixtures {
+
+    // system property pointing at the repository root, defaults to the working directory or its parent
+    public static final String ROOT_PROPERTY = "wafv2.benchmarks.root";
+
+    static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    // statement fixtures shared by the WebACL and RuleGroup modules, mapped to the Statement property they hold
+    private static final Map<String, String> COMMON_STATEMENT_FIXTURES;
+    // statement fixtures only the WebACL module has
+    private static final Map<String, String> WEBACL_STATEMENT_FIXTURES;
+
+    private static final List<String> RULE_FIXTURES = Collections.unmodifiableList(Arrays.asList(
+            "test-rule.json",
+            "test-rule-with-rule-labels.json"));
+
+    static {
+        final Map<String, String> common = new LinkedHashMap<>();
+        common.put("test-and-or-statement.json", "AndStatement");
+        common.put("test-and-or-statement-two-levels-nested.json", "OrStatement");
+        common.put("test-byte-match-statement.json", "ByteMatchStatement");
+        common.put("test-byte-match-statement-and-json-include.json", "ByteMatchStatement");
+        common.put("test-geo-match-statement-with-forwarded-ip-config.json", "GeoMatchStatement");
+        common.put("test-ip-set-reference-statement-with-forwarded-ip-config.json", "IPSetReferenceStatement");
+        common.put("test-label-match-statement.json", "LabelMatchStatement");
+        common.put("test-not-statement-two-levels-nested.json", "NotStatement");
+        common.put("test-rate-based-statement-two-levels-nested-with-forwarded-ip-config.json", "RateBasedStatement");
+        common.put("test-regex-pattern-reference-statement.json", "RegexPatternSetReferenceStatement");
+        common.put("test-size-constraint-statement.json", "SizeConstraintStatement");
+        common.put("test-sqli-match-statement.json", "SqliMatchStatement");
+        common.put("test-xss-match-statement.json", "XssMatchStatement");
+        // already statements
+        common.put("test-statement-three-levels-nested.json", null);
+        common.put("test-statement-five-levels-nested.json", null);
+        COMMON_STATEMENT_FIXTURES = Collections.unmodifiableMap(common);
+
+        final Map<String, String> webACL = new LinkedHashMap<>(common);
+        webACL.put("test-managed-rules-statement-with-scopedown-statements.json", "ManagedRuleGroupStatement");
+        webACL.put("test-rule-group-reference-statement.json", "RuleGroupReferenceStatement");
+        WEBACL_STATEMENT_FIXTURES = Collections.unmodifiableMap(webACL);
+    }
+
+    private Fixtures() {
+    }
+
+    /**
+     * Returns the statement fixtures of the WebACL module.
+     *
+     * @param <T>       the statement type parameter
+     * @param statement the Statement model class of the module
+     * @return the statements in fixture order
+     */
+    public static <T> List<T> webACLStatements(final Class<T> statement) {
+        return read(statements("aws-wafv2-webacl", WEBACL_STATEMENT_FIXTURES), statement);
+    }
+
+    /**
+     * Returns the statement fixtures of the WebACL module wrapped into rules, followed by its rule fixtures.
+     *
+     * @param <T>  the rule type parameter
+     * @param rule the Rule model class of the module
+     * @return the rules in fixture order
+     */
+    public static <T> List<T> webACLRules(final Class<T> rule) {
+        return read(rules("aws-wafv2-webacl", WEBACL_STATEMENT_FIXTURES), rule);
+    }
+
+    /**
+     * Returns the statement fixtures of the RuleGroup module.
+     *
+     * @param <T>       the statement type parameter
+     * @param statement the Statement model class of the module
+     * @return the statements in fixture order
+     */
+    public static <T> List<T> ruleGroupStatements(final Class<T> statement) {
+        return read(statements("aws-wafv2-rulegroup", COMMON_STATEMENT_FIXTURES), statement);
+    }
+
+    /**
+     * Returns the statement fixtures of the RuleGroup module wrapped into rules, followed by its rule fixtures.
+     *
+     * @param <T>  the rule type parameter
+     * @param rule the Rule model class of the module
+     * @return the rules in fixture order
+     */
+    public static <T> List<T> ruleGroupRules(final Class<T> rule) {
+        return read(rules("aws-wafv2-rulegroup", COMMON_STATEMENT_FIXTURES), rule);
+    }
+
+    /**
+     * Wraps a statement into a blocking rule.
+     *
+     * @param name      the rule and metric name
+     * @param priority  the rule priority
+     * @param statement the statement JSON
+     * @return the rule JSON
+     */
+    static ObjectNode rule(final String name, final int priority, final JsonNode statement) {
+        final ObjectNode rule = OBJECT_MAPPER.createObjectNode();
+        rule.put("Name", name);
+        rule.put("Priority", priority);
+        rule.set("Statement", statement);
+        rule.putObject("Action").putObject("Block");
+        rule.putObject("VisibilityConfig")
+                .put("SampledRequestsEnabled", true)
+                .put("CloudWatchMetricsEnabled", true)
+                .put("MetricName", name);
+        return rule;
+    }
+
+    static <T> List<T> read(final List<? extends JsonNode> nodes, final Class<T> clazz) {
+        return nodes.stream()
+                .map(node -> OBJECT_MAPPER.convertValue(node, clazz))
+                .collect(Collectors.toList());
+    }
+
+    private static List<JsonNode> statements(final String module, final Map<String, String> fixtures) {
+        final List<JsonNode> statements = new ArrayList<>();
+        fixtures.forEach((fixture, property) -> {
+            final JsonNode node = readTree(module, fixture);
+            if (property == null) {
+                statements.add(node);
+            } else {
+                final ObjectNode statement = OBJECT_MAPPER.createObjectNode();
+                statement.set(property, node);
+                statements.add(statement);
+            }
+        });
+        return statements;
+    }
+
+    private static List<JsonNode> rules(final String module, final Map<String, String> fixtures) {
+        final List<JsonNode> rules = new ArrayList<>();
+        final List<JsonNode> statements = statements(module, fixtures);
+        for (int i = 0; i < statements.size(); i++) {
+            rules.add(rule("fixture-" + i, i, statements.get(i)));
+        }
+        rules.addAll(RULE_FIXTURES.stream()
+                .map(fixture -> readTree(module, fixture))
+                .collect(Collectors.toList()));
+        return rules;
+    }
+
+    private static JsonNode readTree(final String module, final String fixture) {
+        final File file = new File(new File(root(), module), "test-data" + File.separator + fixture);
+        try {
+            return OBJECT_MAPPER.readTree(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read fixture " + file, e);
+        }
+    }
+
+    private static File root() {
+        final String root = System.getProperty(ROOT_PROPERTY);
+        if (root != null) {
+            return new File(root);
+        }
+        final File workingDirectory = new File(System.getProperty("user.dir")).getAbsoluteFile();
+        if (new File(workingDirectory, "aws-wafv2-webacl").isDirectory() || workingDirectory.getParentFile() == null) {
+            return workingDirectory;
+        }
+        return workingDirectory.getParentFile();
+    }
+}
@@ -0,0 +1,40 @@
+package com.amazonaws.wafv2.benchmarks;
+
+import com.amazonaws.wafv2.commons.ResourceSchema;
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares parsing the WebACL resource schema on every call, as Configuration did before {@link ResourceSchema},
+ * with looking up the shared parsed schema.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResourceSchemaBenchmark {
+
+    private static final String SCHEMA_FILENAME = "aws-wafv2-webacl.json";
+
+    @Benchmark
+    public JSONObject parseSchema() {
+        return new ResourceSchema(getClass().getClassLoader(), SCHEMA_FILENAME).getSchemaJSONObject();
+    }
+
+    @Benchmark
+    public JSONObject lookUpSharedSchema() {
+        return ResourceSchema.forResource(getClass().getClassLoader(), SCHEMA_FILENAME).getSchemaJSONObject();
+    }
+}
@@ -0,0 +1,112 @@
+package com.amazonaws.wafv2.benchmarks;
+
+import com.amazonaws.wafv2.webacl.AndStatement;
+import com.amazonaws.wafv2.webacl.IPSetReferenceStatement;
+import com.amazonaws.wafv2.webacl.NotStatement;
+import com.amazonaws.wafv2.webacl.Statement;
+import com.amazonaws.wafv2.webacl.converters.StatementConverter;
+import com.amazonaws.wafv2.webacl.converters.StatementTreeConverter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the generated recursive statement converter with the iterative {@link StatementTreeConverter} on
+ * wide and deep statement trees, one operation converting a whole tree.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StatementTreeBenchmark {
+
+    // wide: an AND statement of size leaves, deep: a chain of size NOT statements
+    @Param({"wide", "deep"})
+    private String shape;
+
+    // kept moderate so that the recursive converter does not overflow the stack
+    @Param({"10", "100", "1000"})
+    private int size;
+
+    private Statement statement;
+    private software.amazon.awssdk.services.wafv2.model.Statement sdkStatement;
+
+    @Setup
+    public void setup() {
+        switch (shape) {
+            case "wide":
+                statement = wideStatement(size);
+                break;
+            case "deep":
+                statement = deepStatement(size);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown shape " + shape);
+        }
+        sdkStatement = StatementTreeConverter.INSTANCE.convert(statement);
+    }
+
+    @Benchmark
+    public software.amazon.awssdk.services.wafv2.model.Statement convertGenerated() {
+        return StatementConverter.INSTANCE.convertStatement(statement);
+    }
+
+    @Benchmark
+    public software.amazon.awssdk.services.wafv2.model.Statement convertIterative() {
+        return StatementTreeConverter.INSTANCE.convert(statement);
+    }
+
+    @Benchmark
+    public Statement invertGenerated() {
+        return StatementConverter.INSTANCE.invertStatement(sdkStatement);
+    }
+
+    @Benchmark
+    public Statement invertIterative() {
+        return StatementTreeConverter.INSTANCE.invert(sdkStatement);
+    }
+
+    private static Statement wideStatement(final int size) {
+        final List<Statement> statements = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            statements.add(leafStatement(i));
+        }
+        final Statement statement = Statement.builder().build();
+        statement.setAndStatement(AndStatement.builder().build());
+        statement.getAndStatement().setStatements(statements);
+        return statement;
+    }
+
+    private static Statement deepStatement(final int size) {
+        Statement statement = leafStatement(0);
+        for (int i = 0; i < size; i++) {
+            final Statement parent = Statement.builder().build();
+            parent.setNotStatement(NotStatement.builder().build());
+            parent.getNotStatement().setStatement(statement);
+            statement = parent;
+        }
+        return statement;
+    }
+
+    private static Statement leafStatement(final int index) {
+        final Statement statement = Statement.builder().build();
+        statement.setIPSetReferenceStatement(IPSetReferenceStatement.builder().build());
+        statement.getIPSetReferenceStatement().setArn(
+                "arn:aws:wafv2:us-east-1:123456789012:regional/ipset/benchmark/" + index);
+        return statement;
+    }
+}
@@ -0,0 +1,62 @@
+package com.amazonaws.wafv2.benchmarks;
+
+import com.amazonaws.wafv2.webacl.Rule;
+import com.amazonaws.wafv2.webacl.converters.Converter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Measures the WebACL rule converters over generated WebACLs of increasing capacity, one operation converting
+ * all rules of a WebACL.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SyntheticWebACLBenchmark {
+
+    // web ACL capacity units used by the generated rules
+    @Param({"100", "500", "1000", "1500"})
+    private int capacity;
+
+    private List<Rule> rules;
+    private List<software.amazon.awssdk.services.wafv2.model.Rule> sdkRules;
+
+    @Setup
+    public void setup() {
+        rules = SyntheticWebACLs.rules(capacity, Rule.class);
+        sdkRules = rules.stream()
+                .map(Converter.INSTANCE::convert)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public void convertRules(final Blackhole blackhole) {
+        for (final Rule rule : rules) {
+            blackhole.consume(Converter.INSTANCE.convert(rule));
+        }
+    }
+
+    @Benchmark
+    public void invertRules(final Blackhole blackhole) {
+        for (final software.amazon.awssdk.services.wafv2.model.Rule rule : sdkRules) {
+            blackhole.consume(Converter.INSTANCE.invert(rule));
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.amazonaws.wafv2.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Generates WebACL rules adding up to a given number of web ACL capacity units (WCU).
+ *
+ * The rules cycle through statement templates of known cost, from cheap geo and IP set matches to XSS
+ * detection, until the target capacity is reached exactly. Costs follow the published WCU of each statement
+ * type, with 10 WCU per text transformation.
+ */
+public final class SyntheticWebACLs {
+
+    private static final String IP_SET_ARN =
+            "arn:aws:wafv2:us-east-1:123456789012:regional/ipset/synthetic-%d/8208f8fc-bf93-4607-9aed-81c497c9eae0";
+    private static final String REGEX_PATTERN_SET_ARN =
+            "arn:aws:wafv2:us-east-1:123456789012:regional/regexpatternset/synthetic-%d/"
+                    + "2c3c3e64-0b3a-4c4e-9d2f-6f8b0b5c4e1a";
+
+    private static final Template[] TEMPLATES = {
+            new Template(1, "{\"GeoMatchStatement\": {\"CountryCodes\": [\"US\", \"CA\"]}}"),
+            new Template(1, "{\"IPSetReferenceStatement\": {\"Arn\": \"" + IP_SET_ARN + "\"}}"),
+            new Template(1, "{\"SizeConstraintStatement\": {\"FieldToMatch\": {\"Body\": {}},"
+                    + " \"ComparisonOperator\": \"GT\", \"Size\": 8192,"
+                    + " \"TextTransformations\": [{\"Priority\": 0, \"Type\": \"NONE\"}]}}"),
+            new Template(12, "{\"ByteMatchStatement\": {\"SearchString\": \"/admin-%d\","
+                    + " \"FieldToMatch\": {\"UriPath\": {}}, \"PositionalConstraint\": \"EXACTLY\","
+                    + " \"TextTransformations\": [{\"Priority\": 0, \"Type\": \"LOWERCASE\"}]}}"),
+            new Template(30, "{\"SqliMatchStatement\": {\"FieldToMatch\": {\"QueryString\": {}},"
+                    + " \"TextTransformations\": [{\"Priority\": 0, \"Type\": \"URL_DECODE\"}]}}"),
+            new Template(50, "{\"XssMatchStatement\": {\"FieldToMatch\": {\"Body\": {}},"
+                    + " \"TextTransformations\": [{\"Priority\": 0, \"Type\": \"HTML_ENTITY_DECODE\"}]}}"),
+            new Template(3, "{\"RateBasedStatement\": {\"Limit\": 2000, \"AggregateKeyType\": \"IP\","
+                    + " \"ScopeDownStatement\": {\"GeoMatchStatement\": {\"CountryCodes\": [\"DE\"]}}}}"),
+            new Template(2, "{\"AndStatement\": {\"Statements\": ["
+                    + "{\"GeoMatchStatement\": {\"CountryCodes\": [\"FR\"]}},"
+                    + " {\"NotStatement\": {\"Statement\": {\"IPSetReferenceStatement\": {\"Arn\": \""
+                    + IP_SET_ARN + "\"}}}}]}}"),
+            new Template(25, "{\"RegexPatternSetReferenceStatement\": {\"Arn\": \"" + REGEX_PATTERN_SET_ARN + "\","
+                    + " \"FieldToMatch\": {\"SingleHeader\": {\"Name\": \"user-agent\"}},"
+                    + " \"TextTransformations\": [{\"Priority\": 0, \"Type\": \"NONE\"}]}}"),
+            new Template(3, "{\"OrStatement\": {\"Statements\": ["
+                    + "{\"ByteMatchStatement\": {\"SearchString\": \"debug-%d\","
+                    + " \"FieldToMatch\": {\"SingleQueryArgument\": {\"Name\": \"mode\"}},"
+                    + " \"PositionalConstraint\": \"STARTS_WITH\","
+                    + " \"TextTransformations\": [{\"Priority\": 0, \"Type\": \"NONE\"}]}},"
+                    + " {\"LabelMatchStatement\": {\"Scope\": \"LABEL\", \"Key\": \"synthetic:label-%d\"}}]}}")
+    };
+
+    private SyntheticWebACLs() {
+    }
+
+    /**
+     * Generates the rules of a WebACL using exactly the given capacity.
+     *
+     * @param <T>      the rule type parameter
+     * @param capacity the WCU the rules add up to, at least 1
+     * @param rule     the Rule model class of the module
+     * @return the rules in priority order
+     */
+    public static <T> List<T> rules(final int capacity, final Class<T> rule) {
+        return Fixtures.read(ruleNodes(capacity), rule);
+    }
+
+    static List<ObjectNode> ruleNodes(final int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be at least 1");
+        }
+        final List<ObjectNode> rules = new ArrayList<>();
+        int used = 0;
+        for (int i = 0; used < capacity; i++) {
+            final Template template = TEMPLATES[i % TEMPLATES.length];
+            // templates not fitting the remaining capacity are skipped, the 1 WCU templates always fit
+            if (used + template.capacity <= capacity) {
+                final int priority = rules.size();
+                rules.add(Fixtures.rule("synthetic-" + priority, priority, template.statement(priority)));
+                used += template.capacity;
+            }
+        }
+        return rules;
+    }
+
+    private static final class Template {
+        private final int capacity;
+        private final String statement;
+
+        private Template(final int capacity, final String statement) {
+            this.capacity = capacity;
+            this.statement = statement;
+        }
+
+        private JsonNode statement(final int index) {
+            try {
+                return Fixtures.OBJECT_MAPPER.readTree(statement.replace("%d", String.valueOf(index)));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
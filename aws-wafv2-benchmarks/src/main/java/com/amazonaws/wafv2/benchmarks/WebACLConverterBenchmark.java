@@ -0,0 +1,79 @@
+package com.amazonaws.wafv2.benchmarks;
+
+import com.amazonaws.wafv2.webacl.Rule;
+import com.amazonaws.wafv2.webacl.Statement;
+import com.amazonaws.wafv2.webacl.converters.Converter;
+import com.amazonaws.wafv2.webacl.converters.StatementConverter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Measures the WebACL converters over the aws-wafv2-webacl test-data fixtures, one operation converting the
+ * whole corpus.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WebACLConverterBenchmark {
+
+    private List<Statement> statements;
+    private List<software.amazon.awssdk.services.wafv2.model.Statement> sdkStatements;
+    private List<Rule> rules;
+    private List<software.amazon.awssdk.services.wafv2.model.Rule> sdkRules;
+
+    @Setup
+    public void setup() {
+        statements = Fixtures.webACLStatements(Statement.class);
+        sdkStatements = statements.stream()
+                .map(StatementConverter.INSTANCE::convertStatement)
+                .collect(Collectors.toList());
+        rules = Fixtures.webACLRules(Rule.class);
+        sdkRules = rules.stream()
+                .map(Converter.INSTANCE::convert)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public void convertStatements(final Blackhole blackhole) {
+        for (final Statement statement : statements) {
+            blackhole.consume(StatementConverter.INSTANCE.convertStatement(statement));
+        }
+    }
+
+    @Benchmark
+    public void invertStatements(final Blackhole blackhole) {
+        for (final software.amazon.awssdk.services.wafv2.model.Statement statement : sdkStatements) {
+            blackhole.consume(StatementConverter.INSTANCE.invertStatement(statement));
+        }
+    }
+
+    @Benchmark
+    public void convertRules(final Blackhole blackhole) {
+        for (final Rule rule : rules) {
+            blackhole.consume(Converter.INSTANCE.convert(rule));
+        }
+    }
+
+    @Benchmark
+    public void invertRules(final Blackhole blackhole) {
+        for (final software.amazon.awssdk.services.wafv2.model.Rule rule : sdkRules) {
+            blackhole.consume(Converter.INSTANCE.invert(rule));
+        }
+    }
+}
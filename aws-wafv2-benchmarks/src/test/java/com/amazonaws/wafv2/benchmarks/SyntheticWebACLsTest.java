@@ -0,0 +1,62 @@
+package com.amazonaws.wafv2.benchmarks;
+
+import com.amazonaws.wafv2.webacl.Rule;
+import com.amazonaws.wafv2.webacl.converters.Converter;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class SyntheticWebACLsTest {
+
+    @Test
+    public void testRulesGrowWithCapacity() {
+        final List<ObjectNode> small = SyntheticWebACLs.ruleNodes(100);
+        final List<ObjectNode> large = SyntheticWebACLs.ruleNodes(1500);
+
+        Assert.assertTrue(large.size() > small.size());
+        // the generator is deterministic, a larger WebACL starts with the rules of a smaller one
+        Assert.assertEquals(small.get(0), large.get(0));
+        Assert.assertEquals(large.size(), large.stream()
+                .map(rule -> rule.get("Priority").asInt())
+                .distinct()
+                .count());
+    }
+
+    @Test
+    public void testSingleUnitCapacity() {
+        final List<ObjectNode> rules = SyntheticWebACLs.ruleNodes(1);
+
+        Assert.assertEquals(1, rules.size());
+        Assert.assertTrue(rules.get(0).get("Statement").has("GeoMatchStatement"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidCapacity() {
+        SyntheticWebACLs.ruleNodes(0);
+    }
+
+    @Test
+    public void testRulesConvert() {
+        final List<Rule> rules = SyntheticWebACLs.rules(500, Rule.class);
+
+        final List<software.amazon.awssdk.services.wafv2.model.Rule> sdkRules = rules.stream()
+                .map(Converter.INSTANCE::convert)
+                .collect(Collectors.toList());
+        Assert.assertEquals(rules.size(), sdkRules.size());
+        Assert.assertTrue(sdkRules.stream().allMatch(rule -> rule.statement() != null));
+    }
+
+    @Test
+    public void testFixturesConvert() {
+        final List<Rule> rules = Fixtures.webACLRules(Rule.class);
+
+        Assert.assertFalse(rules.isEmpty());
+        Assert.assertTrue(rules.stream()
+                .map(Converter.INSTANCE::convert)
+                .allMatch(rule -> rule.statement() != null));
+        Assert.assertFalse(Fixtures.ruleGroupStatements(com.amazonaws.wafv2.rulegroup.Statement.class).isEmpty());
+    }
+}
@@ -0,0 +1,251 @@
+package com.amazonaws.wafv2.commons;
+
+import software.amazon.awssdk.services.wafv2.model.AndStatement;
+import software.amazon.awssdk.services.wafv2.model.ManagedRuleGroupStatement;
+import software.amazon.awssdk.services.wafv2.model.NotStatement;
+import software.amazon.awssdk.services.wafv2.model.OrStatement;
+import software.amazon.awssdk.services.wafv2.model.RateBasedStatement;
+import software.amazon.awssdk.services.wafv2.model.Statement;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Converts statement trees between a resource model and the SDK without recursion.
+ *
+ * The statement models are generated per resource, so a resource only provides the accessors of its model and
+ * the conversion of single statements without their nested statements. Walking the tree and assembling the And,
+ * Or, Not and scope down statements of both sides is shared here.
+ *
+ * @param <M> the statement type of the resource model
+ */
+public abstract class BaseStatementTreeConverter<M> {
+
+    private final StatementTreeWalker<M, Statement> converter = new ModelStatementWalker();
+    private final StatementTreeWalker<Statement, M> inverter = new SdkStatementWalker();
+
+    /**
+     * Converts a resource model statement tree to the SDK.
+     *
+     * @param source the statement, may be null
+     * @return the SDK statement, null if the source is null
+     */
+    public final Statement convert(final M source) {
+        return converter.walk(source);
+    }
+
+    /**
+     * Converts an SDK statement tree to the resource model.
+     *
+     * @param source the SDK statement, may be null
+     * @return the resource model statement, null if the source is null
+     */
+    public final M invert(final Statement source) {
+        return inverter.walk(source);
+    }
+
+    /**
+     * @return the statements of the And statement, null if there is no And statement and empty if it has none
+     */
+    protected abstract List<M> andStatements(M statement);
+
+    /**
+     * @return the statements of the Or statement, null if there is no Or statement and empty if it has none
+     */
+    protected abstract List<M> orStatements(M statement);
+
+    /**
+     * @return whether the statement has a Not statement
+     */
+    protected abstract boolean hasNotStatement(M statement);
+
+    /**
+     * @return the statement of the Not statement, null if there is none
+     */
+    protected abstract M notStatement(M statement);
+
+    /**
+     * @return the scope down statement of the RateBased statement, null if there is none
+     */
+    protected abstract M rateBasedScopeDownStatement(M statement);
+
+    /**
+     * @return the scope down statement of the ManagedRuleGroup statement, null if there is none or the model has
+     * no ManagedRuleGroup statement
+     */
+    protected M managedRuleGroupScopeDownStatement(final M statement) {
+        return null;
+    }
+
+    /**
+     * Converts a statement without its nested statements: And, Or and Not statements are left out, RateBased and
+     * ManagedRuleGroup statements are converted without their scope down statement.
+     */
+    protected abstract Statement convertWithoutNested(M statement);
+
+    /**
+     * Converts an SDK statement without its nested statements: And, Or and Not statements are left out, RateBased
+     * and ManagedRuleGroup statements are converted without their scope down statement, see
+     * {@link #withoutScopeDownStatement(RateBasedStatement)}.
+     */
+    protected abstract M invertWithoutNested(Statement statement);
+
+    protected abstract void setAndStatements(M statement, List<M> statements);
+
+    protected abstract void setOrStatements(M statement, List<M> statements);
+
+    /**
+     * Sets a Not statement, the nested statement may be null.
+     */
+    protected abstract void setNotStatement(M statement, M notStatement);
+
+    /**
+     * Sets the scope down statement of the RateBased statement created by {@link #invertWithoutNested}.
+     */
+    protected abstract void setRateBasedScopeDownStatement(M statement, M scopeDownStatement);
+
+    /**
+     * Sets the scope down statement of the ManagedRuleGroup statement created by {@link #invertWithoutNested},
+     * ignored by default for models without ManagedRuleGroup statements.
+     */
+    protected void setManagedRuleGroupScopeDownStatement(final M statement, final M scopeDownStatement) {
+    }
+
+    protected static RateBasedStatement withoutScopeDownStatement(final RateBasedStatement statement) {
+        return statement.scopeDownStatement() == null
+                ? statement
+                : statement.toBuilder().scopeDownStatement(null).build();
+    }
+
+    protected static ManagedRuleGroupStatement withoutScopeDownStatement(final ManagedRuleGroupStatement statement) {
+        return statement.scopeDownStatement() == null
+                ? statement
+                : statement.toBuilder().scopeDownStatement(null).build();
+    }
+
+    private final class ModelStatementWalker extends StatementTreeWalker<M, Statement> {
+
+        @Override
+        protected void nested(final M statement, final List<M> nested) {
+            final List<M> andStatements = andStatements(statement);
+            if (andStatements != null) {
+                nested.addAll(andStatements);
+            }
+            final List<M> orStatements = orStatements(statement);
+            if (orStatements != null) {
+                nested.addAll(orStatements);
+            }
+            final M notStatement = notStatement(statement);
+            if (notStatement != null) {
+                nested.add(notStatement);
+            }
+            final M rateBasedScopeDownStatement = rateBasedScopeDownStatement(statement);
+            if (rateBasedScopeDownStatement != null) {
+                nested.add(rateBasedScopeDownStatement);
+            }
+            final M managedRuleGroupScopeDownStatement = managedRuleGroupScopeDownStatement(statement);
+            if (managedRuleGroupScopeDownStatement != null) {
+                nested.add(managedRuleGroupScopeDownStatement);
+            }
+        }
+
+        @Override
+        protected Statement convert(final M statement, final List<Statement> converted) {
+            final Statement result = convertWithoutNested(statement);
+            final List<M> andStatements = andStatements(statement);
+            final List<M> orStatements = orStatements(statement);
+            final boolean hasNotStatement = hasNotStatement(statement);
+            if (converted.isEmpty() && andStatements == null && orStatements == null && !hasNotStatement) {
+                // leaf statement, nothing to add
+                return result;
+            }
+
+            // nested conversions are consumed in the order nested() added them
+            int next = 0;
+            final Statement.Builder builder = result.toBuilder();
+            if (andStatements != null) {
+                // the SDK builder copies the list
+                builder.andStatement(AndStatement.builder()
+                        .statements(converted.subList(next, next + andStatements.size()))
+                        .build());
+                next += andStatements.size();
+            }
+            if (orStatements != null) {
+                builder.orStatement(OrStatement.builder()
+                        .statements(converted.subList(next, next + orStatements.size()))
+                        .build());
+                next += orStatements.size();
+            }
+            if (hasNotStatement) {
+                builder.notStatement(NotStatement.builder()
+                        .statement(notStatement(statement) == null ? null : converted.get(next++))
+                        .build());
+            }
+            if (rateBasedScopeDownStatement(statement) != null) {
+                builder.rateBasedStatement(result.rateBasedStatement().toBuilder()
+                        .scopeDownStatement(converted.get(next++))
+                        .build());
+            }
+            if (managedRuleGroupScopeDownStatement(statement) != null) {
+                builder.managedRuleGroupStatement(result.managedRuleGroupStatement().toBuilder()
+                        .scopeDownStatement(converted.get(next++))
+                        .build());
+            }
+            return builder.build();
+        }
+    }
+
+    private final class SdkStatementWalker extends StatementTreeWalker<Statement, M> {
+
+        @Override
+        protected void nested(final Statement statement, final List<Statement> nested) {
+            if (statement.andStatement() != null) {
+                nested.addAll(statement.andStatement().statements());
+            }
+            if (statement.orStatement() != null) {
+                nested.addAll(statement.orStatement().statements());
+            }
+            if (statement.notStatement() != null && statement.notStatement().statement() != null) {
+                nested.add(statement.notStatement().statement());
+            }
+            if (statement.rateBasedStatement() != null
+                    && statement.rateBasedStatement().scopeDownStatement() != null) {
+                nested.add(statement.rateBasedStatement().scopeDownStatement());
+            }
+            if (statement.managedRuleGroupStatement() != null
+                    && statement.managedRuleGroupStatement().scopeDownStatement() != null) {
+                nested.add(statement.managedRuleGroupStatement().scopeDownStatement());
+            }
+        }
+
+        @Override
+        protected M convert(final Statement statement, final List<M> converted) {
+            final M result = invertWithoutNested(statement);
+
+            // nested conversions are consumed in the order nested() added them
+            int next = 0;
+            if (statement.andStatement() != null) {
+                final int size = statement.andStatement().statements().size();
+                setAndStatements(result, new ArrayList<>(converted.subList(next, next + size)));
+                next += size;
+            }
+            if (statement.orStatement() != null) {
+                final int size = statement.orStatement().statements().size();
+                setOrStatements(result, new ArrayList<>(converted.subList(next, next + size)));
+                next += size;
+            }
+            if (statement.notStatement() != null) {
+                setNotStatement(result, statement.notStatement().statement() == null ? null : converted.get(next++));
+            }
+            if (statement.rateBasedStatement() != null
+                    && statement.rateBasedStatement().scopeDownStatement() != null) {
+                setRateBasedScopeDownStatement(result, converted.get(next++));
+            }
+            if (statement.managedRuleGroupStatement() != null
+                    && statement.managedRuleGroupStatement().scopeDownStatement() != null) {
+                setManagedRuleGroupScopeDownStatement(result, converted.get(next++));
+            }
+            return result;
+        }
+    }
+}
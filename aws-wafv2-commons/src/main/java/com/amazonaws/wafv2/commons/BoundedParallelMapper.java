@@ -0,0 +1,71 @@
+package com.amazonaws.wafv2.commons;
+
+import lombok.NonNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Maps items concurrently while keeping at most a fixed number of calls in flight, so fan-outs stay within
+ * the request rate the service allows.
+ */
+public final class BoundedParallelMapper {
+
+    private BoundedParallelMapper() {
+    }
+
+    /**
+     * Applies a function to every item, preserving the order of the items in the result.
+     *
+     * @param <T>            the item type parameter
+     * @param <R>            the result type parameter
+     * @param items          the items to map, not null
+     * @param function       the function to apply, not null
+     * @param maxConcurrency the maximum number of items mapped at the same time, at least 1
+     * @param executor       the executor running the calls, not null
+     * @return the results in item order, not null
+     */
+    public static <T, R> List<R> map(@NonNull final List<T> items,
+                                     @NonNull final Function<T, R> function,
+                                     final int maxConcurrency,
+                                     @NonNull final Executor executor) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("maxConcurrency must be at least 1");
+        }
+        final Object[] results = new Object[items.size()];
+        final AtomicInteger nextIndex = new AtomicInteger();
+        final int workerCount = Math.min(maxConcurrency, items.size());
+        final List<CompletableFuture<Void>> workers = new ArrayList<>(workerCount);
+        for (int worker = 0; worker < workerCount; worker++) {
+            workers.add(CompletableFuture.runAsync(() -> {
+                int index;
+                while ((index = nextIndex.getAndIncrement()) < items.size()) {
+                    try {
+                        results[index] = function.apply(items.get(index));
+                    } catch (RuntimeException e) {
+                        // stop handing out items to the other workers
+                        nextIndex.set(items.size());
+                        throw e;
+                    }
+                }
+            }, executor));
+        }
+        try {
+            CompletableFuture.allOf(workers.toArray(new CompletableFuture[0])).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+        @SuppressWarnings("unchecked")
+        final List<R> mapped = (List<R>) new ArrayList<>(Arrays.asList(results));
+        return mapped;
+    }
+}
@@ -1,8 +1,72 @@
 package com.amazonaws.wafv2.commons;
 
 public final class CommonVariables {
-    public final static int CALLBACK_DELAY_SECONDS = 10;
+    // first callback delay while waiting for an entity to become available, doubled on every attempt
+    public final static int STABILIZATION_INITIAL_DELAY_SECONDS = 1;
 
-    // number of retry = 25 min * 60 secPerMin / CALLBACK_DELAY_SECONDS
-    public final static int NUMBER_OF_STATE_POLL_RETRIES = 25 * 60 / CALLBACK_DELAY_SECONDS;
+    public final static int STABILIZATION_MAX_DELAY_SECONDS = 20;
+
+    // overall wall-clock budget for stabilization = 25 min
+    public final static long STABILIZATION_TIMEOUT_MILLIS = 25 * 60 * 1000L;
+
+    // time a handler invocation is given before it is cut off
+    public final static long HANDLER_INVOCATION_TIMEOUT_MILLIS = 60 * 1000L;
+
+    // longest in-process wait for an unavailable entity before returning IN_PROGRESS
+    public final static long IN_PROCESS_POLL_MAX_MILLIS = 5 * 1000L;
+
+    public final static long IN_PROCESS_POLL_INITIAL_INTERVAL_MILLIS = 250L;
+
+    public final static long IN_PROCESS_POLL_MAX_INTERVAL_MILLIS = 1000L;
+
+    // invocation time kept free after polling for the remaining calls of the handler
+    public final static long IN_PROCESS_POLL_RESERVED_MILLIS = 15 * 1000L;
+
+    // largest page size accepted by ListTagsForResource
+    public final static int LIST_TAGS_PAGE_LIMIT = 100;
+
+    // largest page size accepted by the WAF List APIs
+    public final static int LIST_PAGE_LIMIT = 100;
+
+    // set to true to return full models from List handlers supporting it, at the cost of one Read per item
+    public final static String LIST_HYDRATED_ENVIRONMENT_VARIABLE = "WAFV2_LIST_HYDRATED";
+
+    // maximum number of Reads in flight while hydrating a List page
+    public final static int LIST_HYDRATION_MAX_CONCURRENCY = 8;
+
+    // entities whose converted model is kept by the Read handlers of a container
+    public final static int READ_CACHE_MAX_ENTRIES = 16;
+
+    // set to true to return the desired state from Create and Update handlers instead of reading the entity back,
+    // fetching only the server-computed fields that cannot be derived from it
+    public final static String MODEL_FROM_WRITE_RESPONSE_ENVIRONMENT_VARIABLE = "WAFV2_MODEL_FROM_WRITE_RESPONSE";
+
+    // calls per second a container makes to the WAF read APIs of a region before any throttling is observed,
+    // halved on every throttled call down to the minimum
+    public final static double READ_MAX_CALLS_PER_SECOND = 10;
+
+    public final static double READ_MIN_CALLS_PER_SECOND = 1;
+
+    public final static double READ_BURST_CALLS = 10;
+
+    // same for the WAF write APIs, which are throttled at a lower rate
+    public final static double WRITE_MAX_CALLS_PER_SECOND = 4;
+
+    public final static double WRITE_MIN_CALLS_PER_SECOND = 0.5;
+
+    public final static double WRITE_BURST_CALLS = 4;
+
+    // calls per second regained by a rate limiter with every call that is not throttled
+    public final static double RATE_INCREASE_PER_SUCCESS = 0.1;
+
+    // CloudWatch namespace of the metrics logged by the handlers in Embedded Metric Format, a custom one since
+    // CloudWatch reserves the namespaces starting with AWS/ to AWS services
+    public final static String METRICS_NAMESPACE = "WAFv2/ResourceProviders";
+
+    // rules whose SDK conversion is kept by the Create and Update handlers of a container
+    public final static int CONVERTED_RULE_CACHE_MAX_ENTRIES = 1000;
+
+    // set to true to collapse the duplicate, contained and adjacent CIDR blocks of IP sets before writing them,
+    // IP sets then read back the aggregated blocks instead of the desired ones
+    public final static String AGGREGATE_IPSET_ADDRESSES_ENVIRONMENT_VARIABLE = "WAFV2_AGGREGATE_IPSET_ADDRESSES";
 }
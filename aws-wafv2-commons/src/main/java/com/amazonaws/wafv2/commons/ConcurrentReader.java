@@ -0,0 +1,79 @@
+package com.amazonaws.wafv2.commons;
+
+import lombok.NonNull;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Reads an entity and its tags, listing the tags while the entity is fetched and converted.
+ *
+ * ListTagsForResource only needs the entity ARN, so when the ARN is already known from the model the tags are
+ * listed on the executor while the Get and the conversion of the entity run on the calling thread, and a Read
+ * takes about as long as the slower of the two instead of their sum. When the ARN is not known up front, or turns
+ * out to differ from the ARN returned by the Get, the tags are listed after the Get.
+ */
+public final class ConcurrentReader {
+
+    private ConcurrentReader() {
+    }
+
+    /**
+     * Reads an entity and its tags.
+     *
+     * @param <G>      the Get response type parameter
+     * @param <T>      the tag type parameter
+     * @param <R>      the result type parameter
+     * @param get      fetches the entity, not null
+     * @param arnOf    returns the entity ARN from the Get response, not null
+     * @param knownArn the entity ARN if already known, null otherwise
+     * @param listTags lists the tags of an ARN, not null
+     * @param build    builds the result from the Get response and the tags, not null; the tags supplier blocks
+     *                 until the tags are listed, so conversions done before calling it overlap with the listing
+     * @param executor the executor listing the tags, not null
+     * @return the result of build
+     */
+    public static <G, T, R> R read(@NonNull final Supplier<G> get,
+                                   @NonNull final Function<G, String> arnOf,
+                                   final String knownArn,
+                                   @NonNull final Function<String, List<T>> listTags,
+                                   @NonNull final BiFunction<G, Supplier<List<T>>, R> build,
+                                   @NonNull final Executor executor) {
+        final CompletableFuture<List<T>> prefetchedTags = knownArn == null
+                ? null
+                : CompletableFuture.supplyAsync(() -> listTags.apply(knownArn), executor);
+        final G response;
+        try {
+            response = get.get();
+        } catch (RuntimeException e) {
+            if (prefetchedTags != null) {
+                prefetchedTags.cancel(false);
+            }
+            throw e;
+        }
+        final String arn = arnOf.apply(response);
+        if (prefetchedTags == null || !arn.equals(knownArn)) {
+            if (prefetchedTags != null) {
+                prefetchedTags.cancel(false);
+            }
+            return build.apply(response, () -> listTags.apply(arn));
+        }
+        return build.apply(response, () -> join(prefetchedTags));
+    }
+
+    private static <T> T join(final CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.amazonaws.wafv2.commons;
+
+import lombok.NonNull;
+import lombok.Value;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Bounded LRU cache of conversions keyed by the {@link StructuralHash} of their source.
+ *
+ * Large WebACLs are updated by replacing all of their rules while only a few of them change, so the conversions of
+ * the unchanged rules are reused from the previous update. A cached conversion is only reused when its source is
+ * equal to the converted one, a hash collision costs a conversion. Targets are shared between callers and must be
+ * immutable, as SDK models are. Instances are thread-safe.
+ *
+ * @param <S> the source type parameter
+ * @param <T> the target type parameter
+ */
+public class ConversionCache<S, T> {
+
+    private final Map<Long, Entry<S, T>> entries;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * @param maxEntries the maximum number of cached conversions, the least recently used one is evicted beyond it
+     */
+    public ConversionCache(final int maxEntries) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("maxEntries must be positive");
+        }
+        this.entries = new LinkedHashMap<Long, Entry<S, T>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<Long, Entry<S, T>> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Returns the conversion of a source, converting it only if it was not converted before.
+     *
+     * @param source    the source, not null
+     * @param converter converts the source, not null
+     * @return the conversion
+     */
+    public T convert(@NonNull final S source, @NonNull final Function<S, T> converter) {
+        final long hash = StructuralHash.of(source);
+        final Entry<S, T> entry;
+        synchronized (entries) {
+            entry = entries.get(hash);
+        }
+        if (entry != null && entry.getSource().equals(source)) {
+            hits.incrementAndGet();
+            return entry.getTarget();
+        }
+        misses.incrementAndGet();
+        final T target = converter.apply(source);
+        if (target != null) {
+            synchronized (entries) {
+                entries.put(hash, new Entry<>(source, target));
+            }
+        }
+        return target;
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ConversionCache(size=%d, hits=%d, misses=%d)", size(), getHits(), getMisses());
+    }
+
+    @Value
+    private static class Entry<S, T> {
+        S source;
+        T target;
+    }
+}
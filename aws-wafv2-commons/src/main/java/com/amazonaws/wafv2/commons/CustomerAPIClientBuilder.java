@@ -7,7 +7,6 @@ import software.amazon.awssdk.core.retry.backoff.BackoffStrategy;
 import software.amazon.awssdk.core.retry.backoff.EqualJitterBackoffStrategy;
 import software.amazon.awssdk.core.retry.conditions.RetryCondition;
 import software.amazon.awssdk.services.wafv2.Wafv2Client;
-import software.amazon.cloudformation.LambdaWrapper;
 
 import java.time.Duration;
 
@@ -26,15 +25,22 @@ public class CustomerAPIClientBuilder {
                     .throttlingBackoffStrategy(BACKOFF_THROTTLING_STRATEGY)
                     .build();
 
+    private static final ClientOverrideConfiguration CLIENT_OVERRIDE_CONFIGURATION =
+            ClientOverrideConfiguration.builder()
+                    .retryPolicy(RETRY_POLICY)
+                    .addExecutionInterceptor(new MetricsInterceptor())
+                    .addExecutionInterceptor(new RateLimitingInterceptor())
+                    .build();
+
     private CustomerAPIClientBuilder() {
     }
 
+    /**
+     * Returns the container-wide client shared by all handlers.
+     *
+     * @return the shared client, not null
+     */
     public static Wafv2Client getClient() {
-        return Wafv2Client.builder()
-                .overrideConfiguration(ClientOverrideConfiguration.builder()
-                        .retryPolicy(RETRY_POLICY)
-                        .build())
-                .httpClient(LambdaWrapper.HTTP_CLIENT)
-                .build();
+        return Wafv2ClientRegistry.getClient(null, CLIENT_OVERRIDE_CONFIGURATION);
     }
 }
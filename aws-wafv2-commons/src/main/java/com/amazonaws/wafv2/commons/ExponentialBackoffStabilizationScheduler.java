@@ -0,0 +1,68 @@
+package com.amazonaws.wafv2.commons;
+
+import lombok.Builder;
+import lombok.NonNull;
+
+import java.util.OptionalInt;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.IntBinaryOperator;
+import java.util.function.LongSupplier;
+
+/**
+ * Stabilization scheduler with short initial delays that grow exponentially, bounded by a wall-clock budget.
+ *
+ * Delays use full jitter between the initial delay and the exponential ceiling, so resources that become
+ * unavailable at the same time, such as the associations of a large stack, do not retry in lockstep.
+ */
+@Builder
+public class ExponentialBackoffStabilizationScheduler implements StabilizationScheduler {
+
+    public static final ExponentialBackoffStabilizationScheduler DEFAULT =
+            ExponentialBackoffStabilizationScheduler.builder().build();
+
+    @Builder.Default
+    private final int initialDelaySeconds = CommonVariables.STABILIZATION_INITIAL_DELAY_SECONDS;
+
+    @Builder.Default
+    private final int maxDelaySeconds = CommonVariables.STABILIZATION_MAX_DELAY_SECONDS;
+
+    @Builder.Default
+    private final long timeoutMillis = CommonVariables.STABILIZATION_TIMEOUT_MILLIS;
+
+    @NonNull
+    @Builder.Default
+    private final LongSupplier clock = System::currentTimeMillis;
+
+    /**
+     * Picks a delay between its two inclusive bounds.
+     */
+    @NonNull
+    @Builder.Default
+    private final IntBinaryOperator jitter = (min, max) -> ThreadLocalRandom.current().nextInt(min, max + 1);
+
+    @Override
+    public long currentTimeMillis() {
+        return clock.getAsLong();
+    }
+
+    @Override
+    public boolean isExhausted(@NonNull final StabilizationState state) {
+        return elapsedMillis(state) >= timeoutMillis;
+    }
+
+    @Override
+    public OptionalInt nextCallbackDelaySeconds(@NonNull final StabilizationState state) {
+        final int attempt = state.getStabilizationAttempts() + 1;
+        final long ceiling = Math.min(maxDelaySeconds,
+                (long) initialDelaySeconds << Math.min(attempt - 1, Integer.SIZE - 2));
+        final int delaySeconds = jitter.applyAsInt(initialDelaySeconds, (int) Math.max(ceiling, initialDelaySeconds));
+        if (elapsedMillis(state) + delaySeconds * 1000L > timeoutMillis) {
+            return OptionalInt.empty();
+        }
+        return OptionalInt.of(delaySeconds);
+    }
+
+    private long elapsedMillis(final StabilizationState state) {
+        return clock.getAsLong() - state.getStabilizationStartTimeMillis();
+    }
+}
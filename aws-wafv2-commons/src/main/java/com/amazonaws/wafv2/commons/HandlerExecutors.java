@@ -0,0 +1,45 @@
+package com.amazonaws.wafv2.commons;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Holds the executor used by handlers for concurrent service calls, shared across invocations of the container.
+ *
+ * Threads are daemon threads so that pending work never keeps a container from freezing or shutting down.
+ */
+public final class HandlerExecutors {
+
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+    // a cached thread pool whose tasks run in the HandlerMetrics invocation submitting them
+    private static final ExecutorService SHARED = new ThreadPoolExecutor(0, Integer.MAX_VALUE,
+            60L, TimeUnit.SECONDS, new SynchronousQueue<>(), daemonThreadFactory()) {
+        @Override
+        public void execute(final Runnable command) {
+            super.execute(HandlerMetrics.propagate(command));
+        }
+    };
+
+    private HandlerExecutors() {
+    }
+
+    /**
+     * @return the executor shared by all handlers of the container, not null
+     */
+    public static ExecutorService shared() {
+        return SHARED;
+    }
+
+    private static ThreadFactory daemonThreadFactory() {
+        return runnable -> {
+            final Thread thread = new Thread(runnable, "wafv2-handler-" + THREAD_COUNT.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -2,8 +2,6 @@ package com.amazonaws.wafv2.commons;
 
 import lombok.NonNull;
 import software.amazon.awssdk.services.wafv2.Wafv2Client;
-import software.amazon.awssdk.services.wafv2.model.ListTagsForResourceRequest;
-import software.amazon.awssdk.services.wafv2.model.ListTagsForResourceResponse;
 import software.amazon.awssdk.services.wafv2.model.Tag;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
@@ -37,7 +35,35 @@ public class HandlerHelper {
     }
 
     /**
-     * Returns the list of converted tags for a given resourceARN.
+     * Builds the ARN of an entity from its identifiers and the partition, account and region of the request, such as
+     * arn:aws:wafv2:us-east-1:123456789012:regional/webacl/name/id. CLOUDFRONT entities are global and live in
+     * us-east-1.
+     *
+     * @param <T>          the resource model type parameter
+     * @param request      the resource handler request, not null
+     * @param resourceType the resource type in the ARN, such as webacl or ipset, not null
+     * @param scope        the entity scope
+     * @param name         the entity name
+     * @param id           the entity id
+     * @return the ARN, null if the request or the identifiers are incomplete
+     */
+    public static <T> String buildArn(@NonNull final ResourceHandlerRequest<T> request,
+                                      @NonNull final String resourceType,
+                                      final String scope,
+                                      final String name,
+                                      final String id) {
+        if (request.getAwsPartition() == null || request.getAwsAccountId() == null || request.getRegion() == null
+                || scope == null || name == null || id == null) {
+            return null;
+        }
+        final boolean global = ScopedPageLister.SCOPE_CLOUDFRONT.equals(scope);
+        return String.format("arn:%s:wafv2:%s:%s:%s/%s/%s/%s", request.getAwsPartition(),
+                global ? ScopedPageLister.CLOUDFRONT_REGION : request.getRegion(), request.getAwsAccountId(),
+                global ? "global" : "regional", resourceType, name, id);
+    }
+
+    /**
+     * Returns the list of converted tags for a given resourceARN, following pagination until all tags are read.
      *
      * @param <T>             the Tag type parameter
      * @param proxy           the AWSClient proxy, not null
@@ -50,13 +76,29 @@ public class HandlerHelper {
                                                @NonNull final Wafv2Client client,
                                                @NonNull final String resourceARN,
                                                @NonNull final Function<Tag, T> convertFunction) {
-        ListTagsForResourceRequest request = ListTagsForResourceRequest.builder()
-                .resourceARN(resourceARN)
-                .build();
-        ListTagsForResourceResponse response = proxy.injectCredentialsAndInvokeV2(
-                        request, client::listTagsForResource);
-        List<Tag> tags = response.tagInfoForResource().tagList();
-        return tags.stream()
+        return getConvertedTags(proxy, client, resourceARN, convertFunction,
+                CommonVariables.LIST_TAGS_PAGE_LIMIT, false);
+    }
+
+    /**
+     * Returns the list of converted tags for a given resourceARN, following pagination until all tags are read.
+     *
+     * @param <T>             the Tag type parameter
+     * @param proxy           the AWSClient proxy, not null
+     * @param client          the client, not null
+     * @param resourceARN     the resource ARN, not null
+     * @param convertFunction the convert function to convert from {@link Tag} to T
+     * @param limit           the maximum number of tags per ListTagsForResource page
+     * @param prefetch        whether the next page is fetched while the current one is converted
+     * @return the list of tags for the resourceARN, will not be null
+     */
+    public static <T> List<T> getConvertedTags(@NonNull final AmazonWebServicesClientProxy proxy,
+                                               @NonNull final Wafv2Client client,
+                                               @NonNull final String resourceARN,
+                                               @NonNull final Function<Tag, T> convertFunction,
+                                               final int limit,
+                                               final boolean prefetch) {
+        return TagPageIterator.streamTags(proxy, client, resourceARN, limit, prefetch)
                 .map(convertFunction)
                 .collect(Collectors.toList());
     }
@@ -0,0 +1,242 @@
+package com.amazonaws.wafv2.commons;
+
+import lombok.NonNull;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import software.amazon.cloudformation.proxy.Logger;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Latency, retry and throttle metrics of a handler invocation, logged as one CloudWatch Embedded Metric Format line.
+ *
+ * WAF calls are recorded by {@link MetricsInterceptor}, handler phases such as conversions by
+ * {@link #time(String, Supplier)} and handler counts by {@link #count(String, long)}, all aggregated by name into the
+ * invocation running on the current thread. The invocation is propagated to the tasks of
+ * {@link HandlerExecutors#shared()}, and handlers invoked by another handler record into the invocation of the outer
+ * handler. Outside of an invocation nothing is recorded.
+ *
+ * The invocation also carries the account of its request, so that {@link RateLimitingInterceptor} limits the calls
+ * of every account separately on the shared client.
+ */
+public final class HandlerMetrics {
+
+    private static final ThreadLocal<HandlerMetrics> CURRENT = new ThreadLocal<>();
+
+    private static final String MILLISECONDS = "Milliseconds";
+    private static final String COUNT = "Count";
+
+    private final String resourceType;
+    private final String action;
+    private final String accountId;
+    private final Map<String, Stat> calls = new LinkedHashMap<>();
+    private final Map<String, Stat> phases = new LinkedHashMap<>();
+    private final Map<String, Long> counts = new LinkedHashMap<>();
+
+    private HandlerMetrics(final String resourceType, final String action, final String accountId) {
+        this.resourceType = resourceType;
+        this.action = action;
+        this.accountId = accountId;
+    }
+
+    /**
+     * Runs a handler invocation of an unknown account and logs its metrics once it completes, successfully or not.
+     *
+     * @param <T>          the handler result type parameter
+     * @param resourceType the resource type name, used as a dimension
+     * @param action       the handler action, e.g. Create, used as a dimension
+     * @param logger       the handler logger the metrics are logged to, nothing is logged when null
+     * @param handler      runs the invocation, not null
+     * @return the handler result
+     */
+    public static <T> T record(final String resourceType,
+                               final String action,
+                               final Logger logger,
+                               @NonNull final Supplier<T> handler) {
+        return record(resourceType, action, null, logger, handler);
+    }
+
+    /**
+     * Runs a handler invocation and logs its metrics once it completes, successfully or not.
+     *
+     * @param <T>          the handler result type parameter
+     * @param resourceType the resource type name, used as a dimension
+     * @param action       the handler action, e.g. Create, used as a dimension
+     * @param accountId    the account of the request, not logged, may be null
+     * @param logger       the handler logger the metrics are logged to, nothing is logged when null
+     * @param handler      runs the invocation, not null
+     * @return the handler result
+     */
+    public static <T> T record(final String resourceType,
+                               final String action,
+                               final String accountId,
+                               final Logger logger,
+                               @NonNull final Supplier<T> handler) {
+        if (CURRENT.get() != null) {
+            return handler.get();
+        }
+        final HandlerMetrics metrics = new HandlerMetrics(resourceType, action, accountId);
+        CURRENT.set(metrics);
+        final long start = System.nanoTime();
+        try {
+            return handler.get();
+        } finally {
+            CURRENT.remove();
+            if (logger != null) {
+                logger.log(metrics.toEmf(System.currentTimeMillis(), elapsedMillis(start)));
+            }
+        }
+    }
+
+    /**
+     * Runs a phase of the current invocation, adding its duration to the phase latency.
+     *
+     * @param <T>   the phase result type parameter
+     * @param phase the phase name
+     * @param work  runs the phase, not null
+     * @return the phase result
+     */
+    public static <T> T time(final String phase, @NonNull final Supplier<T> work) {
+        final HandlerMetrics metrics = CURRENT.get();
+        if (metrics == null) {
+            return work.get();
+        }
+        final long start = System.nanoTime();
+        try {
+            return work.get();
+        } finally {
+            metrics.recordPhase(phase, elapsedMillis(start));
+        }
+    }
+
+    /**
+     * Adds to a count of the current invocation, if any.
+     *
+     * @param name  the metric name
+     * @param value the value added to the count
+     */
+    public static void count(final String name, final long value) {
+        final HandlerMetrics metrics = CURRENT.get();
+        if (metrics != null) {
+            metrics.recordCount(name, value);
+        }
+    }
+
+    /**
+     * @return the invocation running on the current thread, null outside of an invocation
+     */
+    static HandlerMetrics current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * @return the account of the invocation running on the current thread, null if unknown or outside of an invocation
+     */
+    static String currentAccountId() {
+        final HandlerMetrics metrics = CURRENT.get();
+        return metrics == null ? null : metrics.accountId;
+    }
+
+    /**
+     * Adds time spent outside of a timed phase to a phase of the current invocation, if any.
+     */
+    static void addTime(final String phase, final long millis) {
+        final HandlerMetrics metrics = CURRENT.get();
+        if (metrics != null) {
+            metrics.recordPhase(phase, millis);
+        }
+    }
+
+    /**
+     * Makes a task run in the invocation submitting it.
+     *
+     * @param task the task, not null
+     * @return the task running in the current invocation, the task itself outside of an invocation
+     */
+    static Runnable propagate(@NonNull final Runnable task) {
+        final HandlerMetrics metrics = CURRENT.get();
+        if (metrics == null) {
+            return task;
+        }
+        return () -> {
+            final HandlerMetrics previous = CURRENT.get();
+            CURRENT.set(metrics);
+            try {
+                task.run();
+            } finally {
+                if (previous == null) {
+                    CURRENT.remove();
+                } else {
+                    CURRENT.set(previous);
+                }
+            }
+        };
+    }
+
+    synchronized void recordCall(final String api, final long millis, final int attempts, final int throttles,
+                                 final boolean failed) {
+        final Stat stat = calls.computeIfAbsent(api, key -> new Stat());
+        stat.count++;
+        stat.millis += millis;
+        stat.retries += Math.max(attempts - 1, 0);
+        stat.throttles += throttles;
+        stat.failures += failed ? 1 : 0;
+    }
+
+    synchronized void recordPhase(final String phase, final long millis) {
+        final Stat stat = phases.computeIfAbsent(phase, key -> new Stat());
+        stat.count++;
+        stat.millis += millis;
+    }
+
+    synchronized void recordCount(final String name, final long value) {
+        counts.merge(name, value, Long::sum);
+    }
+
+    synchronized String toEmf(final long timestamp, final long durationMillis) {
+        final JSONObject document = new JSONObject()
+                .put("ResourceType", resourceType)
+                .put("Action", action);
+        final JSONArray metrics = new JSONArray();
+        put(document, metrics, "Duration", durationMillis, MILLISECONDS);
+        calls.forEach((api, stat) -> {
+            put(document, metrics, api + ".Calls", stat.count, COUNT);
+            put(document, metrics, api + ".Latency", stat.millis, MILLISECONDS);
+            put(document, metrics, api + ".Retries", stat.retries, COUNT);
+            put(document, metrics, api + ".Throttles", stat.throttles, COUNT);
+            put(document, metrics, api + ".Failures", stat.failures, COUNT);
+        });
+        phases.forEach((phase, stat) -> put(document, metrics, phase + ".Latency", stat.millis, MILLISECONDS));
+        counts.forEach((name, value) -> put(document, metrics, name, value, COUNT));
+        final JSONObject directive = new JSONObject()
+                .put("Namespace", CommonVariables.METRICS_NAMESPACE)
+                .put("Dimensions", new JSONArray().put(new JSONArray().put("ResourceType").put("Action")))
+                .put("Metrics", metrics);
+        return document
+                .put("_aws", new JSONObject()
+                        .put("Timestamp", timestamp)
+                        .put("CloudWatchMetrics", new JSONArray().put(directive)))
+                .toString();
+    }
+
+    private static void put(final JSONObject document, final JSONArray metrics, final String name, final long value,
+                            final String unit) {
+        document.put(name, value);
+        metrics.put(new JSONObject().put("Name", name).put("Unit", unit));
+    }
+
+    private static long elapsedMillis(final long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+
+    private static class Stat {
+        long count;
+        long millis;
+        long retries;
+        long throttles;
+        long failures;
+    }
+}
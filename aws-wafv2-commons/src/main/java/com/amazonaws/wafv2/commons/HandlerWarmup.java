@@ -0,0 +1,108 @@
+package com.amazonaws.wafv2.commons;
+
+import lombok.NonNull;
+import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.services.wafv2.model.AndStatement;
+import software.amazon.awssdk.services.wafv2.model.BlockAction;
+import software.amazon.awssdk.services.wafv2.model.ByteMatchStatement;
+import software.amazon.awssdk.services.wafv2.model.FieldToMatch;
+import software.amazon.awssdk.services.wafv2.model.GeoMatchStatement;
+import software.amazon.awssdk.services.wafv2.model.IPSetReferenceStatement;
+import software.amazon.awssdk.services.wafv2.model.NotStatement;
+import software.amazon.awssdk.services.wafv2.model.PositionalConstraint;
+import software.amazon.awssdk.services.wafv2.model.Rule;
+import software.amazon.awssdk.services.wafv2.model.RuleAction;
+import software.amazon.awssdk.services.wafv2.model.Statement;
+import software.amazon.awssdk.services.wafv2.model.TextTransformation;
+import software.amazon.awssdk.services.wafv2.model.TextTransformationType;
+import software.amazon.awssdk.services.wafv2.model.UriPath;
+import software.amazon.awssdk.services.wafv2.model.VisibilityConfig;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Runs the warmup of a handler module once per container.
+ *
+ * Handlers are constructed when the container initializes, before the first request. Loading the converters, the
+ * resource schema and the SDK model classes from there moves their one-off cost out of the first request, which
+ * matters most for provisioned or primed containers.
+ */
+public final class HandlerWarmup {
+
+    private static final Set<Class<?>> WARMED_UP = ConcurrentHashMap.newKeySet();
+
+    private HandlerWarmup() {
+    }
+
+    /**
+     * Runs a warmup unless one was already run for the same owner. Warming up is best effort, failures are
+     * ignored and surface again on the request that needs the failing part.
+     *
+     * @param owner  the class owning the warmup, not null
+     * @param warmup the warmup, not null
+     * @return whether the warmup was run by this call
+     */
+    public static boolean runOnce(@NonNull final Class<?> owner, @NonNull final Runnable warmup) {
+        if (!WARMED_UP.add(owner)) {
+            return false;
+        }
+        try {
+            warmup.run();
+        } catch (final RuntimeException e) {
+            // best effort, see above
+        }
+        return true;
+    }
+
+    /**
+     * Builds a small rule using most statement types, for the WebACL and RuleGroup modules to convert both ways.
+     *
+     * @return the sample rule, with a visibility config
+     */
+    public static Rule sampleRule() {
+        return Rule.builder()
+                .name("warmup")
+                .priority(0)
+                .action(RuleAction.builder().block(BlockAction.builder().build()).build())
+                .visibilityConfig(VisibilityConfig.builder()
+                        .metricName("warmup")
+                        .sampledRequestsEnabled(false)
+                        .cloudWatchMetricsEnabled(false)
+                        .build())
+                .statement(Statement.builder()
+                        .andStatement(AndStatement.builder()
+                                .statements(
+                                        Statement.builder()
+                                                .geoMatchStatement(GeoMatchStatement.builder()
+                                                        .countryCodesWithStrings("US")
+                                                        .build())
+                                                .build(),
+                                        Statement.builder()
+                                                .notStatement(NotStatement.builder()
+                                                        .statement(Statement.builder()
+                                                                .ipSetReferenceStatement(IPSetReferenceStatement
+                                                                        .builder()
+                                                                        .arn("warmup")
+                                                                        .build())
+                                                                .build())
+                                                        .build())
+                                                .build(),
+                                        Statement.builder()
+                                                .byteMatchStatement(ByteMatchStatement.builder()
+                                                        .searchString(SdkBytes.fromUtf8String("warmup"))
+                                                        .fieldToMatch(FieldToMatch.builder()
+                                                                .uriPath(UriPath.builder().build())
+                                                                .build())
+                                                        .textTransformations(TextTransformation.builder()
+                                                                .priority(0)
+                                                                .type(TextTransformationType.NONE)
+                                                                .build())
+                                                        .positionalConstraint(PositionalConstraint.CONTAINS)
+                                                        .build())
+                                                .build())
+                                .build())
+                        .build())
+                .build();
+    }
+}
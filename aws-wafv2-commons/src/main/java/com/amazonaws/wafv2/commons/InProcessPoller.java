@@ -0,0 +1,119 @@
+package com.amazonaws.wafv2.commons;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NonNull;
+import software.amazon.awssdk.services.wafv2.model.WafUnavailableEntityException;
+import software.amazon.cloudformation.proxy.Logger;
+
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Retries calls rejected with {@link WafUnavailableEntityException} inside the current handler invocation before
+ * the handler falls back to returning IN_PROGRESS with a callback delay.
+ *
+ * Entities usually become available within a few seconds, so a short in-process wait avoids a full re-invocation.
+ * Polling is opt-in through the {@value #ENABLED_ENVIRONMENT_VARIABLE} environment variable and is bounded both by
+ * a maximum poll window and by the time left in the invocation.
+ */
+@Builder
+public class InProcessPoller {
+
+    public static final String ENABLED_ENVIRONMENT_VARIABLE = "WAFV2_IN_PROCESS_POLLING_ENABLED";
+
+    public static final InProcessPoller DEFAULT = InProcessPoller.builder()
+            .enabled(Boolean.parseBoolean(System.getenv(ENABLED_ENVIRONMENT_VARIABLE)))
+            .build();
+
+    @Getter
+    @Builder.Default
+    private final boolean enabled = false;
+
+    @Builder.Default
+    private final long maxPollMillis = CommonVariables.IN_PROCESS_POLL_MAX_MILLIS;
+
+    @Builder.Default
+    private final long initialIntervalMillis = CommonVariables.IN_PROCESS_POLL_INITIAL_INTERVAL_MILLIS;
+
+    @Builder.Default
+    private final long maxIntervalMillis = CommonVariables.IN_PROCESS_POLL_MAX_INTERVAL_MILLIS;
+
+    /**
+     * Time the handler assumes it is given per invocation.
+     */
+    @Builder.Default
+    private final long invocationTimeoutMillis = CommonVariables.HANDLER_INVOCATION_TIMEOUT_MILLIS;
+
+    /**
+     * Time kept free at the end of the invocation for the calls following a successful poll and for the response.
+     */
+    @Builder.Default
+    private final long reservedMillis = CommonVariables.IN_PROCESS_POLL_RESERVED_MILLIS;
+
+    @NonNull
+    @Builder.Default
+    private final LongSupplier clock = System::currentTimeMillis;
+
+    @NonNull
+    @Builder.Default
+    private final Sleeper sleeper = Thread::sleep;
+
+    /**
+     * @return the current wall-clock time in epoch milliseconds, used to mark the start of the invocation
+     */
+    public long currentTimeMillis() {
+        return clock.getAsLong();
+    }
+
+    /**
+     * Invokes a call, retrying while the entity is unavailable and the poll deadline is not reached.
+     *
+     * @param <T>                   the response type parameter
+     * @param invocationStartMillis the time the handler invocation started, in epoch milliseconds
+     * @param call                  the call to make, not null
+     * @param logger                the handler logger used to report polling, may be null
+     * @return the response of the call
+     * @throws WafUnavailableEntityException if the entity is still unavailable once polling stops
+     */
+    public <T> T poll(final long invocationStartMillis,
+                      @NonNull final Supplier<T> call,
+                      final Logger logger) {
+        final long deadline = invocationStartMillis
+                + Math.min(maxPollMillis, invocationTimeoutMillis - reservedMillis);
+        long intervalMillis = initialIntervalMillis;
+        int attempts = 0;
+        while (true) {
+            attempts++;
+            try {
+                return call.get();
+            } catch (WafUnavailableEntityException e) {
+                final long now = clock.getAsLong();
+                if (!enabled || now + intervalMillis > deadline) {
+                    if (enabled) {
+                        log(logger, String.format("Entity still unavailable after %d in-process attempts in %d ms",
+                                attempts, now - invocationStartMillis));
+                    }
+                    throw e;
+                }
+                sleep(intervalMillis, e);
+                intervalMillis = Math.min(maxIntervalMillis, intervalMillis * 2);
+            }
+        }
+    }
+
+    private void sleep(final long delayMillis, final WafUnavailableEntityException unavailable) {
+        try {
+            sleeper.sleep(delayMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw unavailable;
+        }
+    }
+
+    private void log(final Logger logger, final String message) {
+        if (logger != null) {
+            logger.log(message);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.amazonaws.wafv2.commons;
+
+import lombok.NonNull;
+import lombok.Value;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded LRU cache of values converted from an entity, valid for as long as the entity keeps its lock token.
+ *
+ * WAF changes the lock token of an entity on every update, so a value cached for (scope, id, lockToken) can be
+ * reused as long as a Get returns the same lock token, skipping the conversion of the entity. Only the latest lock
+ * token of an entity is kept, older ones can no longer match. Instances are thread-safe.
+ *
+ * Cached values are returned as is, without a copy, to every invocation reading the same lock token: callers must
+ * not modify a cached value, nor anything reachable from it.
+ *
+ * @param <V> the cached value type parameter
+ */
+public class LockTokenCache<V> {
+
+    private final Map<EntityKey, Entry<V>> entries;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * @param maxEntries the maximum number of cached entities, the least recently used one is evicted beyond it
+     */
+    public LockTokenCache(final int maxEntries) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("maxEntries must be positive");
+        }
+        this.entries = new LinkedHashMap<EntityKey, Entry<V>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<EntityKey, LockTokenCache.Entry<V>> eldest) {
+                if (size() > maxEntries) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns the value cached for an entity if it was cached for the given lock token.
+     *
+     * @param scope     the entity scope
+     * @param id        the entity id, not null
+     * @param lockToken the current lock token of the entity, null never matches
+     * @return the cached value, shared and not to be modified, null on a miss
+     */
+    public V get(final String scope, @NonNull final String id, final String lockToken) {
+        final Entry<V> entry;
+        synchronized (entries) {
+            entry = entries.get(new EntityKey(scope, id));
+        }
+        if (entry == null || lockToken == null || !lockToken.equals(entry.getLockToken())) {
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        return entry.getValue();
+    }
+
+    /**
+     * Caches the value converted from an entity, replacing any value cached for an older lock token.
+     *
+     * @param scope     the entity scope
+     * @param id        the entity id, not null
+     * @param lockToken the lock token the value was converted at, nothing is cached when null
+     * @param value     the value, not null and no longer modified once cached
+     */
+    public void put(final String scope, @NonNull final String id, final String lockToken, @NonNull final V value) {
+        if (lockToken == null) {
+            return;
+        }
+        synchronized (entries) {
+            entries.put(new EntityKey(scope, id), new Entry<>(lockToken, value));
+        }
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * @return the number of entities evicted because the cache was full
+     */
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("LockTokenCache(size=%d, hits=%d, misses=%d, evictions=%d)",
+                size(), getHits(), getMisses(), getEvictions());
+    }
+
+    @Value
+    private static class EntityKey {
+        String scope;
+        String id;
+    }
+
+    @Value
+    private static class Entry<V> {
+        String lockToken;
+        V value;
+    }
+}
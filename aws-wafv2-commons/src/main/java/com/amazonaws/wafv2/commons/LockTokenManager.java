@@ -0,0 +1,104 @@
+package com.amazonaws.wafv2.commons;
+
+import lombok.Getter;
+import lombok.NonNull;
+import software.amazon.awssdk.services.wafv2.model.WafOptimisticLockException;
+import software.amazon.cloudformation.proxy.Logger;
+
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Tracks the lock token of a single resource for the duration of a handler invocation.
+ *
+ * Tokens are seeded from the callback context and from earlier service responses, so a Get call is only made
+ * when no token is known yet, or when a token turns out to be stale. Writes rejected because of a stale token
+ * are retried through an {@link OptimisticLockRetryExecutor}.
+ * Instances are not thread-safe and are meant to be used by a single invocation.
+ */
+public class LockTokenManager {
+
+    private String lockToken;
+
+    @Getter
+    private final OptimisticLockRetryExecutor retryExecutor;
+
+    /**
+     * @param lockToken a previously observed lock token, usually read from the callback context, may be null
+     */
+    public LockTokenManager(final String lockToken) {
+        this(lockToken, new OptimisticLockRetryExecutor(null));
+    }
+
+    /**
+     * @param lockToken a previously observed lock token, usually read from the callback context, may be null
+     * @param logger    the handler logger used to report lock token conflicts, may be null
+     */
+    public LockTokenManager(final String lockToken, final Logger logger) {
+        this(lockToken, new OptimisticLockRetryExecutor(logger));
+    }
+
+    /**
+     * @param lockToken     a previously observed lock token, usually read from the callback context, may be null
+     * @param retryExecutor the executor retrying writes on lock token conflicts, not null
+     */
+    public LockTokenManager(final String lockToken, @NonNull final OptimisticLockRetryExecutor retryExecutor) {
+        this.lockToken = lockToken;
+        this.retryExecutor = retryExecutor;
+    }
+
+    /**
+     * Returns the known lock token, fetching it only if none is known.
+     *
+     * @param lockTokenFetcher fetches the current lock token from the service, not null
+     * @return the lock token
+     */
+    public String getLockToken(@NonNull final Supplier<String> lockTokenFetcher) {
+        if (lockToken == null) {
+            lockToken = lockTokenFetcher.get();
+        }
+        return lockToken;
+    }
+
+    /**
+     * Records a lock token observed in a service response, ignoring null tokens.
+     *
+     * @param observedLockToken the lock token returned by the service
+     */
+    public void update(final String observedLockToken) {
+        if (observedLockToken != null) {
+            lockToken = observedLockToken;
+        }
+    }
+
+    /**
+     * Forgets the known lock token so that the next call fetches a fresh one.
+     */
+    public void invalidate() {
+        lockToken = null;
+    }
+
+    /**
+     * Returns the known lock token without fetching, so it can be persisted in the callback context.
+     *
+     * @return the known lock token, null if none is known
+     */
+    public String getCurrentLockToken() {
+        return lockToken;
+    }
+
+    /**
+     * Invokes a call that requires the lock token. When the token is rejected as stale, a fresh token is fetched
+     * and the call retried with backoff until it succeeds or the retry budget is exhausted.
+     *
+     * @param <T>              the response type parameter
+     * @param call             the call to make with the lock token, not null
+     * @param lockTokenFetcher fetches the current lock token from the service, not null
+     * @return the response of the call
+     * @throws WafOptimisticLockException if the conflict persists once the retry budget is exhausted
+     */
+    public <T> T invoke(@NonNull final Function<String, T> call,
+                        @NonNull final Supplier<String> lockTokenFetcher) {
+        return retryExecutor.execute(this, call, lockTokenFetcher);
+    }
+}
@@ -0,0 +1,89 @@
+package com.amazonaws.wafv2.commons;
+
+import software.amazon.awssdk.core.interceptor.Context;
+import software.amazon.awssdk.core.interceptor.ExecutionAttribute;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
+import software.amazon.awssdk.core.interceptor.SdkExecutionAttribute;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records the latency, attempts and throttled attempts of every WAF call into the {@link HandlerMetrics} of the
+ * invocation making it. The latency covers the whole call, including SDK retries and rate limiting.
+ */
+public class MetricsInterceptor implements ExecutionInterceptor {
+
+    private static final ExecutionAttribute<HandlerMetrics> METRICS =
+            new ExecutionAttribute<>("Wafv2HandlerMetrics");
+    private static final ExecutionAttribute<Long> START_NANOS =
+            new ExecutionAttribute<>("Wafv2MetricsStartNanos");
+    private static final ExecutionAttribute<Integer> ATTEMPTS =
+            new ExecutionAttribute<>("Wafv2MetricsAttempts");
+    private static final ExecutionAttribute<Integer> THROTTLES =
+            new ExecutionAttribute<>("Wafv2MetricsThrottles");
+    private static final ExecutionAttribute<Boolean> LAST_ATTEMPT_THROTTLED =
+            new ExecutionAttribute<>("Wafv2MetricsLastAttemptThrottled");
+
+    @Override
+    public void beforeExecution(final Context.BeforeExecution context,
+                                final ExecutionAttributes executionAttributes) {
+        final HandlerMetrics metrics = HandlerMetrics.current();
+        if (metrics == null) {
+            return;
+        }
+        executionAttributes.putAttribute(METRICS, metrics);
+        executionAttributes.putAttribute(START_NANOS, System.nanoTime());
+        executionAttributes.putAttribute(ATTEMPTS, 0);
+        executionAttributes.putAttribute(THROTTLES, 0);
+    }
+
+    @Override
+    public void beforeTransmission(final Context.BeforeTransmission context,
+                                   final ExecutionAttributes executionAttributes) {
+        if (executionAttributes.getAttribute(METRICS) != null) {
+            executionAttributes.putAttribute(ATTEMPTS, executionAttributes.getAttribute(ATTEMPTS) + 1);
+            executionAttributes.putAttribute(LAST_ATTEMPT_THROTTLED, false);
+        }
+    }
+
+    @Override
+    public void afterTransmission(final Context.AfterTransmission context,
+                                  final ExecutionAttributes executionAttributes) {
+        if (executionAttributes.getAttribute(METRICS) != null
+                && RateLimitingInterceptor.isThrottled(context.httpResponse())) {
+            executionAttributes.putAttribute(THROTTLES, executionAttributes.getAttribute(THROTTLES) + 1);
+            executionAttributes.putAttribute(LAST_ATTEMPT_THROTTLED, true);
+        }
+    }
+
+    @Override
+    public void afterExecution(final Context.AfterExecution context,
+                               final ExecutionAttributes executionAttributes) {
+        record(executionAttributes, false);
+    }
+
+    @Override
+    public void onExecutionFailure(final Context.FailedExecution context,
+                                   final ExecutionAttributes executionAttributes) {
+        if (executionAttributes.getAttribute(METRICS) != null
+                && RateLimitingInterceptor.isThrottling(context.exception())
+                && !Boolean.TRUE.equals(executionAttributes.getAttribute(LAST_ATTEMPT_THROTTLED))) {
+            executionAttributes.putAttribute(THROTTLES, executionAttributes.getAttribute(THROTTLES) + 1);
+        }
+        record(executionAttributes, true);
+    }
+
+    private static void record(final ExecutionAttributes executionAttributes, final boolean failed) {
+        final HandlerMetrics metrics = executionAttributes.getAttribute(METRICS);
+        if (metrics == null) {
+            return;
+        }
+        metrics.recordCall(
+                executionAttributes.getAttribute(SdkExecutionAttribute.OPERATION_NAME),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - executionAttributes.getAttribute(START_NANOS)),
+                executionAttributes.getAttribute(ATTEMPTS),
+                executionAttributes.getAttribute(THROTTLES),
+                failed);
+    }
+}
@@ -0,0 +1,128 @@
+package com.amazonaws.wafv2.commons;
+
+import lombok.Getter;
+import lombok.NonNull;
+import software.amazon.awssdk.services.wafv2.model.WafOptimisticLockException;
+import software.amazon.cloudformation.proxy.Logger;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Retries writes rejected with {@link WafOptimisticLockException} inside the handler invocation.
+ *
+ * Each retry re-fetches the lock token and waits for a full-jitter exponential backoff, bounded both by the number
+ * of attempts and by the total time spent. Instances record the attempts and elapsed time of their last execution
+ * and are meant to be used by a single invocation.
+ */
+public class OptimisticLockRetryExecutor {
+
+    public static final int DEFAULT_MAX_ATTEMPTS = 5;
+    public static final long DEFAULT_BASE_DELAY_MILLIS = 100;
+    public static final long DEFAULT_MAX_DELAY_MILLIS = 2000;
+    public static final long DEFAULT_MAX_ELAPSED_MILLIS = 10000;
+
+    private final int maxAttempts;
+    private final long baseDelayMillis;
+    private final long maxDelayMillis;
+    private final long maxElapsedMillis;
+    private final Sleeper sleeper;
+    private final LongSupplier clock;
+    private final Logger logger;
+
+    /**
+     * Number of attempts made by the last execution.
+     */
+    @Getter
+    private int attempts;
+
+    /**
+     * Time spent by the last execution, including backoff, in milliseconds.
+     */
+    @Getter
+    private long elapsedMillis;
+
+    /**
+     * @param logger the handler logger used to report conflicts, may be null
+     */
+    public OptimisticLockRetryExecutor(final Logger logger) {
+        this(DEFAULT_MAX_ATTEMPTS, DEFAULT_BASE_DELAY_MILLIS, DEFAULT_MAX_DELAY_MILLIS, DEFAULT_MAX_ELAPSED_MILLIS,
+                Thread::sleep, System::currentTimeMillis, logger);
+    }
+
+    OptimisticLockRetryExecutor(final int maxAttempts,
+                                final long baseDelayMillis,
+                                final long maxDelayMillis,
+                                final long maxElapsedMillis,
+                                @NonNull final Sleeper sleeper,
+                                @NonNull final LongSupplier clock,
+                                final Logger logger) {
+        this.maxAttempts = maxAttempts;
+        this.baseDelayMillis = baseDelayMillis;
+        this.maxDelayMillis = maxDelayMillis;
+        this.maxElapsedMillis = maxElapsedMillis;
+        this.sleeper = sleeper;
+        this.clock = clock;
+        this.logger = logger;
+    }
+
+    /**
+     * Invokes a call that requires the lock token, retrying on lock token conflicts.
+     *
+     * @param <T>              the response type parameter
+     * @param lockTokenManager the lock token manager of the resource, not null
+     * @param call             the call to make with the lock token, not null
+     * @param lockTokenFetcher fetches the current lock token from the service, not null
+     * @return the response of the call
+     * @throws WafOptimisticLockException if the conflict persists once the attempts or time budget are exhausted
+     */
+    public <T> T execute(@NonNull final LockTokenManager lockTokenManager,
+                         @NonNull final Function<String, T> call,
+                         @NonNull final Supplier<String> lockTokenFetcher) {
+        final long start = clock.getAsLong();
+        attempts = 0;
+        elapsedMillis = 0;
+        while (true) {
+            attempts++;
+            try {
+                final T response = call.apply(lockTokenManager.getLockToken(lockTokenFetcher));
+                elapsedMillis = clock.getAsLong() - start;
+                return response;
+            } catch (WafOptimisticLockException e) {
+                lockTokenManager.invalidate();
+                elapsedMillis = clock.getAsLong() - start;
+                final long delayMillis = nextDelayMillis(attempts);
+                if (attempts >= maxAttempts || elapsedMillis + delayMillis > maxElapsedMillis) {
+                    log(String.format("Lock token conflict persisted after %d attempts in %d ms",
+                            attempts, elapsedMillis));
+                    throw e;
+                }
+                log(String.format("Lock token conflict on attempt %d after %d ms, retrying in %d ms",
+                        attempts, elapsedMillis, delayMillis));
+                sleep(delayMillis, e);
+            }
+        }
+    }
+
+    private long nextDelayMillis(final int attempt) {
+        final long ceiling = Math.min(maxDelayMillis, baseDelayMillis << Math.min(attempt - 1, 30));
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    private void sleep(final long delayMillis, final WafOptimisticLockException conflict) {
+        try {
+            sleeper.sleep(delayMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw conflict;
+        }
+    }
+
+    private void log(final String message) {
+        if (logger != null) {
+            logger.log(message);
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.amazonaws.wafv2.commons;
+
+import com.google.common.collect.ImmutableSet;
+import lombok.NonNull;
+import software.amazon.awssdk.awscore.AwsExecutionAttribute;
+import software.amazon.awssdk.core.exception.SdkServiceException;
+import software.amazon.awssdk.core.interceptor.Context;
+import software.amazon.awssdk.core.interceptor.ExecutionAttribute;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
+import software.amazon.awssdk.core.interceptor.SdkExecutionAttribute;
+import software.amazon.awssdk.http.SdkHttpResponse;
+import software.amazon.awssdk.regions.Region;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Limits the rate of WAF calls made by the container with one {@link TokenBucket} per account, region and API class.
+ *
+ * The client is shared by the invocations of every account a container serves, while WAF limits every account on its
+ * own, so the account of the invocation making the call, see {@link HandlerMetrics}, is part of the bucket key: the
+ * throttles of one account do not slow down the others. Calls made outside of an invocation share the buckets of an
+ * unknown account.
+ *
+ * Reads (Get, List, Describe and Check operations) and writes (every other operation) are limited separately, as WAF
+ * throttles them separately. A token is taken before every HTTP attempt, so SDK retries are limited as well, and the
+ * response of every attempt adapts the bucket rate: throttled attempts lower it, successful ones raise it again.
+ */
+public class RateLimitingInterceptor implements ExecutionInterceptor {
+
+    /**
+     * Class of a WAF API, each limited by its own buckets.
+     */
+    public enum ApiClass {
+        READ,
+        WRITE;
+
+        public static ApiClass of(final String operationName) {
+            if (operationName == null) {
+                return WRITE;
+            }
+            for (final String prefix : new String[]{"Get", "List", "Describe", "Check"}) {
+                if (operationName.startsWith(prefix)) {
+                    return READ;
+                }
+            }
+            return WRITE;
+        }
+    }
+
+    private static final String ERROR_TYPE_HEADER = "x-amzn-ErrorType";
+    // error codes of throttled attempts, a subset of those the SDK retries as throttling
+    private static final Set<String> THROTTLING_ERROR_CODES = ImmutableSet.of(
+            "ThrottlingException", "Throttling", "ThrottledException", "TooManyRequestsException",
+            "RequestLimitExceeded", "RequestThrottled", "RequestThrottledException");
+
+    // whether the throttling of the last attempt was already recorded from its response
+    private static final ExecutionAttribute<Boolean> THROTTLE_RECORDED =
+            new ExecutionAttribute<>("Wafv2RateLimitingThrottleRecorded");
+
+    private final Function<ApiClass, TokenBucket> bucketFactory;
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+    /**
+     * Builds an interceptor with the default rates of {@link CommonVariables}.
+     */
+    public RateLimitingInterceptor() {
+        this(RateLimitingInterceptor::defaultBucket);
+    }
+
+    /**
+     * @param bucketFactory builds the bucket of an API class the first time an account calls it in a region, not null
+     */
+    public RateLimitingInterceptor(@NonNull final Function<ApiClass, TokenBucket> bucketFactory) {
+        this.bucketFactory = bucketFactory;
+    }
+
+    @Override
+    public void beforeTransmission(final Context.BeforeTransmission context,
+                                   final ExecutionAttributes executionAttributes) {
+        executionAttributes.putAttribute(THROTTLE_RECORDED, false);
+        HandlerMetrics.addTime("RateLimiter", bucket(executionAttributes).acquire());
+    }
+
+    @Override
+    public void afterTransmission(final Context.AfterTransmission context,
+                                  final ExecutionAttributes executionAttributes) {
+        final SdkHttpResponse response = context.httpResponse();
+        if (isThrottled(response)) {
+            executionAttributes.putAttribute(THROTTLE_RECORDED, true);
+            bucket(executionAttributes).onThrottled();
+        } else if (response.isSuccessful()) {
+            bucket(executionAttributes).onSuccess();
+        }
+    }
+
+    @Override
+    public void onExecutionFailure(final Context.FailedExecution context,
+                                   final ExecutionAttributes executionAttributes) {
+        // throttling errors without the error type header are only recognized once unmarshalled
+        if (isThrottling(context.exception())
+                && !Boolean.TRUE.equals(executionAttributes.getAttribute(THROTTLE_RECORDED))) {
+            bucket(executionAttributes).onThrottled();
+        }
+    }
+
+    /**
+     * Returns the bucket limiting an API class of an account in a region, for inspection.
+     *
+     * @param accountId the account, null for the calls made outside of an invocation or of an unknown account
+     * @param region    the region, null for the default region of the client
+     * @param apiClass  the API class, not null
+     * @return the bucket, null if the account did not call the API class in the region yet
+     */
+    public TokenBucket getBucket(final String accountId, final Region region, @NonNull final ApiClass apiClass) {
+        return buckets.get(key(accountId, region, apiClass));
+    }
+
+    private TokenBucket bucket(final ExecutionAttributes executionAttributes) {
+        final ApiClass apiClass = ApiClass.of(executionAttributes.getAttribute(SdkExecutionAttribute.OPERATION_NAME));
+        final Region region = executionAttributes.getAttribute(AwsExecutionAttribute.AWS_REGION);
+        return buckets.computeIfAbsent(key(HandlerMetrics.currentAccountId(), region, apiClass),
+                key -> bucketFactory.apply(apiClass));
+    }
+
+    private static String key(final String accountId, final Region region, final ApiClass apiClass) {
+        return (accountId == null ? "" : accountId) + "/" + (region == null ? "" : region.id()) + "/" + apiClass;
+    }
+
+    static boolean isThrottled(final SdkHttpResponse response) {
+        if (response.statusCode() == 429) {
+            return true;
+        }
+        // the header holds the error code, optionally followed by ':' and the error type namespace
+        return response.firstMatchingHeader(ERROR_TYPE_HEADER)
+                .map(errorType -> errorType.split(":", 2)[0])
+                .map(THROTTLING_ERROR_CODES::contains)
+                .orElse(false);
+    }
+
+    static boolean isThrottling(final Throwable exception) {
+        return exception instanceof SdkServiceException && ((SdkServiceException) exception).isThrottlingException();
+    }
+
+    private static TokenBucket defaultBucket(final ApiClass apiClass) {
+        final boolean read = apiClass == ApiClass.READ;
+        return TokenBucket.builder()
+                .maxRatePerSecond(read ? CommonVariables.READ_MAX_CALLS_PER_SECOND
+                        : CommonVariables.WRITE_MAX_CALLS_PER_SECOND)
+                .minRatePerSecond(read ? CommonVariables.READ_MIN_CALLS_PER_SECOND
+                        : CommonVariables.WRITE_MIN_CALLS_PER_SECOND)
+                .burst(read ? CommonVariables.READ_BURST_CALLS : CommonVariables.WRITE_BURST_CALLS)
+                .increasePerSuccess(CommonVariables.RATE_INCREASE_PER_SUCCESS)
+                .build();
+    }
+}
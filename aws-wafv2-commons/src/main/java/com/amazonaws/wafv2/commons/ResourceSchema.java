@@ -0,0 +1,61 @@
+package com.amazonaws.wafv2.commons;
+
+import lombok.NonNull;
+import org.json.JSONObject;
+import org.json.JSONTokener;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Container-wide holder of a parsed resource schema.
+ *
+ * The resource schemas are large and recursive, parsing one on every request dominates the cost of short handler
+ * invocations. Each schema is parsed once per container on first use. The parsed schema is shared, callers must
+ * not modify it.
+ */
+public final class ResourceSchema {
+
+    private static final Map<String, ResourceSchema> SCHEMAS = new ConcurrentHashMap<>();
+
+    private final JSONObject schemaJSONObject;
+
+    /**
+     * Parses a resource schema, prefer {@link #forResource} to share it.
+     *
+     * @param classLoader    the class loader to load the schema with, not null
+     * @param schemaFilename the schema resource name, not null
+     */
+    public ResourceSchema(@NonNull final ClassLoader classLoader, @NonNull final String schemaFilename) {
+        try (InputStream schema = classLoader.getResourceAsStream(schemaFilename)) {
+            if (schema == null) {
+                throw new IllegalArgumentException("Resource schema " + schemaFilename + " not found");
+            }
+            this.schemaJSONObject = new JSONObject(new JSONTokener(schema));
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Returns the shared schema, parsing it on first use.
+     *
+     * @param classLoader    the class loader to load the schema with, not null
+     * @param schemaFilename the schema resource name, not null
+     * @return the shared schema, not null
+     */
+    public static ResourceSchema forResource(@NonNull final ClassLoader classLoader,
+                                             @NonNull final String schemaFilename) {
+        return SCHEMAS.computeIfAbsent(schemaFilename, filename -> new ResourceSchema(classLoader, filename));
+    }
+
+    /**
+     * @return the parsed schema, shared and not to be modified
+     */
+    public JSONObject getSchemaJSONObject() {
+        return schemaJSONObject;
+    }
+}
@@ -0,0 +1,77 @@
+package com.amazonaws.wafv2.commons;
+
+import lombok.NonNull;
+import lombok.Value;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * The rules added, removed and modified between two versions of a rule list, matched by name.
+ *
+ * Rules are compared by their {@link StructuralHash}, so localizing the changes of a WebACL with hundreds of rules
+ * takes one pass over each version and no conversion.
+ */
+@Value
+public class RuleChanges {
+
+    List<String> added;
+    List<String> removed;
+    List<String> modified;
+    int unchanged;
+
+    /**
+     * Compares two versions of a rule list.
+     *
+     * @param <R>      the rule type parameter
+     * @param previous the previous rules, null for none
+     * @param desired  the desired rules, null for none
+     * @param nameOf   returns the name of a rule, unique within a version, not null
+     * @return the changes, names in the order of the desired rules, then of the previous ones for removed rules
+     */
+    public static <R> RuleChanges between(final List<R> previous,
+                                          final List<R> desired,
+                                          @NonNull final Function<R, String> nameOf) {
+        final List<R> previousRules = previous == null ? Collections.emptyList() : previous;
+        final List<R> desiredRules = desired == null ? Collections.emptyList() : desired;
+        final Map<String, Long> previousHashes = new HashMap<>(previousRules.size() * 2);
+        for (final R rule : previousRules) {
+            previousHashes.put(nameOf.apply(rule), StructuralHash.of(rule));
+        }
+        final List<String> added = new ArrayList<>();
+        final List<String> modified = new ArrayList<>();
+        int unchanged = 0;
+        for (final R rule : desiredRules) {
+            final Long previousHash = previousHashes.remove(nameOf.apply(rule));
+            if (previousHash == null) {
+                added.add(nameOf.apply(rule));
+            } else if (previousHash != StructuralHash.of(rule)) {
+                modified.add(nameOf.apply(rule));
+            } else {
+                unchanged++;
+            }
+        }
+        final List<String> removed = new ArrayList<>(previousHashes.size());
+        for (final R rule : previousRules) {
+            if (previousHashes.containsKey(nameOf.apply(rule))) {
+                removed.add(nameOf.apply(rule));
+            }
+        }
+        return new RuleChanges(Collections.unmodifiableList(added), Collections.unmodifiableList(removed),
+                Collections.unmodifiableList(modified), unchanged);
+    }
+
+    /**
+     * Adds the numbers of added, removed, modified and unchanged rules to the metrics of the current invocation.
+     */
+    public void record() {
+        HandlerMetrics.count("RulesAdded", added.size());
+        HandlerMetrics.count("RulesRemoved", removed.size());
+        HandlerMetrics.count("RulesModified", modified.size());
+        HandlerMetrics.count("RulesUnchanged", unchanged);
+    }
+}
@@ -0,0 +1,174 @@
+package com.amazonaws.wafv2.commons;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.BiFunction;
+
+/**
+ * Lists resources across several WAF scopes, one page per scope and invocation.
+ *
+ * The paging state of every scope that still has results is encoded into a single composite next token, so
+ * handlers can page through all scopes with the one next token CloudFormation passes between List invocations.
+ */
+public final class ScopedPageLister {
+
+    public static final String SCOPE_REGIONAL = "REGIONAL";
+    public static final String SCOPE_CLOUDFRONT = "CLOUDFRONT";
+
+    // CLOUDFRONT scoped entities can only be managed from this region
+    static final String CLOUDFRONT_REGION = "us-east-1";
+
+    private static final String ENTRY_SEPARATOR = "\n";
+    private static final String MARKER_SEPARATOR = "=";
+
+    private ScopedPageLister() {
+    }
+
+    /**
+     * Returns the scopes that can be listed from a region.
+     *
+     * @param region the region of the request, may be null
+     * @return REGIONAL, followed by CLOUDFRONT when the region is us-east-1
+     */
+    public static List<String> scopesForRegion(final String region) {
+        if (CLOUDFRONT_REGION.equals(region)) {
+            return Collections.unmodifiableList(Arrays.asList(SCOPE_REGIONAL, SCOPE_CLOUDFRONT));
+        }
+        return Collections.singletonList(SCOPE_REGIONAL);
+    }
+
+    /**
+     * Fetches the next page of every scope that still has results and merges them in scope order.
+     *
+     * @param <T>       the item type parameter
+     * @param scopes    the scopes to list, used when no next token is given, not null
+     * @param nextToken the composite next token of the previous invocation, null to start over
+     * @param fetchPage fetches the page of a scope for a marker, the marker is null for the first page, not null
+     * @param executor  the executor fetching the scopes concurrently, null to fetch them one after the other
+     * @return the merged page and the composite next token, not null
+     * @throws InvalidNextTokenException if the next token cannot be decoded
+     */
+    public static <T> ScopedPage<T> list(@NonNull final List<String> scopes,
+                                         final String nextToken,
+                                         @NonNull final BiFunction<String, String, Page<T>> fetchPage,
+                                         final Executor executor) {
+        final Map<String, String> markers = nextToken == null ? initialMarkers(scopes) : decode(nextToken);
+        final Map<String, CompletableFuture<Page<T>>> pages = new LinkedHashMap<>();
+        markers.forEach((scope, marker) -> pages.put(scope, executor == null
+                ? CompletableFuture.completedFuture(fetchPage.apply(scope, marker))
+                : CompletableFuture.supplyAsync(() -> fetchPage.apply(scope, marker), executor)));
+
+        final List<T> items = new ArrayList<>();
+        final Map<String, String> nextMarkers = new LinkedHashMap<>();
+        pages.forEach((scope, future) -> {
+            final Page<T> page = join(future);
+            items.addAll(page.getItems());
+            if (page.getNextMarker() != null && !page.getNextMarker().isEmpty()) {
+                nextMarkers.put(scope, page.getNextMarker());
+            }
+        });
+        return new ScopedPage<>(items, nextMarkers.isEmpty() ? null : encode(nextMarkers));
+    }
+
+    static String encode(final Map<String, String> markers) {
+        final StringBuilder token = new StringBuilder();
+        markers.forEach((scope, marker) -> {
+            if (token.length() > 0) {
+                token.append(ENTRY_SEPARATOR);
+            }
+            token.append(scope).append(MARKER_SEPARATOR);
+            if (marker != null) {
+                token.append(Base64.getUrlEncoder().encodeToString(marker.getBytes(StandardCharsets.UTF_8)));
+            }
+        });
+        return Base64.getUrlEncoder().encodeToString(token.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    static Map<String, String> decode(final String nextToken) {
+        final Map<String, String> markers = new LinkedHashMap<>();
+        for (final String entry : decodeBase64(nextToken).split(ENTRY_SEPARATOR)) {
+            final int separator = entry.indexOf(MARKER_SEPARATOR);
+            if (separator <= 0) {
+                throw new InvalidNextTokenException(null);
+            }
+            final String marker = entry.substring(separator + 1);
+            markers.put(entry.substring(0, separator), marker.isEmpty() ? null : decodeBase64(marker));
+        }
+        return markers;
+    }
+
+    private static String decodeBase64(final String value) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidNextTokenException(e);
+        }
+    }
+
+    private static Map<String, String> initialMarkers(final List<String> scopes) {
+        final Map<String, String> markers = new LinkedHashMap<>();
+        scopes.forEach(scope -> markers.put(scope, null));
+        return markers;
+    }
+
+    private static <T> Page<T> join(final CompletableFuture<Page<T>> page) {
+        try {
+            return page.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Thrown when a next token was not issued by {@link #list}, so that handlers can report it as an invalid request
+     * without mistaking other illegal arguments for it.
+     */
+    public static final class InvalidNextTokenException extends IllegalArgumentException {
+        private static final long serialVersionUID = 1L;
+
+        InvalidNextTokenException(final Throwable cause) {
+            super("Invalid next token", cause);
+        }
+    }
+
+    /**
+     * One page of a single scope.
+     *
+     * @param <T> the item type parameter
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static final class Page<T> {
+        @NonNull
+        private final List<T> items;
+        private final String nextMarker;
+    }
+
+    /**
+     * The merged page of all scopes.
+     *
+     * @param <T> the item type parameter
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static final class ScopedPage<T> {
+        private final List<T> items;
+        private final String nextToken;
+    }
+}
@@ -0,0 +1,91 @@
+package com.amazonaws.wafv2.commons;
+
+import lombok.NonNull;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Runs the List flow of the handlers whose resources are listed per scope: the next page of every scope of the
+ * region is fetched with {@link ScopedPageLister} and, in hydrated mode, every listed item is then read in full.
+ *
+ * Handlers only provide how a page of a scope is fetched and how an item is read.
+ */
+public final class ScopedResourceLister {
+
+    private ScopedResourceLister() {
+    }
+
+    /**
+     * @return whether List handlers supporting it should read the listed items in full, as set by the environment
+     */
+    public static boolean isHydratedByEnvironment() {
+        return Boolean.parseBoolean(System.getenv(CommonVariables.LIST_HYDRATED_ENVIRONMENT_VARIABLE));
+    }
+
+    /**
+     * Lists the next page of every scope of a region.
+     *
+     * @param <M>       the resource model type parameter
+     * @param <C>       the callback context type parameter
+     * @param region    the region of the request, may be null
+     * @param nextToken the next token of the request, null for the first page
+     * @param fetchPage fetches the page of a scope for a marker, the marker is null for the first page, not null
+     * @param read      reads a listed item in full, null to return the listed items as they are
+     * @return the listed models and the next token, or the failure of the listing or of the first failed read;
+     * items deleted between the listing and their read are skipped
+     */
+    public static <M, C> ProgressEvent<M, C> list(
+            final String region,
+            final String nextToken,
+            @NonNull final BiFunction<String, String, ScopedPageLister.Page<M>> fetchPage,
+            final Function<M, ProgressEvent<M, C>> read) {
+        try {
+            final ScopedPageLister.ScopedPage<M> page = ScopedPageLister.list(
+                    ScopedPageLister.scopesForRegion(region),
+                    nextToken,
+                    fetchPage,
+                    HandlerExecutors.shared());
+            List<M> models = page.getItems();
+            if (read != null) {
+                final List<ProgressEvent<M, C>> reads = BoundedParallelMapper.map(models, read,
+                        CommonVariables.LIST_HYDRATION_MAX_CONCURRENCY, HandlerExecutors.shared());
+                final Optional<ProgressEvent<M, C>> failedRead = reads.stream()
+                        .filter(event -> event.getStatus() == OperationStatus.FAILED
+                                && event.getErrorCode() != HandlerErrorCode.NotFound)
+                        .findFirst();
+                if (failedRead.isPresent()) {
+                    return failedRead.get();
+                }
+                models = reads.stream()
+                        .filter(event -> event.getStatus() == OperationStatus.SUCCESS)
+                        .map(ProgressEvent::getResourceModel)
+                        .collect(Collectors.toList());
+            }
+            return ProgressEvent.<M, C>builder()
+                    .resourceModels(models)
+                    .nextToken(page.getNextToken())
+                    .status(OperationStatus.SUCCESS)
+                    .build();
+        } catch (ScopedPageLister.InvalidNextTokenException e) {
+            return ProgressEvent.<M, C>builder()
+                    .status(OperationStatus.FAILED)
+                    .errorCode(HandlerErrorCode.InvalidRequest)
+                    .message(e.getMessage())
+                    .build();
+        } catch (RuntimeException e) {
+            // handle error code
+            return ProgressEvent.<M, C>builder()
+                    .status(OperationStatus.FAILED)
+                    .errorCode(ExceptionTranslationWrapper.translateExceptionIntoErrorCode(e))
+                    .message(e.getMessage())
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.amazonaws.wafv2.commons;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.collect.ImmutableSet;
+import lombok.NonNull;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Compares resource models by what they configure in WAF rather than by how the template spells it.
+ *
+ * Models are compared as JSON trees after normalization: lists WAF does not evaluate in order (rules ordered by
+ * priority, statements of And and Or statements, text transformations ordered by priority, excluded rules, labels
+ * and country codes) are sorted, a search string is compared by its bytes whether given as SearchString or as
+ * SearchStringBase64, and null values and empty lists are dropped, as they configure the same as absent ones.
+ * Instances are thread-safe.
+ */
+public class SemanticModelDiffer {
+
+    private static final Set<String> UNORDERED_LISTS = ImmutableSet.of(
+            "Rules", "Statements", "TextTransformations", "ExcludedRules", "RuleLabels", "CountryCodes");
+
+    // maps whose absence configures the same as an empty map
+    private static final Set<String> OPTIONAL_MAPS = ImmutableSet.of("CustomResponseBodies");
+
+    private static final String SEARCH_STRING = "SearchString";
+    private static final String SEARCH_STRING_BASE64 = "SearchStringBase64";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final Set<String> ignoredFields;
+
+    /**
+     * @param ignoredFields the top-level fields left out of the comparison, e.g. read-only fields or tags
+     */
+    public SemanticModelDiffer(@NonNull final Set<String> ignoredFields) {
+        this.ignoredFields = ImmutableSet.copyOf(ignoredFields);
+    }
+
+    /**
+     * Returns whether two models configure the same entity in WAF.
+     *
+     * @param previous the previous model, may be null
+     * @param desired  the desired model, may be null
+     * @return true if both models are equivalent, false if either is null and the other is not
+     */
+    public boolean isEquivalent(final Object previous, final Object desired) {
+        if (previous == null || desired == null) {
+            return previous == desired;
+        }
+        return normalize(previous).equals(normalize(desired));
+    }
+
+    /**
+     * Returns the normalized JSON tree of a model.
+     *
+     * @param model the model, not null
+     * @return the normalized tree
+     */
+    JsonNode normalize(@NonNull final Object model) {
+        final JsonNode tree = MAPPER.valueToTree(model);
+        if (tree.isObject()) {
+            ignoredFields.forEach(((ObjectNode) tree)::remove);
+        }
+        return normalize(tree);
+    }
+
+    private static JsonNode normalize(final JsonNode node) {
+        if (node.isObject()) {
+            final Map<String, JsonNode> result = new TreeMap<>();
+            final Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+            while (fields.hasNext()) {
+                final Map.Entry<String, JsonNode> field = fields.next();
+                final JsonNode value = field.getValue();
+                if (value.isNull()
+                        || (value.isArray() && value.size() == 0)
+                        || (value.isObject() && value.size() == 0 && OPTIONAL_MAPS.contains(field.getKey()))) {
+                    continue;
+                }
+                final JsonNode normalized = normalize(value);
+                result.put(field.getKey(), UNORDERED_LISTS.contains(field.getKey()) && normalized.isArray()
+                        ? sorted((ArrayNode) normalized)
+                        : normalized);
+            }
+            normalizeSearchString(result);
+            // fields in alphabetical order, so that equivalent objects also have the same string form
+            final ObjectNode object = JsonNodeFactory.instance.objectNode();
+            result.forEach(object::set);
+            return object;
+        }
+        if (node.isArray()) {
+            final ArrayNode result = JsonNodeFactory.instance.arrayNode();
+            node.forEach(element -> result.add(normalize(element)));
+            return result;
+        }
+        return node;
+    }
+
+    private static ArrayNode sorted(final ArrayNode array) {
+        final List<JsonNode> elements = new ArrayList<>(array.size());
+        array.forEach(elements::add);
+        elements.sort(Comparator.comparing(JsonNode::toString));
+        final ArrayNode result = JsonNodeFactory.instance.arrayNode();
+        result.addAll(elements);
+        return result;
+    }
+
+    // replaces both encodings with the Base64 of the bytes, the node is kept as is when the Base64 form is invalid or
+    // both forms are set, so that it differs from any valid one and the update reports the error
+    private static void normalizeSearchString(final Map<String, JsonNode> node) {
+        final JsonNode base64 = node.get(SEARCH_STRING_BASE64);
+        final JsonNode raw = node.get(SEARCH_STRING);
+        if (base64 != null && raw != null) {
+            return;
+        }
+        final byte[] bytes;
+        if (base64 != null && base64.isTextual()) {
+            try {
+                bytes = Base64.getDecoder().decode(base64.asText());
+            } catch (IllegalArgumentException e) {
+                return;
+            }
+        } else if (raw != null && raw.isTextual()) {
+            bytes = raw.asText().getBytes(StandardCharsets.UTF_8);
+        } else {
+            return;
+        }
+        node.remove(SEARCH_STRING);
+        node.put(SEARCH_STRING_BASE64, JsonNodeFactory.instance.textNode(Base64.getEncoder().encodeToString(bytes)));
+    }
+}
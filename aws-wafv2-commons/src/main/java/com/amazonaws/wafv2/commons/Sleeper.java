@@ -0,0 +1,9 @@
+package com.amazonaws.wafv2.commons;
+
+/**
+ * Blocks the calling thread, abstracted so tests do not have to wait.
+ */
+@FunctionalInterface
+interface Sleeper {
+    void sleep(long millis) throws InterruptedException;
+}
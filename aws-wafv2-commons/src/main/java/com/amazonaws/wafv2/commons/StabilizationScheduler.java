@@ -0,0 +1,30 @@
+package com.amazonaws.wafv2.commons;
+
+import java.util.OptionalInt;
+
+/**
+ * Decides when a handler waiting for an entity to become available is invoked again.
+ */
+public interface StabilizationScheduler {
+
+    /**
+     * @return the current wall-clock time in epoch milliseconds, used to start stabilization
+     */
+    long currentTimeMillis();
+
+    /**
+     * Returns whether the stabilization budget has been used up.
+     *
+     * @param state the stabilization state of the current invocation, not null
+     * @return true if the handler should stop waiting
+     */
+    boolean isExhausted(StabilizationState state);
+
+    /**
+     * Returns the callback delay after a failed stabilization attempt.
+     *
+     * @param state the stabilization state before the failed attempt is counted, not null
+     * @return the callback delay in seconds, empty if the next attempt would exceed the budget
+     */
+    OptionalInt nextCallbackDelaySeconds(StabilizationState state);
+}
@@ -0,0 +1,17 @@
+package com.amazonaws.wafv2.commons;
+
+/**
+ * Stabilization progress persisted in a handler callback context between invocations.
+ */
+public interface StabilizationState {
+
+    /**
+     * @return the number of stabilization attempts already made
+     */
+    int getStabilizationAttempts();
+
+    /**
+     * @return the wall-clock time, in epoch milliseconds, at which stabilization started
+     */
+    long getStabilizationStartTimeMillis();
+}
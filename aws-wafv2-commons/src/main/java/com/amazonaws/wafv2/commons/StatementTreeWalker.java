@@ -0,0 +1,86 @@
+package com.amazonaws.wafv2.commons;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Converts a statement tree bottom-up with an explicit stack instead of recursion.
+ *
+ * Every statement is converted once all of its nested statements are, so the depth of the tree is only bounded
+ * by the heap and not by the thread stack.
+ *
+ * @param <S> the source statement type parameter
+ * @param <T> the target statement type parameter
+ */
+public abstract class StatementTreeWalker<S, T> {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * Adds the statements nested in a statement, in the order {@link #convert} receives their conversions.
+     *
+     * @param statement the statement, not null
+     * @param nested    the list to add the nested statements to
+     */
+    protected abstract void nested(S statement, List<S> nested);
+
+    /**
+     * Converts a single statement.
+     *
+     * @param statement the statement, not null
+     * @param converted the conversions of the nested statements, only valid during this call
+     * @return the converted statement
+     */
+    protected abstract T convert(S statement, List<T> converted);
+
+    /**
+     * Converts a statement tree.
+     *
+     * @param root the root statement, may be null
+     * @return the converted tree, null if the root is null
+     */
+    public final T walk(final S root) {
+        if (root == null) {
+            return null;
+        }
+        final Deque<Frame<S>> pending = new ArrayDeque<>(INITIAL_CAPACITY);
+        final List<T> converted = new ArrayList<>(INITIAL_CAPACITY);
+        final List<S> nested = new ArrayList<>();
+        pending.push(new Frame<>(root));
+        while (!pending.isEmpty()) {
+            final Frame<S> frame = pending.peek();
+            if (frame.nestedCount < 0) {
+                // first visit, schedule the nested statements so that the first one is converted first
+                nested.clear();
+                if (frame.statement != null) {
+                    nested(frame.statement, nested);
+                }
+                frame.nestedCount = nested.size();
+                for (int i = nested.size() - 1; i >= 0; i--) {
+                    pending.push(new Frame<>(nested.get(i)));
+                }
+            } else {
+                // second visit, the conversions of the nested statements are on top of the converted stack
+                pending.pop();
+                final List<T> convertedNested = converted.subList(converted.size() - frame.nestedCount,
+                        converted.size());
+                final T result = frame.statement == null ? null : convert(frame.statement, convertedNested);
+                convertedNested.clear();
+                converted.add(result);
+            }
+        }
+        return converted.get(0);
+    }
+
+    private static final class Frame<S> {
+        private final S statement;
+        // number of nested statements, negative until the statement was expanded
+        private int nestedCount = -1;
+
+        private Frame(final S statement) {
+            this.statement = statement;
+        }
+    }
+}
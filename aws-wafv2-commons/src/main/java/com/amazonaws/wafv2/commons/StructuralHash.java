@@ -0,0 +1,146 @@
+package com.amazonaws.wafv2.commons;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Stable 64-bit structural hash of a resource model tree, such as a rule or a statement.
+ *
+ * The hash is computed in a single pass over the fields of the models, in the alphabetical order of their names,
+ * mixing strings char by char so that no intermediate string or tree is built. It only depends on the field names
+ * and values, so equal models have equal hashes in every JVM, and models differing anywhere in their subtree have
+ * different hashes with overwhelming probability. Lists are hashed in order and maps regardless of their order.
+ * Models are expected to be trees: a cycle overflows the stack.
+ */
+public final class StructuralHash {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private static final long NULL = 0x9e3779b97f4a7c15L;
+    private static final long LIST = 0x632be59bd9b4e019L;
+    private static final long MAP = 0x85ebca77c2b2ae63L;
+    private static final long MODEL = 0xc2b2ae3d27d4eb4fL;
+
+    // the instance fields of each model class with the hashes of their names, sorted by name
+    private static final ClassValue<ModelField[]> FIELDS = new ClassValue<ModelField[]>() {
+        @Override
+        protected ModelField[] computeValue(final Class<?> type) {
+            final List<ModelField> fields = new ArrayList<>();
+            for (Class<?> current = type; current != null && current != Object.class;
+                 current = current.getSuperclass()) {
+                for (final Field field : current.getDeclaredFields()) {
+                    if (!Modifier.isStatic(field.getModifiers()) && !field.isSynthetic()) {
+                        field.setAccessible(true);
+                        fields.add(new ModelField(field, chars(FNV_OFFSET_BASIS, field.getName())));
+                    }
+                }
+            }
+            fields.sort(Comparator.comparing(field -> field.field.getName()));
+            return fields.toArray(new ModelField[0]);
+        }
+    };
+
+    private StructuralHash() {
+    }
+
+    /**
+     * Hashes a model tree.
+     *
+     * @param value the root of the tree, may be null
+     * @return the hash
+     */
+    public static long of(final Object value) {
+        return finish(hash(value));
+    }
+
+    private static long hash(final Object value) {
+        if (value == null) {
+            return NULL;
+        }
+        if (value instanceof CharSequence) {
+            return chars(FNV_OFFSET_BASIS, (CharSequence) value);
+        }
+        if (value instanceof Enum) {
+            return chars(FNV_OFFSET_BASIS, ((Enum<?>) value).name());
+        }
+        if (value instanceof Double || value instanceof Float) {
+            return mix(FNV_OFFSET_BASIS, Double.doubleToLongBits(((Number) value).doubleValue()));
+        }
+        if (value instanceof Number) {
+            return mix(FNV_OFFSET_BASIS, ((Number) value).longValue());
+        }
+        if (value instanceof Boolean) {
+            return mix(FNV_OFFSET_BASIS, (Boolean) value ? 1 : 2);
+        }
+        if (value instanceof Character) {
+            return mix(FNV_OFFSET_BASIS, (Character) value);
+        }
+        if (value instanceof Iterable) {
+            long hash = mix(FNV_OFFSET_BASIS, LIST);
+            for (final Object element : (Iterable<?>) value) {
+                hash = mix(hash, hash(element));
+            }
+            return hash;
+        }
+        if (value instanceof Map) {
+            // entries are summed so that the iteration order does not matter
+            long sum = 0;
+            for (final Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                sum += finish(mix(hash(entry.getKey()), hash(entry.getValue())));
+            }
+            return mix(mix(FNV_OFFSET_BASIS, MAP), sum);
+        }
+        long hash = mix(FNV_OFFSET_BASIS, MODEL);
+        for (final ModelField field : FIELDS.get(value.getClass())) {
+            final Object fieldValue;
+            try {
+                fieldValue = field.field.get(value);
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            }
+            // absent fields are skipped, so that adding an optional field to a model keeps the hash of its instances
+            if (fieldValue != null) {
+                hash = mix(mix(hash, field.nameHash), hash(fieldValue));
+            }
+        }
+        return hash;
+    }
+
+    private static long chars(final long seed, final CharSequence value) {
+        long hash = seed;
+        for (int i = 0; i < value.length(); i++) {
+            hash = (hash ^ value.charAt(i)) * FNV_PRIME;
+        }
+        return mix(hash, value.length());
+    }
+
+    private static long mix(final long hash, final long value) {
+        return (hash ^ finish(value)) * FNV_PRIME;
+    }
+
+    // murmur3 finalizer, spreads every input bit over the whole hash
+    private static long finish(final long value) {
+        long hash = value;
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    private static final class ModelField {
+        private final Field field;
+        private final long nameHash;
+
+        private ModelField(final Field field, final long nameHash) {
+            this.field = field;
+            this.nameHash = nameHash;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.amazonaws.wafv2.commons;
+
+import lombok.NonNull;
+import software.amazon.awssdk.services.wafv2.Wafv2Client;
+import software.amazon.awssdk.services.wafv2.model.ListTagsForResourceRequest;
+import software.amazon.awssdk.services.wafv2.model.ListTagsForResourceResponse;
+import software.amazon.awssdk.services.wafv2.model.Tag;
+import software.amazon.awssdk.services.wafv2.model.TagInfoForResource;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Iterates over the {@link TagInfoForResource} pages of a resource, following NextMarker until the last page.
+ *
+ * Pages are fetched on demand. When a prefetch executor is given, the next page is requested as soon as the
+ * current one is handed out, so that fetching overlaps with the conversion of the current page.
+ * Instances are not thread-safe.
+ */
+public class TagPageIterator implements Iterator<TagInfoForResource> {
+
+    private final AmazonWebServicesClientProxy proxy;
+    private final Wafv2Client client;
+    private final String resourceARN;
+    private final int limit;
+    private final Executor prefetchExecutor;
+
+    private String nextMarker;
+    private CompletableFuture<ListTagsForResourceResponse> prefetchedPage;
+    private boolean lastPageFetched;
+
+    /**
+     * @param proxy            the AWSClient proxy, not null
+     * @param client           the client, not null
+     * @param resourceARN      the resource ARN, not null
+     * @param limit            the maximum number of tags per page
+     * @param prefetchExecutor the executor fetching the next page ahead of time, null to fetch on demand
+     */
+    public TagPageIterator(@NonNull final AmazonWebServicesClientProxy proxy,
+                           @NonNull final Wafv2Client client,
+                           @NonNull final String resourceARN,
+                           final int limit,
+                           final Executor prefetchExecutor) {
+        this.proxy = proxy;
+        this.client = client;
+        this.resourceARN = resourceARN;
+        this.limit = limit;
+        this.prefetchExecutor = prefetchExecutor;
+    }
+
+    /**
+     * Returns a lazy stream over all tags of a resource.
+     *
+     * @param proxy       the AWSClient proxy, not null
+     * @param client      the client, not null
+     * @param resourceARN the resource ARN, not null
+     * @param limit       the maximum number of tags per page
+     * @param prefetch    whether the next page is fetched while the current one is consumed
+     * @return the tags of the resource, fetched as the stream is consumed
+     */
+    public static Stream<Tag> streamTags(@NonNull final AmazonWebServicesClientProxy proxy,
+                                         @NonNull final Wafv2Client client,
+                                         @NonNull final String resourceARN,
+                                         final int limit,
+                                         final boolean prefetch) {
+        final TagPageIterator pages = new TagPageIterator(proxy, client, resourceARN, limit,
+                prefetch ? HandlerExecutors.shared() : null);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(pages, Spliterator.ORDERED), false)
+                .flatMap(page -> tagList(page).stream());
+    }
+
+    @Override
+    public boolean hasNext() {
+        return !lastPageFetched;
+    }
+
+    @Override
+    public TagInfoForResource next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        final ListTagsForResourceResponse response = prefetchedPage == null
+                ? fetch(nextMarker)
+                : join(prefetchedPage);
+        prefetchedPage = null;
+        nextMarker = response.nextMarker();
+        lastPageFetched = nextMarker == null || nextMarker.isEmpty();
+        if (!lastPageFetched && prefetchExecutor != null) {
+            final String marker = nextMarker;
+            prefetchedPage = CompletableFuture.supplyAsync(() -> fetch(marker), prefetchExecutor);
+        }
+        return response.tagInfoForResource();
+    }
+
+    private ListTagsForResourceResponse fetch(final String nextMarker) {
+        final ListTagsForResourceRequest request = ListTagsForResourceRequest.builder()
+                .resourceARN(resourceARN)
+                .limit(limit)
+                .nextMarker(nextMarker)
+                .build();
+        return proxy.injectCredentialsAndInvokeV2(request, client::listTagsForResource);
+    }
+
+    private static ListTagsForResourceResponse join(final CompletableFuture<ListTagsForResourceResponse> page) {
+        try {
+            return page.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private static List<Tag> tagList(final TagInfoForResource page) {
+        return page == null || page.tagList() == null ? Collections.emptyList() : page.tagList();
+    }
+}
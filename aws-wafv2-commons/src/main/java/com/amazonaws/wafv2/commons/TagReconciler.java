@@ -0,0 +1,125 @@
+package com.amazonaws.wafv2.commons;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import software.amazon.awssdk.services.wafv2.Wafv2Client;
+import software.amazon.awssdk.services.wafv2.model.Tag;
+import software.amazon.awssdk.services.wafv2.model.TagResourceRequest;
+import software.amazon.awssdk.services.wafv2.model.UntagResourceRequest;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Applies tag changes made on Update, since update APIs do not accept tags.
+ */
+public final class TagReconciler {
+
+    private TagReconciler() {
+    }
+
+    /**
+     * Computes the tags to add and remove between the previous and desired tags of a resource and applies them with
+     * at most one UntagResource and one TagResource call. No call is made when the tags are unchanged.
+     *
+     * @param <T>           the model Tag type parameter
+     * @param proxy         the AWSClient proxy, not null
+     * @param client        the client, not null
+     * @param resourceARN   supplies the resource ARN, only called when tags changed, not null
+     * @param previousTags  the tags of the previous resource state, may be null
+     * @param desiredTags   the tags of the desired resource state, may be null
+     * @param keyFunction   extracts the key of a model tag, not null
+     * @param valueFunction extracts the value of a model tag, not null
+     * @return the applied changes, not null
+     */
+    public static <T> TagChanges reconcileTags(@NonNull final AmazonWebServicesClientProxy proxy,
+                                               @NonNull final Wafv2Client client,
+                                               @NonNull final Supplier<String> resourceARN,
+                                               final List<T> previousTags,
+                                               final List<T> desiredTags,
+                                               @NonNull final Function<T, String> keyFunction,
+                                               @NonNull final Function<T, String> valueFunction) {
+        final TagChanges changes = diff(toMap(previousTags, keyFunction, valueFunction),
+                toMap(desiredTags, keyFunction, valueFunction));
+        if (changes.isEmpty()) {
+            return changes;
+        }
+        final String arn = resourceARN.get();
+        if (!changes.getTagKeysToRemove().isEmpty()) {
+            final UntagResourceRequest untagResourceRequest = UntagResourceRequest.builder()
+                    .resourceARN(arn)
+                    .tagKeys(changes.getTagKeysToRemove())
+                    .build();
+            proxy.injectCredentialsAndInvokeV2(untagResourceRequest, client::untagResource);
+        }
+        if (!changes.getTagsToAdd().isEmpty()) {
+            final TagResourceRequest tagResourceRequest = TagResourceRequest.builder()
+                    .resourceARN(arn)
+                    .tags(changes.getTagsToAdd().entrySet().stream()
+                            .map(tag -> Tag.builder().key(tag.getKey()).value(tag.getValue()).build())
+                            .collect(Collectors.toList()))
+                    .build();
+            proxy.injectCredentialsAndInvokeV2(tagResourceRequest, client::tagResource);
+        }
+        return changes;
+    }
+
+    /**
+     * Computes the minimal changes turning the previous tags into the desired tags. Tags whose value changed are
+     * added again, since TagResource overwrites existing keys.
+     *
+     * @param previousTags the previous tags by key, not null
+     * @param desiredTags  the desired tags by key, not null
+     * @return the changes, not null
+     */
+    public static TagChanges diff(@NonNull final Map<String, String> previousTags,
+                                  @NonNull final Map<String, String> desiredTags) {
+        final Map<String, String> tagsToAdd = new LinkedHashMap<>();
+        desiredTags.forEach((key, value) -> {
+            if (!previousTags.containsKey(key) || !Objects.equals(previousTags.get(key), value)) {
+                tagsToAdd.put(key, value);
+            }
+        });
+        final Set<String> tagKeysToRemove = new LinkedHashSet<>();
+        previousTags.keySet().forEach(key -> {
+            if (!desiredTags.containsKey(key)) {
+                tagKeysToRemove.add(key);
+            }
+        });
+        return new TagChanges(Collections.unmodifiableMap(tagsToAdd), Collections.unmodifiableSet(tagKeysToRemove));
+    }
+
+    private static <T> Map<String, String> toMap(final List<T> tags,
+                                                 final Function<T, String> keyFunction,
+                                                 final Function<T, String> valueFunction) {
+        final Map<String, String> tagMap = new LinkedHashMap<>();
+        if (tags != null) {
+            tags.forEach(tag -> tagMap.put(keyFunction.apply(tag), valueFunction.apply(tag)));
+        }
+        return tagMap;
+    }
+
+    /**
+     * Tags to add and tag keys to remove on a resource.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static final class TagChanges {
+        private final Map<String, String> tagsToAdd;
+        private final Set<String> tagKeysToRemove;
+
+        public boolean isEmpty() {
+            return tagsToAdd.isEmpty() && tagKeysToRemove.isEmpty();
+        }
+    }
+}
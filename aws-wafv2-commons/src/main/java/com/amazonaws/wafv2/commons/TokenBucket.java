@@ -0,0 +1,113 @@
+package com.amazonaws.wafv2.commons;
+
+import lombok.Builder;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Client-side token bucket limiting the rate of calls, adapting its rate to the throttling it observes.
+ *
+ * Tokens are refilled continuously at the current rate up to the burst size and every call takes one, waiting for
+ * it when the bucket is empty. The rate starts at its maximum, is halved on every throttled call down to its minimum
+ * and grows back by a fixed step with every successful call, so callers settle just below the rate the service
+ * allows instead of only backing off once they are throttled. Instances are thread-safe.
+ */
+public class TokenBucket {
+
+    private final double maxRatePerSecond;
+    private final double minRatePerSecond;
+    private final double burst;
+    private final double increasePerSuccess;
+    private final LongSupplier clock;
+    private final Sleeper sleeper;
+
+    private double ratePerSecond;
+    // negative while callers are waiting for tokens they already reserved
+    private double tokens;
+    private long lastRefillMillis;
+
+    /**
+     * @param maxRatePerSecond   the initial and maximum rate, positive
+     * @param minRatePerSecond   the rate throttling never lowers the bucket below, positive and at most the maximum
+     * @param burst              the maximum number of stored tokens, at least 1
+     * @param increasePerSuccess the rate regained per successful call, not negative
+     * @param clock              the clock in milliseconds, defaults to the system clock
+     * @param sleeper            blocks waiting callers, defaults to {@link Thread#sleep(long)}
+     */
+    @Builder
+    private TokenBucket(final double maxRatePerSecond,
+                        final double minRatePerSecond,
+                        final double burst,
+                        final double increasePerSuccess,
+                        final LongSupplier clock,
+                        final Sleeper sleeper) {
+        if (minRatePerSecond <= 0 || maxRatePerSecond < minRatePerSecond) {
+            throw new IllegalArgumentException("rates must be positive with minRatePerSecond <= maxRatePerSecond");
+        }
+        if (burst < 1) {
+            throw new IllegalArgumentException("burst must be at least 1");
+        }
+        if (increasePerSuccess < 0) {
+            throw new IllegalArgumentException("increasePerSuccess must not be negative");
+        }
+        this.maxRatePerSecond = maxRatePerSecond;
+        this.minRatePerSecond = minRatePerSecond;
+        this.burst = burst;
+        this.increasePerSuccess = increasePerSuccess;
+        this.clock = clock == null ? System::currentTimeMillis : clock;
+        this.sleeper = sleeper == null ? Thread::sleep : sleeper;
+        this.ratePerSecond = maxRatePerSecond;
+        this.tokens = burst;
+        this.lastRefillMillis = this.clock.getAsLong();
+    }
+
+    /**
+     * Takes a token, waiting until it is available. An interrupted wait returns early with the interrupt flag set.
+     *
+     * @return the time waited in milliseconds
+     */
+    public long acquire() {
+        final long waitMillis;
+        synchronized (this) {
+            refill();
+            tokens -= 1;
+            waitMillis = tokens >= 0 ? 0 : (long) Math.ceil(-tokens * 1000 / ratePerSecond);
+        }
+        if (waitMillis > 0) {
+            try {
+                sleeper.sleep(waitMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return waitMillis;
+    }
+
+    /**
+     * Records a call that was not throttled, raising the rate by one step up to the maximum.
+     */
+    public synchronized void onSuccess() {
+        ratePerSecond = Math.min(maxRatePerSecond, ratePerSecond + increasePerSuccess);
+    }
+
+    /**
+     * Records a throttled call, halving the rate down to the minimum and dropping the stored tokens.
+     */
+    public synchronized void onThrottled() {
+        refill();
+        ratePerSecond = Math.max(minRatePerSecond, ratePerSecond / 2);
+        tokens = Math.min(tokens, 0);
+    }
+
+    public synchronized double getRatePerSecond() {
+        return ratePerSecond;
+    }
+
+    private void refill() {
+        final long now = clock.getAsLong();
+        if (now > lastRefillMillis) {
+            tokens = Math.min(burst, tokens + (now - lastRefillMillis) * ratePerSecond / 1000);
+            lastRefillMillis = now;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.amazonaws.wafv2.commons;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import software.amazon.awssdk.core.client.config.ClientOverrideConfiguration;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.wafv2.Wafv2Client;
+import software.amazon.awssdk.services.wafv2.Wafv2ClientBuilder;
+import software.amazon.cloudformation.LambdaWrapper;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Container-wide registry of {@link Wafv2Client} instances.
+ *
+ * Building a client resolves endpoints, loads service metadata and wires up the interceptor chain, which is
+ * expensive compared to the calls the handlers make with it. Clients are thread-safe and credentials are
+ * injected per request by the CloudFormation proxy, so a single client per region and override configuration
+ * is shared by every handler in the container. Clients are built lazily on first use.
+ */
+public final class Wafv2ClientRegistry {
+
+    private static final Map<ClientKey, Wafv2Client> CLIENTS = new ConcurrentHashMap<>();
+
+    private Wafv2ClientRegistry() {
+    }
+
+    /**
+     * Returns the shared client for the given region and override configuration, building it on first use.
+     *
+     * @param region                the client region, null to use the default region provider chain
+     * @param overrideConfiguration the client override configuration, not null. Configurations are compared
+     *                              by identity, callers are expected to pass shared constants.
+     * @return the shared client, not null
+     */
+    public static Wafv2Client getClient(final Region region,
+                                        @NonNull final ClientOverrideConfiguration overrideConfiguration) {
+        return CLIENTS.computeIfAbsent(new ClientKey(region, overrideConfiguration), Wafv2ClientRegistry::newClient);
+    }
+
+    /**
+     * Builds a new client that is not registered in the registry.
+     *
+     * @param region                the client region, null to use the default region provider chain
+     * @param overrideConfiguration the client override configuration, not null
+     * @return a new client, not null
+     */
+    public static Wafv2Client newClient(final Region region,
+                                        @NonNull final ClientOverrideConfiguration overrideConfiguration) {
+        return newClient(new ClientKey(region, overrideConfiguration));
+    }
+
+    private static Wafv2Client newClient(final ClientKey key) {
+        final Wafv2ClientBuilder builder = Wafv2Client.builder()
+                .overrideConfiguration(key.getOverrideConfiguration())
+                .httpClient(LambdaWrapper.HTTP_CLIENT);
+        if (key.getRegion() != null) {
+            builder.region(key.getRegion());
+        }
+        return builder.build();
+    }
+
+    /**
+     * Identity of a registered client. {@link ClientOverrideConfiguration} does not implement value equality,
+     * so the configuration is compared by identity.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    private static final class ClientKey {
+        private final Region region;
+        private final ClientOverrideConfiguration overrideConfiguration;
+
+        @Override
+        public boolean equals(final Object other) {
+            if (!(other instanceof ClientKey)) {
+                return false;
+            }
+            final ClientKey that = (ClientKey) other;
+            return Objects.equals(region, that.region) && overrideConfiguration == that.overrideConfiguration;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Objects.hashCode(region) + System.identityHashCode(overrideConfiguration);
+        }
+    }
+}
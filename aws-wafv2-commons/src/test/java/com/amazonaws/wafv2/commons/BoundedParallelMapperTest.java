@@ -0,0 +1,81 @@
+package com.amazonaws.wafv2.commons;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.wafv2.model.WafInternalErrorException;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class BoundedParallelMapperTest {
+
+    @Test
+    public void testResultsKeepItemOrder() {
+        final List<Integer> items = IntStream.range(0, 50).boxed().collect(Collectors.toList());
+
+        final List<String> results = BoundedParallelMapper.map(items, item -> {
+            sleep((50 - item) % 5);
+            return "item-" + item;
+        }, 4, HandlerExecutors.shared());
+
+        assertThat(results).containsExactlyElementsOf(items.stream()
+                .map(item -> "item-" + item)
+                .collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testConcurrencyIsBounded() {
+        final AtomicInteger inFlight = new AtomicInteger();
+        final AtomicInteger peak = new AtomicInteger();
+        final List<Integer> items = IntStream.range(0, 40).boxed().collect(Collectors.toList());
+
+        BoundedParallelMapper.map(items, item -> {
+            peak.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            sleep(5);
+            inFlight.decrementAndGet();
+            return item;
+        }, 3, HandlerExecutors.shared());
+
+        assertThat(peak.get()).isBetween(1, 3);
+    }
+
+    @Test
+    public void testEmptyItems() {
+        assertThat(BoundedParallelMapper.map(Collections.<Integer>emptyList(), item -> item, 8,
+                HandlerExecutors.shared())).isEmpty();
+    }
+
+    @Test
+    public void testFailureIsRethrownAndStopsMapping() {
+        final AtomicInteger calls = new AtomicInteger();
+        final List<Integer> items = IntStream.range(0, 100).boxed().collect(Collectors.toList());
+
+        assertThatThrownBy(() -> BoundedParallelMapper.map(items, item -> {
+            calls.incrementAndGet();
+            throw WafInternalErrorException.builder().build();
+        }, 2, HandlerExecutors.shared()))
+                .isInstanceOf(WafInternalErrorException.class);
+        assertThat(calls.get()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    public void testInvalidConcurrency() {
+        assertThatThrownBy(() -> BoundedParallelMapper.map(Collections.singletonList(1), item -> item, 0,
+                HandlerExecutors.shared()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static void sleep(final long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
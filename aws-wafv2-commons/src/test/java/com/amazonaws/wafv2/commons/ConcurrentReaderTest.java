@@ -0,0 +1,135 @@
+package com.amazonaws.wafv2.commons;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ConcurrentReaderTest {
+
+    private static final String ARN = "arn:aws:wafv2:us-east-1:123456789012:regional/webacl/name/id";
+
+    private ExecutorService executor;
+    private List<String> listedArns;
+
+    @BeforeEach
+    public void setup() {
+        executor = Executors.newCachedThreadPool();
+        listedArns = new CopyOnWriteArrayList<>();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testTagsAreListedWhileTheEntityIsFetched() {
+        final CountDownLatch tagsStarted = new CountDownLatch(1);
+
+        final String result = ConcurrentReader.read(
+                () -> {
+                    // only returns once the tags are being listed concurrently
+                    await(tagsStarted);
+                    return ARN;
+                },
+                arn -> arn,
+                ARN,
+                arn -> {
+                    tagsStarted.countDown();
+                    return listTags(arn);
+                },
+                (arn, tags) -> arn + tags.get(),
+                executor);
+
+        assertThat(result).isEqualTo(ARN + "[tag]");
+        assertThat(listedArns).containsExactly(ARN);
+    }
+
+    @Test
+    public void testTagsAreListedAfterTheEntityWhenTheArnIsUnknown() {
+        final String result = ConcurrentReader.read(
+                () -> {
+                    assertThat(listedArns).isEmpty();
+                    return ARN;
+                },
+                arn -> arn,
+                null,
+                this::listTags,
+                (arn, tags) -> arn + tags.get(),
+                executor);
+
+        assertThat(result).isEqualTo(ARN + "[tag]");
+        assertThat(listedArns).containsExactly(ARN);
+    }
+
+    @Test
+    public void testTagsAreListedAgainWhenTheKnownArnIsStale() {
+        final String result = ConcurrentReader.read(
+                () -> ARN,
+                arn -> arn,
+                "staleArn",
+                this::listTags,
+                (arn, tags) -> arn + tags.get(),
+                executor);
+
+        assertThat(result).isEqualTo(ARN + "[tag]");
+        assertThat(listedArns).contains(ARN);
+    }
+
+    @Test
+    public void testGetFailureIsRethrown() {
+        final IllegalStateException failure = new IllegalStateException("get failed");
+
+        assertThatThrownBy(() -> ConcurrentReader.<String, String, String>read(
+                () -> {
+                    throw failure;
+                },
+                arn -> arn,
+                ARN,
+                this::listTags,
+                (arn, tags) -> arn + tags.get(),
+                executor)).isSameAs(failure);
+    }
+
+    @Test
+    public void testTagsFailureIsRethrown() {
+        final IllegalStateException failure = new IllegalStateException("list tags failed");
+
+        assertThatThrownBy(() -> ConcurrentReader.<String, String, String>read(
+                () -> ARN,
+                arn -> arn,
+                ARN,
+                arn -> {
+                    throw failure;
+                },
+                (arn, tags) -> arn + tags.get(),
+                executor)).isSameAs(failure);
+    }
+
+    private List<String> listTags(final String arn) {
+        listedArns.add(arn);
+        return Collections.singletonList("tag");
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            if (!latch.await(5, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("tags were not listed concurrently");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.amazonaws.wafv2.commons;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ConversionCacheTest {
+
+    @Test
+    public void testEqualSourcesAreConvertedOnce() {
+        final ConversionCache<Map<String, Object>, String> cache = new ConversionCache<>(10);
+        final AtomicInteger conversions = new AtomicInteger();
+        final Function<Map<String, Object>, String> converter = rule -> {
+            conversions.incrementAndGet();
+            return "converted " + rule.get("Name");
+        };
+
+        final String first = cache.convert(rule("a", 1), converter);
+        final String second = cache.convert(rule("a", 1), converter);
+
+        assertThat(second).isSameAs(first);
+        assertThat(conversions.get()).isEqualTo(1);
+        assertThat(cache.getHits()).isEqualTo(1);
+        assertThat(cache.getMisses()).isEqualTo(1);
+    }
+
+    @Test
+    public void testChangedSourcesAreConvertedAgain() {
+        final ConversionCache<Map<String, Object>, String> cache = new ConversionCache<>(10);
+
+        assertThat(cache.convert(rule("a", 1), rule -> "first")).isEqualTo("first");
+        assertThat(cache.convert(rule("a", 2), rule -> "second")).isEqualTo("second");
+        assertThat(cache.getHits()).isZero();
+    }
+
+    @Test
+    public void testLeastRecentlyUsedConversionIsEvicted() {
+        final ConversionCache<Map<String, Object>, String> cache = new ConversionCache<>(2);
+        cache.convert(rule("a", 1), rule -> "a");
+        cache.convert(rule("b", 1), rule -> "b");
+        cache.convert(rule("a", 1), rule -> "a again");
+        cache.convert(rule("c", 1), rule -> "c");
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.convert(rule("a", 1), rule -> "a again")).isEqualTo("a");
+        assertThat(cache.convert(rule("b", 1), rule -> "b again")).isEqualTo("b again");
+    }
+
+    @Test
+    public void testNullConversionsAreNotCached() {
+        final ConversionCache<Map<String, Object>, String> cache = new ConversionCache<>(2);
+        cache.convert(rule("a", 1), rule -> null);
+
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    public void testMaxEntriesMustBePositive() {
+        assertThatThrownBy(() -> new ConversionCache<>(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static Map<String, Object> rule(final String name, final int priority) {
+        return ImmutableMap.of("Name", name, "Priority", priority,
+                "Statements", ImmutableList.of(ImmutableMap.of("SearchString", name)));
+    }
+}
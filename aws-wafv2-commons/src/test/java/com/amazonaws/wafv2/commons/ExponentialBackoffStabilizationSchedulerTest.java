@@ -0,0 +1,147 @@
+package com.amazonaws.wafv2.commons;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.OptionalInt;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ExponentialBackoffStabilizationSchedulerTest {
+
+    // delay paid for every unavailable attempt before this scheduler was introduced
+    private static final int FIXED_CALLBACK_DELAY_SECONDS = 10;
+
+    @Test
+    public void testDelaysGrowExponentiallyUpToTheCap() {
+        final ExponentialBackoffStabilizationScheduler scheduler = ExponentialBackoffStabilizationScheduler.builder()
+                .initialDelaySeconds(1)
+                .maxDelaySeconds(20)
+                .clock(() -> 0L)
+                .jitter((min, max) -> max)
+                .build();
+
+        assertThat(scheduler.nextCallbackDelaySeconds(new State(0, 0))).hasValue(1);
+        assertThat(scheduler.nextCallbackDelaySeconds(new State(1, 0))).hasValue(2);
+        assertThat(scheduler.nextCallbackDelaySeconds(new State(2, 0))).hasValue(4);
+        assertThat(scheduler.nextCallbackDelaySeconds(new State(4, 0))).hasValue(16);
+        assertThat(scheduler.nextCallbackDelaySeconds(new State(5, 0))).hasValue(20);
+        assertThat(scheduler.nextCallbackDelaySeconds(new State(200, 0))).hasValue(20);
+    }
+
+    @Test
+    public void testJitterStaysWithinBounds() {
+        final ExponentialBackoffStabilizationScheduler scheduler = ExponentialBackoffStabilizationScheduler.builder()
+                .clock(() -> 0L)
+                .build();
+
+        for (int attempts = 0; attempts < 50; attempts++) {
+            final OptionalInt delay = scheduler.nextCallbackDelaySeconds(new State(attempts, 0));
+            assertThat(delay).isPresent();
+            assertThat(delay.getAsInt()).isBetween(CommonVariables.STABILIZATION_INITIAL_DELAY_SECONDS,
+                    CommonVariables.STABILIZATION_MAX_DELAY_SECONDS);
+        }
+    }
+
+    @Test
+    public void testWallClockBudget() {
+        final AtomicLong clock = new AtomicLong();
+        final ExponentialBackoffStabilizationScheduler scheduler = ExponentialBackoffStabilizationScheduler.builder()
+                .timeoutMillis(60_000)
+                .clock(clock::get)
+                .jitter((min, max) -> max)
+                .build();
+        final State state = new State(10, 0);
+
+        clock.set(30_000);
+        assertThat(scheduler.isExhausted(state)).isFalse();
+        assertThat(scheduler.nextCallbackDelaySeconds(state)).hasValue(20);
+
+        // the next attempt would land after the budget
+        clock.set(45_000);
+        assertThat(scheduler.isExhausted(state)).isFalse();
+        assertThat(scheduler.nextCallbackDelaySeconds(state)).isEmpty();
+
+        clock.set(60_000);
+        assertThat(scheduler.isExhausted(state)).isTrue();
+    }
+
+    @Test
+    public void testShortPropagationDelaysResolveFasterThanFixedDelay() {
+        for (long propagationMillis : new long[]{500, 1000, 2000, 3000}) {
+            final long waitedMillis = simulate(propagationMillis, new Random(propagationMillis));
+            final long fixedWaitMillis = FIXED_CALLBACK_DELAY_SECONDS * 1000L;
+
+            assertThat(waitedMillis)
+                    .as("entity available after %d ms", propagationMillis)
+                    .isLessThan(fixedWaitMillis);
+        }
+    }
+
+    @Test
+    public void testUnavailableEntityStopsAtBudget() {
+        final long waitedMillis = simulate(Long.MAX_VALUE, new Random(0));
+
+        assertThat(waitedMillis).isEqualTo(-1);
+    }
+
+    @Test
+    public void testConcurrentWaitersDoNotRetryInLockstep() {
+        final Set<Long> fifthAttemptTimes = new HashSet<>();
+        final Random random = new Random(42);
+        for (int waiter = 0; waiter < 100; waiter++) {
+            final AtomicLong clock = new AtomicLong();
+            final ExponentialBackoffStabilizationScheduler scheduler = scheduler(clock, random);
+            State state = new State(0, 0);
+            for (int attempt = 0; attempt < 4; attempt++) {
+                clock.addAndGet(scheduler.nextCallbackDelaySeconds(state).getAsInt() * 1000L);
+                state = new State(state.getStabilizationAttempts() + 1, 0);
+            }
+            fifthAttemptTimes.add(clock.get());
+        }
+
+        assertThat(fifthAttemptTimes.size()).isGreaterThan(5);
+    }
+
+    /**
+     * Simulates a handler waiting for an entity that becomes available after the given propagation delay.
+     *
+     * @return the time spent waiting once the entity is available, or -1 if the budget was exhausted
+     */
+    private static long simulate(final long propagationMillis, final Random random) {
+        final AtomicLong clock = new AtomicLong();
+        final ExponentialBackoffStabilizationScheduler scheduler = scheduler(clock, random);
+        State state = new State(0, clock.get());
+        while (!scheduler.isExhausted(state)) {
+            if (clock.get() >= propagationMillis) {
+                return clock.get();
+            }
+            final OptionalInt delay = scheduler.nextCallbackDelaySeconds(state);
+            if (!delay.isPresent()) {
+                return -1;
+            }
+            clock.addAndGet(delay.getAsInt() * 1000L);
+            state = new State(state.getStabilizationAttempts() + 1, state.getStabilizationStartTimeMillis());
+        }
+        return -1;
+    }
+
+    private static ExponentialBackoffStabilizationScheduler scheduler(final AtomicLong clock, final Random random) {
+        return ExponentialBackoffStabilizationScheduler.builder()
+                .clock(clock::get)
+                .jitter((min, max) -> min + random.nextInt(max - min + 1))
+                .build();
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class State implements StabilizationState {
+        private final int stabilizationAttempts;
+        private final long stabilizationStartTimeMillis;
+    }
+}
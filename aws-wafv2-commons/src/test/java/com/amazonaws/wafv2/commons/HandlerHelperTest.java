@@ -0,0 +1,34 @@
+package com.amazonaws.wafv2.commons;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class HandlerHelperTest {
+
+    private static final ResourceHandlerRequest<Object> REQUEST = ResourceHandlerRequest.builder()
+            .awsPartition("aws")
+            .awsAccountId("123456789012")
+            .region("eu-west-1")
+            .build();
+
+    @Test
+    public void testRegionalArn() {
+        assertThat(HandlerHelper.buildArn(REQUEST, "ipset", "REGIONAL", "name", "id"))
+                .isEqualTo("arn:aws:wafv2:eu-west-1:123456789012:regional/ipset/name/id");
+    }
+
+    @Test
+    public void testCloudFrontArnIsGlobal() {
+        assertThat(HandlerHelper.buildArn(REQUEST, "webacl", "CLOUDFRONT", "name", "id"))
+                .isEqualTo("arn:aws:wafv2:us-east-1:123456789012:global/webacl/name/id");
+    }
+
+    @Test
+    public void testIncompleteIdentifiersHaveNoArn() {
+        assertThat(HandlerHelper.buildArn(REQUEST, "webacl", "REGIONAL", "name", null)).isNull();
+        assertThat(HandlerHelper.buildArn(ResourceHandlerRequest.builder().build(), "webacl", "REGIONAL", "name",
+                "id")).isNull();
+    }
+}
@@ -0,0 +1,181 @@
+package com.amazonaws.wafv2.commons;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import software.amazon.awssdk.awscore.exception.AwsErrorDetails;
+import software.amazon.awssdk.core.interceptor.Context;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.SdkExecutionAttribute;
+import software.amazon.awssdk.http.SdkHttpResponse;
+import software.amazon.awssdk.services.wafv2.model.Wafv2Exception;
+import software.amazon.cloudformation.proxy.Logger;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class HandlerMetricsTest {
+
+    private static final String RESOURCE_TYPE = "AWS::WAFv2::WebACL";
+
+    private Logger logger;
+    private MetricsInterceptor interceptor;
+
+    @BeforeEach
+    public void setup() {
+        logger = mock(Logger.class);
+        interceptor = new MetricsInterceptor();
+    }
+
+    @Test
+    public void testInvocationIsLoggedInEmbeddedMetricFormat() {
+        final String result = HandlerMetrics.record(RESOURCE_TYPE, "Read", logger, () -> {
+            call("GetWebACL", 200);
+            call("ListTagsForResource", 200);
+            call("ListTagsForResource", 200);
+            return HandlerMetrics.time("Convert", () -> "converted");
+        });
+
+        assertThat(result).isEqualTo("converted");
+        final JSONObject document = logged();
+        assertThat(document.getString("ResourceType")).isEqualTo(RESOURCE_TYPE);
+        assertThat(document.getString("Action")).isEqualTo("Read");
+        assertThat(document.getLong("GetWebACL.Calls")).isEqualTo(1);
+        assertThat(document.getLong("ListTagsForResource.Calls")).isEqualTo(2);
+        assertThat(document.getLong("ListTagsForResource.Retries")).isZero();
+        assertThat(document.has("Convert.Latency")).isTrue();
+        assertThat(document.has("Duration")).isTrue();
+
+        final JSONObject directive = document.getJSONObject("_aws").getJSONArray("CloudWatchMetrics").getJSONObject(0);
+        assertThat(directive.getString("Namespace")).isEqualTo(CommonVariables.METRICS_NAMESPACE)
+                .doesNotStartWith("AWS/");
+        final JSONArray dimensions = directive.getJSONArray("Dimensions").getJSONArray(0);
+        assertThat(dimensions.length()).isEqualTo(2);
+        assertThat(dimensions.getString(0)).isEqualTo("ResourceType");
+        assertThat(dimensions.getString(1)).isEqualTo("Action");
+        final JSONArray metrics = directive.getJSONArray("Metrics");
+        for (int i = 0; i < metrics.length(); i++) {
+            assertThat(document.has(metrics.getJSONObject(i).getString("Name"))).isTrue();
+        }
+    }
+
+    @Test
+    public void testRetriesAndThrottlesAreCounted() {
+        HandlerMetrics.record(RESOURCE_TYPE, "Update", logger, () -> {
+            call("UpdateWebACL", 429, 400, 200);
+            return null;
+        });
+
+        final JSONObject document = logged();
+        assertThat(document.getLong("UpdateWebACL.Calls")).isEqualTo(1);
+        assertThat(document.getLong("UpdateWebACL.Retries")).isEqualTo(2);
+        assertThat(document.getLong("UpdateWebACL.Throttles")).isEqualTo(1);
+        assertThat(document.getLong("UpdateWebACL.Failures")).isZero();
+    }
+
+    @Test
+    public void testFailedCallsAreCounted() {
+        HandlerMetrics.record(RESOURCE_TYPE, "Update", logger, () -> {
+            final ExecutionAttributes attributes = attributes("UpdateWebACL");
+            interceptor.beforeExecution(mock(Context.BeforeExecution.class), attributes);
+            transmit(attributes, 400);
+            final Context.FailedExecution failure = mock(Context.FailedExecution.class);
+            when(failure.exception()).thenReturn(Wafv2Exception.builder()
+                    .statusCode(400)
+                    .awsErrorDetails(AwsErrorDetails.builder().errorCode("ThrottlingException").build())
+                    .build());
+            interceptor.onExecutionFailure(failure, attributes);
+            return null;
+        });
+
+        final JSONObject document = logged();
+        assertThat(document.getLong("UpdateWebACL.Failures")).isEqualTo(1);
+        assertThat(document.getLong("UpdateWebACL.Throttles")).isEqualTo(1);
+    }
+
+    @Test
+    public void testInvocationIsLoggedWhenTheHandlerFails() {
+        final IllegalStateException failure = new IllegalStateException("failed");
+
+        assertThatThrownBy(() -> HandlerMetrics.record(RESOURCE_TYPE, "Create", logger, () -> {
+            throw failure;
+        })).isSameAs(failure);
+
+        assertThat(logged().getString("Action")).isEqualTo("Create");
+        assertThat(HandlerMetrics.current()).isNull();
+    }
+
+    @Test
+    public void testNestedHandlersRecordIntoTheOuterInvocation() {
+        HandlerMetrics.record(RESOURCE_TYPE, "Create", logger, () -> {
+            call("CreateWebACL", 200);
+            return HandlerMetrics.record(RESOURCE_TYPE, "Read", logger, () -> {
+                call("GetWebACL", 200);
+                return null;
+            });
+        });
+
+        final JSONObject document = logged();
+        assertThat(document.getString("Action")).isEqualTo("Create");
+        assertThat(document.getLong("CreateWebACL.Calls")).isEqualTo(1);
+        assertThat(document.getLong("GetWebACL.Calls")).isEqualTo(1);
+    }
+
+    @Test
+    public void testSharedExecutorTasksRecordIntoTheSubmittingInvocation() {
+        HandlerMetrics.record(RESOURCE_TYPE, "Read", logger, () -> {
+            try {
+                HandlerExecutors.shared().submit(() -> call("ListTagsForResource", 200)).get(5, TimeUnit.SECONDS);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+            return null;
+        });
+
+        assertThat(logged().getLong("ListTagsForResource.Calls")).isEqualTo(1);
+    }
+
+    @Test
+    public void testNothingIsRecordedOutsideOfAnInvocation() {
+        call("GetWebACL", 200);
+
+        assertThat(HandlerMetrics.time("Convert", () -> "converted")).isEqualTo("converted");
+        verify(logger, never()).log(anyString());
+    }
+
+    private void call(final String operationName, final int... statusCodes) {
+        final ExecutionAttributes attributes = attributes(operationName);
+        interceptor.beforeExecution(mock(Context.BeforeExecution.class), attributes);
+        for (final int statusCode : statusCodes) {
+            transmit(attributes, statusCode);
+        }
+        interceptor.afterExecution(mock(Context.AfterExecution.class), attributes);
+    }
+
+    private void transmit(final ExecutionAttributes attributes, final int statusCode) {
+        final Context.AfterTransmission context = mock(Context.AfterTransmission.class);
+        when(context.httpResponse()).thenReturn(SdkHttpResponse.builder().statusCode(statusCode).build());
+        interceptor.beforeTransmission(mock(Context.BeforeTransmission.class), attributes);
+        interceptor.afterTransmission(context, attributes);
+    }
+
+    private JSONObject logged() {
+        final ArgumentCaptor<String> message = ArgumentCaptor.forClass(String.class);
+        verify(logger, times(1)).log(message.capture());
+        return new JSONObject(message.getValue());
+    }
+
+    private static ExecutionAttributes attributes(final String operationName) {
+        return new ExecutionAttributes().putAttribute(SdkExecutionAttribute.OPERATION_NAME, operationName);
+    }
+}
@@ -0,0 +1,34 @@
+package com.amazonaws.wafv2.commons;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class HandlerWarmupTest {
+
+    @Test
+    public void testRunsOncePerOwner() {
+        final AtomicInteger runs = new AtomicInteger();
+
+        assertThat(HandlerWarmup.runOnce(Owner.class, runs::incrementAndGet)).isTrue();
+        assertThat(HandlerWarmup.runOnce(Owner.class, runs::incrementAndGet)).isFalse();
+        assertThat(runs).hasValue(1);
+    }
+
+    @Test
+    public void testFailuresAreIgnored() {
+        assertThat(HandlerWarmup.runOnce(FailingOwner.class, () -> {
+            throw new IllegalStateException("failed");
+        })).isTrue();
+        assertThat(HandlerWarmup.runOnce(FailingOwner.class, () -> {
+        })).isFalse();
+    }
+
+    private static final class Owner {
+    }
+
+    private static final class FailingOwner {
+    }
+}
@@ -0,0 +1,106 @@
+package com.amazonaws.wafv2.commons;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.wafv2.model.WafUnavailableEntityException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class InProcessPollerTest {
+
+    private AtomicLong clock;
+    private List<Long> sleeps;
+    private AtomicInteger calls;
+
+    @BeforeEach
+    public void setup() {
+        clock = new AtomicLong(1000);
+        sleeps = new ArrayList<>();
+        calls = new AtomicInteger();
+    }
+
+    @Test
+    public void testDisabledPollerCallsOnce() {
+        final InProcessPoller poller = poller(false, CommonVariables.HANDLER_INVOCATION_TIMEOUT_MILLIS);
+
+        assertThatThrownBy(() -> poller.poll(clock.get(), unavailableFor(1), null))
+                .isInstanceOf(WafUnavailableEntityException.class);
+
+        assertThat(calls.get()).isEqualTo(1);
+        assertThat(sleeps).isEmpty();
+    }
+
+    @Test
+    public void testPollsUntilEntityIsAvailable() {
+        final InProcessPoller poller = poller(true, CommonVariables.HANDLER_INVOCATION_TIMEOUT_MILLIS);
+
+        final String response = poller.poll(clock.get(), unavailableFor(3), null);
+
+        assertThat(response).isEqualTo("available");
+        assertThat(calls.get()).isEqualTo(4);
+        assertThat(sleeps).containsExactly(250L, 500L, 1000L);
+    }
+
+    @Test
+    public void testStopsAtMaxPollWindow() {
+        final InProcessPoller poller = poller(true, CommonVariables.HANDLER_INVOCATION_TIMEOUT_MILLIS);
+        final long start = clock.get();
+
+        assertThatThrownBy(() -> poller.poll(start, unavailableFor(Integer.MAX_VALUE), null))
+                .isInstanceOf(WafUnavailableEntityException.class);
+
+        assertThat(clock.get() - start).isLessThanOrEqualTo(CommonVariables.IN_PROCESS_POLL_MAX_MILLIS);
+    }
+
+    @Test
+    public void testStopsWhenInvocationTimeRunsOut() {
+        final InProcessPoller poller = poller(true, CommonVariables.IN_PROCESS_POLL_RESERVED_MILLIS + 600);
+        final long start = clock.get();
+
+        assertThatThrownBy(() -> poller.poll(start, unavailableFor(Integer.MAX_VALUE), null))
+                .isInstanceOf(WafUnavailableEntityException.class);
+
+        assertThat(sleeps).containsExactly(250L);
+        assertThat(clock.get() - start).isLessThanOrEqualTo(600);
+    }
+
+    @Test
+    public void testOtherExceptionsAreNotRetried() {
+        final InProcessPoller poller = poller(true, CommonVariables.HANDLER_INVOCATION_TIMEOUT_MILLIS);
+
+        assertThatThrownBy(() -> poller.poll(clock.get(), () -> {
+            calls.incrementAndGet();
+            throw new IllegalStateException();
+        }, null)).isInstanceOf(IllegalStateException.class);
+
+        assertThat(calls.get()).isEqualTo(1);
+    }
+
+    private InProcessPoller poller(final boolean enabled, final long invocationTimeoutMillis) {
+        return InProcessPoller.builder()
+                .enabled(enabled)
+                .invocationTimeoutMillis(invocationTimeoutMillis)
+                .clock(clock::get)
+                .sleeper(millis -> {
+                    sleeps.add(millis);
+                    clock.addAndGet(millis);
+                })
+                .build();
+    }
+
+    private Supplier<String> unavailableFor(final int failures) {
+        return () -> {
+            if (calls.getAndIncrement() < failures) {
+                throw WafUnavailableEntityException.builder().build();
+            }
+            return "available";
+        };
+    }
+}
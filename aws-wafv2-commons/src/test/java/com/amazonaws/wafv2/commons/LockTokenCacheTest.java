@@ -0,0 +1,74 @@
+package com.amazonaws.wafv2.commons;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class LockTokenCacheTest {
+
+    private static final String SCOPE = "REGIONAL";
+
+    @Test
+    public void testHitForTheSameLockToken() {
+        final LockTokenCache<String> cache = new LockTokenCache<>(2);
+        cache.put(SCOPE, "id", "token1", "value1");
+
+        assertThat(cache.get(SCOPE, "id", "token1")).isEqualTo("value1");
+        assertThat(cache.getHits()).isEqualTo(1);
+        assertThat(cache.getMisses()).isZero();
+    }
+
+    @Test
+    public void testMissForAnotherLockTokenOrScope() {
+        final LockTokenCache<String> cache = new LockTokenCache<>(2);
+        cache.put(SCOPE, "id", "token1", "value1");
+
+        assertThat(cache.get(SCOPE, "id", "token2")).isNull();
+        assertThat(cache.get(SCOPE, "id", null)).isNull();
+        assertThat(cache.get("CLOUDFRONT", "id", "token1")).isNull();
+        assertThat(cache.get(SCOPE, "other", "token1")).isNull();
+        assertThat(cache.getMisses()).isEqualTo(4);
+        assertThat(cache.getHits()).isZero();
+    }
+
+    @Test
+    public void testNewLockTokenReplacesTheOldOne() {
+        final LockTokenCache<String> cache = new LockTokenCache<>(2);
+        cache.put(SCOPE, "id", "token1", "value1");
+        cache.put(SCOPE, "id", "token2", "value2");
+
+        assertThat(cache.size()).isEqualTo(1);
+        assertThat(cache.get(SCOPE, "id", "token1")).isNull();
+        assertThat(cache.get(SCOPE, "id", "token2")).isEqualTo("value2");
+    }
+
+    @Test
+    public void testNullLockTokenIsNotCached() {
+        final LockTokenCache<String> cache = new LockTokenCache<>(2);
+        cache.put(SCOPE, "id", null, "value1");
+
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEntityIsEvicted() {
+        final LockTokenCache<String> cache = new LockTokenCache<>(2);
+        cache.put(SCOPE, "a", "token", "a");
+        cache.put(SCOPE, "b", "token", "b");
+        // reading a makes b the least recently used
+        cache.get(SCOPE, "a", "token");
+        cache.put(SCOPE, "c", "token", "c");
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.getEvictions()).isEqualTo(1);
+        assertThat(cache.get(SCOPE, "a", "token")).isEqualTo("a");
+        assertThat(cache.get(SCOPE, "b", "token")).isNull();
+        assertThat(cache.get(SCOPE, "c", "token")).isEqualTo("c");
+    }
+
+    @Test
+    public void testInvalidMaxEntries() {
+        assertThatThrownBy(() -> new LockTokenCache<String>(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
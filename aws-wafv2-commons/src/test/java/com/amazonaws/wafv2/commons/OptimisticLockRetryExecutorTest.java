@@ -0,0 +1,100 @@
+package com.amazonaws.wafv2.commons;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.wafv2.model.WafOptimisticLockException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class OptimisticLockRetryExecutorTest {
+
+    private AtomicLong clock;
+    private List<Long> sleeps;
+    private AtomicInteger fetches;
+    private OptimisticLockRetryExecutor executor;
+
+    @BeforeEach
+    public void setup() {
+        clock = new AtomicLong();
+        sleeps = new ArrayList<>();
+        fetches = new AtomicInteger();
+        executor = new OptimisticLockRetryExecutor(4, 100, 1000, 10000,
+                millis -> {
+                    sleeps.add(millis);
+                    clock.addAndGet(millis);
+                },
+                clock::get, null);
+    }
+
+    @Test
+    public void testSucceedsWithoutRetry() {
+        final LockTokenManager lockTokenManager = new LockTokenManager("token", executor);
+
+        final String response = lockTokenManager.invoke(token -> token + "-ok", this::fetchLockToken);
+
+        assertThat(response).isEqualTo("token-ok");
+        assertThat(executor.getAttempts()).isEqualTo(1);
+        assertThat(fetches.get()).isZero();
+        assertThat(sleeps).isEmpty();
+    }
+
+    @Test
+    public void testRetriesWithFreshLockTokenUntilSuccess() {
+        final LockTokenManager lockTokenManager = new LockTokenManager("stale", executor);
+        final AtomicInteger conflicts = new AtomicInteger(2);
+
+        final String response = lockTokenManager.invoke(token -> {
+            if (conflicts.getAndDecrement() > 0) {
+                throw WafOptimisticLockException.builder().build();
+            }
+            return token;
+        }, this::fetchLockToken);
+
+        assertThat(response).isEqualTo("fresh-2");
+        assertThat(executor.getAttempts()).isEqualTo(3);
+        assertThat(fetches.get()).isEqualTo(2);
+        assertThat(sleeps).hasSize(2);
+        assertThat(sleeps.get(0)).isBetween(0L, 100L);
+        assertThat(sleeps.get(1)).isBetween(0L, 200L);
+        assertThat(executor.getElapsedMillis()).isEqualTo(sleeps.get(0) + sleeps.get(1));
+    }
+
+    @Test
+    public void testGivesUpAfterMaxAttempts() {
+        final LockTokenManager lockTokenManager = new LockTokenManager(null, executor);
+
+        assertThatThrownBy(() -> lockTokenManager.invoke(token -> {
+            throw WafOptimisticLockException.builder().build();
+        }, this::fetchLockToken)).isInstanceOf(WafOptimisticLockException.class);
+
+        assertThat(executor.getAttempts()).isEqualTo(4);
+        assertThat(fetches.get()).isEqualTo(4);
+        assertThat(sleeps).hasSize(3);
+        assertThat(lockTokenManager.getCurrentLockToken()).isNull();
+    }
+
+    @Test
+    public void testGivesUpWhenTimeBudgetIsExhausted() {
+        final OptimisticLockRetryExecutor boundedExecutor = new OptimisticLockRetryExecutor(10, 100, 1000, 500,
+                millis -> clock.addAndGet(millis), clock::get, null);
+        final LockTokenManager lockTokenManager = new LockTokenManager(null, boundedExecutor);
+
+        assertThatThrownBy(() -> lockTokenManager.invoke(token -> {
+            clock.addAndGet(200);
+            throw WafOptimisticLockException.builder().build();
+        }, this::fetchLockToken)).isInstanceOf(WafOptimisticLockException.class);
+
+        assertThat(boundedExecutor.getAttempts()).isLessThan(10);
+        assertThat(boundedExecutor.getElapsedMillis()).isLessThanOrEqualTo(500 + 200);
+    }
+
+    private String fetchLockToken() {
+        return "fresh-" + fetches.incrementAndGet();
+    }
+}
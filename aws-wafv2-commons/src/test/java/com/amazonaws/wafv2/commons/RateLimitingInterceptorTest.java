@@ -0,0 +1,143 @@
+package com.amazonaws.wafv2.commons;
+
+import com.amazonaws.wafv2.commons.RateLimitingInterceptor.ApiClass;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.awscore.AwsExecutionAttribute;
+import software.amazon.awssdk.awscore.exception.AwsErrorDetails;
+import software.amazon.awssdk.core.interceptor.Context;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.SdkExecutionAttribute;
+import software.amazon.awssdk.http.SdkHttpResponse;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.wafv2.model.Wafv2Exception;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class RateLimitingInterceptorTest {
+
+    private RateLimitingInterceptor interceptor;
+
+    @BeforeEach
+    public void setup() {
+        interceptor = new RateLimitingInterceptor(apiClass -> TokenBucket.builder()
+                .maxRatePerSecond(apiClass == ApiClass.READ ? 8 : 2)
+                .minRatePerSecond(1)
+                .burst(8)
+                .increasePerSuccess(1)
+                .sleeper(millis -> {
+                })
+                .build());
+    }
+
+    @Test
+    public void testApiClasses() {
+        assertThat(ApiClass.of("GetWebACL")).isEqualTo(ApiClass.READ);
+        assertThat(ApiClass.of("ListTagsForResource")).isEqualTo(ApiClass.READ);
+        assertThat(ApiClass.of("CheckCapacity")).isEqualTo(ApiClass.READ);
+        assertThat(ApiClass.of("CreateWebACL")).isEqualTo(ApiClass.WRITE);
+        assertThat(ApiClass.of("AssociateWebACL")).isEqualTo(ApiClass.WRITE);
+        assertThat(ApiClass.of("DeleteRuleGroup")).isEqualTo(ApiClass.WRITE);
+    }
+
+    @Test
+    public void testReadsAndWritesAreLimitedByRegion() {
+        call(attributes("GetWebACL", Region.US_EAST_1), 200);
+        call(attributes("UpdateWebACL", Region.US_EAST_1), 200);
+        call(attributes("GetWebACL", Region.EU_WEST_1), 200);
+
+        assertThat(interceptor.getBucket(null, Region.US_EAST_1, ApiClass.READ).getRatePerSecond()).isEqualTo(8);
+        assertThat(interceptor.getBucket(null, Region.US_EAST_1, ApiClass.WRITE).getRatePerSecond()).isEqualTo(2);
+        assertThat(interceptor.getBucket(null, Region.EU_WEST_1, ApiClass.READ)).isNotNull();
+        assertThat(interceptor.getBucket(null, Region.EU_WEST_1, ApiClass.WRITE)).isNull();
+    }
+
+    @Test
+    public void testAccountsAreLimitedSeparately() {
+        HandlerMetrics.record("AWS::WAFv2::WebACL", "Read", "111111111111", null, () -> {
+            call(attributes("GetWebACL", Region.US_EAST_1), 400, "ThrottlingException");
+            return null;
+        });
+        HandlerMetrics.record("AWS::WAFv2::WebACL", "Read", "222222222222", null, () -> {
+            call(attributes("GetWebACL", Region.US_EAST_1), 200);
+            return null;
+        });
+
+        assertThat(interceptor.getBucket("111111111111", Region.US_EAST_1, ApiClass.READ).getRatePerSecond())
+                .isEqualTo(4);
+        assertThat(interceptor.getBucket("222222222222", Region.US_EAST_1, ApiClass.READ).getRatePerSecond())
+                .isEqualTo(8);
+        assertThat(interceptor.getBucket(null, Region.US_EAST_1, ApiClass.READ)).isNull();
+    }
+
+    @Test
+    public void testThrottledAttemptsLowerTheRate() {
+        final ExecutionAttributes attributes = attributes("GetWebACL", Region.US_EAST_1);
+
+        call(attributes, 429);
+        assertThat(interceptor.getBucket(null, Region.US_EAST_1, ApiClass.READ).getRatePerSecond()).isEqualTo(4);
+
+        call(attributes, 400, "ThrottlingException:http://internal.amazon.com/coral/com.amazonaws.wafv2/");
+        assertThat(interceptor.getBucket(null, Region.US_EAST_1, ApiClass.READ).getRatePerSecond()).isEqualTo(2);
+
+        call(attributes, 200);
+        assertThat(interceptor.getBucket(null, Region.US_EAST_1, ApiClass.READ).getRatePerSecond()).isEqualTo(3);
+    }
+
+    @Test
+    public void testOtherErrorsKeepTheRate() {
+        final ExecutionAttributes attributes = attributes("CreateWebACL", Region.US_EAST_1);
+
+        call(attributes, 400, "WAFDuplicateItemException");
+
+        assertThat(interceptor.getBucket(null, Region.US_EAST_1, ApiClass.WRITE).getRatePerSecond()).isEqualTo(2);
+    }
+
+    @Test
+    public void testThrottlingFailureIsRecordedOnce() {
+        final ExecutionAttributes attributes = attributes("GetWebACL", Region.US_EAST_1);
+        final Context.FailedExecution failure = failure();
+
+        call(attributes, 429);
+        interceptor.onExecutionFailure(failure, attributes);
+        assertThat(interceptor.getBucket(null, Region.US_EAST_1, ApiClass.READ).getRatePerSecond()).isEqualTo(4);
+
+        // throttled without the response being recognized, e.g. with an error code in the body only
+        call(attributes, 400);
+        interceptor.onExecutionFailure(failure, attributes);
+        assertThat(interceptor.getBucket(null, Region.US_EAST_1, ApiClass.READ).getRatePerSecond()).isEqualTo(2);
+    }
+
+    private void call(final ExecutionAttributes attributes, final int statusCode) {
+        call(attributes, statusCode, null);
+    }
+
+    private void call(final ExecutionAttributes attributes, final int statusCode, final String errorType) {
+        final SdkHttpResponse.Builder response = SdkHttpResponse.builder().statusCode(statusCode);
+        if (errorType != null) {
+            response.putHeader("x-amzn-ErrorType", errorType);
+        }
+        final Context.AfterTransmission context = mock(Context.AfterTransmission.class);
+        when(context.httpResponse()).thenReturn(response.build());
+
+        interceptor.beforeTransmission(mock(Context.BeforeTransmission.class), attributes);
+        interceptor.afterTransmission(context, attributes);
+    }
+
+    private static Context.FailedExecution failure() {
+        final Context.FailedExecution context = mock(Context.FailedExecution.class);
+        when(context.exception()).thenReturn(Wafv2Exception.builder()
+                .statusCode(400)
+                .awsErrorDetails(AwsErrorDetails.builder().errorCode("ThrottlingException").build())
+                .build());
+        return context;
+    }
+
+    private static ExecutionAttributes attributes(final String operationName, final Region region) {
+        return new ExecutionAttributes()
+                .putAttribute(SdkExecutionAttribute.OPERATION_NAME, operationName)
+                .putAttribute(AwsExecutionAttribute.AWS_REGION, region);
+    }
+}
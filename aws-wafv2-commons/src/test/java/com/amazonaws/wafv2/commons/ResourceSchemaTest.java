@@ -0,0 +1,25 @@
+package com.amazonaws.wafv2.commons;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ResourceSchemaTest {
+
+    private static final String SCHEMA_FILENAME = "test-resource-schema.json";
+
+    @Test
+    public void testSchemaIsShared() {
+        final ResourceSchema schema = ResourceSchema.forResource(getClass().getClassLoader(), SCHEMA_FILENAME);
+
+        assertThat(ResourceSchema.forResource(getClass().getClassLoader(), SCHEMA_FILENAME)).isSameAs(schema);
+        assertThat(schema.getSchemaJSONObject().getString("typeName")).isEqualTo("AWS::WAFv2::Test");
+    }
+
+    @Test
+    public void testMissingSchema() {
+        assertThatThrownBy(() -> new ResourceSchema(getClass().getClassLoader(), "missing-schema.json"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,63 @@
+package com.amazonaws.wafv2.commons;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import software.amazon.cloudformation.proxy.Logger;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+public class RuleChangesTest {
+
+    @Test
+    public void testAddedRemovedAndModifiedRulesAreFound() {
+        final RuleChanges changes = RuleChanges.between(
+                ImmutableList.of(rule("kept", 1), rule("modified", 2), rule("removed", 3)),
+                ImmutableList.of(rule("added", 0), rule("modified", 5), rule("kept", 1)),
+                RuleChangesTest::name);
+
+        assertThat(changes.getAdded()).containsExactly("added");
+        assertThat(changes.getRemoved()).containsExactly("removed");
+        assertThat(changes.getModified()).containsExactly("modified");
+        assertThat(changes.getUnchanged()).isEqualTo(1);
+    }
+
+    @Test
+    public void testMissingListsHaveNoRules() {
+        final RuleChanges changes = RuleChanges.between(null, ImmutableList.of(rule("added", 0)),
+                RuleChangesTest::name);
+
+        assertThat(changes.getAdded()).containsExactly("added");
+        assertThat(changes.getRemoved()).isEmpty();
+        assertThat(RuleChanges.between(ImmutableList.of(rule("removed", 0)), null, RuleChangesTest::name)
+                .getRemoved()).containsExactly("removed");
+    }
+
+    @Test
+    public void testChangesAreCountedInTheInvocationMetrics() {
+        final Logger logger = mock(Logger.class);
+        HandlerMetrics.record("AWS::WAFv2::WebACL", "Update", logger, () -> {
+            RuleChanges.between(ImmutableList.of(rule("kept", 1), rule("removed", 2)),
+                    ImmutableList.of(rule("kept", 1)), RuleChangesTest::name).record();
+            return null;
+        });
+
+        final ArgumentCaptor<String> message = ArgumentCaptor.forClass(String.class);
+        verify(logger).log(message.capture());
+        assertThat(message.getValue()).contains("\"RulesRemoved\":1", "\"RulesUnchanged\":1", "\"RulesAdded\":0");
+    }
+
+    private static Map<String, Object> rule(final String name, final int priority) {
+        return ImmutableMap.of("Name", name, "Priority", priority,
+                "Statements", ImmutableList.of(ImmutableMap.of("SearchString", name)));
+    }
+
+    private static String name(final Map<String, Object> rule) {
+        return (String) rule.get("Name");
+    }
+}
@@ -0,0 +1,95 @@
+package com.amazonaws.wafv2.commons;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.wafv2.model.WafInternalErrorException;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ScopedPageListerTest {
+
+    @Test
+    public void testScopesForRegion() {
+        assertThat(ScopedPageLister.scopesForRegion("us-east-1")).containsExactly("REGIONAL", "CLOUDFRONT");
+        assertThat(ScopedPageLister.scopesForRegion("eu-west-1")).containsExactly("REGIONAL");
+        assertThat(ScopedPageLister.scopesForRegion(null)).containsExactly("REGIONAL");
+    }
+
+    @Test
+    public void testNextTokenRoundTrip() {
+        final Map<String, String> markers = new LinkedHashMap<>();
+        markers.put("REGIONAL", "marker/with=separators\n");
+        markers.put("CLOUDFRONT", null);
+
+        assertThat(ScopedPageLister.decode(ScopedPageLister.encode(markers))).isEqualTo(markers);
+    }
+
+    @Test
+    public void testInvalidNextToken() {
+        assertThatThrownBy(() -> ScopedPageLister.decode("not a token"))
+                .isInstanceOf(ScopedPageLister.InvalidNextTokenException.class);
+        assertThatThrownBy(() -> ScopedPageLister.decode(""))
+                .isInstanceOf(ScopedPageLister.InvalidNextTokenException.class);
+    }
+
+    @Test
+    public void testPagesThroughAllScopes() {
+        final ImmutableList<String> scopes = ImmutableList.of("REGIONAL", "CLOUDFRONT");
+        final Map<String, Integer> pageCounts = new LinkedHashMap<>();
+        pageCounts.put("REGIONAL", 3);
+        pageCounts.put("CLOUDFRONT", 1);
+
+        String nextToken = null;
+        final ImmutableList.Builder<String> items = ImmutableList.builder();
+        int invocations = 0;
+        do {
+            final ScopedPageLister.ScopedPage<String> page = ScopedPageLister.list(scopes, nextToken,
+                    (scope, marker) -> {
+                        final int index = marker == null ? 0 : Integer.parseInt(marker);
+                        return new ScopedPageLister.Page<>(ImmutableList.of(scope + "-" + index),
+                                index + 1 < pageCounts.get(scope) ? String.valueOf(index + 1) : null);
+                    }, null);
+            items.addAll(page.getItems());
+            nextToken = page.getNextToken();
+            invocations++;
+        } while (nextToken != null);
+
+        assertThat(invocations).isEqualTo(3);
+        assertThat(items.build()).containsExactly("REGIONAL-0", "CLOUDFRONT-0", "REGIONAL-1", "REGIONAL-2");
+    }
+
+    @Test
+    public void testScopesAreFetchedConcurrently() {
+        final CountDownLatch bothScopesStarted = new CountDownLatch(2);
+
+        final ScopedPageLister.ScopedPage<String> page = ScopedPageLister.list(
+                ImmutableList.of("REGIONAL", "CLOUDFRONT"), null,
+                (scope, marker) -> {
+                    bothScopesStarted.countDown();
+                    try {
+                        assertThat(bothScopesStarted.await(5, TimeUnit.SECONDS)).isTrue();
+                    } catch (InterruptedException e) {
+                        throw new IllegalStateException(e);
+                    }
+                    return new ScopedPageLister.Page<>(ImmutableList.of(scope), null);
+                }, HandlerExecutors.shared());
+
+        assertThat(page.getItems()).containsExactly("REGIONAL", "CLOUDFRONT");
+        assertThat(page.getNextToken()).isNull();
+    }
+
+    @Test
+    public void testServiceExceptionsAreRethrown() {
+        assertThatThrownBy(() -> ScopedPageLister.list(ImmutableList.of("REGIONAL"), null,
+                (scope, marker) -> {
+                    throw WafInternalErrorException.builder().build();
+                }, HandlerExecutors.shared()))
+                .isInstanceOf(WafInternalErrorException.class);
+    }
+}
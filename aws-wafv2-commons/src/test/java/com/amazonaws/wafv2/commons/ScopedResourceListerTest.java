@@ -0,0 +1,67 @@
+package com.amazonaws.wafv2.commons;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.jupiter.api.Test;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+
+import java.util.function.BiFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ScopedResourceListerTest {
+
+    private static final BiFunction<String, String, ScopedPageLister.Page<String>> FETCH_PAGE = (scope, marker) ->
+            new ScopedPageLister.Page<>(ImmutableList.of(scope + "-1", scope + "-2"), "marker");
+
+    @Test
+    public void testItemsOfEveryScopeAreListed() {
+        final ProgressEvent<String, Void> event = ScopedResourceLister.list("us-east-1", null, FETCH_PAGE, null);
+
+        assertThat(event.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(event.getResourceModels()).containsExactly("REGIONAL-1", "REGIONAL-2", "CLOUDFRONT-1",
+                "CLOUDFRONT-2");
+        assertThat(ScopedPageLister.decode(event.getNextToken())).containsOnlyKeys("REGIONAL", "CLOUDFRONT");
+    }
+
+    @Test
+    public void testListedItemsAreReadAndDeletedOnesSkipped() {
+        final ProgressEvent<String, Void> event = ScopedResourceLister.list("us-west-2", null, FETCH_PAGE,
+                item -> item.endsWith("-1")
+                        ? ProgressEvent.success("read " + item, null)
+                        : ProgressEvent.failed(null, null, HandlerErrorCode.NotFound, "deleted"));
+
+        assertThat(event.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(event.getResourceModels()).containsExactly("read REGIONAL-1");
+    }
+
+    @Test
+    public void testFailedReadFailsTheList() {
+        final ProgressEvent<String, Void> event = ScopedResourceLister.list("us-west-2", null, FETCH_PAGE,
+                item -> ProgressEvent.failed(null, null, HandlerErrorCode.Throttling, "throttled"));
+
+        assertThat(event.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(event.getErrorCode()).isEqualTo(HandlerErrorCode.Throttling);
+    }
+
+    @Test
+    public void testInvalidNextTokenIsAnInvalidRequest() {
+        final ProgressEvent<String, Void> event = ScopedResourceLister.list("us-west-2", "not a token", FETCH_PAGE,
+                null);
+
+        assertThat(event.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(event.getErrorCode()).isEqualTo(HandlerErrorCode.InvalidRequest);
+    }
+
+    @Test
+    public void testListFailureIsTranslated() {
+        final ProgressEvent<String, Void> event = ScopedResourceLister.list("us-west-2", null,
+                (scope, marker) -> {
+                    throw new IllegalStateException("failed");
+                }, null);
+
+        assertThat(event.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(event.getErrorCode()).isEqualTo(HandlerErrorCode.GeneralServiceException);
+    }
+}
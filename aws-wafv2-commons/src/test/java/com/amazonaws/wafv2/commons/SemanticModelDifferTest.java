@@ -0,0 +1,157 @@
+package com.amazonaws.wafv2.commons;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SemanticModelDifferTest {
+
+    private final SemanticModelDiffer differ = new SemanticModelDiffer(ImmutableSet.of("Arn", "Tags"));
+
+    @Test
+    public void testEqualModelsAreEquivalent() {
+        assertThat(differ.isEquivalent(webACL(rules(rule("a", 1), rule("b", 2))),
+                webACL(rules(rule("a", 1), rule("b", 2))))).isTrue();
+    }
+
+    @Test
+    public void testRuleOrderIsIgnored() {
+        assertThat(differ.isEquivalent(webACL(rules(rule("a", 1), rule("b", 2))),
+                webACL(rules(rule("b", 2), rule("a", 1))))).isTrue();
+    }
+
+    @Test
+    public void testChangedRuleIsDetected() {
+        assertThat(differ.isEquivalent(webACL(rules(rule("a", 1), rule("b", 2))),
+                webACL(rules(rule("a", 1), rule("b", 3))))).isFalse();
+    }
+
+    @Test
+    public void testStatementOrderOfAndStatementsIsIgnored() {
+        final Map<String, Object> first = byteMatch("SearchString", "foo");
+        final Map<String, Object> second = byteMatch("SearchString", "bar");
+
+        assertThat(differ.isEquivalent(
+                ImmutableMap.of("AndStatement", ImmutableMap.of("Statements", ImmutableList.of(first, second))),
+                ImmutableMap.of("AndStatement", ImmutableMap.of("Statements", ImmutableList.of(second, first)))))
+                .isTrue();
+    }
+
+    @Test
+    public void testSearchStringEncodingsAreEquivalent() {
+        final String base64 = Base64.getEncoder().encodeToString("foo".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(differ.isEquivalent(byteMatch("SearchString", "foo"), byteMatch("SearchStringBase64", base64)))
+                .isTrue();
+        assertThat(differ.isEquivalent(byteMatch("SearchString", "bar"), byteMatch("SearchStringBase64", base64)))
+                .isFalse();
+    }
+
+    @Test
+    public void testInvalidSearchStringBase64IsNotEquivalent() {
+        assertThat(differ.isEquivalent(byteMatch("SearchStringBase64", "YQ==!!"),
+                byteMatch("SearchStringBase64", "YQ=="))).isFalse();
+        assertThat(differ.isEquivalent(byteMatch("SearchStringBase64", "YQ==!!"), byteMatch("SearchString", "a")))
+                .isFalse();
+    }
+
+    @Test
+    public void testBothSearchStringEncodingsAreNotEquivalentToEither() {
+        final String base64 = Base64.getEncoder().encodeToString("foo".getBytes(StandardCharsets.UTF_8));
+        final Map<String, Object> both = ImmutableMap.of("ByteMatchStatement", ImmutableMap.of(
+                "SearchString", "foo",
+                "SearchStringBase64", base64,
+                "PositionalConstraint", "EXACTLY"));
+
+        assertThat(differ.isEquivalent(both, ImmutableMap.of("ByteMatchStatement", ImmutableMap.of(
+                "SearchString", "foo",
+                "PositionalConstraint", "EXACTLY")))).isFalse();
+        assertThat(differ.isEquivalent(both, ImmutableMap.of("ByteMatchStatement", ImmutableMap.of(
+                "SearchStringBase64", base64,
+                "PositionalConstraint", "EXACTLY")))).isFalse();
+    }
+
+    @Test
+    public void testSearchStringsAreComparedInsideUnorderedLists() {
+        final String base64 = Base64.getEncoder().encodeToString("foo".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(differ.isEquivalent(
+                ImmutableMap.of("Statements", ImmutableList.of(byteMatch("SearchString", "foo"),
+                        byteMatch("SearchString", "bar"))),
+                ImmutableMap.of("Statements", ImmutableList.of(byteMatch("SearchString", "bar"),
+                        byteMatch("SearchStringBase64", base64)))))
+                .isTrue();
+    }
+
+    @Test
+    public void testNullsAndEmptyListsAreIgnored() {
+        final Map<String, Object> withNulls = new HashMap<>(webACL(Collections.emptyList()));
+        withNulls.put("Description", null);
+        withNulls.put("CustomResponseBodies", Collections.emptyMap());
+
+        assertThat(differ.isEquivalent(withNulls, ImmutableMap.of("DefaultAction",
+                ImmutableMap.of("Allow", Collections.emptyMap())))).isTrue();
+    }
+
+    @Test
+    public void testEmptyActionsAreNotIgnored() {
+        assertThat(differ.isEquivalent(
+                ImmutableMap.of("DefaultAction", ImmutableMap.of("Allow", Collections.emptyMap())),
+                ImmutableMap.of("DefaultAction", ImmutableMap.of("Block", Collections.emptyMap()))))
+                .isFalse();
+    }
+
+    @Test
+    public void testIgnoredFieldsAreNotCompared() {
+        final Map<String, Object> previous = new HashMap<>(webACL(rules(rule("a", 1))));
+        previous.put("Arn", "previousArn");
+        previous.put("Tags", ImmutableList.of(ImmutableMap.of("Key", "k", "Value", "v")));
+
+        assertThat(differ.isEquivalent(previous, webACL(rules(rule("a", 1))))).isTrue();
+    }
+
+    @Test
+    public void testNullModels() {
+        assertThat(differ.isEquivalent(null, null)).isTrue();
+        assertThat(differ.isEquivalent(null, webACL(rules()))).isFalse();
+        assertThat(differ.isEquivalent(webACL(rules()), null)).isFalse();
+    }
+
+    private static Map<String, Object> webACL(final List<Map<String, Object>> rules) {
+        return ImmutableMap.of(
+                "DefaultAction", ImmutableMap.of("Allow", Collections.emptyMap()),
+                "Rules", rules);
+    }
+
+    @SafeVarargs
+    private static List<Map<String, Object>> rules(final Map<String, Object>... rules) {
+        return ImmutableList.copyOf(rules);
+    }
+
+    private static Map<String, Object> rule(final String name, final int priority) {
+        return ImmutableMap.of(
+                "Name", name,
+                "Priority", priority,
+                "Statement", byteMatch("SearchString", name),
+                "Action", ImmutableMap.of("Block", Collections.emptyMap()));
+    }
+
+    private static Map<String, Object> byteMatch(final String searchStringField, final String searchString) {
+        return ImmutableMap.of("ByteMatchStatement", ImmutableMap.of(
+                searchStringField, searchString,
+                "PositionalConstraint", "EXACTLY",
+                "TextTransformations", ImmutableList.of(
+                        ImmutableMap.of("Priority", 1, "Type", "LOWERCASE"),
+                        ImmutableMap.of("Priority", 0, "Type", "NONE"))));
+    }
+}
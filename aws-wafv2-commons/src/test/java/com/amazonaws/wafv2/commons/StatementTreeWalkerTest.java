@@ -0,0 +1,73 @@
+package com.amazonaws.wafv2.commons;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class StatementTreeWalkerTest {
+
+    // renders a tree as name(nested, ...)
+    private static final StatementTreeWalker<Node, String> RENDERER = new StatementTreeWalker<Node, String>() {
+        @Override
+        protected void nested(final Node statement, final List<Node> nested) {
+            nested.addAll(statement.nested);
+        }
+
+        @Override
+        protected String convert(final Node statement, final List<String> converted) {
+            return converted.isEmpty() ? statement.name : statement.name + converted;
+        }
+    };
+
+    @Test
+    public void testNestedConversionsKeepOrder() {
+        final Node tree = new Node("and",
+                new Node("a"),
+                new Node("or", new Node("b"), new Node("c")),
+                new Node("not", new Node("d")));
+
+        assertThat(RENDERER.walk(tree)).isEqualTo("and[a, or[b, c], not[d]]");
+    }
+
+    @Test
+    public void testNullStatements() {
+        assertThat(RENDERER.walk(null)).isNull();
+        assertThat(RENDERER.walk(new Node("or", new Node("a"), null))).isEqualTo("or[a, null]");
+    }
+
+    @Test
+    public void testDeepTreeDoesNotOverflowTheStack() {
+        final int depth = 100000;
+        Node tree = new Node("leaf");
+        for (int i = 0; i < depth; i++) {
+            tree = new Node("n", tree);
+        }
+
+        final StatementTreeWalker<Node, Integer> depthWalker = new StatementTreeWalker<Node, Integer>() {
+            @Override
+            protected void nested(final Node statement, final List<Node> nested) {
+                nested.addAll(statement.nested);
+            }
+
+            @Override
+            protected Integer convert(final Node statement, final List<Integer> converted) {
+                return converted.isEmpty() ? 0 : converted.get(0) + 1;
+            }
+        };
+        assertThat(depthWalker.walk(tree)).isEqualTo(depth);
+    }
+
+    private static final class Node {
+        private final String name;
+        private final List<Node> nested;
+
+        private Node(final String name, final Node... nested) {
+            this.name = name;
+            this.nested = new ArrayList<>(Arrays.asList(nested));
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.amazonaws.wafv2.commons;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class StructuralHashTest {
+
+    @Test
+    public void testEqualTreesHaveEqualHashes() {
+        assertThat(StructuralHash.of(rule("a", 1, "foo"))).isEqualTo(StructuralHash.of(rule("a", 1, "foo")));
+    }
+
+    @Test
+    public void testChangesAnywhereInTheTreeChangeTheHash() {
+        final long hash = StructuralHash.of(rule("a", 1, "foo"));
+
+        assertThat(StructuralHash.of(rule("b", 1, "foo"))).isNotEqualTo(hash);
+        assertThat(StructuralHash.of(rule("a", 2, "foo"))).isNotEqualTo(hash);
+        assertThat(StructuralHash.of(rule("a", 1, "fop"))).isNotEqualTo(hash);
+        assertThat(StructuralHash.of(new Rule("a", 1, new Statement(null, ImmutableList.of(
+                new Statement("foo", null)))))).isNotEqualTo(hash);
+    }
+
+    @Test
+    public void testValuesAreBoundToTheirFields() {
+        assertThat(StructuralHash.of(new Statement("foo", null)))
+                .isNotEqualTo(StructuralHash.of(new Statement(null, null)));
+        assertThat(StructuralHash.of(new Pair("x", "y"))).isNotEqualTo(StructuralHash.of(new Pair("y", "x")));
+    }
+
+    @Test
+    public void testListsAreOrderedAndMapsAreNot() {
+        assertThat(StructuralHash.of(ImmutableList.of("a", "b")))
+                .isNotEqualTo(StructuralHash.of(ImmutableList.of("b", "a")));
+
+        final Map<String, String> first = new LinkedHashMap<>();
+        first.put("a", "1");
+        first.put("b", "2");
+        final Map<String, String> second = new LinkedHashMap<>();
+        second.put("b", "2");
+        second.put("a", "1");
+        assertThat(StructuralHash.of(first)).isEqualTo(StructuralHash.of(second));
+        assertThat(StructuralHash.of(first)).isNotEqualTo(StructuralHash.of(ImmutableMap.of("a", "2", "b", "1")));
+    }
+
+    @Test
+    public void testHashesOfManyRulesDoNotCollide() {
+        final Set<Long> hashes = new HashSet<>();
+        for (int i = 0; i < 10000; i++) {
+            hashes.add(StructuralHash.of(rule("rule" + i, i % 100, "search" + (i % 7))));
+        }
+
+        assertThat(hashes).hasSize(10000);
+    }
+
+    @Test
+    public void testDeepTreesAreHashed() {
+        Statement statement = new Statement("leaf", null);
+        final List<Long> hashes = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            statement = new Statement(null, ImmutableList.of(statement));
+            hashes.add(StructuralHash.of(statement));
+        }
+
+        assertThat(new HashSet<>(hashes)).hasSize(100);
+    }
+
+    private static Rule rule(final String name, final int priority, final String searchString) {
+        return new Rule(name, priority, new Statement(searchString, null));
+    }
+
+    @Data
+    @AllArgsConstructor
+    private static class Rule {
+        private String name;
+        private Integer priority;
+        private Statement statement;
+    }
+
+    @Data
+    @AllArgsConstructor
+    private static class Statement {
+        private String searchString;
+        private List<Statement> statements;
+    }
+
+    @Data
+    @AllArgsConstructor
+    private static class Pair {
+        private String first;
+        private String second;
+    }
+}
@@ -0,0 +1,139 @@
+package com.amazonaws.wafv2.commons;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.wafv2.Wafv2Client;
+import software.amazon.awssdk.services.wafv2.model.ListTagsForResourceRequest;
+import software.amazon.awssdk.services.wafv2.model.ListTagsForResourceResponse;
+import software.amazon.awssdk.services.wafv2.model.Tag;
+import software.amazon.awssdk.services.wafv2.model.TagInfoForResource;
+import software.amazon.awssdk.services.wafv2.model.WafInternalErrorException;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+public class TagPageIteratorTest {
+
+    private static final String ARN = "arn:aws:wafv2:us-east-1:123456789012:regional/webacl/name/id";
+
+    private AmazonWebServicesClientProxy proxy;
+    private Wafv2Client client;
+    private List<ListTagsForResourceRequest> requests;
+
+    @BeforeEach
+    public void setup() {
+        proxy = mock(AmazonWebServicesClientProxy.class);
+        client = mock(Wafv2Client.class);
+        requests = new ArrayList<>();
+    }
+
+    @Test
+    public void testFollowsNextMarkerUntilLastPage() {
+        stubTags(250);
+
+        final List<String> keys = TagPageIterator.streamTags(proxy, client, ARN, 100, false)
+                .map(Tag::key)
+                .collect(Collectors.toList());
+
+        assertThat(keys).hasSize(250).startsWith("key-0").endsWith("key-249");
+        assertThat(requests).hasSize(3);
+        assertThat(requests).allMatch(request -> request.limit() == 100 && ARN.equals(request.resourceARN()));
+        assertThat(requests.get(0).nextMarker()).isNull();
+        assertThat(requests.get(1).nextMarker()).isEqualTo("100");
+        assertThat(requests.get(2).nextMarker()).isEqualTo("200");
+    }
+
+    @Test
+    public void testPagesAreFetchedOnDemand() {
+        stubTags(250);
+
+        final List<String> keys = TagPageIterator.streamTags(proxy, client, ARN, 100, false)
+                .limit(10)
+                .map(Tag::key)
+                .collect(Collectors.toList());
+
+        assertThat(keys).hasSize(10);
+        assertThat(requests).hasSize(1);
+    }
+
+    @Test
+    public void testPrefetchRequestsNextPageWhenCurrentPageIsHandedOut() {
+        stubTags(150);
+        final TagPageIterator pages = new TagPageIterator(proxy, client, ARN, 100, Runnable::run);
+
+        assertThat(pages.next().tagList()).hasSize(100);
+        assertThat(requests).hasSize(2);
+        assertThat(pages.hasNext()).isTrue();
+        assertThat(pages.next().tagList()).hasSize(50);
+        assertThat(pages.hasNext()).isFalse();
+        assertThat(requests).hasSize(2);
+    }
+
+    @Test
+    public void testPrefetchOnSharedExecutor() {
+        stubTags(1000);
+
+        final List<Tag> tags = TagPageIterator.streamTags(proxy, client, ARN, 100, true)
+                .collect(Collectors.toList());
+
+        assertThat(tags).hasSize(1000);
+        assertThat(tags.get(999).key()).isEqualTo("key-999");
+    }
+
+    @Test
+    public void testEmptyTagList() {
+        stubTags(0);
+
+        assertThat(HandlerHelper.getConvertedTags(proxy, client, ARN, Tag::key)).isEmpty();
+    }
+
+    @Test
+    public void testPrefetchFailureIsRethrown() {
+        doAnswer(invocation -> {
+            final ListTagsForResourceRequest request = invocation.getArgument(0);
+            if (request.nextMarker() != null) {
+                throw WafInternalErrorException.builder().build();
+            }
+            return ListTagsForResourceResponse.builder()
+                    .nextMarker("next")
+                    .tagInfoForResource(TagInfoForResource.builder().build())
+                    .build();
+        }).when(proxy).injectCredentialsAndInvokeV2(any(ListTagsForResourceRequest.class), any());
+
+        assertThatThrownBy(() -> TagPageIterator.streamTags(proxy, client, ARN, 100, true)
+                .collect(Collectors.toList()))
+                .isInstanceOf(WafInternalErrorException.class);
+    }
+
+    /**
+     * Stubs ListTagsForResource for a resource with the given number of tags, using the offset as marker.
+     */
+    private void stubTags(final int tagCount) {
+        doAnswer(invocation -> {
+            final ListTagsForResourceRequest request = invocation.getArgument(0);
+            synchronized (requests) {
+                requests.add(request);
+            }
+            final int from = request.nextMarker() == null ? 0 : Integer.parseInt(request.nextMarker());
+            final int to = Math.min(tagCount, from + request.limit());
+            return ListTagsForResourceResponse.builder()
+                    .nextMarker(to < tagCount ? String.valueOf(to) : null)
+                    .tagInfoForResource(TagInfoForResource.builder()
+                            .resourceARN(ARN)
+                            .tagList(IntStream.range(from, to)
+                                    .mapToObj(i -> Tag.builder().key("key-" + i).value("value-" + i).build())
+                                    .collect(Collectors.toList()))
+                            .build())
+                    .build();
+        }).when(proxy).injectCredentialsAndInvokeV2(any(ListTagsForResourceRequest.class), any());
+    }
+}
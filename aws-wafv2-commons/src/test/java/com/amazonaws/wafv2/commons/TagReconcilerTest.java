@@ -0,0 +1,96 @@
+package com.amazonaws.wafv2.commons;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.wafv2.Wafv2Client;
+import software.amazon.awssdk.services.wafv2.model.Tag;
+import software.amazon.awssdk.services.wafv2.model.TagResourceRequest;
+import software.amazon.awssdk.services.wafv2.model.UntagResourceRequest;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class TagReconcilerTest {
+
+    private AmazonWebServicesClientProxy proxy;
+    private AtomicInteger arnLookups;
+
+    @BeforeEach
+    public void setup() {
+        proxy = mock(AmazonWebServicesClientProxy.class);
+        arnLookups = new AtomicInteger();
+    }
+
+    @Test
+    public void testDiff() {
+        final TagReconciler.TagChanges changes = TagReconciler.diff(
+                ImmutableMap.of("keep", "v", "change", "old", "remove", "v"),
+                ImmutableMap.of("keep", "v", "change", "new", "add", "v"));
+
+        assertThat(changes.getTagsToAdd()).containsExactly(
+                entry("change", "new"),
+                entry("add", "v"));
+        assertThat(changes.getTagKeysToRemove()).containsExactly("remove");
+        assertThat(changes.isEmpty()).isFalse();
+    }
+
+    @Test
+    public void testDiffUnchanged() {
+        assertThat(TagReconciler.diff(ImmutableMap.of("k", "v"), ImmutableMap.of("k", "v")).isEmpty()).isTrue();
+        assertThat(TagReconciler.diff(ImmutableMap.of(), ImmutableMap.of()).isEmpty()).isTrue();
+    }
+
+    @Test
+    public void testReconcileMakesAtMostOneCallOfEachKind() {
+        final TagReconciler.TagChanges changes = TagReconciler.reconcileTags(proxy, mock(Wafv2Client.class),
+                this::arn,
+                ImmutableList.of(tag("a", "1"), tag("b", "2"), tag("c", "3")),
+                ImmutableList.of(tag("a", "1"), tag("d", "4"), tag("e", "5")),
+                Tag::key, Tag::value);
+
+        assertThat(changes.getTagsToAdd()).hasSize(2);
+        assertThat(changes.getTagKeysToRemove()).containsExactly("b", "c");
+        assertThat(arnLookups.get()).isEqualTo(1);
+        verify(proxy, times(1)).injectCredentialsAndInvokeV2(any(TagResourceRequest.class), any());
+        verify(proxy, times(1)).injectCredentialsAndInvokeV2(any(UntagResourceRequest.class), any());
+    }
+
+    @Test
+    public void testReconcileWithoutPreviousTags() {
+        TagReconciler.reconcileTags(proxy, mock(Wafv2Client.class), this::arn,
+                null, ImmutableList.of(tag("a", "1")), Tag::key, Tag::value);
+
+        verify(proxy, times(1)).injectCredentialsAndInvokeV2(any(TagResourceRequest.class), any());
+        verify(proxy, never()).injectCredentialsAndInvokeV2(any(UntagResourceRequest.class), any());
+    }
+
+    @Test
+    public void testReconcileSkipsCallsWhenUnchanged() {
+        final TagReconciler.TagChanges changes = TagReconciler.reconcileTags(proxy, mock(Wafv2Client.class),
+                this::arn, ImmutableList.of(tag("a", "1")), ImmutableList.of(tag("a", "1")), Tag::key, Tag::value);
+
+        assertThat(changes.isEmpty()).isTrue();
+        assertThat(arnLookups.get()).isZero();
+        verify(proxy, never()).injectCredentialsAndInvokeV2(any(TagResourceRequest.class), any());
+        verify(proxy, never()).injectCredentialsAndInvokeV2(any(UntagResourceRequest.class), any());
+    }
+
+    private String arn() {
+        arnLookups.incrementAndGet();
+        return "arn:aws:wafv2:us-east-1:123456789012:regional/webacl/name/id";
+    }
+
+    private static Tag tag(final String key, final String value) {
+        return Tag.builder().key(key).value(value).build();
+    }
+}
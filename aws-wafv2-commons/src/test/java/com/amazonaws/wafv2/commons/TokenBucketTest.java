@@ -0,0 +1,165 @@
+package com.amazonaws.wafv2.commons;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TokenBucketTest {
+
+    private long now;
+
+    @BeforeEach
+    public void setup() {
+        now = 0;
+    }
+
+    @Test
+    public void testBurstIsServedWithoutWaiting() {
+        final TokenBucket bucket = bucket(10, 1, 3);
+
+        assertThat(bucket.acquire()).isZero();
+        assertThat(bucket.acquire()).isZero();
+        assertThat(bucket.acquire()).isZero();
+        assertThat(now).isZero();
+    }
+
+    @Test
+    public void testCallsBeyondTheBurstWaitForTheRate() {
+        final TokenBucket bucket = bucket(10, 1, 1);
+        bucket.acquire();
+
+        assertThat(bucket.acquire()).isEqualTo(100);
+        assertThat(bucket.acquire()).isEqualTo(100);
+        assertThat(now).isEqualTo(200);
+    }
+
+    @Test
+    public void testTokensAreRefilledUpToTheBurst() {
+        final TokenBucket bucket = bucket(10, 1, 2);
+        bucket.acquire();
+        bucket.acquire();
+
+        now += 10_000;
+
+        assertThat(bucket.acquire()).isZero();
+        assertThat(bucket.acquire()).isZero();
+        assertThat(bucket.acquire()).isEqualTo(100);
+    }
+
+    @Test
+    public void testThrottlingHalvesTheRateDownToTheMinimum() {
+        final TokenBucket bucket = bucket(8, 1, 8);
+
+        bucket.onThrottled();
+        assertThat(bucket.getRatePerSecond()).isEqualTo(4);
+        bucket.onThrottled();
+        bucket.onThrottled();
+        bucket.onThrottled();
+        assertThat(bucket.getRatePerSecond()).isEqualTo(1);
+    }
+
+    @Test
+    public void testThrottlingDropsTheStoredTokens() {
+        final TokenBucket bucket = bucket(8, 1, 8);
+
+        bucket.onThrottled();
+
+        assertThat(bucket.acquire()).isEqualTo(250);
+    }
+
+    @Test
+    public void testSuccessRaisesTheRateUpToTheMaximum() {
+        final TokenBucket bucket = bucket(4, 1, 4);
+        bucket.onThrottled();
+
+        bucket.onSuccess();
+        assertThat(bucket.getRatePerSecond()).isEqualTo(2.5);
+        for (int i = 0; i < 100; i++) {
+            bucket.onSuccess();
+        }
+        assertThat(bucket.getRatePerSecond()).isEqualTo(4);
+    }
+
+    @Test
+    public void testInvalidRates() {
+        assertThatThrownBy(() -> bucket(1, 2, 1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> bucket(1, 0, 1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> bucket(1, 1, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void testThroughputAgainstAThrottlingService() {
+        // a service accepting 5 calls per second window, called back to back for a simulated minute
+        final ThrottlingService unlimited = new ThrottlingService(5);
+        while (now < 60_000) {
+            unlimited.call();
+        }
+
+        now = 0;
+        final ThrottlingService limited = new ThrottlingService(5);
+        final TokenBucket bucket = TokenBucket.builder()
+                .maxRatePerSecond(10)
+                .minRatePerSecond(1)
+                .burst(10)
+                .increasePerSuccess(0.1)
+                .clock(() -> now)
+                .sleeper(millis -> now += millis)
+                .build();
+        while (now < 60_000) {
+            bucket.acquire();
+            if (limited.call()) {
+                bucket.onSuccess();
+            } else {
+                bucket.onThrottled();
+            }
+        }
+
+        assertThat(unlimited.accepted).isEqualTo(300);
+        assertThat(unlimited.throttled).isGreaterThan(unlimited.accepted);
+        // the limiter gives up some throughput to stay below the limit of the service
+        assertThat(limited.accepted).isGreaterThanOrEqualTo(200);
+        assertThat(limited.throttled).isLessThan((limited.accepted + limited.throttled) / 20);
+    }
+
+    private TokenBucket bucket(final double maxRate, final double minRate, final double burst) {
+        return TokenBucket.builder()
+                .maxRatePerSecond(maxRate)
+                .minRatePerSecond(minRate)
+                .burst(burst)
+                .increasePerSuccess(0.5)
+                .clock(() -> now)
+                .sleeper(millis -> now += millis)
+                .build();
+    }
+
+    private class ThrottlingService {
+        private static final long LATENCY_MILLIS = 50;
+
+        private final int callsPerSecond;
+        private long window = -1;
+        private int callsInWindow;
+        private int accepted;
+        private int throttled;
+
+        ThrottlingService(final int callsPerSecond) {
+            this.callsPerSecond = callsPerSecond;
+        }
+
+        boolean call() {
+            if (now / 1000 != window) {
+                window = now / 1000;
+                callsInWindow = 0;
+            }
+            final boolean accept = callsInWindow++ < callsPerSecond;
+            if (accept) {
+                accepted++;
+            } else {
+                throttled++;
+            }
+            now += LATENCY_MILLIS;
+            return accept;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.amazonaws.wafv2.commons;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.core.client.config.ClientOverrideConfiguration;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.wafv2.Wafv2Client;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class Wafv2ClientRegistryTest {
+
+    private static final ClientOverrideConfiguration CONFIGURATION = ClientOverrideConfiguration.builder().build();
+
+    @Test
+    public void testSameClientReturnedForSameKey() {
+        final Wafv2Client client = Wafv2ClientRegistry.getClient(Region.US_EAST_1, CONFIGURATION);
+
+        assertThat(Wafv2ClientRegistry.getClient(Region.US_EAST_1, CONFIGURATION)).isSameAs(client);
+        assertThat(Wafv2ClientRegistry.getClient(Region.US_WEST_2, CONFIGURATION)).isNotSameAs(client);
+        assertThat(Wafv2ClientRegistry.getClient(Region.US_EAST_1, ClientOverrideConfiguration.builder().build()))
+                .isNotSameAs(client);
+    }
+
+    @Test
+    public void testConcurrentLookupsShareOneClient() throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            final List<Callable<Wafv2Client>> lookups = new ArrayList<>();
+            for (int i = 0; i < 32; i++) {
+                lookups.add(() -> Wafv2ClientRegistry.getClient(Region.EU_WEST_1, CONFIGURATION));
+            }
+            final List<Future<Wafv2Client>> clients = executor.invokeAll(lookups);
+            final Wafv2Client first = clients.get(0).get();
+            for (final Future<Wafv2Client> client : clients) {
+                assertThat(client.get()).isSameAs(first);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
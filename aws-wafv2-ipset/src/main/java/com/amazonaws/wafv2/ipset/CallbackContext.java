@@ -1,11 +1,14 @@
 package com.amazonaws.wafv2.ipset;
 
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Data
+@AllArgsConstructor
 @NoArgsConstructor
 @Builder
 public class CallbackContext {
+    private String lockToken;
 }
@@ -0,0 +1,274 @@
+package com.amazonaws.wafv2.ipset;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Collapses the duplicate, contained and adjacent CIDR blocks of an IP set into the smallest list of blocks
+ * matching the same addresses.
+ *
+ * The blocks are parsed without intermediate objects into one {@link CidrTrie} per address family, collapsed, and
+ * printed back in ascending address order, IPv4 blocks first, IPv6 blocks in their RFC 5952 canonical form. Host
+ * bits set beyond the prefix length are cleared. The addresses are returned unchanged when one of them is not a
+ * valid CIDR block, so that the API reports it, and when none of them can be collapsed, so that an IP set that is
+ * already minimal keeps its order and spelling.
+ */
+public final class CidrAggregator {
+
+    private static final int IPV4_WIDTH = 32;
+    private static final int IPV6_WIDTH = 128;
+    private static final int IPV6_GROUPS = 8;
+
+    private CidrAggregator() {
+    }
+
+    /**
+     * Aggregates CIDR blocks.
+     *
+     * @param addresses the CIDR blocks, such as 192.0.2.0/24 or 2001:db8::/32, may be null
+     * @return the aggregated blocks, or the addresses themselves if they are invalid or cannot be aggregated
+     */
+    public static List<String> aggregate(final List<String> addresses) {
+        if (addresses == null || addresses.size() < 2) {
+            return addresses;
+        }
+        final Parser parser = new Parser();
+        final CidrTrie ipv4 = new CidrTrie(addresses.size());
+        CidrTrie ipv6 = null;
+        for (final String address : addresses) {
+            if (!parser.parse(address)) {
+                return addresses;
+            }
+            if (parser.width == IPV4_WIDTH) {
+                ipv4.insert(parser.high, parser.low, parser.length);
+            } else {
+                if (ipv6 == null) {
+                    ipv6 = new CidrTrie(addresses.size());
+                }
+                ipv6.insert(parser.high, parser.low, parser.length);
+            }
+        }
+        final int count = ipv4.collapse() + (ipv6 == null ? 0 : ipv6.collapse());
+        if (count == addresses.size()) {
+            return addresses;
+        }
+        final List<String> aggregated = new ArrayList<>(count);
+        final StringBuilder builder = new StringBuilder(43);
+        ipv4.visit((high, low, length) -> aggregated.add(formatIPv4(builder, high, length)));
+        if (ipv6 != null) {
+            ipv6.visit((high, low, length) -> aggregated.add(formatIPv6(builder, high, low, length)));
+        }
+        return aggregated;
+    }
+
+    private static String formatIPv4(final StringBuilder builder, final long high, final int length) {
+        builder.setLength(0);
+        for (int octet = 0; octet < 4; octet++) {
+            if (octet > 0) {
+                builder.append('.');
+            }
+            builder.append(high >>> (56 - 8 * octet) & 0xff);
+        }
+        return builder.append('/').append(length).toString();
+    }
+
+    private static String formatIPv6(final StringBuilder builder, final long high, final long low, final int length) {
+        // the longest run of at least two zero groups is compressed, the first one on a tie
+        int zerosStart = -1;
+        int zerosLength = 1;
+        int runStart = -1;
+        for (int group = 0; group < IPV6_GROUPS; group++) {
+            if (group(high, low, group) != 0) {
+                runStart = -1;
+                continue;
+            }
+            if (runStart < 0) {
+                runStart = group;
+            }
+            if (group - runStart + 1 > zerosLength) {
+                zerosStart = runStart;
+                zerosLength = group - runStart + 1;
+            }
+        }
+        builder.setLength(0);
+        for (int group = 0; group < IPV6_GROUPS; group++) {
+            if (group == zerosStart) {
+                builder.append("::");
+                group += zerosLength - 1;
+                continue;
+            }
+            if (builder.length() > 0 && builder.charAt(builder.length() - 1) != ':') {
+                builder.append(':');
+            }
+            builder.append(Integer.toHexString(group(high, low, group)));
+        }
+        return builder.append('/').append(length).toString();
+    }
+
+    private static int group(final long high, final long low, final int group) {
+        return (int) ((group < 4 ? high >>> (48 - 16 * group) : low >>> (48 - 16 * (group - 4))) & 0xffff);
+    }
+
+    // the value of an ASCII digit, -1 for any other character
+    private static int digit(final char c, final int radix) {
+        if (c >= '0' && c <= '9') {
+            return c - '0';
+        }
+        if (radix == 16 && (c | 0x20) >= 'a' && (c | 0x20) <= 'f') {
+            return (c | 0x20) - 'a' + 10;
+        }
+        return -1;
+    }
+
+    /**
+     * Parses a CIDR block into 128-bit keys, IPv4 addresses in the upper 32 bits.
+     */
+    private static final class Parser {
+        private final int[] groups = new int[IPV6_GROUPS];
+        private long high;
+        private long low;
+        private int length;
+        private int width;
+
+        boolean parse(final String address) {
+            if (address == null) {
+                return false;
+            }
+            final int slash = address.indexOf('/');
+            if (slash < 0) {
+                return false;
+            }
+            final int colon = address.indexOf(':');
+            if (colon >= 0 && colon < slash) {
+                width = IPV6_WIDTH;
+                if (!parseIPv6(address, slash)) {
+                    return false;
+                }
+            } else {
+                width = IPV4_WIDTH;
+                final long ipv4 = parseIPv4(address, 0, slash);
+                if (ipv4 < 0) {
+                    return false;
+                }
+                high = ipv4 << 32;
+                low = 0;
+            }
+            length = parseLength(address, slash + 1);
+            return length >= 0;
+        }
+
+        private int parseLength(final String address, final int start) {
+            final int end = address.length();
+            if (start == end || end - start > 3) {
+                return -1;
+            }
+            int value = 0;
+            for (int i = start; i < end; i++) {
+                final int digit = digit(address.charAt(i), 10);
+                if (digit < 0) {
+                    return -1;
+                }
+                value = value * 10 + digit;
+            }
+            return value <= width ? value : -1;
+        }
+
+        // the address as an unsigned 32-bit value, -1 if invalid
+        private static long parseIPv4(final String address, final int start, final int end) {
+            long value = 0;
+            int octets = 0;
+            int i = start;
+            while (octets < 4) {
+                final int octetStart = i;
+                int octet = 0;
+                while (i < end && i - octetStart < 3) {
+                    final int digit = digit(address.charAt(i), 10);
+                    if (digit < 0) {
+                        break;
+                    }
+                    octet = octet * 10 + digit;
+                    i++;
+                }
+                if (i == octetStart || octet > 255) {
+                    return -1;
+                }
+                value = value << 8 | octet;
+                octets++;
+                if (octets < 4) {
+                    if (i == end || address.charAt(i) != '.') {
+                        return -1;
+                    }
+                    i++;
+                }
+            }
+            return i == end ? value : -1;
+        }
+
+        private boolean parseIPv6(final String address, final int end) {
+            int count = 0;
+            // index of the group following ::, -1 if none
+            int gap = -1;
+            int i = 0;
+            if (address.startsWith("::")) {
+                gap = 0;
+                i = 2;
+            } else if (address.charAt(0) == ':') {
+                return false;
+            }
+            while (i < end) {
+                final int groupStart = i;
+                int group = 0;
+                while (i < end && i - groupStart < 4) {
+                    final int digit = digit(address.charAt(i), 16);
+                    if (digit < 0) {
+                        break;
+                    }
+                    group = group << 4 | digit;
+                    i++;
+                }
+                if (i < end && address.charAt(i) == '.') {
+                    // embedded IPv4 address, such as ::ffff:192.0.2.1, taking the last two groups
+                    final long ipv4 = count <= IPV6_GROUPS - 2 ? parseIPv4(address, groupStart, end) : -1;
+                    if (ipv4 < 0) {
+                        return false;
+                    }
+                    groups[count++] = (int) (ipv4 >>> 16);
+                    groups[count++] = (int) (ipv4 & 0xffff);
+                    break;
+                }
+                if (i == groupStart || count == IPV6_GROUPS) {
+                    return false;
+                }
+                groups[count++] = group;
+                if (i == end) {
+                    break;
+                }
+                if (address.charAt(i) != ':' || ++i == end) {
+                    return false;
+                }
+                if (address.charAt(i) == ':') {
+                    if (gap >= 0) {
+                        return false;
+                    }
+                    gap = count;
+                    i++;
+                }
+            }
+            if (gap < 0 ? count != IPV6_GROUPS : count == IPV6_GROUPS) {
+                return false;
+            }
+            high = 0;
+            low = 0;
+            final int zeros = IPV6_GROUPS - count;
+            for (int group = 0; group < count; group++) {
+                final int position = gap >= 0 && group >= gap ? group + zeros : group;
+                if (position < 4) {
+                    high |= (long) groups[group] << (48 - 16 * position);
+                } else {
+                    low |= (long) groups[group] << (48 - 16 * (position - 4));
+                }
+            }
+            return true;
+        }
+    }
+}
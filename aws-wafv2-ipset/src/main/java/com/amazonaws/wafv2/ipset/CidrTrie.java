@@ -0,0 +1,211 @@
+package com.amazonaws.wafv2.ipset;
+
+import java.util.Arrays;
+
+/**
+ * Path-compressed binary radix trie of the prefixes of one address family, stored in a single primitive array.
+ *
+ * Addresses are 128-bit keys split into a high and a low long, most significant bit first: IPv4 addresses are held
+ * in the upper 32 bits of the high long. Every node is a prefix, either inserted or the longest common prefix of its
+ * two children, so the trie has fewer than twice as many nodes as inserted prefixes whatever their length. A prefix
+ * contained in an inserted one is not stored, and inserting a prefix drops the prefixes it contains.
+ *
+ * The fields of a node are adjacent in the array, so that walking down the trie reads one cache line per node.
+ */
+class CidrTrie {
+
+    // offsets of the fields of a node
+    private static final int HIGH = 0;
+    private static final int LOW = 1;
+    // left child in the upper half, right child in the lower half
+    private static final int CHILDREN = 2;
+    // prefix length, plus FULL if all the addresses of the prefix were inserted
+    private static final int INFO = 3;
+    private static final int STRIDE = 4;
+
+    private static final long FULL = 1L << 32;
+    private static final int LENGTH_MASK = 0xff;
+    // offset of a missing child
+    private static final int NONE = -1;
+    private static final int ROOT = 0;
+
+    // nodes are referenced by the offset of their first field
+    private long[] nodes;
+    private int size;
+
+    /**
+     * @param capacity the expected number of inserted prefixes
+     */
+    CidrTrie(final int capacity) {
+        nodes = new long[Math.max(16, 2 * capacity + 1) * STRIDE];
+        newNode(0, 0, 0, false);
+    }
+
+    /**
+     * Inserts a prefix.
+     *
+     * @param prefixHigh   the high bits of the prefix address
+     * @param prefixLow    the low bits of the prefix address
+     * @param prefixLength the prefix length, between 0 and the address width
+     */
+    void insert(final long prefixHigh, final long prefixLow, final int prefixLength) {
+        final long keyHigh = maskHigh(prefixHigh, prefixLength);
+        final long keyLow = maskLow(prefixLow, prefixLength);
+        int node = ROOT;
+        while (!isFull(node)) {
+            final int nodeLength = length(node);
+            if (nodeLength == prefixLength) {
+                nodes[node + INFO] = prefixLength | FULL;
+                nodes[node + CHILDREN] = children(NONE, NONE);
+                return;
+            }
+            final boolean toRight = bit(keyHigh, keyLow, nodeLength);
+            final int child = child(node, toRight);
+            if (child == NONE) {
+                setChild(node, toRight, newNode(keyHigh, keyLow, prefixLength, true));
+                return;
+            }
+            final int childLength = length(child);
+            final int common = Math.min(Math.min(prefixLength, childLength),
+                    commonLength(keyHigh, keyLow, nodes[child + HIGH], nodes[child + LOW]));
+            if (common == childLength) {
+                node = child;
+                continue;
+            }
+            // the prefix diverges from the child or contains it, a node is inserted between them
+            final int between;
+            if (common == prefixLength) {
+                between = newNode(keyHigh, keyLow, prefixLength, true);
+            } else {
+                between = newNode(maskHigh(keyHigh, common), maskLow(keyLow, common), common, false);
+                setChild(between, bit(keyHigh, keyLow, common), newNode(keyHigh, keyLow, prefixLength, true));
+                setChild(between, bit(nodes[child + HIGH], nodes[child + LOW], common), child);
+            }
+            setChild(node, toRight, between);
+            return;
+        }
+    }
+
+    /**
+     * Collapses the prefixes whose two halves are both covered, bottom-up, down to a prefix length of 1. The covering
+     * prefixes are then disjoint, none of them is adjacent to its sibling but the two halves of the address space,
+     * and they are the smallest set of such prefixes covering the inserted ones.
+     *
+     * @return the number of covering prefixes
+     */
+    int collapse() {
+        return collapse(ROOT);
+    }
+
+    /**
+     * Visits the covering prefixes in ascending address order, after {@link #collapse()}.
+     *
+     * @param visitor receives the covering prefixes
+     */
+    void visit(final Visitor visitor) {
+        visit(ROOT, visitor);
+    }
+
+    /**
+     * @return the number of nodes of the trie, including the root and the dropped ones
+     */
+    int size() {
+        return size / STRIDE;
+    }
+
+    // the number of covering prefixes of a subtree, marking as full the nodes whose halves are both full, except the
+    // root: WAF rejects a /0 block, so the two halves of the address space are kept unless /0 itself was inserted
+    private int collapse(final int node) {
+        if (isFull(node)) {
+            return 1;
+        }
+        final int left = child(node, false);
+        final int right = child(node, true);
+        final int covering = (left == NONE ? 0 : collapse(left)) + (right == NONE ? 0 : collapse(right));
+        final int halfLength = length(node) + 1;
+        if (node != ROOT && covering == 2 && isFull(left) && isFull(right)
+                && length(left) == halfLength && length(right) == halfLength) {
+            nodes[node + INFO] |= FULL;
+            return 1;
+        }
+        return covering;
+    }
+
+    private void visit(final int node, final Visitor visitor) {
+        if (isFull(node)) {
+            visitor.visit(nodes[node + HIGH], nodes[node + LOW], length(node));
+            return;
+        }
+        final int left = child(node, false);
+        if (left != NONE) {
+            visit(left, visitor);
+        }
+        final int right = child(node, true);
+        if (right != NONE) {
+            visit(right, visitor);
+        }
+    }
+
+    private int newNode(final long nodeHigh, final long nodeLow, final int nodeLength, final boolean nodeFull) {
+        if (size == nodes.length) {
+            nodes = Arrays.copyOf(nodes, size * 2);
+        }
+        final int node = size;
+        nodes[node + HIGH] = nodeHigh;
+        nodes[node + LOW] = nodeLow;
+        nodes[node + CHILDREN] = children(NONE, NONE);
+        nodes[node + INFO] = nodeFull ? nodeLength | FULL : nodeLength;
+        size += STRIDE;
+        return node;
+    }
+
+    private boolean isFull(final int node) {
+        return (nodes[node + INFO] & FULL) != 0;
+    }
+
+    private int length(final int node) {
+        return (int) nodes[node + INFO] & LENGTH_MASK;
+    }
+
+    private int child(final int node, final boolean right) {
+        final long children = nodes[node + CHILDREN];
+        return (int) (right ? children : children >> 32);
+    }
+
+    private void setChild(final int node, final boolean right, final int child) {
+        nodes[node + CHILDREN] = right
+                ? children(child(node, false), child)
+                : children(child, child(node, true));
+    }
+
+    private static long children(final int left, final int right) {
+        return (long) left << 32 | right & 0xffffffffL;
+    }
+
+    // the bit following a prefix of the given length, only full nodes may have the length of an address
+    private static boolean bit(final long keyHigh, final long keyLow, final int index) {
+        return index < 64 ? (keyHigh >>> (63 - index) & 1) != 0 : (keyLow >>> (127 - index) & 1) != 0;
+    }
+
+    private static int commonLength(final long high1, final long low1, final long high2, final long low2) {
+        final long differentHigh = high1 ^ high2;
+        return differentHigh != 0
+                ? Long.numberOfLeadingZeros(differentHigh)
+                : 64 + Long.numberOfLeadingZeros(low1 ^ low2);
+    }
+
+    private static long maskHigh(final long value, final int prefixLength) {
+        return prefixLength == 0 ? 0 : prefixLength >= 64 ? value : value & -1L << (64 - prefixLength);
+    }
+
+    private static long maskLow(final long value, final int prefixLength) {
+        return prefixLength <= 64 ? 0 : prefixLength == 128 ? value : value & -1L << (128 - prefixLength);
+    }
+
+    /**
+     * Receives prefixes, as high bits, low bits and prefix length.
+     */
+    interface Visitor {
+        void visit(long prefixHigh, long prefixLow, int prefixLength);
+    }
+}
@@ -2,9 +2,11 @@ package com.amazonaws.wafv2.ipset;
 
 import com.amazonaws.util.CollectionUtils;
 import com.amazonaws.util.StringUtils;
+import com.amazonaws.wafv2.commons.CommonVariables;
 import com.amazonaws.wafv2.commons.CustomerAPIClientBuilder;
 import com.amazonaws.wafv2.commons.ExceptionTranslationWrapper;
 import com.amazonaws.wafv2.commons.HandlerHelper;
+import com.amazonaws.wafv2.commons.HandlerMetrics;
 import com.amazonaws.wafv2.ipset.converters.TagConverter;
 import lombok.RequiredArgsConstructor;
 import software.amazon.awssdk.services.wafv2.Wafv2Client;
@@ -16,15 +18,31 @@ import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
 
+import java.util.List;
 import java.util.stream.Collectors;
 
 @RequiredArgsConstructor
 public class CreateHandler extends BaseHandler<CallbackContext> {
 
     private final Wafv2Client client;
+    // whether the created model is built from the desired state instead of read back
+    private final boolean modelFromWriteResponse;
+    // whether the addresses are aggregated before being written
+    private final boolean aggregateAddresses;
 
     public CreateHandler() {
-        this.client = CustomerAPIClientBuilder.getClient();
+        this(CustomerAPIClientBuilder.getClient());
+        Warmup.warmup();
+    }
+
+    public CreateHandler(final Wafv2Client client) {
+        this(client, Boolean.parseBoolean(
+                System.getenv(CommonVariables.MODEL_FROM_WRITE_RESPONSE_ENVIRONMENT_VARIABLE)));
+    }
+
+    public CreateHandler(final Wafv2Client client, final boolean modelFromWriteResponse) {
+        this(client, modelFromWriteResponse, Boolean.parseBoolean(
+                System.getenv(CommonVariables.AGGREGATE_IPSET_ADDRESSES_ENVIRONMENT_VARIABLE)));
     }
 
     @Override
@@ -33,19 +51,43 @@ public class CreateHandler extends BaseHandler<CallbackContext> {
             final ResourceHandlerRequest<ResourceModel> request,
             final CallbackContext callbackContext,
             final Logger logger) {
+        return HandlerMetrics.record(ResourceModel.TYPE_NAME, "Create", request.getAwsAccountId(), logger,
+                () -> handle(proxy, request, callbackContext, logger));
+    }
+
+    private ProgressEvent<ResourceModel, CallbackContext> handle(
+            final AmazonWebServicesClientProxy proxy,
+            final ResourceHandlerRequest<ResourceModel> request,
+            final CallbackContext callbackContext,
+            final Logger logger) {
 
         final ResourceModel model = request.getDesiredResourceState();
         if (StringUtils.isNullOrEmpty(model.getName())) {
             model.setName(HandlerHelper.generateName(request));
         }
+        final List<String> addresses = aggregateAddresses
+                ? HandlerMetrics.time("Aggregate", () -> CidrAggregator.aggregate(model.getAddresses()))
+                : model.getAddresses();
+        if (addresses != model.getAddresses()) {
+            logger.log(String.format("Aggregated %d IPSet addresses into %d",
+                    model.getAddresses().size(), addresses.size()));
+        }
 
         try {
-            final CreateIpSetResponse response = createIPSetExceptionWrapper(proxy, model).execute();
+            final CreateIpSetResponse response = createIPSetExceptionWrapper(proxy, model, addresses).execute();
+            if (modelFromWriteResponse) {
+                return ProgressEvent.<ResourceModel, CallbackContext>builder()
+                        .resourceModel(ReadHandler.modelAfterWrite(model, response.summary().id(),
+                                response.summary().arn()))
+                        .status(OperationStatus.SUCCESS)
+                        .build();
+            }
 
             final ResourceModel readResourceModel = ResourceModel.builder()
                     .id(response.summary().id())
                     .name(response.summary().name())
                     .scope(model.getScope())
+                    .arn(response.summary().arn())
                     .build();
             return new ReadHandler(client).handleRequest(proxy,
                     ResourceHandlerRequest.<ResourceModel>builder().desiredResourceState(readResourceModel).build(),
@@ -61,7 +103,7 @@ public class CreateHandler extends BaseHandler<CallbackContext> {
     }
 
     private ExceptionTranslationWrapper<CreateIpSetResponse> createIPSetExceptionWrapper(
-            final AmazonWebServicesClientProxy proxy, final ResourceModel model) {
+            final AmazonWebServicesClientProxy proxy, final ResourceModel model, final List<String> addresses) {
         return new ExceptionTranslationWrapper<CreateIpSetResponse>() {
             @Override
             public CreateIpSetResponse doWithTranslation() throws RuntimeException {
@@ -71,7 +113,7 @@ public class CreateHandler extends BaseHandler<CallbackContext> {
                         .description(model.getDescription())
                         .ipAddressVersion(model.getIPAddressVersion())
                         //IPAddresses are not null, can be empty
-                        .addresses(model.getAddresses());
+                        .addresses(addresses);
                 if (!CollectionUtils.isNullOrEmpty(model.getTags())) {
                     createIpSetRequest.tags(model.getTags().stream()
                             .map(TagConverter.INSTANCE::convert)
@@ -1,8 +1,11 @@
 package com.amazonaws.wafv2.ipset;
 
+import com.amazonaws.wafv2.commons.ConcurrentReader;
 import com.amazonaws.wafv2.commons.CustomerAPIClientBuilder;
 import com.amazonaws.wafv2.commons.ExceptionTranslationWrapper;
+import com.amazonaws.wafv2.commons.HandlerExecutors;
 import com.amazonaws.wafv2.commons.HandlerHelper;
+import com.amazonaws.wafv2.commons.HandlerMetrics;
 import lombok.RequiredArgsConstructor;
 import software.amazon.awssdk.services.wafv2.Wafv2Client;
 import software.amazon.awssdk.services.wafv2.model.GetIpSetRequest;
@@ -13,7 +16,10 @@ import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
 
 @RequiredArgsConstructor
 public class ReadHandler extends BaseHandler<CallbackContext> {
@@ -22,6 +28,7 @@ public class ReadHandler extends BaseHandler<CallbackContext> {
 
     public ReadHandler() {
         this.client = CustomerAPIClientBuilder.getClient();
+        Warmup.warmup();
     }
 
     @Override
@@ -30,26 +37,33 @@ public class ReadHandler extends BaseHandler<CallbackContext> {
             final ResourceHandlerRequest<ResourceModel> request,
             final CallbackContext callbackContext,
             final Logger logger) {
+        return HandlerMetrics.record(ResourceModel.TYPE_NAME, "Read", request.getAwsAccountId(), logger,
+                () -> handle(proxy, request, callbackContext, logger));
+    }
+
+    private ProgressEvent<ResourceModel, CallbackContext> handle(
+            final AmazonWebServicesClientProxy proxy,
+            final ResourceHandlerRequest<ResourceModel> request,
+            final CallbackContext callbackContext,
+            final Logger logger) {
 
         final ResourceModel model = request.getDesiredResourceState();
 
         try {
-            final GetIpSetResponse response = getIpsetExceptionWrapper(proxy, model).execute();
-            final List<Tag> tags = HandlerHelper.getConvertedTags(proxy, client, response.ipSet().arn(),
-                    tag -> Tag.builder()
-                            .key(tag.key())
-                            .value(tag.value())
-                            .build());
-            final ResourceModel result = ResourceModel.builder()
-                    .id(response.ipSet().id())
-                    .name(response.ipSet().name())
-                    .scope(model.getScope())
-                    .arn(response.ipSet().arn())
-                    .description(response.ipSet().description())
-                    .addresses(response.ipSet().addresses()) //addresses doesn't have limit issue with Uluru V2
-                    .iPAddressVersion(response.ipSet().ipAddressVersionAsString())
-                    .tags(tags)
-                    .build();
+            final ResourceModel result = ConcurrentReader.read(
+                    () -> getIpsetExceptionWrapper(proxy, model).execute(),
+                    response -> response.ipSet().arn(),
+                    model.getArn() != null
+                            ? model.getArn()
+                            : HandlerHelper.buildArn(request, "ipset",
+                                    model.getScope(), model.getName(), model.getId()),
+                    arn -> HandlerHelper.getConvertedTags(proxy, client, arn,
+                            tag -> Tag.builder()
+                                    .key(tag.key())
+                                    .value(tag.value())
+                                    .build()),
+                    (response, tags) -> toResourceModel(model, response, tags),
+                    HandlerExecutors.shared());
 
             return ProgressEvent.<ResourceModel, CallbackContext>builder()
                     .resourceModel(result)
@@ -64,6 +78,42 @@ public class ReadHandler extends BaseHandler<CallbackContext> {
         }
     }
 
+    /**
+     * Builds the model a Read would return after the desired state was written, without reading the IPSet back.
+     *
+     * @param desired the written desired state
+     * @param id      the IPSet id
+     * @param arn     the IPSet ARN
+     * @return the model of the written IPSet
+     */
+    static ResourceModel modelAfterWrite(final ResourceModel desired, final String id, final String arn) {
+        return ResourceModel.builder()
+                .id(id)
+                .name(desired.getName())
+                .scope(desired.getScope())
+                .arn(arn)
+                .description(desired.getDescription())
+                .addresses(Optional.ofNullable(desired.getAddresses()).orElse(Collections.emptyList()))
+                .iPAddressVersion(desired.getIPAddressVersion())
+                .tags(Optional.ofNullable(desired.getTags()).orElse(Collections.emptyList()))
+                .build();
+    }
+
+    private static ResourceModel toResourceModel(final ResourceModel model,
+                                                 final GetIpSetResponse response,
+                                                 final Supplier<List<Tag>> tags) {
+        return ResourceModel.builder()
+                .id(response.ipSet().id())
+                .name(response.ipSet().name())
+                .scope(model.getScope())
+                .arn(response.ipSet().arn())
+                .description(response.ipSet().description())
+                .addresses(response.ipSet().addresses()) //addresses doesn't have limit issue with Uluru V2
+                .iPAddressVersion(response.ipSet().ipAddressVersionAsString())
+                .tags(tags.get())
+                .build();
+    }
+
     private ExceptionTranslationWrapper<GetIpSetResponse> getIpsetExceptionWrapper(
             final AmazonWebServicesClientProxy proxy, final ResourceModel model) {
         return new ExceptionTranslationWrapper<GetIpSetResponse>() {
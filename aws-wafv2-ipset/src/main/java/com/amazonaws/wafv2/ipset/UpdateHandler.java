@@ -1,7 +1,11 @@
 package com.amazonaws.wafv2.ipset;
 
+import com.amazonaws.wafv2.commons.CommonVariables;
 import com.amazonaws.wafv2.commons.CustomerAPIClientBuilder;
 import com.amazonaws.wafv2.commons.ExceptionTranslationWrapper;
+import com.amazonaws.wafv2.commons.HandlerMetrics;
+import com.amazonaws.wafv2.commons.LockTokenManager;
+import com.amazonaws.wafv2.commons.TagReconciler;
 import lombok.RequiredArgsConstructor;
 import software.amazon.awssdk.services.wafv2.Wafv2Client;
 import software.amazon.awssdk.services.wafv2.model.GetIpSetRequest;
@@ -14,13 +18,30 @@ import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
 
+import java.util.List;
+
 @RequiredArgsConstructor
 public class UpdateHandler extends BaseHandler<CallbackContext> {
 
     private final Wafv2Client client;
+    // whether the updated model is built from the desired state instead of read back
+    private final boolean modelFromWriteResponse;
+    // whether the addresses are aggregated before being written
+    private final boolean aggregateAddresses;
 
     public UpdateHandler() {
-        this.client = CustomerAPIClientBuilder.getClient();
+        this(CustomerAPIClientBuilder.getClient());
+        Warmup.warmup();
+    }
+
+    public UpdateHandler(final Wafv2Client client) {
+        this(client, Boolean.parseBoolean(
+                System.getenv(CommonVariables.MODEL_FROM_WRITE_RESPONSE_ENVIRONMENT_VARIABLE)));
+    }
+
+    public UpdateHandler(final Wafv2Client client, final boolean modelFromWriteResponse) {
+        this(client, modelFromWriteResponse, Boolean.parseBoolean(
+                System.getenv(CommonVariables.AGGREGATE_IPSET_ADDRESSES_ENVIRONMENT_VARIABLE)));
     }
 
     @Override
@@ -29,15 +50,48 @@ public class UpdateHandler extends BaseHandler<CallbackContext> {
             final ResourceHandlerRequest<ResourceModel> request,
             final CallbackContext callbackContext,
             final Logger logger) {
+        return HandlerMetrics.record(ResourceModel.TYPE_NAME, "Update", request.getAwsAccountId(), logger,
+                () -> handle(proxy, request, callbackContext, logger));
+    }
+
+    private ProgressEvent<ResourceModel, CallbackContext> handle(
+            final AmazonWebServicesClientProxy proxy,
+            final ResourceHandlerRequest<ResourceModel> request,
+            final CallbackContext callbackContext,
+            final Logger logger) {
 
         final ResourceModel model = request.getDesiredResourceState();
+        final List<String> addresses = aggregateAddresses
+                ? HandlerMetrics.time("Aggregate", () -> CidrAggregator.aggregate(model.getAddresses()))
+                : model.getAddresses();
+        if (addresses != model.getAddresses()) {
+            logger.log(String.format("Aggregated %d IPSet addresses into %d",
+                    model.getAddresses().size(), addresses.size()));
+        }
 
+        final LockTokenManager lockTokenManager = new LockTokenManager(
+                callbackContext == null ? null : callbackContext.getLockToken(), logger);
         try {
-            updateIpSetResponseExceptionTranslationWrapper(proxy, model).execute();
+            updateIpSetResponseExceptionTranslationWrapper(proxy, model, addresses, lockTokenManager).execute();
+            final ResourceModel previousModel = request.getPreviousResourceState();
+            TagReconciler.reconcileTags(proxy, client,
+                    () -> getArn(proxy, model, previousModel),
+                    previousModel == null ? null : previousModel.getTags(),
+                    model.getTags(), Tag::getKey, Tag::getValue);
+            if (modelFromWriteResponse) {
+                return ProgressEvent.<ResourceModel, CallbackContext>builder()
+                        .resourceModel(ReadHandler.modelAfterWrite(model, model.getId(),
+                                getArn(proxy, model, previousModel)))
+                        .status(OperationStatus.SUCCESS)
+                        .build();
+            }
             final ResourceModel readResourceModel = ResourceModel.builder()
                     .id(model.getId())
                     .name(model.getName())
                     .scope(model.getScope())
+                    .arn(previousModel != null && previousModel.getArn() != null
+                            ? previousModel.getArn()
+                            : model.getArn())
                     .build();
             return new ReadHandler(client).handleRequest(proxy,
                     ResourceHandlerRequest.<ResourceModel>builder().desiredResourceState(readResourceModel).build(),
@@ -55,32 +109,54 @@ public class UpdateHandler extends BaseHandler<CallbackContext> {
     }
 
     private ExceptionTranslationWrapper<UpdateIpSetResponse> updateIpSetResponseExceptionTranslationWrapper(
-            final AmazonWebServicesClientProxy proxy, ResourceModel model) {
+            final AmazonWebServicesClientProxy proxy,
+            final ResourceModel model,
+            final List<String> addresses,
+            final LockTokenManager lockTokenManager) {
 
         return new ExceptionTranslationWrapper<UpdateIpSetResponse>() {
             @Override
             public UpdateIpSetResponse doWithTranslation() throws RuntimeException {
-                final UpdateIpSetRequest request = UpdateIpSetRequest.builder()
+                final UpdateIpSetRequest.Builder request = UpdateIpSetRequest.builder()
                         .scope(model.getScope())
                         .name(model.getName())
                         .id(model.getId())
-                        .lockToken(getLockToken(proxy, model))
                         .description(model.getDescription())
-                        .addresses(model.getAddresses()).build();
-                final UpdateIpSetResponse response = proxy.injectCredentialsAndInvokeV2(request, client::updateIPSet);
+                        .addresses(addresses);
+                final UpdateIpSetResponse response = lockTokenManager.invoke(
+                        lockToken -> proxy.injectCredentialsAndInvokeV2(
+                                request.lockToken(lockToken).build(), client::updateIPSet),
+                        () -> getLockToken(proxy, model));
+                lockTokenManager.update(response.nextLockToken());
                 return response;
             }
         };
     }
 
-    private String getLockToken(final AmazonWebServicesClientProxy proxy, final ResourceModel model) {
-            final GetIpSetRequest getIpSetRequest = GetIpSetRequest.builder()
-                    .name(model.getName())
-                    .id(model.getId())
-                    .scope(model.getScope())
-                    .build();
-            final GetIpSetResponse response = proxy.injectCredentialsAndInvokeV2(getIpSetRequest
-                    , client::getIPSet);
-            return response.lockToken();
+    private String getLockToken(final AmazonWebServicesClientProxy proxy,
+                                final ResourceModel model) {
+        return getIPSet(proxy, model).lockToken();
+    }
+
+    private String getArn(final AmazonWebServicesClientProxy proxy,
+                          final ResourceModel model,
+                          final ResourceModel previousModel) {
+        if (previousModel != null && previousModel.getArn() != null) {
+            return previousModel.getArn();
+        }
+        if (model.getArn() != null) {
+            return model.getArn();
+        }
+        return getIPSet(proxy, model).ipSet().arn();
+    }
+
+    private GetIpSetResponse getIPSet(final AmazonWebServicesClientProxy proxy,
+                                      final ResourceModel model) {
+        final GetIpSetRequest getIpSetRequest = GetIpSetRequest.builder()
+                .name(model.getName())
+                .id(model.getId())
+                .scope(model.getScope())
+                .build();
+        return proxy.injectCredentialsAndInvokeV2(getIpSetRequest, client::getIPSet);
     }
 }
@@ -0,0 +1,33 @@
+package com.amazonaws.wafv2.ipset;
+
+import com.amazonaws.wafv2.commons.HandlerWarmup;
+import com.amazonaws.wafv2.ipset.converters.TagConverter;
+import software.amazon.awssdk.services.wafv2.model.IPAddressVersion;
+import software.amazon.awssdk.services.wafv2.model.IPSet;
+
+/**
+ * Loads the IPSet converters, resource schema and SDK model classes ahead of the first request.
+ */
+public final class Warmup {
+
+    private Warmup() {
+    }
+
+    /**
+     * Warms up the module, only the first call in a container does any work.
+     */
+    public static void warmup() {
+        HandlerWarmup.runOnce(Warmup.class, Warmup::run);
+    }
+
+    private static void run() {
+        new Configuration().resourceSchemaJSONObject();
+
+        IPSet.builder()
+                .name("warmup")
+                .ipAddressVersion(IPAddressVersion.IPV4)
+                .addresses("10.0.0.0/8")
+                .build();
+        TagConverter.INSTANCE.convert(Tag.builder().key("warmup").value("warmup").build());
+    }
+}
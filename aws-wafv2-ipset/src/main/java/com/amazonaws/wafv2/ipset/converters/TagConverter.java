@@ -1,14 +1,13 @@
 package com.amazonaws.wafv2.ipset.converters;
 
 import org.mapstruct.Mapper;
-import org.mapstruct.factory.Mappers;
 import software.amazon.awssdk.services.wafv2.model.Tag;
 
 import java.util.List;
 
 @Mapper
 public interface TagConverter {
-    TagConverter INSTANCE = Mappers.getMapper(TagConverter.class);
+    TagConverter INSTANCE = new TagConverterImpl();
 
     //---------------------------------------------------------------------
     // Tag
@@ -0,0 +1,119 @@
+package com.amazonaws.wafv2.ipset;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class CidrAggregatorTest {
+
+    @Test
+    public void testDuplicateContainedAndAdjacentBlocksAreCollapsed() {
+        assertEquals(Arrays.asList("10.0.0.0/23", "192.0.2.7/32"), CidrAggregator.aggregate(Arrays.asList(
+                "192.0.2.7/32",
+                "10.0.1.0/24",
+                "10.0.0.0/25",
+                "10.0.0.128/25",
+                "10.0.0.12/30",
+                "192.0.2.7/32")));
+    }
+
+    @Test
+    public void testAdjacentBlocksAreCollapsedOnlyIntoAlignedBlocks() {
+        final List<String> addresses = Arrays.asList("10.0.1.0/24", "10.0.2.0/24");
+
+        assertSame(addresses, CidrAggregator.aggregate(addresses));
+    }
+
+    @Test
+    public void testHostBitsAreCleared() {
+        assertEquals(Collections.singletonList("10.0.0.0/24"),
+                CidrAggregator.aggregate(Arrays.asList("10.0.0.5/24", "10.0.0.200/32")));
+    }
+
+    @Test
+    public void testIPv6BlocksAreCollapsedInCanonicalForm() {
+        assertEquals(Arrays.asList("2001:db8::/32", "2001:db9:0:0:1::/127"), CidrAggregator.aggregate(Arrays.asList(
+                "2001:0DB9:0000:0000:0001:0000:0000:0001/128",
+                "2001:db9::1:0:0:0/128",
+                "2001:db8:1::/48",
+                "2001:db8:8000::/33",
+                "2001:db8::/33")));
+    }
+
+    @Test
+    public void testIPv4BlocksComeBeforeIPv6Blocks() {
+        assertEquals(Arrays.asList("192.0.2.0/31", "::ffff:c000:200/127"), CidrAggregator.aggregate(Arrays.asList(
+                "::ffff:192.0.2.0/128",
+                "::ffff:192.0.2.1/128",
+                "192.0.2.1/32",
+                "192.0.2.0/32")));
+    }
+
+    @Test
+    public void testWholeAddressSpace() {
+        assertEquals(Arrays.asList("0.0.0.0/1", "128.0.0.0/1", "::/0"), CidrAggregator.aggregate(Arrays.asList(
+                "0.0.0.0/1", "128.0.0.0/1", "1.2.3.4/32", "::/0", "::1/128")));
+    }
+
+    @Test
+    public void testHalvesOfTheAddressSpaceAreNotCollapsed() {
+        final List<String> halves = Arrays.asList("0.0.0.0/1", "128.0.0.0/1", "::/1", "8000::/1");
+        assertSame(halves, CidrAggregator.aggregate(halves));
+        assertEquals(Arrays.asList("0.0.0.0/1", "128.0.0.0/1", "::/1", "8000::/1"),
+                CidrAggregator.aggregate(Arrays.asList(
+                        "128.0.0.0/2", "0.0.0.0/1", "192.0.0.0/2", "8000::/1", "::/2", "4000::/2")));
+    }
+
+    @Test
+    public void testAddressesAreUnchangedWhenInvalid() {
+        for (final String invalid : Arrays.asList("10.0.0.0", "10.0.0/24", "10.0.0.256/32", "10.0.0.0/33",
+                " 10.0.0.0/24", "10.0.0.0/24 ", "1::2::3/64", "12345::/16", "1:2:3:4:5:6:7/128",
+                "1:2:3:4:5:6:7:8:9/128", "1:2:3:4:5:6:7::8/128", ":1::/64", "1:/64", "::/129", "")) {
+            final List<String> addresses = Arrays.asList(invalid, "10.0.0.0/32", "10.0.0.1/32");
+
+            assertSame(invalid, addresses, CidrAggregator.aggregate(addresses));
+        }
+    }
+
+    @Test
+    public void testAddressesAreUnchangedWhenAlreadyAggregated() {
+        final List<String> addresses = Arrays.asList("192.0.2.7/32", "10.0.0.0/24", "2001:db8::/32");
+
+        assertSame(addresses, CidrAggregator.aggregate(addresses));
+        assertNull(CidrAggregator.aggregate(null));
+    }
+
+    @Test
+    public void testManyHostRoutesAreCollapsed() {
+        final List<String> addresses = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            addresses.add(String.format("10.%d.%d.%d/32", i >> 16 & 0xff, i >> 8 & 0xff, i & 0xff));
+        }
+        Collections.shuffle(addresses, new Random(0));
+
+        // 100000 = 65536 + 32768 + 1024 + 512 + 128 + 32
+        assertEquals(Arrays.asList("10.0.0.0/16", "10.1.0.0/17", "10.1.128.0/22", "10.1.132.0/23",
+                "10.1.134.0/25", "10.1.134.128/27"), CidrAggregator.aggregate(addresses));
+    }
+
+    @Test
+    public void testTrieNodesAreBoundedByTheInsertedPrefixes() {
+        final CidrTrie trie = new CidrTrie(0);
+        final Random random = new Random(0);
+        for (int i = 0; i < 10_000; i++) {
+            trie.insert(random.nextLong(), random.nextLong(), 128);
+        }
+
+        assertTrue(trie.size() < 2 * 10_000 + 1);
+        assertEquals(10_000, trie.collapse());
+    }
+}
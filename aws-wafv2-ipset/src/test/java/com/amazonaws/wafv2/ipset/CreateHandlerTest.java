@@ -4,6 +4,7 @@ import com.amazonaws.wafv2.ipset.helpers.IPSetHelper;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import software.amazon.awssdk.services.wafv2.Wafv2Client;
 import software.amazon.awssdk.services.wafv2.model.CreateIpSetRequest;
@@ -36,6 +37,8 @@ import static org.junit.Assert.assertNull;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 
 public class CreateHandlerTest {
 
@@ -104,4 +107,56 @@ public class CreateHandlerTest {
         Assert.assertEquals(createResponse.getResourceModel().getTags().get(0).getValue(), "v1");
     }
 
+    @Test
+    public void testCreateWithModelFromWriteResponse() {
+        final CreateHandler handler = new CreateHandler(mock(Wafv2Client.class), true);
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(model).build();
+        final IPSetSummary summary = IPSetSummary.builder()
+                .arn(arn)
+                .description(description)
+                .id(id)
+                .name(name)
+                .build();
+
+        doReturn(CreateIpSetResponse.builder().summary(summary).build())
+                .when(proxy).injectCredentialsAndInvokeV2(any(CreateIpSetRequest.class), any());
+        final ProgressEvent<ResourceModel, CallbackContext> createResponse =
+                handler.handleRequest(proxy, request, null, logger);
+
+        assertEquals(OperationStatus.SUCCESS, createResponse.getStatus());
+        assertEquals(id, createResponse.getResourceModel().getId());
+        assertEquals(arn, createResponse.getResourceModel().getArn());
+        assertEquals(Arrays.asList(address), createResponse.getResourceModel().getAddresses());
+        assertEquals(ipAddressVersion, createResponse.getResourceModel().getIPAddressVersion());
+        // nothing is read back
+        verify(proxy, never()).injectCredentialsAndInvokeV2(any(GetIpSetRequest.class), any());
+        verify(proxy, never()).injectCredentialsAndInvokeV2(any(ListTagsForResourceRequest.class), any());
+    }
+
+    @Test
+    public void testCreateWithAggregatedAddresses() {
+        final CreateHandler handler = new CreateHandler(mock(Wafv2Client.class), true, true);
+        model.setAddresses(Arrays.asList("10.0.0.0/25", "10.0.0.128/25", "10.0.0.7/32", "192.0.2.1/32"));
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(model).build();
+        final IPSetSummary summary = IPSetSummary.builder()
+                .arn(arn)
+                .id(id)
+                .name(name)
+                .build();
+
+        doReturn(CreateIpSetResponse.builder().summary(summary).build())
+                .when(proxy).injectCredentialsAndInvokeV2(any(CreateIpSetRequest.class), any());
+        final ProgressEvent<ResourceModel, CallbackContext> createResponse =
+                handler.handleRequest(proxy, request, null, logger);
+
+        final ArgumentCaptor<CreateIpSetRequest> createRequest = ArgumentCaptor.forClass(CreateIpSetRequest.class);
+        verify(proxy).injectCredentialsAndInvokeV2(createRequest.capture(), any());
+        assertEquals(Arrays.asList("10.0.0.0/24", "192.0.2.1/32"), createRequest.getValue().addresses());
+        assertEquals(OperationStatus.SUCCESS, createResponse.getStatus());
+        // the model keeps the desired addresses
+        assertEquals(model.getAddresses(), createResponse.getResourceModel().getAddresses());
+    }
+
 }
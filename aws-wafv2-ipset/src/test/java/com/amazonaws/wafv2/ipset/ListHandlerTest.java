@@ -0,0 +1,221 @@
+package com.amazonaws.wafv2.ipset;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import software.amazon.awssdk.services.wafv2.Wafv2Client;
+import software.amazon.awssdk.services.wafv2.model.GetIpSetRequest;
+import software.amazon.awssdk.services.wafv2.model.IPSetSummary;
+import software.amazon.awssdk.services.wafv2.model.ListIpSetsRequest;
+import software.amazon.awssdk.services.wafv2.model.ListIpSetsResponse;
+import software.amazon.awssdk.services.wafv2.model.ListTagsForResourceRequest;
+import software.amazon.awssdk.services.wafv2.model.ListTagsForResourceResponse;
+import software.amazon.awssdk.services.wafv2.model.Tag;
+import software.amazon.awssdk.services.wafv2.model.TagInfoForResource;
+import software.amazon.awssdk.services.wafv2.model.WafInternalErrorException;
+import software.amazon.awssdk.services.wafv2.model.WafNonexistentItemException;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static com.amazonaws.wafv2.ipset.helpers.IPSetHelper.getReadIPSetResponse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+
+public class ListHandlerTest {
+
+    @Mock
+    private AmazonWebServicesClientProxy proxy;
+
+    @Mock
+    private Logger logger;
+
+    private ListHandler listHandler;
+    private List<ListIpSetsRequest> listRequests;
+
+    @Before
+    public void setup() {
+        proxy = mock(AmazonWebServicesClientProxy.class);
+        logger = mock(Logger.class);
+        listHandler = new ListHandler(mock(Wafv2Client.class));
+        listRequests = Collections.synchronizedList(new ArrayList<>());
+
+        doAnswer(invocation -> {
+            final ListIpSetsRequest listRequest = invocation.getArgument(0);
+            listRequests.add(listRequest);
+            final String scope = listRequest.scopeAsString();
+            final boolean firstPage = listRequest.nextMarker() == null;
+            return ListIpSetsResponse.builder()
+                    .ipSets(IPSetSummary.builder()
+                            .name(scope + (firstPage ? "-1" : "-2"))
+                            .id(scope + "-id")
+                            .build())
+                    .nextMarker("REGIONAL".equals(scope) && firstPage ? "marker" : null)
+                    .build();
+        }).when(proxy).injectCredentialsAndInvokeV2(any(ListIpSetsRequest.class), any());
+    }
+
+    @Test
+    public void testListRegionalIPSets() {
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .region("us-west-2")
+                .build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+                listHandler.handleRequest(proxy, request, null, logger);
+
+        Assert.assertEquals(OperationStatus.SUCCESS, response.getStatus());
+        Assert.assertEquals(1, response.getResourceModels().size());
+        Assert.assertEquals("REGIONAL-1", response.getResourceModels().get(0).getName());
+        Assert.assertEquals("REGIONAL-id", response.getResourceModels().get(0).getId());
+        Assert.assertEquals("REGIONAL", response.getResourceModels().get(0).getScope());
+        Assert.assertNotNull(response.getNextToken());
+        Assert.assertEquals(1, listRequests.size());
+        Assert.assertEquals(Integer.valueOf(100), listRequests.get(0).limit());
+    }
+
+    @Test
+    public void testListBothScopesWithNextToken() {
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .region("us-east-1")
+                .build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> firstPage =
+                listHandler.handleRequest(proxy, request, null, logger);
+
+        Assert.assertEquals(OperationStatus.SUCCESS, firstPage.getStatus());
+        Assert.assertEquals(2, firstPage.getResourceModels().size());
+        Assert.assertEquals("REGIONAL", firstPage.getResourceModels().get(0).getScope());
+        Assert.assertEquals("CLOUDFRONT", firstPage.getResourceModels().get(1).getScope());
+        Assert.assertNotNull(firstPage.getNextToken());
+
+        listRequests.clear();
+        final ProgressEvent<ResourceModel, CallbackContext> secondPage = listHandler.handleRequest(proxy,
+                ResourceHandlerRequest.<ResourceModel>builder()
+                        .region("us-east-1")
+                        .nextToken(firstPage.getNextToken())
+                        .build(),
+                null, logger);
+
+        Assert.assertEquals(OperationStatus.SUCCESS, secondPage.getStatus());
+        Assert.assertEquals(1, secondPage.getResourceModels().size());
+        Assert.assertEquals("REGIONAL-2", secondPage.getResourceModels().get(0).getName());
+        Assert.assertNull(secondPage.getNextToken());
+        Assert.assertEquals(1, listRequests.size());
+        Assert.assertEquals("marker", listRequests.get(0).nextMarker());
+    }
+
+    @Test
+    public void testListWithPageLimit() {
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .region("us-east-1")
+                .build();
+
+        new ListHandler(mock(Wafv2Client.class), 25, false).handleRequest(proxy, request, null, logger);
+
+        Assert.assertEquals(2, listRequests.size());
+        for (final ListIpSetsRequest listRequest : listRequests) {
+            Assert.assertEquals(Integer.valueOf(25), listRequest.limit());
+        }
+    }
+
+    @Test
+    public void testListHydrated() {
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .region("us-east-1")
+                .build();
+
+        doReturn(getReadIPSetResponse())
+                .when(proxy).injectCredentialsAndInvokeV2(any(GetIpSetRequest.class), any());
+        doReturn(ListTagsForResourceResponse.builder()
+                .tagInfoForResource(TagInfoForResource.builder()
+                        .tagList(Tag.builder().key("k1").value("v1").build())
+                        .build())
+                .build())
+                .when(proxy).injectCredentialsAndInvokeV2(any(ListTagsForResourceRequest.class), any());
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+                new ListHandler(mock(Wafv2Client.class), 100, true).handleRequest(proxy, request, null, logger);
+
+        Assert.assertEquals(OperationStatus.SUCCESS, response.getStatus());
+        Assert.assertEquals(2, response.getResourceModels().size());
+        for (final ResourceModel model : response.getResourceModels()) {
+            Assert.assertNotNull(model.getArn());
+            Assert.assertNotNull(model.getDescription());
+            Assert.assertEquals(1, model.getTags().size());
+        }
+        Assert.assertEquals("REGIONAL", response.getResourceModels().get(0).getScope());
+        Assert.assertEquals("CLOUDFRONT", response.getResourceModels().get(1).getScope());
+        Assert.assertNotNull(response.getNextToken());
+    }
+
+    @Test
+    public void testListHydratedSkipsDeletedItems() {
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .region("us-west-2")
+                .build();
+
+        doThrow(WafNonexistentItemException.builder().build())
+                .when(proxy).injectCredentialsAndInvokeV2(any(GetIpSetRequest.class), any());
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+                new ListHandler(mock(Wafv2Client.class), 100, true).handleRequest(proxy, request, null, logger);
+
+        Assert.assertEquals(OperationStatus.SUCCESS, response.getStatus());
+        Assert.assertTrue(response.getResourceModels().isEmpty());
+        Assert.assertNotNull(response.getNextToken());
+    }
+
+    @Test
+    public void testListHydratedReadFailure() {
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .region("us-west-2")
+                .build();
+
+        doThrow(WafInternalErrorException.builder().build())
+                .when(proxy).injectCredentialsAndInvokeV2(any(GetIpSetRequest.class), any());
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+                new ListHandler(mock(Wafv2Client.class), 100, true).handleRequest(proxy, request, null, logger);
+
+        Assert.assertEquals(OperationStatus.FAILED, response.getStatus());
+        Assert.assertEquals(HandlerErrorCode.ServiceInternalError, response.getErrorCode());
+    }
+
+    @Test
+    public void testListWithInvalidNextToken() {
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .nextToken("not a token")
+                .build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+                listHandler.handleRequest(proxy, request, null, logger);
+
+        Assert.assertEquals(OperationStatus.FAILED, response.getStatus());
+        Assert.assertEquals(HandlerErrorCode.InvalidRequest, response.getErrorCode());
+    }
+
+    @Test
+    public void testListFailure() {
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .region("us-east-1")
+                .build();
+
+        doThrow(WafInternalErrorException.builder().build())
+                .when(proxy).injectCredentialsAndInvokeV2(any(ListIpSetsRequest.class), any());
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+                listHandler.handleRequest(proxy, request, null, logger);
+
+        Assert.assertEquals(OperationStatus.FAILED, response.getStatus());
+        Assert.assertEquals(HandlerErrorCode.ServiceInternalError, response.getErrorCode());
+        Assert.assertNull(response.getResourceModels());
+    }
+}
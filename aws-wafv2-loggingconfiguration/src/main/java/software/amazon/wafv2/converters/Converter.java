@@ -2,7 +2,6 @@ package software.amazon.wafv2.converters;
 
 import org.mapstruct.Mapper;
 import org.mapstruct.NullValueCheckStrategy;
-import org.mapstruct.factory.Mappers;
 
 import com.google.common.collect.ImmutableMap;
 
@@ -20,7 +19,7 @@ import java.util.Map;
  */
 @Mapper(nullValueCheckStrategy = NullValueCheckStrategy.ALWAYS)
 public interface Converter {
-    Converter INSTANCE = Mappers.getMapper(Converter.class);
+    Converter INSTANCE = new ConverterImpl();
     
     // Logging Filter
     software.amazon.awssdk.services.wafv2.model.LoggingFilter convert(LoggingFilter source);
@@ -1,5 +1,6 @@
 package software.amazon.wafv2.loggingconfiguration;
 
+import com.amazonaws.wafv2.commons.HandlerMetrics;
 import com.google.common.collect.ImmutableMap;
 
 import software.amazon.awssdk.services.wafv2.Wafv2Client;
@@ -37,19 +38,25 @@ import software.amazon.awssdk.services.wafv2.model.Wafv2Exception;
 import software.amazon.awssdk.services.wafv2.model.Wafv2Request;
 
 public abstract class BaseHandlerStd extends BaseHandler<CallbackContext> {
+  protected BaseHandlerStd() {
+    Warmup.warmup();
+  }
+
   @Override
   public final ProgressEvent<ResourceModel, CallbackContext> handleRequest(
     final AmazonWebServicesClientProxy proxy,
     final ResourceHandlerRequest<ResourceModel> request,
     final CallbackContext callbackContext,
     final Logger logger) {
-    return handleRequest(
-      proxy,
-      request,
-      callbackContext != null ? callbackContext : new CallbackContext(),
-      proxy.newProxy(ClientBuilder::getClient),
-      logger
-    );
+    return HandlerMetrics.record(ResourceModel.TYPE_NAME, getClass().getSimpleName().replace("Handler", ""),
+      request.getAwsAccountId(), logger,
+      () -> handleRequest(
+        proxy,
+        request,
+        callbackContext != null ? callbackContext : new CallbackContext(),
+        proxy.newProxy(ClientBuilder::getClient),
+        logger
+      ));
   }
 
   protected abstract ProgressEvent<ResourceModel, CallbackContext> handleRequest(
@@ -1,8 +1,16 @@
 package software.amazon.wafv2.loggingconfiguration;
 
+import com.amazonaws.wafv2.commons.ResourceSchema;
+import org.json.JSONObject;
+
 class Configuration extends BaseConfiguration {
 
     public Configuration() {
         super("aws-wafv2-loggingconfiguration.json");
     }
+
+    @Override
+    public JSONObject resourceSchemaJSONObject() {
+        return ResourceSchema.forResource(this.getClass().getClassLoader(), schemaFilename).getSchemaJSONObject();
+    }
 }
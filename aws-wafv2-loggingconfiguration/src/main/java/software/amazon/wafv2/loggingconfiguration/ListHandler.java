@@ -1,7 +1,11 @@
 package software.amazon.wafv2.loggingconfiguration;
 
+import com.amazonaws.wafv2.commons.HandlerExecutors;
+import com.amazonaws.wafv2.commons.ScopedPageLister;
+
 import software.amazon.awssdk.services.wafv2.Wafv2Client;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
 import software.amazon.cloudformation.proxy.Logger;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ProxyClient;
@@ -18,8 +22,50 @@ public class ListHandler extends BaseHandlerStd {
         final ProxyClient<Wafv2Client> proxyClient,
         final Logger logger) {
 
-        return proxy.initiate("AWS-WAFv2-LoggingConfiguration::List", proxyClient, request.getDesiredResourceState(), callbackContext)
-            .translateToServiceRequest((cbModel) -> Translator.translateToListRequest(request.getNextToken()))
+        this.logger = logger;
+
+        final ScopedPageLister.ScopedPage<ResourceModel> page;
+        try {
+            // REGIONAL and CLOUDFRONT are fetched concurrently, their markers are carried in one next token
+            page = ScopedPageLister.list(
+                    ScopedPageLister.scopesForRegion(request.getRegion()),
+                    request.getNextToken(),
+                    (scope, marker) -> listLoggingConfigurations(proxy, proxyClient, request, scope, marker),
+                    HandlerExecutors.shared());
+        } catch (ListFailedException e) {
+            return e.getProgressEvent();
+        } catch (ScopedPageLister.InvalidNextTokenException e) {
+            return ProgressEvent.failed(request.getDesiredResourceState(), callbackContext,
+                    HandlerErrorCode.InvalidRequest, e.getMessage());
+        }
+
+        return ProgressEvent.<ResourceModel, CallbackContext>builder()
+                .resourceModels(page.getItems())
+                .status(OperationStatus.SUCCESS)
+                .nextToken(page.getNextToken())
+                .build();
+    }
+
+    /**
+     * List one page of Logging Configurations of a scope
+     * @param proxy
+     * @param proxyClient
+     * @param request
+     * @param scope
+     * @param marker
+     * @return The page of Resource Models and the next marker of the scope
+     * @throws ListFailedException carrying the failed Progress Event if the service call fails
+     */
+    private ScopedPageLister.Page<ResourceModel> listLoggingConfigurations(final AmazonWebServicesClientProxy proxy,
+            final ProxyClient<Wafv2Client> proxyClient,
+            final ResourceHandlerRequest<ResourceModel> request,
+            final String scope,
+            final String marker) {
+
+        // every scope gets its own context since the scopes are listed concurrently
+        final ProgressEvent<ResourceModel, CallbackContext> progressEvent =
+            proxy.initiate("AWS-WAFv2-LoggingConfiguration::List::" + scope, proxyClient, request.getDesiredResourceState(), new CallbackContext())
+            .translateToServiceRequest((cbModel) -> Translator.translateToListRequest(scope, marker))
             .makeServiceCall((cbRequest, cbProxyClient) -> cbProxyClient.injectCredentialsAndInvokeV2(cbRequest, cbProxyClient.client()::listLoggingConfigurations))
             .handleError(this::handleError)
             .done((cbRequest, cbResponse, cbClient, cbModel, cbContext) -> ProgressEvent.<ResourceModel, CallbackContext>builder()
@@ -27,5 +73,28 @@ public class ListHandler extends BaseHandlerStd {
                     .status(OperationStatus.SUCCESS)
                     .nextToken(cbResponse.nextMarker())
                     .build());
+
+        if (progressEvent.isFailed()) {
+            throw new ListFailedException(progressEvent);
+        }
+        return new ScopedPageLister.Page<>(progressEvent.getResourceModels(), progressEvent.getNextToken());
+    }
+
+    /**
+     * Carries the failed Progress Event of a scope out of the concurrent listing
+     */
+    private static final class ListFailedException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        private final transient ProgressEvent<ResourceModel, CallbackContext> progressEvent;
+
+        ListFailedException(final ProgressEvent<ResourceModel, CallbackContext> progressEvent) {
+            super(progressEvent.getMessage());
+            this.progressEvent = progressEvent;
+        }
+
+        ProgressEvent<ResourceModel, CallbackContext> getProgressEvent() {
+            return progressEvent;
+        }
     }
 }
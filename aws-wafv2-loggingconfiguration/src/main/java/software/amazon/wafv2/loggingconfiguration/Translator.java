@@ -1,5 +1,7 @@
 package software.amazon.wafv2.loggingconfiguration;
 
+import com.amazonaws.wafv2.commons.CommonVariables;
+
 import software.amazon.awssdk.services.wafv2.model.DeleteLoggingConfigurationRequest;
 import software.amazon.awssdk.services.wafv2.model.GetLoggingConfigurationRequest;
 import software.amazon.awssdk.services.wafv2.model.GetLoggingConfigurationResponse;
@@ -7,7 +9,6 @@ import software.amazon.awssdk.services.wafv2.model.ListLoggingConfigurationsRequ
 import software.amazon.awssdk.services.wafv2.model.ListLoggingConfigurationsResponse;
 import software.amazon.awssdk.services.wafv2.model.LoggingConfiguration;
 import software.amazon.awssdk.services.wafv2.model.PutLoggingConfigurationRequest;
-import software.amazon.awssdk.services.wafv2.model.Scope;
 
 import software.amazon.wafv2.converters.Converter;
 
@@ -104,13 +105,15 @@ public class Translator {
 
   /**
    * Request to list resources
-   * @param nextToken token passed to the aws service list resources request
+   * @param scope scope of the logging configurations to list
+   * @param nextMarker marker passed to the aws service list resources request
    * @return ListLoggingConfigurationsRequest the aws service request to list resources within aws account
    */
-  static ListLoggingConfigurationsRequest translateToListRequest(final String nextToken) {
+  static ListLoggingConfigurationsRequest translateToListRequest(final String scope, final String nextMarker) {
     return ListLoggingConfigurationsRequest.builder()
-            .scope(Scope.REGIONAL)
-            .nextMarker(nextToken)
+            .scope(scope)
+            .nextMarker(nextMarker)
+            .limit(CommonVariables.LIST_PAGE_LIMIT)
             .build();
   }
 
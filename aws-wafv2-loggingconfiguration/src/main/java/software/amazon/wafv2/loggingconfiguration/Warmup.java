@@ -0,0 +1,39 @@
+package software.amazon.wafv2.loggingconfiguration;
+
+import com.amazonaws.wafv2.commons.HandlerWarmup;
+import software.amazon.awssdk.services.wafv2.model.FieldToMatch;
+import software.amazon.awssdk.services.wafv2.model.GetLoggingConfigurationResponse;
+import software.amazon.awssdk.services.wafv2.model.LoggingConfiguration;
+import software.amazon.awssdk.services.wafv2.model.UriPath;
+
+/**
+ * Loads the LoggingConfiguration translator, resource schema, SDK model classes and client ahead of the first
+ * request.
+ */
+public final class Warmup {
+
+    private Warmup() {
+    }
+
+    /**
+     * Warms up the module, only the first call in a container does any work.
+     */
+    public static void warmup() {
+        HandlerWarmup.runOnce(Warmup.class, Warmup::run);
+    }
+
+    private static void run() {
+        new Configuration().resourceSchemaJSONObject();
+
+        final ResourceModel model = Translator.translateFromReadResponse(GetLoggingConfigurationResponse.builder()
+                .loggingConfiguration(LoggingConfiguration.builder()
+                        .resourceArn("warmup")
+                        .logDestinationConfigs("warmup")
+                        .redactedFields(FieldToMatch.builder().uriPath(UriPath.builder().build()).build())
+                        .build())
+                .build());
+        Translator.translateToCreateRequest(model);
+
+        ClientBuilder.getClient();
+    }
+}
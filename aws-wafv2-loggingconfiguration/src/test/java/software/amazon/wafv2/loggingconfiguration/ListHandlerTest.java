@@ -1,5 +1,6 @@
 package software.amazon.wafv2.loggingconfiguration;
 
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
 import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
@@ -7,6 +8,7 @@ import software.amazon.awssdk.services.wafv2.model.All;
 import software.amazon.awssdk.services.wafv2.model.ListLoggingConfigurationsRequest;
 import software.amazon.awssdk.services.wafv2.model.ListLoggingConfigurationsResponse;
 import software.amazon.awssdk.services.wafv2.model.LoggingConfiguration;
+import software.amazon.awssdk.services.wafv2.model.WafInternalErrorException;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -19,6 +21,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 @ExtendWith(MockitoExtension.class)
@@ -129,4 +132,86 @@ public class ListHandlerTest extends AbstractTestBase {
         assertThat(response.getMessage()).isNull();
         assertThat(response.getErrorCode()).isNull();
     }
+
+    @Test
+    public void handleRequest_BothScopesWithNextToken() {
+
+        // REGIONAL has two pages, CLOUDFRONT one
+        final List<ListLoggingConfigurationsRequest> listRequests = Collections.synchronizedList(new ArrayList<>());
+        when(proxyClient.client().listLoggingConfigurations(any(ListLoggingConfigurationsRequest.class))).thenAnswer(invocation -> {
+            final ListLoggingConfigurationsRequest listRequest = invocation.getArgument(0);
+            listRequests.add(listRequest);
+            final boolean firstPage = listRequest.nextMarker() == null;
+            return ListLoggingConfigurationsResponse.builder()
+                    .loggingConfigurations(LoggingConfiguration.builder()
+                            .resourceArn(listRequest.scopeAsString() + (firstPage ? "-1" : "-2"))
+                            .logDestinationConfigs(logDestinationConfigs)
+                            .build())
+                    .nextMarker("REGIONAL".equals(listRequest.scopeAsString()) && firstPage ? "marker" : null)
+                    .build();
+        });
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(ResourceModel.builder().build())
+                .region("us-east-1")
+                .build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> firstPage = handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        assertThat(firstPage.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(firstPage.getResourceModels()).extracting(ResourceModel::getResourceArn)
+                .containsExactly("REGIONAL-1", "CLOUDFRONT-1");
+        assertThat(firstPage.getNextToken()).isNotNull();
+        assertThat(listRequests).extracting(ListLoggingConfigurationsRequest::limit).containsOnly(100);
+
+        listRequests.clear();
+        final ResourceHandlerRequest<ResourceModel> nextRequest = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(ResourceModel.builder().build())
+                .region("us-east-1")
+                .nextToken(firstPage.getNextToken())
+                .build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> secondPage = handler.handleRequest(proxy, nextRequest, new CallbackContext(), proxyClient, logger);
+
+        assertThat(secondPage.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(secondPage.getResourceModels()).extracting(ResourceModel::getResourceArn)
+                .containsExactly("REGIONAL-2");
+        assertThat(secondPage.getNextToken()).isNull();
+        assertThat(listRequests).hasSize(1);
+        assertThat(listRequests.get(0).scopeAsString()).isEqualTo("REGIONAL");
+        assertThat(listRequests.get(0).nextMarker()).isEqualTo("marker");
+    }
+
+    @Test
+    public void handleRequest_Failure() {
+
+        when(proxyClient.client().listLoggingConfigurations(any(ListLoggingConfigurationsRequest.class)))
+                .thenThrow(WafInternalErrorException.builder().build());
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(ResourceModel.builder().build())
+                .region("us-east-1")
+                .build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.ServiceInternalError);
+        assertThat(response.getResourceModels()).isNull();
+    }
+
+    @Test
+    @org.junit.jupiter.api.Tag("noSdkInteraction")
+    public void handleRequest_InvalidNextToken() {
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(ResourceModel.builder().build())
+                .nextToken("not a token")
+                .build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.InvalidRequest);
+    }
 }
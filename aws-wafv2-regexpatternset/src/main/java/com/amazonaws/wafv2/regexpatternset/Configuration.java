@@ -1,7 +1,7 @@
 package com.amazonaws.wafv2.regexpatternset;
 
+import com.amazonaws.wafv2.commons.ResourceSchema;
 import org.json.JSONObject;
-import org.json.JSONTokener;
 
 class Configuration extends BaseConfiguration {
 
@@ -10,7 +10,7 @@ class Configuration extends BaseConfiguration {
     }
 
     public JSONObject resourceSchemaJSONObject() {
-        return new JSONObject(new JSONTokener(this.getClass().getClassLoader().getResourceAsStream(schemaFilename)));
+        return ResourceSchema.forResource(this.getClass().getClassLoader(), schemaFilename).getSchemaJSONObject();
     }
 
 }
@@ -2,9 +2,11 @@ package com.amazonaws.wafv2.regexpatternset;
 
 import com.amazonaws.util.CollectionUtils;
 import com.amazonaws.util.StringUtils;
+import com.amazonaws.wafv2.commons.CommonVariables;
 import com.amazonaws.wafv2.commons.CustomerAPIClientBuilder;
 import com.amazonaws.wafv2.commons.ExceptionTranslationWrapper;
 import com.amazonaws.wafv2.commons.HandlerHelper;
+import com.amazonaws.wafv2.commons.HandlerMetrics;
 import com.amazonaws.wafv2.regexpatternset.converters.RegexPatternSetCommonsConverter;
 import lombok.RequiredArgsConstructor;
 import software.amazon.awssdk.services.wafv2.Wafv2Client;
@@ -23,9 +25,17 @@ import java.util.stream.Collectors;
 public class CreateHandler extends BaseHandler<CallbackContext> {
 
     private final Wafv2Client client;
+    // whether the created model is built from the desired state instead of read back
+    private final boolean modelFromWriteResponse;
 
     public CreateHandler() {
-        this.client = CustomerAPIClientBuilder.getClient();
+        this(CustomerAPIClientBuilder.getClient());
+        Warmup.warmup();
+    }
+
+    public CreateHandler(final Wafv2Client client) {
+        this(client, Boolean.parseBoolean(
+                System.getenv(CommonVariables.MODEL_FROM_WRITE_RESPONSE_ENVIRONMENT_VARIABLE)));
     }
 
     @Override
@@ -34,6 +44,15 @@ public class CreateHandler extends BaseHandler<CallbackContext> {
             final ResourceHandlerRequest<ResourceModel> request,
             final CallbackContext callbackContext,
             final Logger logger) {
+        return HandlerMetrics.record(ResourceModel.TYPE_NAME, "Create", request.getAwsAccountId(), logger,
+                () -> handle(proxy, request, callbackContext, logger));
+    }
+
+    private ProgressEvent<ResourceModel, CallbackContext> handle(
+            final AmazonWebServicesClientProxy proxy,
+            final ResourceHandlerRequest<ResourceModel> request,
+            final CallbackContext callbackContext,
+            final Logger logger) {
 
         final ResourceModel model = request.getDesiredResourceState();
         if (StringUtils.isNullOrEmpty(model.getName())) {
@@ -42,11 +61,19 @@ public class CreateHandler extends BaseHandler<CallbackContext> {
 
         try {
             final CreateRegexPatternSetResponse response = createRegexPatternSetExceptionWrapper(proxy, model).execute();
+            if (modelFromWriteResponse) {
+                return ProgressEvent.<ResourceModel, CallbackContext>builder()
+                        .resourceModel(ReadHandler.modelAfterWrite(model, response.summary().id(),
+                                response.summary().arn()))
+                        .status(OperationStatus.SUCCESS)
+                        .build();
+            }
 
             final ResourceModel readResourceModel = ResourceModel.builder()
                     .id(response.summary().id())
                     .name(response.summary().name())
                     .scope(model.getScope())
+                    .arn(response.summary().arn())
                     .build();
             return new ReadHandler(client).handleRequest(proxy,
                     ResourceHandlerRequest.<ResourceModel>builder().desiredResourceState(readResourceModel).build(),
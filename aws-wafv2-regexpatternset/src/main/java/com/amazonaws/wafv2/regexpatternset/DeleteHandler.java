@@ -2,6 +2,8 @@ package com.amazonaws.wafv2.regexpatternset;
 
 import com.amazonaws.wafv2.commons.CustomerAPIClientBuilder;
 import com.amazonaws.wafv2.commons.ExceptionTranslationWrapper;
+import com.amazonaws.wafv2.commons.HandlerMetrics;
+import com.amazonaws.wafv2.commons.LockTokenManager;
 import lombok.RequiredArgsConstructor;
 import software.amazon.awssdk.services.wafv2.Wafv2Client;
 import software.amazon.awssdk.services.wafv2.model.DeleteRegexPatternSetRequest;
@@ -21,6 +23,7 @@ public class DeleteHandler extends BaseHandler<CallbackContext> {
 
     public DeleteHandler() {
         this.client = CustomerAPIClientBuilder.getClient();
+        Warmup.warmup();
     }
 
     @Override
@@ -29,11 +32,22 @@ public class DeleteHandler extends BaseHandler<CallbackContext> {
             final ResourceHandlerRequest<ResourceModel> request,
             final CallbackContext callbackContext,
             final Logger logger) {
+        return HandlerMetrics.record(ResourceModel.TYPE_NAME, "Delete", request.getAwsAccountId(), logger,
+                () -> handle(proxy, request, callbackContext, logger));
+    }
+
+    private ProgressEvent<ResourceModel, CallbackContext> handle(
+            final AmazonWebServicesClientProxy proxy,
+            final ResourceHandlerRequest<ResourceModel> request,
+            final CallbackContext callbackContext,
+            final Logger logger) {
 
         final ResourceModel model = request.getDesiredResourceState();
 
+        final LockTokenManager lockTokenManager = new LockTokenManager(
+                callbackContext == null ? null : callbackContext.getLockToken(), logger);
         try {
-            deleteRegexPatternSetExceptionWrapper(proxy, model).execute();
+            deleteRegexPatternSetExceptionWrapper(proxy, model, lockTokenManager).execute();
             return ProgressEvent.<ResourceModel, CallbackContext>builder()
                     .status(OperationStatus.SUCCESS)
                     .build();
@@ -48,18 +62,22 @@ public class DeleteHandler extends BaseHandler<CallbackContext> {
     }
 
     private ExceptionTranslationWrapper<DeleteRegexPatternSetResponse> deleteRegexPatternSetExceptionWrapper(
-            final AmazonWebServicesClientProxy proxy, final ResourceModel model) {
+            final AmazonWebServicesClientProxy proxy,
+            final ResourceModel model,
+            final LockTokenManager lockTokenManager) {
         return new ExceptionTranslationWrapper<DeleteRegexPatternSetResponse>() {
             @Override
             public DeleteRegexPatternSetResponse doWithTranslation() throws RuntimeException {
-                final DeleteRegexPatternSetRequest deleteRegexPatternSetRequest = DeleteRegexPatternSetRequest.builder()
-                        .name(model.getName())
-                        .id(model.getId())
-                        .lockToken(getLockToken(proxy, model))
-                        .scope(model.getScope())
-                        .build();
-                final DeleteRegexPatternSetResponse response = proxy.injectCredentialsAndInvokeV2(
-                        deleteRegexPatternSetRequest, client::deleteRegexPatternSet);
+                final DeleteRegexPatternSetRequest.Builder deleteRegexPatternSetRequest =
+                        DeleteRegexPatternSetRequest.builder()
+                                .name(model.getName())
+                                .id(model.getId())
+                                .scope(model.getScope());
+                final DeleteRegexPatternSetResponse response = lockTokenManager.invoke(
+                        lockToken -> proxy.injectCredentialsAndInvokeV2(
+                                deleteRegexPatternSetRequest.lockToken(lockToken).build(),
+                                client::deleteRegexPatternSet),
+                        () -> getLockToken(proxy, model));
                 return response;
             }
         };
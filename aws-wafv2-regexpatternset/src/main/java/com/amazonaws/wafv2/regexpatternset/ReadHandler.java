@@ -1,8 +1,11 @@
 package com.amazonaws.wafv2.regexpatternset;
 
+import com.amazonaws.wafv2.commons.ConcurrentReader;
 import com.amazonaws.wafv2.commons.CustomerAPIClientBuilder;
 import com.amazonaws.wafv2.commons.ExceptionTranslationWrapper;
+import com.amazonaws.wafv2.commons.HandlerExecutors;
 import com.amazonaws.wafv2.commons.HandlerHelper;
+import com.amazonaws.wafv2.commons.HandlerMetrics;
 import com.google.common.collect.ImmutableList;
 import lombok.RequiredArgsConstructor;
 import software.amazon.awssdk.services.wafv2.Wafv2Client;
@@ -16,6 +19,7 @@ import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @RequiredArgsConstructor
@@ -25,6 +29,7 @@ public class ReadHandler extends BaseHandler<CallbackContext> {
 
     public ReadHandler() {
         this.client = CustomerAPIClientBuilder.getClient();
+        Warmup.warmup();
     }
 
     @Override
@@ -33,31 +38,33 @@ public class ReadHandler extends BaseHandler<CallbackContext> {
             final ResourceHandlerRequest<ResourceModel> request,
             final CallbackContext callbackContext,
             final Logger logger) {
+        return HandlerMetrics.record(ResourceModel.TYPE_NAME, "Read", request.getAwsAccountId(), logger,
+                () -> handle(proxy, request, callbackContext, logger));
+    }
+
+    private ProgressEvent<ResourceModel, CallbackContext> handle(
+            final AmazonWebServicesClientProxy proxy,
+            final ResourceHandlerRequest<ResourceModel> request,
+            final CallbackContext callbackContext,
+            final Logger logger) {
 
         final ResourceModel model = request.getDesiredResourceState();
 
         try {
-            final GetRegexPatternSetResponse response = getRegexPatternSetExceptionWrapper(proxy, model).execute();
-            final List<Tag> tags = HandlerHelper.getConvertedTags(proxy, client, response.regexPatternSet().arn(),
-                    tag -> Tag.builder()
-                            .key(tag.key())
-                            .value(tag.value())
-                            .build());
-            final ResourceModel result = ResourceModel.builder()
-                    // primary identifier
-                    .id(response.regexPatternSet().id())
-                    .name(response.regexPatternSet().name())
-                    .scope(model.getScope())
-                    // readOnly field
-                    .arn(response.regexPatternSet().arn())
-                    // other fields
-                    .regularExpressionList(Optional.ofNullable(response.regexPatternSet().regularExpressionList())
-                            .orElse(ImmutableList.of()).stream()
-                            .map(regex ->regex.regexString())
-                            .collect(Collectors.toList()))
-                    .description(response.regexPatternSet().description())
-                    .tags(tags)
-                    .build();
+            final ResourceModel result = ConcurrentReader.read(
+                    () -> getRegexPatternSetExceptionWrapper(proxy, model).execute(),
+                    response -> response.regexPatternSet().arn(),
+                    model.getArn() != null
+                            ? model.getArn()
+                            : HandlerHelper.buildArn(request, "regexpatternset",
+                                    model.getScope(), model.getName(), model.getId()),
+                    arn -> HandlerHelper.getConvertedTags(proxy, client, arn,
+                            tag -> Tag.builder()
+                                    .key(tag.key())
+                                    .value(tag.value())
+                                    .build()),
+                    (response, tags) -> toResourceModel(model, response, tags),
+                    HandlerExecutors.shared());
 
             return ProgressEvent.<ResourceModel, CallbackContext>builder()
                     .resourceModel(result)
@@ -72,6 +79,47 @@ public class ReadHandler extends BaseHandler<CallbackContext> {
         }
     }
 
+    /**
+     * Builds the model a Read would return after the desired state was written, without reading the RegexPatternSet back.
+     *
+     * @param desired the written desired state
+     * @param id      the RegexPatternSet id
+     * @param arn     the RegexPatternSet ARN
+     * @return the model of the written RegexPatternSet
+     */
+    static ResourceModel modelAfterWrite(final ResourceModel desired, final String id, final String arn) {
+        return ResourceModel.builder()
+                .id(id)
+                .name(desired.getName())
+                .scope(desired.getScope())
+                .arn(arn)
+                .regularExpressionList(Optional.ofNullable(desired.getRegularExpressionList())
+                        .orElse(ImmutableList.of()))
+                .description(desired.getDescription())
+                .tags(Optional.ofNullable(desired.getTags()).orElse(ImmutableList.of()))
+                .build();
+    }
+
+    private static ResourceModel toResourceModel(final ResourceModel model,
+                                                 final GetRegexPatternSetResponse response,
+                                                 final Supplier<List<Tag>> tags) {
+        return ResourceModel.builder()
+                // primary identifier
+                .id(response.regexPatternSet().id())
+                .name(response.regexPatternSet().name())
+                .scope(model.getScope())
+                // readOnly field
+                .arn(response.regexPatternSet().arn())
+                // other fields
+                .regularExpressionList(Optional.ofNullable(response.regexPatternSet().regularExpressionList())
+                        .orElse(ImmutableList.of()).stream()
+                        .map(regex ->regex.regexString())
+                        .collect(Collectors.toList()))
+                .description(response.regexPatternSet().description())
+                .tags(tags.get())
+                .build();
+    }
+
     private ExceptionTranslationWrapper<GetRegexPatternSetResponse> getRegexPatternSetExceptionWrapper(
             final AmazonWebServicesClientProxy proxy, final ResourceModel model) {
         return new ExceptionTranslationWrapper<GetRegexPatternSetResponse>() {
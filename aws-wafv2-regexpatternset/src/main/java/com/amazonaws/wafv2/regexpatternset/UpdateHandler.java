@@ -1,7 +1,11 @@
 package com.amazonaws.wafv2.regexpatternset;
 
+import com.amazonaws.wafv2.commons.CommonVariables;
 import com.amazonaws.wafv2.commons.CustomerAPIClientBuilder;
 import com.amazonaws.wafv2.commons.ExceptionTranslationWrapper;
+import com.amazonaws.wafv2.commons.HandlerMetrics;
+import com.amazonaws.wafv2.commons.LockTokenManager;
+import com.amazonaws.wafv2.commons.TagReconciler;
 import lombok.RequiredArgsConstructor;
 import software.amazon.awssdk.services.wafv2.Wafv2Client;
 import software.amazon.awssdk.services.wafv2.model.GetRegexPatternSetRequest;
@@ -21,9 +25,17 @@ import java.util.stream.Collectors;
 public class UpdateHandler extends BaseHandler<CallbackContext> {
 
     private final Wafv2Client client;
+    // whether the updated model is built from the desired state instead of read back
+    private final boolean modelFromWriteResponse;
 
     public UpdateHandler() {
-        this.client = CustomerAPIClientBuilder.getClient();
+        this(CustomerAPIClientBuilder.getClient());
+        Warmup.warmup();
+    }
+
+    public UpdateHandler(final Wafv2Client client) {
+        this(client, Boolean.parseBoolean(
+                System.getenv(CommonVariables.MODEL_FROM_WRITE_RESPONSE_ENVIRONMENT_VARIABLE)));
     }
 
     @Override
@@ -32,16 +44,42 @@ public class UpdateHandler extends BaseHandler<CallbackContext> {
             final ResourceHandlerRequest<ResourceModel> request,
             final CallbackContext callbackContext,
             final Logger logger) {
+        return HandlerMetrics.record(ResourceModel.TYPE_NAME, "Update", request.getAwsAccountId(), logger,
+                () -> handle(proxy, request, callbackContext, logger));
+    }
+
+    private ProgressEvent<ResourceModel, CallbackContext> handle(
+            final AmazonWebServicesClientProxy proxy,
+            final ResourceHandlerRequest<ResourceModel> request,
+            final CallbackContext callbackContext,
+            final Logger logger) {
 
         final ResourceModel model = request.getDesiredResourceState();
 
+        final LockTokenManager lockTokenManager = new LockTokenManager(
+                callbackContext == null ? null : callbackContext.getLockToken(), logger);
         try {
-            updateRegexPatternSetExceptionWrapper(proxy, model).execute();
+            updateRegexPatternSetExceptionWrapper(proxy, model, lockTokenManager).execute();
+            final ResourceModel previousModel = request.getPreviousResourceState();
+            TagReconciler.reconcileTags(proxy, client,
+                    () -> getArn(proxy, model, previousModel),
+                    previousModel == null ? null : previousModel.getTags(),
+                    model.getTags(), Tag::getKey, Tag::getValue);
+            if (modelFromWriteResponse) {
+                return ProgressEvent.<ResourceModel, CallbackContext>builder()
+                        .resourceModel(ReadHandler.modelAfterWrite(model, model.getId(),
+                                getArn(proxy, model, previousModel)))
+                        .status(OperationStatus.SUCCESS)
+                        .build();
+            }
 
             final ResourceModel readResourceModel = ResourceModel.builder()
                     .id(model.getId())
                     .name(model.getName())
                     .scope(model.getScope())
+                    .arn(previousModel != null && previousModel.getArn() != null
+                            ? previousModel.getArn()
+                            : model.getArn())
                     .build();
             return new ReadHandler(client).handleRequest(proxy,
                     ResourceHandlerRequest.<ResourceModel>builder().desiredResourceState(readResourceModel).build(),
@@ -57,22 +95,26 @@ public class UpdateHandler extends BaseHandler<CallbackContext> {
     }
 
     private ExceptionTranslationWrapper<UpdateRegexPatternSetResponse> updateRegexPatternSetExceptionWrapper(
-            final AmazonWebServicesClientProxy proxy, final ResourceModel model) {
+            final AmazonWebServicesClientProxy proxy,
+            final ResourceModel model,
+            final LockTokenManager lockTokenManager) {
         return new ExceptionTranslationWrapper<UpdateRegexPatternSetResponse>() {
             @Override
             public UpdateRegexPatternSetResponse doWithTranslation() throws RuntimeException {
-                final UpdateRegexPatternSetRequest updateRegexPatternSetRequest = UpdateRegexPatternSetRequest.builder()
+                final UpdateRegexPatternSetRequest.Builder updateRegexPatternSetRequest = UpdateRegexPatternSetRequest.builder()
                         .scope(model.getScope())
                         .name(model.getName())
                         .id(model.getId())
                         .description(model.getDescription())
                         .regularExpressionList(model.getRegularExpressionList().stream()
                                 .map(regex -> Regex.builder().regexString(regex).build())
-                                .collect(Collectors.toList()))
-                        .lockToken(getLockToken(proxy, model))
-                        .build();
-                final UpdateRegexPatternSetResponse response = proxy.injectCredentialsAndInvokeV2(
-                        updateRegexPatternSetRequest, client::updateRegexPatternSet);
+                                .collect(Collectors.toList()));
+                final UpdateRegexPatternSetResponse response = lockTokenManager.invoke(
+                        lockToken -> proxy.injectCredentialsAndInvokeV2(
+                                updateRegexPatternSetRequest.lockToken(lockToken).build(),
+                                client::updateRegexPatternSet),
+                        () -> getLockToken(proxy, model));
+                lockTokenManager.update(response.nextLockToken());
                 return response;
             }
         };
@@ -80,13 +122,29 @@ public class UpdateHandler extends BaseHandler<CallbackContext> {
 
     private String getLockToken(final AmazonWebServicesClientProxy proxy,
                                 final ResourceModel model) {
+        return getRegexPatternSet(proxy, model).lockToken();
+    }
+
+    private String getArn(final AmazonWebServicesClientProxy proxy,
+                          final ResourceModel model,
+                          final ResourceModel previousModel) {
+        if (previousModel != null && previousModel.getArn() != null) {
+            return previousModel.getArn();
+        }
+        if (model.getArn() != null) {
+            return model.getArn();
+        }
+        return getRegexPatternSet(proxy, model).regexPatternSet().arn();
+    }
+
+    private GetRegexPatternSetResponse getRegexPatternSet(final AmazonWebServicesClientProxy proxy,
+                                                          final ResourceModel model) {
         final GetRegexPatternSetRequest getRegexPatternSetRequest = GetRegexPatternSetRequest.builder()
                 .name(model.getName())
                 .id(model.getId())
                 .scope(model.getScope())
                 .build();
-        final GetRegexPatternSetResponse response = proxy.injectCredentialsAndInvokeV2(
+        return proxy.injectCredentialsAndInvokeV2(
                 getRegexPatternSetRequest, client::getRegexPatternSet);
-        return response.lockToken();
     }
 }
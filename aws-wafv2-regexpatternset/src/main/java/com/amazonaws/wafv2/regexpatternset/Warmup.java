@@ -0,0 +1,32 @@
+package com.amazonaws.wafv2.regexpatternset;
+
+import com.amazonaws.wafv2.commons.HandlerWarmup;
+import com.amazonaws.wafv2.regexpatternset.converters.RegexPatternSetCommonsConverter;
+import software.amazon.awssdk.services.wafv2.model.Regex;
+import software.amazon.awssdk.services.wafv2.model.RegexPatternSet;
+
+/**
+ * Loads the RegexPatternSet converters, resource schema and SDK model classes ahead of the first request.
+ */
+public final class Warmup {
+
+    private Warmup() {
+    }
+
+    /**
+     * Warms up the module, only the first call in a container does any work.
+     */
+    public static void warmup() {
+        HandlerWarmup.runOnce(Warmup.class, Warmup::run);
+    }
+
+    private static void run() {
+        new Configuration().resourceSchemaJSONObject();
+
+        RegexPatternSet.builder()
+                .name("warmup")
+                .regularExpressionList(Regex.builder().regexString("warmup").build())
+                .build();
+        RegexPatternSetCommonsConverter.INSTANCE.convert(Tag.builder().key("warmup").value("warmup").build());
+    }
+}
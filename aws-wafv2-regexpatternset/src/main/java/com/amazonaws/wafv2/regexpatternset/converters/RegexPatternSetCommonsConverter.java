@@ -2,7 +2,6 @@ package com.amazonaws.wafv2.regexpatternset.converters;
 
 import org.mapstruct.Mapper;
 import org.mapstruct.NullValueCheckStrategy;
-import org.mapstruct.factory.Mappers;
 import software.amazon.awssdk.services.wafv2.model.Tag;
 
 
@@ -11,7 +10,7 @@ import software.amazon.awssdk.services.wafv2.model.Tag;
  */
 @Mapper(nullValueCheckStrategy = NullValueCheckStrategy.ALWAYS)
 public interface RegexPatternSetCommonsConverter {
-    RegexPatternSetCommonsConverter INSTANCE = Mappers.getMapper(RegexPatternSetCommonsConverter.class);
+    RegexPatternSetCommonsConverter INSTANCE = new RegexPatternSetCommonsConverterImpl();
 
     //---------------------------------------------------------------------
     // Tag
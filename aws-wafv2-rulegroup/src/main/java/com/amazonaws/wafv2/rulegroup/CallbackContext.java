@@ -1,5 +1,7 @@
 package com.amazonaws.wafv2.rulegroup;
 
+import com.amazonaws.wafv2.commons.StabilizationState;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -9,9 +11,12 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
-public class CallbackContext {
+// contexts persisted by earlier handler versions may still carry stabilizationRetriesRemaining
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class CallbackContext implements StabilizationState {
     private String id;
     private String name;
     private String lockToken;
-    private int stabilizationRetriesRemaining;
+    private int stabilizationAttempts;
+    private long stabilizationStartTimeMillis;
 }
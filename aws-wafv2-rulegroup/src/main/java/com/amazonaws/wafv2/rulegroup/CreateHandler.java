@@ -5,7 +5,12 @@ import com.amazonaws.util.StringUtils;
 import com.amazonaws.wafv2.commons.CommonVariables;
 import com.amazonaws.wafv2.commons.CustomerAPIClientBuilder;
 import com.amazonaws.wafv2.commons.ExceptionTranslationWrapper;
+import com.amazonaws.wafv2.commons.ExponentialBackoffStabilizationScheduler;
 import com.amazonaws.wafv2.commons.HandlerHelper;
+import com.amazonaws.wafv2.commons.HandlerMetrics;
+import com.amazonaws.wafv2.commons.LockTokenCache;
+import com.amazonaws.wafv2.commons.StabilizationScheduler;
+import com.amazonaws.wafv2.rulegroup.converters.CachedRuleConverter;
 import com.amazonaws.wafv2.rulegroup.converters.Converter;
 import com.amazonaws.wafv2.rulegroup.converters.StatementCommonsConverter;
 import com.google.common.collect.ImmutableList;
@@ -14,6 +19,9 @@ import org.apache.commons.collections.MapUtils;
 import software.amazon.awssdk.services.wafv2.Wafv2Client;
 import software.amazon.awssdk.services.wafv2.model.CreateRuleGroupRequest;
 import software.amazon.awssdk.services.wafv2.model.CreateRuleGroupResponse;
+import software.amazon.awssdk.services.wafv2.model.GetRuleGroupRequest;
+import software.amazon.awssdk.services.wafv2.model.RuleGroup;
+import software.amazon.awssdk.services.wafv2.model.RuleGroupSummary;
 import software.amazon.awssdk.services.wafv2.model.WafUnavailableEntityException;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
 import software.amazon.cloudformation.proxy.HandlerErrorCode;
@@ -23,15 +31,30 @@ import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
 
 import java.util.Optional;
+import java.util.OptionalInt;
 import java.util.stream.Collectors;
 
 @RequiredArgsConstructor
 public class CreateHandler extends BaseHandler<CallbackContext> {
 
     private final Wafv2Client client;
+    private final StabilizationScheduler stabilizationScheduler;
+    private final LockTokenCache<ResourceModel> readCache;
+    // whether the created model is built from the desired state instead of read back
+    private final boolean modelFromWriteResponse;
 
     public CreateHandler() {
-        this.client = CustomerAPIClientBuilder.getClient();
+        this(CustomerAPIClientBuilder.getClient(), ReadHandler.sharedReadCache());
+        Warmup.warmup();
+    }
+
+    public CreateHandler(final Wafv2Client client) {
+        this(client, new LockTokenCache<>(CommonVariables.READ_CACHE_MAX_ENTRIES));
+    }
+
+    public CreateHandler(final Wafv2Client client, final LockTokenCache<ResourceModel> readCache) {
+        this(client, ExponentialBackoffStabilizationScheduler.DEFAULT, readCache,
+                Boolean.parseBoolean(System.getenv(CommonVariables.MODEL_FROM_WRITE_RESPONSE_ENVIRONMENT_VARIABLE)));
     }
 
     @Override
@@ -40,6 +63,15 @@ public class CreateHandler extends BaseHandler<CallbackContext> {
             final ResourceHandlerRequest<ResourceModel> request,
             final CallbackContext callbackContext,
             final Logger logger) {
+        return HandlerMetrics.record(ResourceModel.TYPE_NAME, "Create", request.getAwsAccountId(), logger,
+                () -> handle(proxy, request, callbackContext, logger));
+    }
+
+    private ProgressEvent<ResourceModel, CallbackContext> handle(
+            final AmazonWebServicesClientProxy proxy,
+            final ResourceHandlerRequest<ResourceModel> request,
+            final CallbackContext callbackContext,
+            final Logger logger) {
 
         final ResourceModel model = request.getDesiredResourceState();
         if (StringUtils.isNullOrEmpty(model.getName())) {
@@ -47,12 +79,13 @@ public class CreateHandler extends BaseHandler<CallbackContext> {
         }
 
         final CallbackContext currentContext = callbackContext == null ?
-                CallbackContext.builder()
-                        .stabilizationRetriesRemaining(CommonVariables.NUMBER_OF_STATE_POLL_RETRIES)
-                        .build()
+                CallbackContext.builder().build()
                 : callbackContext;
+        if (currentContext.getStabilizationStartTimeMillis() == 0) {
+            currentContext.setStabilizationStartTimeMillis(stabilizationScheduler.currentTimeMillis());
+        }
 
-        if (currentContext.getStabilizationRetriesRemaining() <= 0) {
+        if (stabilizationScheduler.isExhausted(currentContext)) {
             return ProgressEvent.<ResourceModel, CallbackContext>builder()
                     .status(OperationStatus.FAILED)
                     .errorCode(HandlerErrorCode.NotStabilized)
@@ -61,25 +94,38 @@ public class CreateHandler extends BaseHandler<CallbackContext> {
 
         try {
             final CreateRuleGroupResponse response = createRuleGroupExceptionWrapper(proxy, model).execute();
+            if (modelFromWriteResponse) {
+                return createdModel(proxy, model, response.summary());
+            }
 
             final ResourceModel readResourceModel = ResourceModel.builder()
                     .id(response.summary().id())
                     .name(response.summary().name())
                     .scope(model.getScope())
+                    .arn(response.summary().arn())
                     .build();
 
-            return new ReadHandler(client).handleRequest(proxy,
+            return new ReadHandler(client, readCache).handleRequest(proxy,
                     ResourceHandlerRequest.<ResourceModel>builder().desiredResourceState(readResourceModel).build(),
                     null, logger);
         } catch (WafUnavailableEntityException e) {
+            final OptionalInt callbackDelaySeconds = stabilizationScheduler.nextCallbackDelaySeconds(currentContext);
+            if (!callbackDelaySeconds.isPresent()) {
+                return ProgressEvent.<ResourceModel, CallbackContext>builder()
+                        .status(OperationStatus.FAILED)
+                        .errorCode(HandlerErrorCode.NotStabilized)
+                        .message(e.getMessage())
+                        .build();
+            }
             // entity still being sequenced
             return ProgressEvent.<ResourceModel, CallbackContext>builder()
                     .resourceModel(model)
                     .status(OperationStatus.IN_PROGRESS)
                     .callbackContext(CallbackContext.builder()
-                            .stabilizationRetriesRemaining(currentContext.getStabilizationRetriesRemaining() - 1)
+                            .stabilizationAttempts(currentContext.getStabilizationAttempts() + 1)
+                            .stabilizationStartTimeMillis(currentContext.getStabilizationStartTimeMillis())
                             .build())
-                    .callbackDelaySeconds(CommonVariables.CALLBACK_DELAY_SECONDS)
+                    .callbackDelaySeconds(callbackDelaySeconds.getAsInt())
                     .resourceModel(request.getDesiredResourceState())
                     .build();
         } catch (RuntimeException e) {
@@ -92,6 +138,31 @@ public class CreateHandler extends BaseHandler<CallbackContext> {
         }
     }
 
+    // the label namespace and labels are computed by WAF, everything else is known from the request
+    private ProgressEvent<ResourceModel, CallbackContext> createdModel(final AmazonWebServicesClientProxy proxy,
+                                                                       final ResourceModel model,
+                                                                       final RuleGroupSummary summary) {
+        try {
+            final GetRuleGroupRequest getRuleGroupRequest = GetRuleGroupRequest.builder()
+                    .name(summary.name())
+                    .id(summary.id())
+                    .scope(model.getScope())
+                    .build();
+            final RuleGroup ruleGroup = proxy.injectCredentialsAndInvokeV2(
+                    getRuleGroupRequest, client::getRuleGroup).ruleGroup();
+            return ProgressEvent.<ResourceModel, CallbackContext>builder()
+                    .resourceModel(ReadHandler.modelAfterWrite(model, ruleGroup))
+                    .status(OperationStatus.SUCCESS)
+                    .build();
+        } catch (RuntimeException e) {
+            return ProgressEvent.<ResourceModel, CallbackContext>builder()
+                    .status(OperationStatus.FAILED)
+                    .errorCode(ExceptionTranslationWrapper.translateExceptionIntoErrorCode(e))
+                    .message(e.getMessage())
+                    .build();
+        }
+    }
+
     private ExceptionTranslationWrapper<CreateRuleGroupResponse> createRuleGroupExceptionWrapper(
             final AmazonWebServicesClientProxy proxy, final ResourceModel model) {
         return new ExceptionTranslationWrapper<CreateRuleGroupResponse>() {
@@ -102,9 +173,10 @@ public class CreateHandler extends BaseHandler<CallbackContext> {
                         .scope(model.getScope())
                         .description(model.getDescription())
                         .visibilityConfig(StatementCommonsConverter.INSTANCE.convert(model.getVisibilityConfig()))
-                        .rules(Optional.ofNullable(model.getRules()).orElse(ImmutableList.of()).stream()
-                                .map(rule -> Converter.INSTANCE.convert(rule))
-                                .collect(Collectors.toList()))
+                        .rules(HandlerMetrics.time("Convert", () ->
+                                Optional.ofNullable(model.getRules()).orElse(ImmutableList.of()).stream()
+                                        .map(CachedRuleConverter.INSTANCE::convert)
+                                        .collect(Collectors.toList())))
                         .capacity(new Long(model.getCapacity().intValue()));
 
                 if (MapUtils.isNotEmpty(model.getCustomResponseBodies())) {
@@ -1,8 +1,11 @@
 package com.amazonaws.wafv2.rulegroup;
 
-import com.amazonaws.wafv2.commons.CommonVariables;
 import com.amazonaws.wafv2.commons.CustomerAPIClientBuilder;
 import com.amazonaws.wafv2.commons.ExceptionTranslationWrapper;
+import com.amazonaws.wafv2.commons.ExponentialBackoffStabilizationScheduler;
+import com.amazonaws.wafv2.commons.HandlerMetrics;
+import com.amazonaws.wafv2.commons.LockTokenManager;
+import com.amazonaws.wafv2.commons.StabilizationScheduler;
 import lombok.RequiredArgsConstructor;
 import software.amazon.awssdk.services.wafv2.Wafv2Client;
 import software.amazon.awssdk.services.wafv2.model.DeleteRuleGroupRequest;
@@ -17,13 +20,21 @@ import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
 
+import java.util.OptionalInt;
+
 @RequiredArgsConstructor
 public class DeleteHandler extends BaseHandler<CallbackContext> {
 
     private final Wafv2Client client;
+    private final StabilizationScheduler stabilizationScheduler;
 
     public DeleteHandler() {
-        this.client = CustomerAPIClientBuilder.getClient();
+        this(CustomerAPIClientBuilder.getClient());
+        Warmup.warmup();
+    }
+
+    public DeleteHandler(final Wafv2Client client) {
+        this(client, ExponentialBackoffStabilizationScheduler.DEFAULT);
     }
 
     @Override
@@ -32,35 +43,56 @@ public class DeleteHandler extends BaseHandler<CallbackContext> {
             final ResourceHandlerRequest<ResourceModel> request,
             final CallbackContext callbackContext,
             final Logger logger) {
+        return HandlerMetrics.record(ResourceModel.TYPE_NAME, "Delete", request.getAwsAccountId(), logger,
+                () -> handle(proxy, request, callbackContext, logger));
+    }
+
+    private ProgressEvent<ResourceModel, CallbackContext> handle(
+            final AmazonWebServicesClientProxy proxy,
+            final ResourceHandlerRequest<ResourceModel> request,
+            final CallbackContext callbackContext,
+            final Logger logger) {
 
         final ResourceModel model = request.getDesiredResourceState();
         final CallbackContext currentContext = callbackContext == null ?
-                CallbackContext.builder()
-                        .stabilizationRetriesRemaining(CommonVariables.NUMBER_OF_STATE_POLL_RETRIES)
-                        .build()
+                CallbackContext.builder().build()
                 : callbackContext;
+        if (currentContext.getStabilizationStartTimeMillis() == 0) {
+            currentContext.setStabilizationStartTimeMillis(stabilizationScheduler.currentTimeMillis());
+        }
 
-        if (currentContext.getStabilizationRetriesRemaining() <= 0) {
+        if (stabilizationScheduler.isExhausted(currentContext)) {
             return ProgressEvent.<ResourceModel, CallbackContext>builder()
                     .status(OperationStatus.FAILED)
                     .errorCode(HandlerErrorCode.NotStabilized)
                     .build();
         }
 
+        final LockTokenManager lockTokenManager = new LockTokenManager(currentContext.getLockToken(), logger);
         try {
-            deleteRuleGroupExceptionWrapper(proxy, model).execute();
+            deleteRuleGroupExceptionWrapper(proxy, model, lockTokenManager).execute();
             return ProgressEvent.<ResourceModel, CallbackContext>builder()
                     .status(OperationStatus.SUCCESS)
                     .build();
         } catch (WafUnavailableEntityException e) {
+            final OptionalInt callbackDelaySeconds = stabilizationScheduler.nextCallbackDelaySeconds(currentContext);
+            if (!callbackDelaySeconds.isPresent()) {
+                return ProgressEvent.<ResourceModel, CallbackContext>builder()
+                        .status(OperationStatus.FAILED)
+                        .errorCode(HandlerErrorCode.NotStabilized)
+                        .message(e.getMessage())
+                        .build();
+            }
             // entity still being sequenced
             return ProgressEvent.<ResourceModel, CallbackContext>builder()
                     .resourceModel(model)
                     .status(OperationStatus.IN_PROGRESS)
                     .callbackContext(CallbackContext.builder()
-                            .stabilizationRetriesRemaining(currentContext.getStabilizationRetriesRemaining() - 1)
+                            .stabilizationAttempts(currentContext.getStabilizationAttempts() + 1)
+                            .stabilizationStartTimeMillis(currentContext.getStabilizationStartTimeMillis())
+                            .lockToken(lockTokenManager.getCurrentLockToken())
                             .build())
-                    .callbackDelaySeconds(CommonVariables.CALLBACK_DELAY_SECONDS)
+                    .callbackDelaySeconds(callbackDelaySeconds.getAsInt())
                     .build();
         } catch (RuntimeException e) {
             // handle error code
@@ -73,18 +105,20 @@ public class DeleteHandler extends BaseHandler<CallbackContext> {
     }
 
     private ExceptionTranslationWrapper<DeleteRuleGroupResponse> deleteRuleGroupExceptionWrapper(
-            final AmazonWebServicesClientProxy proxy, final ResourceModel model) {
+            final AmazonWebServicesClientProxy proxy,
+            final ResourceModel model,
+            final LockTokenManager lockTokenManager) {
         return new ExceptionTranslationWrapper<DeleteRuleGroupResponse>() {
             @Override
             public DeleteRuleGroupResponse doWithTranslation() throws RuntimeException {
-                final DeleteRuleGroupRequest deleteRuleGroupRequest = DeleteRuleGroupRequest.builder()
+                final DeleteRuleGroupRequest.Builder deleteRuleGroupRequest = DeleteRuleGroupRequest.builder()
                         .name(model.getName())
                         .id(model.getId())
-                        .lockToken(getLockToken(proxy, model))
-                        .scope(model.getScope())
-                        .build();
-                final DeleteRuleGroupResponse response = proxy.injectCredentialsAndInvokeV2(
-                        deleteRuleGroupRequest, client::deleteRuleGroup);
+                        .scope(model.getScope());
+                final DeleteRuleGroupResponse response = lockTokenManager.invoke(
+                        lockToken -> proxy.injectCredentialsAndInvokeV2(
+                                deleteRuleGroupRequest.lockToken(lockToken).build(), client::deleteRuleGroup),
+                        () -> getLockToken(proxy, model));
                 return response;
             }
         };
@@ -1,8 +1,13 @@
 package com.amazonaws.wafv2.rulegroup;
 
+import com.amazonaws.wafv2.commons.CommonVariables;
+import com.amazonaws.wafv2.commons.ConcurrentReader;
 import com.amazonaws.wafv2.commons.CustomerAPIClientBuilder;
 import com.amazonaws.wafv2.commons.ExceptionTranslationWrapper;
+import com.amazonaws.wafv2.commons.HandlerExecutors;
 import com.amazonaws.wafv2.commons.HandlerHelper;
+import com.amazonaws.wafv2.commons.HandlerMetrics;
+import com.amazonaws.wafv2.commons.LockTokenCache;
 import com.amazonaws.wafv2.rulegroup.converters.Converter;
 import com.amazonaws.wafv2.rulegroup.converters.StatementCommonsConverter;
 import com.google.common.collect.ImmutableList;
@@ -12,7 +17,7 @@ import org.apache.commons.collections.MapUtils;
 import software.amazon.awssdk.services.wafv2.Wafv2Client;
 import software.amazon.awssdk.services.wafv2.model.GetRuleGroupRequest;
 import software.amazon.awssdk.services.wafv2.model.GetRuleGroupResponse;
-import software.amazon.awssdk.services.wafv2.model.LabelSummary;
+import software.amazon.awssdk.services.wafv2.model.RuleGroup;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
 import software.amazon.cloudformation.proxy.Logger;
 import software.amazon.cloudformation.proxy.OperationStatus;
@@ -20,17 +25,36 @@ import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @RequiredArgsConstructor
 public class ReadHandler extends BaseHandler<CallbackContext> {
 
+    // converted models shared by the handlers of the container, see LockTokenCache
+    private static final LockTokenCache<ResourceModel> READ_CACHE =
+            new LockTokenCache<>(CommonVariables.READ_CACHE_MAX_ENTRIES);
+
     private final Wafv2Client client;
+    private final LockTokenCache<ResourceModel> readCache;
 
     public ReadHandler() {
-        this.client = CustomerAPIClientBuilder.getClient();
+        this(CustomerAPIClientBuilder.getClient(), READ_CACHE);
+        Warmup.warmup();
+    }
+
+    /**
+     * @return the cache of the converted models shared by the Create, Read and Update handlers of the container
+     */
+    static LockTokenCache<ResourceModel> sharedReadCache() {
+        return READ_CACHE;
+    }
+
+    public ReadHandler(final Wafv2Client client) {
+        this(client, new LockTokenCache<>(CommonVariables.READ_CACHE_MAX_ENTRIES));
     }
 
     @Override
@@ -39,45 +63,36 @@ public class ReadHandler extends BaseHandler<CallbackContext> {
             final ResourceHandlerRequest<ResourceModel> request,
             final CallbackContext callbackContext,
             final Logger logger) {
+        return HandlerMetrics.record(ResourceModel.TYPE_NAME, "Read", request.getAwsAccountId(), logger,
+                () -> handle(proxy, request, callbackContext, logger));
+    }
+
+    private ProgressEvent<ResourceModel, CallbackContext> handle(
+            final AmazonWebServicesClientProxy proxy,
+            final ResourceHandlerRequest<ResourceModel> request,
+            final CallbackContext callbackContext,
+            final Logger logger) {
 
         final ResourceModel model = request.getDesiredResourceState();
 
         try {
-            final GetRuleGroupResponse response = getRuleGroupExceptionWrapper(proxy, model).execute();
-
-            final List<Tag> tags = HandlerHelper.getConvertedTags(proxy, client, response.ruleGroup().arn(),
-                    tag -> Tag.builder()
-                            .key(tag.key())
-                            .value(tag.value())
-                            .build());
-            final ResourceModel.ResourceModelBuilder result = ResourceModel.builder()
-                    // primary identifier
-                    .id(response.ruleGroup().id())
-                    .name(response.ruleGroup().name())
-                    .scope(model.getScope())
-                    // read only fields
-                    .arn(response.ruleGroup().arn())
-                    // other fields
-                    .description(response.ruleGroup().description())
-                    .rules(Optional.ofNullable(response.ruleGroup().rules()).orElse(ImmutableList.of()).stream()
-                            .map(rule -> Converter.INSTANCE.invert(rule))
-                            .collect(Collectors.toList()))
-                    .visibilityConfig(StatementCommonsConverter.INSTANCE.invert(
-                            response.ruleGroup().visibilityConfig()))
-                    // capacity is specified by customer in RuleGroup
-                    .capacity(new Integer(Math.toIntExact(response.ruleGroup().capacity().longValue())))
-                    .tags(tags)
-                    .availableLabels(Optional.ofNullable(Converter.INSTANCE.invert(response.ruleGroup().availableLabels())).orElse(ImmutableList.of()))
-                    .consumedLabels(Optional.ofNullable(Converter.INSTANCE.invert(response.ruleGroup().consumedLabels())).orElse(ImmutableList.of()))
-                    .labelNamespace(response.ruleGroup().labelNamespace());
-
-            if (MapUtils.isNotEmpty(response.ruleGroup().customResponseBodies())) {
-                result.customResponseBodies(
-                    Converter.INSTANCE.invert(response.ruleGroup().customResponseBodies()));
-            }
+            final ResourceModel result = ConcurrentReader.read(
+                    () -> getRuleGroupExceptionWrapper(proxy, model).execute(),
+                    response -> response.ruleGroup().arn(),
+                    model.getArn() != null
+                            ? model.getArn()
+                            : HandlerHelper.buildArn(request, "rulegroup",
+                                    model.getScope(), model.getName(), model.getId()),
+                    arn -> HandlerHelper.getConvertedTags(proxy, client, arn,
+                            tag -> Tag.builder()
+                                    .key(tag.key())
+                                    .value(tag.value())
+                                    .build()),
+                    (response, tags) -> toResourceModel(model, response, tags),
+                    HandlerExecutors.shared());
 
             return ProgressEvent.<ResourceModel, CallbackContext>builder()
-                    .resourceModel(result.build())
+                    .resourceModel(result)
                     .status(OperationStatus.SUCCESS)
                     .build();
         } catch (RuntimeException e) {
@@ -89,6 +104,103 @@ public class ReadHandler extends BaseHandler<CallbackContext> {
         }
     }
 
+    /**
+     * Builds the model a Read would return after the desired state was written, without reading the RuleGroup back.
+     *
+     * @param desired         the written desired state
+     * @param id              the RuleGroup id
+     * @param arn             the RuleGroup ARN
+     * @param labelNamespace  the label namespace computed by WAF for the RuleGroup name
+     * @param availableLabels the labels computed by WAF that the rules add
+     * @param consumedLabels  the labels computed by WAF that the rules match
+     * @return the model of the written RuleGroup
+     */
+    static ResourceModel modelAfterWrite(final ResourceModel desired, final String id, final String arn,
+                                         final String labelNamespace, final List<LabelSummary> availableLabels,
+                                         final List<LabelSummary> consumedLabels) {
+        return ResourceModel.builder()
+                .id(id)
+                .name(desired.getName())
+                .scope(desired.getScope())
+                .arn(arn)
+                .description(desired.getDescription())
+                .rules(Optional.ofNullable(desired.getRules()).orElse(ImmutableList.of()))
+                .visibilityConfig(desired.getVisibilityConfig())
+                .capacity(desired.getCapacity())
+                .tags(Optional.ofNullable(desired.getTags()).orElse(ImmutableList.of()))
+                .availableLabels(Optional.ofNullable(availableLabels).orElse(ImmutableList.of()))
+                .consumedLabels(Optional.ofNullable(consumedLabels).orElse(ImmutableList.of()))
+                .labelNamespace(labelNamespace)
+                .customResponseBodies(MapUtils.isNotEmpty(desired.getCustomResponseBodies())
+                        ? desired.getCustomResponseBodies()
+                        : null)
+                .build();
+    }
+
+    /**
+     * Builds the model a Read would return after the desired state was written, taking the fields computed by WAF
+     * from the given RuleGroup without converting its rules.
+     *
+     * @param desired   the written desired state
+     * @param ruleGroup the written RuleGroup
+     * @return the model of the written RuleGroup
+     */
+    static ResourceModel modelAfterWrite(final ResourceModel desired, final RuleGroup ruleGroup) {
+        return modelAfterWrite(desired, ruleGroup.id(), ruleGroup.arn(), ruleGroup.labelNamespace(),
+                Converter.INSTANCE.invert(ruleGroup.availableLabels()),
+                Converter.INSTANCE.invert(ruleGroup.consumedLabels()));
+    }
+
+    // only the fields that take a conversion, shared between the models returned for the same lock token: neither
+    // the handlers nor the models they return may modify them
+    private static ResourceModel convert(final RuleGroup ruleGroup) {
+        final ResourceModel.ResourceModelBuilder result = ResourceModel.builder()
+                .rules(Collections.unmodifiableList(Optional.ofNullable(ruleGroup.rules()).orElse(ImmutableList.of())
+                        .stream()
+                        .map(rule -> Converter.INSTANCE.invert(rule))
+                        .collect(Collectors.toList())))
+                .visibilityConfig(StatementCommonsConverter.INSTANCE.invert(ruleGroup.visibilityConfig()))
+                .availableLabels(Optional.ofNullable(Converter.INSTANCE.invert(ruleGroup.availableLabels()))
+                        .orElse(ImmutableList.of()))
+                .consumedLabels(Optional.ofNullable(Converter.INSTANCE.invert(ruleGroup.consumedLabels()))
+                        .orElse(ImmutableList.of()));
+        if (MapUtils.isNotEmpty(ruleGroup.customResponseBodies())) {
+            result.customResponseBodies(Converter.INSTANCE.invert(ruleGroup.customResponseBodies()));
+        }
+        return result.build();
+    }
+
+    private ResourceModel toResourceModel(final ResourceModel model,
+                                          final GetRuleGroupResponse response,
+                                          final Supplier<List<Tag>> tags) {
+        // the converted fields only change with the lock token, reuse them while it is unchanged
+        ResourceModel converted = readCache.get(model.getScope(), response.ruleGroup().id(),
+                response.lockToken());
+        if (converted == null) {
+            converted = HandlerMetrics.time("Convert", () -> convert(response.ruleGroup()));
+            readCache.put(model.getScope(), response.ruleGroup().id(), response.lockToken(), converted);
+        }
+        return ResourceModel.builder()
+                // primary identifier
+                .id(response.ruleGroup().id())
+                .name(response.ruleGroup().name())
+                .scope(model.getScope())
+                // read only fields
+                .arn(response.ruleGroup().arn())
+                // other fields
+                .description(response.ruleGroup().description())
+                .rules(converted.getRules())
+                .visibilityConfig(converted.getVisibilityConfig())
+                // capacity is specified by customer in RuleGroup
+                .capacity(new Integer(Math.toIntExact(response.ruleGroup().capacity().longValue())))
+                .tags(tags.get())
+                .availableLabels(converted.getAvailableLabels())
+                .consumedLabels(converted.getConsumedLabels())
+                .labelNamespace(response.ruleGroup().labelNamespace())
+                .customResponseBodies(converted.getCustomResponseBodies())
+                .build();
+    }
+
     private ExceptionTranslationWrapper<GetRuleGroupResponse> getRuleGroupExceptionWrapper(
             final AmazonWebServicesClientProxy proxy, final ResourceModel model) {
         return new ExceptionTranslationWrapper<GetRuleGroupResponse>() {
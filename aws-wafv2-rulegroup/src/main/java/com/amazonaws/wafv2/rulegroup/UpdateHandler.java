@@ -3,9 +3,19 @@ package com.amazonaws.wafv2.rulegroup;
 import com.amazonaws.wafv2.commons.CommonVariables;
 import com.amazonaws.wafv2.commons.CustomerAPIClientBuilder;
 import com.amazonaws.wafv2.commons.ExceptionTranslationWrapper;
+import com.amazonaws.wafv2.commons.ExponentialBackoffStabilizationScheduler;
+import com.amazonaws.wafv2.commons.HandlerMetrics;
+import com.amazonaws.wafv2.commons.LockTokenCache;
+import com.amazonaws.wafv2.commons.LockTokenManager;
+import com.amazonaws.wafv2.commons.RuleChanges;
+import com.amazonaws.wafv2.commons.SemanticModelDiffer;
+import com.amazonaws.wafv2.commons.StabilizationScheduler;
+import com.amazonaws.wafv2.commons.TagReconciler;
+import com.amazonaws.wafv2.rulegroup.converters.CachedRuleConverter;
 import com.amazonaws.wafv2.rulegroup.converters.Converter;
 import com.amazonaws.wafv2.rulegroup.converters.StatementCommonsConverter;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
 import lombok.RequiredArgsConstructor;
 import org.apache.commons.collections.MapUtils;
 import software.amazon.awssdk.services.wafv2.Wafv2Client;
@@ -21,16 +31,36 @@ import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
 
+import java.util.Objects;
 import java.util.Optional;
+import java.util.OptionalInt;
 import java.util.stream.Collectors;
 
 @RequiredArgsConstructor
 public class UpdateHandler extends BaseHandler<CallbackContext> {
 
+    // read-only fields and the tags, which are reconciled separately
+    private static final SemanticModelDiffer DIFFER = new SemanticModelDiffer(ImmutableSet.of(
+            "Arn", "Id", "LabelNamespace", "AvailableLabels", "ConsumedLabels", "Tags"));
+
     private final Wafv2Client client;
+    private final StabilizationScheduler stabilizationScheduler;
+    private final LockTokenCache<ResourceModel> readCache;
+    // whether the updated model is built from the desired state instead of read back
+    private final boolean modelFromWriteResponse;
 
     public UpdateHandler() {
-        this.client = CustomerAPIClientBuilder.getClient();
+        this(CustomerAPIClientBuilder.getClient(), ReadHandler.sharedReadCache());
+        Warmup.warmup();
+    }
+
+    public UpdateHandler(final Wafv2Client client) {
+        this(client, new LockTokenCache<>(CommonVariables.READ_CACHE_MAX_ENTRIES));
+    }
+
+    public UpdateHandler(final Wafv2Client client, final LockTokenCache<ResourceModel> readCache) {
+        this(client, ExponentialBackoffStabilizationScheduler.DEFAULT, readCache,
+                Boolean.parseBoolean(System.getenv(CommonVariables.MODEL_FROM_WRITE_RESPONSE_ENVIRONMENT_VARIABLE)));
     }
 
     @Override
@@ -39,41 +69,83 @@ public class UpdateHandler extends BaseHandler<CallbackContext> {
             final ResourceHandlerRequest<ResourceModel> request,
             final CallbackContext callbackContext,
             final Logger logger) {
+        return HandlerMetrics.record(ResourceModel.TYPE_NAME, "Update", request.getAwsAccountId(), logger,
+                () -> handle(proxy, request, callbackContext, logger));
+    }
+
+    private ProgressEvent<ResourceModel, CallbackContext> handle(
+            final AmazonWebServicesClientProxy proxy,
+            final ResourceHandlerRequest<ResourceModel> request,
+            final CallbackContext callbackContext,
+            final Logger logger) {
 
         final ResourceModel model = request.getDesiredResourceState();
         final CallbackContext currentContext = callbackContext == null ?
-                CallbackContext.builder()
-                        .stabilizationRetriesRemaining(CommonVariables.NUMBER_OF_STATE_POLL_RETRIES)
-                        .build()
+                CallbackContext.builder().build()
                 : callbackContext;
+        if (currentContext.getStabilizationStartTimeMillis() == 0) {
+            currentContext.setStabilizationStartTimeMillis(stabilizationScheduler.currentTimeMillis());
+        }
 
-        if (currentContext.getStabilizationRetriesRemaining() <= 0) {
+        if (stabilizationScheduler.isExhausted(currentContext)) {
             return ProgressEvent.<ResourceModel, CallbackContext>builder()
                     .status(OperationStatus.FAILED)
                     .errorCode(HandlerErrorCode.NotStabilized)
                     .build();
         }
 
+        final LockTokenManager lockTokenManager = new LockTokenManager(currentContext.getLockToken(), logger);
         try {
-            updateRuleGroupExceptionWrapper(proxy, model).execute();
+            final ResourceModel previousModel = request.getPreviousResourceState();
+            // updates of unrelated stack properties send an unchanged model, skip the RuleGroup update for them
+            final boolean unchanged = DIFFER.isEquivalent(previousModel, model);
+            if (!unchanged) {
+                if (previousModel != null) {
+                    final RuleChanges ruleChanges = RuleChanges.between(previousModel.getRules(), model.getRules(),
+                            Rule::getName);
+                    ruleChanges.record();
+                    logger.log(String.format("Updating RuleGroup %s: %s", model.getId(), ruleChanges));
+                }
+                updateRuleGroupExceptionWrapper(proxy, model, lockTokenManager).execute();
+            }
+            TagReconciler.reconcileTags(proxy, client,
+                    () -> getArn(proxy, model, previousModel),
+                    previousModel == null ? null : previousModel.getTags(),
+                    model.getTags(), Tag::getKey, Tag::getValue);
+            if (modelFromWriteResponse || unchanged) {
+                return updatedModel(proxy, model, previousModel, unchanged);
+            }
 
             final ResourceModel readResourceModel = ResourceModel.builder()
                     .id(model.getId())
                     .name(model.getName())
                     .scope(model.getScope())
+                    .arn(previousModel != null && previousModel.getArn() != null
+                            ? previousModel.getArn()
+                            : model.getArn())
                     .build();
-            return new ReadHandler(client).handleRequest(proxy,
+            return new ReadHandler(client, readCache).handleRequest(proxy,
                     ResourceHandlerRequest.<ResourceModel>builder().desiredResourceState(readResourceModel).build(),
                     null, logger);
         } catch (WafUnavailableEntityException e) {
+            final OptionalInt callbackDelaySeconds = stabilizationScheduler.nextCallbackDelaySeconds(currentContext);
+            if (!callbackDelaySeconds.isPresent()) {
+                return ProgressEvent.<ResourceModel, CallbackContext>builder()
+                        .status(OperationStatus.FAILED)
+                        .errorCode(HandlerErrorCode.NotStabilized)
+                        .message(e.getMessage())
+                        .build();
+            }
             // entity still being sequenced
             return ProgressEvent.<ResourceModel, CallbackContext>builder()
                     .resourceModel(model)
                     .status(OperationStatus.IN_PROGRESS)
                     .callbackContext(CallbackContext.builder()
-                            .stabilizationRetriesRemaining(currentContext.getStabilizationRetriesRemaining() - 1)
+                            .stabilizationAttempts(currentContext.getStabilizationAttempts() + 1)
+                            .stabilizationStartTimeMillis(currentContext.getStabilizationStartTimeMillis())
+                            .lockToken(lockTokenManager.getCurrentLockToken())
                             .build())
-                    .callbackDelaySeconds(CommonVariables.CALLBACK_DELAY_SECONDS)
+                    .callbackDelaySeconds(callbackDelaySeconds.getAsInt())
                     .resourceModel(request.getDesiredResourceState())
                     .build();
         } catch (RuntimeException e) {
@@ -87,7 +159,9 @@ public class UpdateHandler extends BaseHandler<CallbackContext> {
     }
 
     private ExceptionTranslationWrapper<UpdateRuleGroupResponse> updateRuleGroupExceptionWrapper(
-            final AmazonWebServicesClientProxy proxy, final ResourceModel model) {
+            final AmazonWebServicesClientProxy proxy,
+            final ResourceModel model,
+            final LockTokenManager lockTokenManager) {
         return new ExceptionTranslationWrapper<UpdateRuleGroupResponse>() {
             @Override
             public UpdateRuleGroupResponse doWithTranslation() throws RuntimeException {
@@ -96,31 +170,81 @@ public class UpdateHandler extends BaseHandler<CallbackContext> {
                         .name(model.getName())
                         .id(model.getId())
                         .description(model.getDescription())
-                        .rules(Optional.ofNullable(model.getRules()).orElse(ImmutableList.of()).stream()
-                                .map(rule -> Converter.INSTANCE.convert(rule))
-                                .collect(Collectors.toList()))
-                        .visibilityConfig(StatementCommonsConverter.INSTANCE.convert(model.getVisibilityConfig()))
-                        .lockToken(getLockToken(proxy, model));
+                        .rules(HandlerMetrics.time("Convert", () ->
+                                Optional.ofNullable(model.getRules()).orElse(ImmutableList.of()).stream()
+                                        .map(CachedRuleConverter.INSTANCE::convert)
+                                        .collect(Collectors.toList())))
+                        .visibilityConfig(StatementCommonsConverter.INSTANCE.convert(model.getVisibilityConfig()));
                 if (MapUtils.isNotEmpty(model.getCustomResponseBodies())) {
                     updateRuleGroupRequestBuilder.customResponseBodies(
                         Converter.INSTANCE.convert(model.getCustomResponseBodies()));
                 }
-                final UpdateRuleGroupResponse response = proxy.injectCredentialsAndInvokeV2(
-                    updateRuleGroupRequestBuilder.build(), client::updateRuleGroup);
+                final UpdateRuleGroupResponse response = lockTokenManager.invoke(
+                        lockToken -> proxy.injectCredentialsAndInvokeV2(
+                                updateRuleGroupRequestBuilder.lockToken(lockToken).build(), client::updateRuleGroup),
+                        () -> getLockToken(proxy, model));
+                lockTokenManager.update(response.nextLockToken());
                 return response;
             }
         };
     }
 
+    // the labels only change with the rules and the label namespace with the name, the previous values are kept
+    // when the rules are unchanged, otherwise they are fetched from WAF
+    private ProgressEvent<ResourceModel, CallbackContext> updatedModel(final AmazonWebServicesClientProxy proxy,
+                                                                       final ResourceModel model,
+                                                                       final ResourceModel previousModel,
+                                                                       final boolean unchanged) {
+        try {
+            final ResourceModel result;
+            if (previousModel != null
+                    && previousModel.getArn() != null
+                    && previousModel.getLabelNamespace() != null
+                    && (unchanged || Objects.equals(previousModel.getRules(), model.getRules()))) {
+                result = ReadHandler.modelAfterWrite(model, model.getId(), previousModel.getArn(),
+                        previousModel.getLabelNamespace(), previousModel.getAvailableLabels(),
+                        previousModel.getConsumedLabels());
+            } else {
+                result = ReadHandler.modelAfterWrite(model, getRuleGroup(proxy, model).ruleGroup());
+            }
+            return ProgressEvent.<ResourceModel, CallbackContext>builder()
+                    .resourceModel(result)
+                    .status(OperationStatus.SUCCESS)
+                    .build();
+        } catch (RuntimeException e) {
+            return ProgressEvent.<ResourceModel, CallbackContext>builder()
+                    .status(OperationStatus.FAILED)
+                    .errorCode(ExceptionTranslationWrapper.translateExceptionIntoErrorCode(e))
+                    .message(e.getMessage())
+                    .build();
+        }
+    }
+
     private String getLockToken(final AmazonWebServicesClientProxy proxy,
                                 final ResourceModel model) {
+        return getRuleGroup(proxy, model).lockToken();
+    }
+
+    private String getArn(final AmazonWebServicesClientProxy proxy,
+                          final ResourceModel model,
+                          final ResourceModel previousModel) {
+        if (previousModel != null && previousModel.getArn() != null) {
+            return previousModel.getArn();
+        }
+        if (model.getArn() != null) {
+            return model.getArn();
+        }
+        return getRuleGroup(proxy, model).ruleGroup().arn();
+    }
+
+    private GetRuleGroupResponse getRuleGroup(final AmazonWebServicesClientProxy proxy,
+                                              final ResourceModel model) {
         final GetRuleGroupRequest getRuleGroupRequest = GetRuleGroupRequest.builder()
                 .name(model.getName())
                 .id(model.getId())
                 .scope(model.getScope())
                 .build();
-        final GetRuleGroupResponse response = proxy.injectCredentialsAndInvokeV2(
+        return proxy.injectCredentialsAndInvokeV2(
                 getRuleGroupRequest, client::getRuleGroup);
-        return response.lockToken();
     }
 }
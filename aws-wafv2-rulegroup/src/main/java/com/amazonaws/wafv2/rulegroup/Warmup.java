@@ -0,0 +1,35 @@
+package com.amazonaws.wafv2.rulegroup;
+
+import com.amazonaws.wafv2.commons.HandlerWarmup;
+import com.amazonaws.wafv2.rulegroup.converters.Converter;
+import com.amazonaws.wafv2.rulegroup.converters.StatementCommonsConverter;
+import software.amazon.awssdk.services.wafv2.model.Rule;
+
+/**
+ * Loads the RuleGroup converters, resource schema and SDK model classes ahead of the first request.
+ */
+public final class Warmup {
+
+    private Warmup() {
+    }
+
+    /**
+     * Warms up the module, only the first call in a container does any work.
+     */
+    public static void warmup() {
+        HandlerWarmup.runOnce(Warmup.class, Warmup::run);
+    }
+
+    private static void run() {
+        new Configuration().resourceSchemaJSONObject();
+        convertSamples();
+    }
+
+    // converts the sample rule of HandlerWarmup and the objects around it both ways
+    static void convertSamples() {
+        final Rule rule = HandlerWarmup.sampleRule();
+        Converter.INSTANCE.convert(Converter.INSTANCE.invert(rule));
+        StatementCommonsConverter.INSTANCE.convert(StatementCommonsConverter.INSTANCE.invert(rule.visibilityConfig()));
+        Converter.INSTANCE.convert(Tag.builder().key("warmup").value("warmup").build());
+    }
+}
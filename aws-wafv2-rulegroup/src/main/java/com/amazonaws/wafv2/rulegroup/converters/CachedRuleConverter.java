@@ -0,0 +1,27 @@
+package com.amazonaws.wafv2.rulegroup.converters;
+
+import com.amazonaws.wafv2.commons.CommonVariables;
+import com.amazonaws.wafv2.commons.ConversionCache;
+import com.amazonaws.wafv2.rulegroup.Rule;
+
+/**
+ * Converts rules with {@link Converter}, reusing the conversions of the unchanged rules written before by the
+ * Create and Update handlers of the container, see {@link ConversionCache}.
+ */
+public final class CachedRuleConverter {
+    public static final CachedRuleConverter INSTANCE = new CachedRuleConverter();
+
+    private final ConversionCache<Rule, software.amazon.awssdk.services.wafv2.model.Rule> conversions =
+            new ConversionCache<>(CommonVariables.CONVERTED_RULE_CACHE_MAX_ENTRIES);
+
+    private CachedRuleConverter() {
+    }
+
+    /**
+     * @param source the rule, not null
+     * @return the SDK rule, shared with the other conversions of an equal rule
+     */
+    public software.amazon.awssdk.services.wafv2.model.Rule convert(final Rule source) {
+        return conversions.convert(source, Converter.INSTANCE::convert);
+    }
+}
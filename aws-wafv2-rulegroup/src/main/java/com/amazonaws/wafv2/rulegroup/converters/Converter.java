@@ -4,7 +4,6 @@ import org.mapstruct.Mapper;
 
 import org.mapstruct.Mapping;
 import org.mapstruct.NullValueCheckStrategy;
-import org.mapstruct.factory.Mappers;
 import software.amazon.awssdk.services.wafv2.model.LabelSummary;
 import software.amazon.awssdk.services.wafv2.model.Rule;
 import software.amazon.awssdk.services.wafv2.model.Tag;
@@ -18,13 +17,16 @@ import java.util.Map;
 @Mapper(uses = { StatementCommonsConverter.class, StatementConverter.class },
         nullValueCheckStrategy = NullValueCheckStrategy.ALWAYS)
 public interface Converter {
-    Converter INSTANCE = Mappers.getMapper(Converter.class);
+    Converter INSTANCE = new ConverterImpl();
 
     //---------------------------------------------------------------------
     // Rule
     //---------------------------------------------------------------------
+    // statement trees are converted iteratively, see StatementTreeConverter
     @Mapping(target = "overrideAction", ignore = true)
+    @Mapping(target = "statement", expression = "java(StatementTreeConverter.INSTANCE.convert(source.getStatement()))")
     Rule convert(com.amazonaws.wafv2.rulegroup.Rule source);
+    @Mapping(target = "statement", expression = "java(StatementTreeConverter.INSTANCE.invert(source.statement()))")
     com.amazonaws.wafv2.rulegroup.Rule invert(Rule source);
 
     //---------------------------------------------------------------------
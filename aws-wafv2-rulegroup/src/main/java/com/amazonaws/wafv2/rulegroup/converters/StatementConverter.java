@@ -6,8 +6,8 @@ import java.util.stream.Collectors;
 import com.amazonaws.util.Base64;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
+import org.mapstruct.Named;
 import org.mapstruct.NullValueCheckStrategy;
-import org.mapstruct.factory.Mappers;
 import software.amazon.awssdk.core.SdkBytes;
 import software.amazon.awssdk.services.wafv2.model.AndStatement;
 import software.amazon.awssdk.services.wafv2.model.ByteMatchStatement;
@@ -28,7 +28,7 @@ import software.amazon.awssdk.services.wafv2.model.LabelMatchStatement;
  */
 @Mapper(uses = StatementCommonsConverter.class, nullValueCheckStrategy = NullValueCheckStrategy.ALWAYS)
 public interface StatementConverter {
-    StatementConverter INSTANCE = Mappers.getMapper(StatementConverter.class);
+    StatementConverter INSTANCE = new StatementConverterImpl();
 
     //---------------------------------------------------------------------
     // AndStatement
@@ -67,6 +67,11 @@ public interface StatementConverter {
     //---------------------------------------------------------------------
     RateBasedStatement convertRateBasedStatement(com.amazonaws.wafv2.rulegroup.RateBasedStatement source);
     com.amazonaws.wafv2.rulegroup.RateBasedStatement invertRateBasedStatement(RateBasedStatement source);
+    // the leaf of a statement tree, whose scope-down statement is converted separately
+    @Named("withoutScopeDownStatement")
+    @Mapping(target = "scopeDownStatement", ignore = true)
+    RateBasedStatement convertRateBasedStatementWithoutScopeDown(
+            com.amazonaws.wafv2.rulegroup.RateBasedStatement source);
 
     //---------------------------------------------------------------------
     // RegexPatternReferenceStatement
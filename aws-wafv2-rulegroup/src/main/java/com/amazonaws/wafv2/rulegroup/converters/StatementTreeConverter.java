@@ -0,0 +1,154 @@
+package com.amazonaws.wafv2.rulegroup.converters;
+
+import com.amazonaws.wafv2.commons.BaseStatementTreeConverter;
+import com.amazonaws.wafv2.rulegroup.AndStatement;
+import com.amazonaws.wafv2.rulegroup.NotStatement;
+import com.amazonaws.wafv2.rulegroup.OrStatement;
+import com.amazonaws.wafv2.rulegroup.Statement;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Converts RuleGroup statement trees without recursion.
+ *
+ * Leaf statements are converted by {@link StatementConverter}, the tree is walked by
+ * {@link BaseStatementTreeConverter}. The results are equal to {@link StatementConverter#convertStatement} and
+ * {@link StatementConverter#invertStatement}.
+ */
+public final class StatementTreeConverter extends BaseStatementTreeConverter<Statement> {
+    public static final StatementTreeConverter INSTANCE = new StatementTreeConverter();
+
+    private StatementTreeConverter() {
+    }
+
+    @Override
+    protected List<Statement> andStatements(final Statement statement) {
+        return statement.getAndStatement() == null ? null : statements(statement.getAndStatement().getStatements());
+    }
+
+    @Override
+    protected List<Statement> orStatements(final Statement statement) {
+        return statement.getOrStatement() == null ? null : statements(statement.getOrStatement().getStatements());
+    }
+
+    @Override
+    protected boolean hasNotStatement(final Statement statement) {
+        return statement.getNotStatement() != null;
+    }
+
+    @Override
+    protected Statement notStatement(final Statement statement) {
+        return statement.getNotStatement() == null ? null : statement.getNotStatement().getStatement();
+    }
+
+    @Override
+    protected Statement rateBasedScopeDownStatement(final Statement statement) {
+        return statement.getRateBasedStatement() == null
+                ? null
+                : statement.getRateBasedStatement().getScopeDownStatement();
+    }
+
+    @Override
+    protected software.amazon.awssdk.services.wafv2.model.Statement convertWithoutNested(final Statement statement) {
+        final StatementConverter leafConverter = StatementConverter.INSTANCE;
+        final software.amazon.awssdk.services.wafv2.model.Statement.Builder result =
+                software.amazon.awssdk.services.wafv2.model.Statement.builder();
+        if (statement.getByteMatchStatement() != null) {
+            result.byteMatchStatement(leafConverter.convert(statement.getByteMatchStatement()));
+        }
+        if (statement.getSqliMatchStatement() != null) {
+            result.sqliMatchStatement(leafConverter.convert(statement.getSqliMatchStatement()));
+        }
+        if (statement.getXssMatchStatement() != null) {
+            result.xssMatchStatement(leafConverter.convert(statement.getXssMatchStatement()));
+        }
+        if (statement.getSizeConstraintStatement() != null) {
+            result.sizeConstraintStatement(leafConverter.convert(statement.getSizeConstraintStatement()));
+        }
+        if (statement.getGeoMatchStatement() != null) {
+            result.geoMatchStatement(leafConverter.convert(statement.getGeoMatchStatement()));
+        }
+        if (statement.getIPSetReferenceStatement() != null) {
+            result.ipSetReferenceStatement(leafConverter.convert(statement.getIPSetReferenceStatement()));
+        }
+        if (statement.getRegexPatternSetReferenceStatement() != null) {
+            result.regexPatternSetReferenceStatement(
+                    leafConverter.convert(statement.getRegexPatternSetReferenceStatement()));
+        }
+        if (statement.getLabelMatchStatement() != null) {
+            result.labelMatchStatement(leafConverter.convert(statement.getLabelMatchStatement()));
+        }
+        if (statement.getRateBasedStatement() != null) {
+            result.rateBasedStatement(
+                    leafConverter.convertRateBasedStatementWithoutScopeDown(statement.getRateBasedStatement()));
+        }
+        return result.build();
+    }
+
+    @Override
+    protected Statement invertWithoutNested(final software.amazon.awssdk.services.wafv2.model.Statement statement) {
+        final StatementConverter leafConverter = StatementConverter.INSTANCE;
+        final Statement result = Statement.builder().build();
+        if (statement.byteMatchStatement() != null) {
+            result.setByteMatchStatement(leafConverter.invert(statement.byteMatchStatement()));
+        }
+        if (statement.sqliMatchStatement() != null) {
+            result.setSqliMatchStatement(leafConverter.invert(statement.sqliMatchStatement()));
+        }
+        if (statement.xssMatchStatement() != null) {
+            result.setXssMatchStatement(leafConverter.invert(statement.xssMatchStatement()));
+        }
+        if (statement.sizeConstraintStatement() != null) {
+            result.setSizeConstraintStatement(leafConverter.invert(statement.sizeConstraintStatement()));
+        }
+        if (statement.geoMatchStatement() != null) {
+            result.setGeoMatchStatement(leafConverter.invert(statement.geoMatchStatement()));
+        }
+        if (statement.ipSetReferenceStatement() != null) {
+            result.setIPSetReferenceStatement(leafConverter.invert(statement.ipSetReferenceStatement()));
+        }
+        if (statement.regexPatternSetReferenceStatement() != null) {
+            result.setRegexPatternSetReferenceStatement(
+                    leafConverter.invert(statement.regexPatternSetReferenceStatement()));
+        }
+        if (statement.labelMatchStatement() != null) {
+            result.setLabelMatchStatement(leafConverter.invert(statement.labelMatchStatement()));
+        }
+        if (statement.rateBasedStatement() != null) {
+            result.setRateBasedStatement(leafConverter.invertRateBasedStatement(
+                    withoutScopeDownStatement(statement.rateBasedStatement())));
+        }
+        return result;
+    }
+
+    @Override
+    protected void setAndStatements(final Statement statement, final List<Statement> statements) {
+        final AndStatement andStatement = AndStatement.builder().build();
+        andStatement.setStatements(statements);
+        statement.setAndStatement(andStatement);
+    }
+
+    @Override
+    protected void setOrStatements(final Statement statement, final List<Statement> statements) {
+        final OrStatement orStatement = OrStatement.builder().build();
+        orStatement.setStatements(statements);
+        statement.setOrStatement(orStatement);
+    }
+
+    @Override
+    protected void setNotStatement(final Statement statement, final Statement notStatement) {
+        final NotStatement result = NotStatement.builder().build();
+        result.setStatement(notStatement);
+        statement.setNotStatement(result);
+    }
+
+    @Override
+    protected void setRateBasedScopeDownStatement(final Statement statement, final Statement scopeDownStatement) {
+        statement.getRateBasedStatement().setScopeDownStatement(scopeDownStatement);
+    }
+
+    private static List<Statement> statements(final List<Statement> statements) {
+        return statements == null ? Collections.emptyList() : statements;
+    }
+}
@@ -15,15 +15,30 @@ public class CallbackContextSerializationTest {
 
     @Test
     public void deserializeCallbackContext() throws IOException {
-        String json = "{\"stabilizationRetriesRemaining\":50, \"id\":\"id\", \"name\":\"test\", \"lockToken\":\"foo\"}";
+        String json = "{\"stabilizationAttempts\":5, \"stabilizationStartTimeMillis\":1000, \"id\":\"id\", "
+                + "\"name\":\"test\", \"lockToken\":\"foo\"}";
 
         CallbackContext context = mapper.reader()
                 .forType(CallbackContext.class)
                 .readValue(json);
 
-        Assert.assertEquals(50, context.getStabilizationRetriesRemaining());
+        Assert.assertEquals(5, context.getStabilizationAttempts());
+        Assert.assertEquals(1000L, context.getStabilizationStartTimeMillis());
         Assert.assertEquals("id", context.getId());
         Assert.assertEquals("test", context.getName());
         Assert.assertEquals("foo", context.getLockToken());
     }
+
+    @Test
+    public void deserializeCallbackContextWithRetryCount() throws IOException {
+        String json = "{\"stabilizationRetriesRemaining\":50, \"lockToken\":\"foo\"}";
+
+        CallbackContext context = mapper.reader()
+                .forType(CallbackContext.class)
+                .readValue(json);
+
+        Assert.assertEquals(0, context.getStabilizationAttempts());
+        Assert.assertEquals(0L, context.getStabilizationStartTimeMillis());
+        Assert.assertEquals("foo", context.getLockToken());
+    }
 }
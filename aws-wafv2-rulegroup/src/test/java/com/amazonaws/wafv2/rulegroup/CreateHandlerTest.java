@@ -1,6 +1,8 @@
 package com.amazonaws.wafv2.rulegroup;
 
 import com.amazonaws.wafv2.commons.CommonVariables;
+import com.amazonaws.wafv2.commons.ExponentialBackoffStabilizationScheduler;
+import com.amazonaws.wafv2.commons.LockTokenCache;
 import com.amazonaws.wafv2.rulegroup.helpers.RuleGroupHelper;
 import org.junit.Assert;
 import org.junit.Before;
@@ -32,6 +34,8 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 
 public class CreateHandlerTest {
 
@@ -212,7 +216,7 @@ public class CreateHandlerTest {
         Assert.assertNotNull(response);
         Assert.assertEquals(OperationStatus.IN_PROGRESS, response.getStatus());
         Assert.assertNotNull(response.getCallbackContext());
-        Assert.assertEquals(CommonVariables.CALLBACK_DELAY_SECONDS, response.getCallbackDelaySeconds());
+        Assert.assertEquals(CommonVariables.STABILIZATION_INITIAL_DELAY_SECONDS, response.getCallbackDelaySeconds());
     }
 
     @Test
@@ -221,7 +225,7 @@ public class CreateHandlerTest {
                 .desiredResourceState(resourceModel)
                 .build();
         final CallbackContext callbackContext = CallbackContext.builder()
-                .stabilizationRetriesRemaining(1)
+                .stabilizationAttempts(1)
                 .build();
 
         final RuleGroupSummary stubRuleGroupSummary = RuleGroupSummary.builder()
@@ -265,7 +269,7 @@ public class CreateHandlerTest {
                 .desiredResourceState(resourceModel)
                 .build();
         final CallbackContext callbackContext = CallbackContext.builder()
-                .stabilizationRetriesRemaining(0)
+                .stabilizationStartTimeMillis(System.currentTimeMillis() - CommonVariables.STABILIZATION_TIMEOUT_MILLIS)
                 .build();
 
         final ProgressEvent<ResourceModel, CallbackContext> response =
@@ -388,4 +392,42 @@ public class CreateHandlerTest {
         Assert.assertNotNull(ruleWithRuleLabels.getRuleLabels().get(1).getName());
         Assert.assertEquals("testRuleLabel2", ruleWithRuleLabels.getRuleLabels().get(1).getName());
     }
+
+    @Test
+    public void testCreateRuleGroupWithModelFromWriteResponse() {
+        final CreateHandler handler = new CreateHandler(mock(Wafv2Client.class),
+                ExponentialBackoffStabilizationScheduler.DEFAULT,
+                new LockTokenCache<>(CommonVariables.READ_CACHE_MAX_ENTRIES), true);
+        final RuleGroup ruleGroupWithLabels = RuleGroupHelper.getSdkRuleGroupWithAvailableAndConsumedLabels();
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(resourceModel)
+                .build();
+
+        final CreateRuleGroupResponse stubCreateResponse = CreateRuleGroupResponse.builder()
+                .summary(RuleGroupSummary.builder()
+                        .arn(ruleGroupWithLabels.arn())
+                        .id(ruleGroupWithLabels.id())
+                        .name(ruleGroupWithLabels.name())
+                        .lockToken("dummyLockToken")
+                        .build())
+                .build();
+        final GetRuleGroupResponse stubGetResponse = GetRuleGroupResponse.builder()
+                .ruleGroup(ruleGroupWithLabels)
+                .build();
+
+        doReturn(stubCreateResponse).when(proxy).injectCredentialsAndInvokeV2(any(CreateRuleGroupRequest.class), any());
+        doReturn(stubGetResponse).when(proxy).injectCredentialsAndInvokeV2(any(GetRuleGroupRequest.class), any());
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+                handler.handleRequest(proxy, request, null, logger);
+
+        Assert.assertEquals(OperationStatus.SUCCESS, response.getStatus());
+        Assert.assertEquals(ruleGroupWithLabels.id(), response.getResourceModel().getId());
+        Assert.assertEquals(ruleGroupWithLabels.arn(), response.getResourceModel().getArn());
+        Assert.assertEquals(resourceModel.getCapacity(), response.getResourceModel().getCapacity());
+        Assert.assertEquals(resourceModel.getRules(), response.getResourceModel().getRules());
+        Assert.assertEquals(2, response.getResourceModel().getAvailableLabels().size());
+        Assert.assertEquals(2, response.getResourceModel().getConsumedLabels().size());
+        // the tags and the rules are not read back
+        verify(proxy, never()).injectCredentialsAndInvokeV2(any(ListTagsForResourceRequest.class), any());
+    }
 }
@@ -121,7 +121,7 @@ public class DeleteHandlerTest {
         Assert.assertNotNull(response);
         Assert.assertNotNull(response.getCallbackContext());
         Assert.assertEquals(OperationStatus.IN_PROGRESS, response.getStatus());
-        Assert.assertEquals(CommonVariables.CALLBACK_DELAY_SECONDS, response.getCallbackDelaySeconds());
+        Assert.assertEquals(CommonVariables.STABILIZATION_INITIAL_DELAY_SECONDS, response.getCallbackDelaySeconds());
     }
 
     @Test
@@ -130,7 +130,7 @@ public class DeleteHandlerTest {
                 .desiredResourceState(resourceModel)
                 .build();
         final CallbackContext callbackContext = CallbackContext.builder()
-                .stabilizationRetriesRemaining(1)
+                .stabilizationAttempts(1)
                 .build();
         final GetRuleGroupResponse stubGetResponse = GetRuleGroupResponse.builder()
                 .ruleGroup(ruleGroup)
@@ -155,7 +155,7 @@ public class DeleteHandlerTest {
                 .desiredResourceState(resourceModel)
                 .build();
         final CallbackContext callbackContext = CallbackContext.builder()
-                .stabilizationRetriesRemaining(0)
+                .stabilizationStartTimeMillis(System.currentTimeMillis() - CommonVariables.STABILIZATION_TIMEOUT_MILLIS)
                 .build();
 
         final ProgressEvent<ResourceModel, CallbackContext> response =
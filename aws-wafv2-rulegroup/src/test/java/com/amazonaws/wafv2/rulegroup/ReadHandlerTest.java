@@ -1,5 +1,7 @@
 package com.amazonaws.wafv2.rulegroup;
 
+import com.amazonaws.wafv2.commons.CommonVariables;
+import com.amazonaws.wafv2.commons.LockTokenCache;
 import com.amazonaws.wafv2.rulegroup.helpers.RuleGroupHelper;
 import org.junit.Assert;
 import org.junit.Before;
@@ -274,5 +276,37 @@ public class ReadHandlerTest {
         Assert.assertEquals("ConsumedLabel:2", consumedLabels.get(1).getName());
     }
 
+    @Test
+    public void testConvertedModelIsReusedForTheSameLockToken() {
+        final LockTokenCache<ResourceModel> cache = new LockTokenCache<>(CommonVariables.READ_CACHE_MAX_ENTRIES);
+        final ReadHandler cachingHandler = new ReadHandler(mock(Wafv2Client.class), cache);
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(resourceModelWithAvailableAndConsumedLabels)
+                .build();
 
+        doReturn(GetRuleGroupResponse.builder()
+                .ruleGroup(ruleGroupWithAvailableAndConsumedLabels)
+                .lockToken("someLockToken")
+                .build())
+                .when(proxy).injectCredentialsAndInvokeV2(any(GetRuleGroupRequest.class), any());
+        final ResourceModel first = cachingHandler.handleRequest(proxy, request, null, logger).getResourceModel();
+        final ResourceModel second = cachingHandler.handleRequest(proxy, request, null, logger).getResourceModel();
+
+        Assert.assertEquals(1, cache.getMisses());
+        Assert.assertEquals(1, cache.getHits());
+        Assert.assertEquals(first, second);
+        Assert.assertEquals(2, second.getAvailableLabels().size());
+        Assert.assertEquals(2, second.getConsumedLabels().size());
+
+        // an update changes the lock token, the RuleGroup is converted again
+        doReturn(GetRuleGroupResponse.builder()
+                .ruleGroup(ruleGroupWithAvailableAndConsumedLabels)
+                .lockToken("otherLockToken")
+                .build())
+                .when(proxy).injectCredentialsAndInvokeV2(any(GetRuleGroupRequest.class), any());
+        cachingHandler.handleRequest(proxy, request, null, logger);
+
+        Assert.assertEquals(2, cache.getMisses());
+        Assert.assertEquals(1, cache.getHits());
+    }
 }
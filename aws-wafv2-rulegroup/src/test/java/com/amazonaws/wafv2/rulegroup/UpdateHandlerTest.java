@@ -200,7 +200,7 @@ public class UpdateHandlerTest {
         Assert.assertNotNull(response);
         Assert.assertNotNull(response.getCallbackContext());
         Assert.assertEquals(OperationStatus.IN_PROGRESS, response.getStatus());
-        Assert.assertEquals(CommonVariables.CALLBACK_DELAY_SECONDS, response.getCallbackDelaySeconds());
+        Assert.assertEquals(CommonVariables.STABILIZATION_INITIAL_DELAY_SECONDS, response.getCallbackDelaySeconds());
     }
 
     @Test
@@ -209,7 +209,7 @@ public class UpdateHandlerTest {
                 .desiredResourceState(resourceModel)
                 .build();
         final CallbackContext callbackContext = CallbackContext.builder()
-                .stabilizationRetriesRemaining(1)
+                .stabilizationAttempts(1)
                 .build();
 
         final UpdateRuleGroupResponse stubCreateResponse = UpdateRuleGroupResponse.builder()
@@ -246,7 +246,7 @@ public class UpdateHandlerTest {
                 .desiredResourceState(resourceModel)
                 .build();
         final CallbackContext callbackContext = CallbackContext.builder()
-                .stabilizationRetriesRemaining(0)
+                .stabilizationStartTimeMillis(System.currentTimeMillis() - CommonVariables.STABILIZATION_TIMEOUT_MILLIS)
                 .build();
 
         final ProgressEvent<ResourceModel, CallbackContext> response =
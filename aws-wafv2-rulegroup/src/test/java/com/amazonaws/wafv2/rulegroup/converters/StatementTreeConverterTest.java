@@ -0,0 +1,120 @@
+package com.amazonaws.wafv2.rulegroup.converters;
+
+import com.amazonaws.wafv2.rulegroup.AndStatement;
+import com.amazonaws.wafv2.rulegroup.GeoMatchStatement;
+import com.amazonaws.wafv2.rulegroup.IPSetReferenceStatement;
+import com.amazonaws.wafv2.rulegroup.NotStatement;
+import com.amazonaws.wafv2.rulegroup.RateBasedStatement;
+import com.amazonaws.wafv2.rulegroup.Rule;
+import com.amazonaws.wafv2.rulegroup.Statement;
+import com.amazonaws.wafv2.rulegroup.helpers.ObjectMapperHelper;
+import com.google.common.collect.ImmutableList;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class StatementTreeConverterTest {
+
+    @Test
+    public void testFixturesMatchGeneratedConverter() {
+        final List<Statement> statements = new ArrayList<>();
+        statements.add(ObjectMapperHelper.getObject("test-data/test-statement.json", Statement.class));
+        statements.add(ObjectMapperHelper.getObject("test-data/test-statement-three-levels-nested.json",
+                Statement.class));
+        statements.add(ObjectMapperHelper.getObject("test-data/test-statement-five-levels-nested.json",
+                Statement.class));
+
+        final Statement andStatement = Statement.builder().build();
+        andStatement.setAndStatement(ObjectMapperHelper.getObject(
+                "test-data/test-and-or-statement-two-levels-nested.json", AndStatement.class));
+        statements.add(andStatement);
+        final Statement notStatement = Statement.builder().build();
+        notStatement.setNotStatement(ObjectMapperHelper.getObject(
+                "test-data/test-not-statement-two-levels-nested.json", NotStatement.class));
+        statements.add(notStatement);
+        final Statement rateBasedStatement = Statement.builder().build();
+        rateBasedStatement.setRateBasedStatement(ObjectMapperHelper.getObject(
+                "test-data/test-rate-based-statement-two-levels-nested-with-forwarded-ip-config.json",
+                RateBasedStatement.class));
+        statements.add(rateBasedStatement);
+
+        for (final Statement statement : statements) {
+            final software.amazon.awssdk.services.wafv2.model.Statement sdkStatement =
+                    StatementConverter.INSTANCE.convertStatement(statement);
+            Assert.assertEquals(sdkStatement, StatementTreeConverter.INSTANCE.convert(statement));
+            Assert.assertEquals(StatementConverter.INSTANCE.invertStatement(sdkStatement),
+                    StatementTreeConverter.INSTANCE.invert(sdkStatement));
+        }
+    }
+
+    @Test
+    public void testRuleConversionUsesStatementTree() {
+        final Rule rule = ObjectMapperHelper.getObject("test-data/test-rule.json", Rule.class);
+
+        final software.amazon.awssdk.services.wafv2.model.Rule sdkRule = Converter.INSTANCE.convert(rule);
+        Assert.assertEquals(StatementConverter.INSTANCE.convertStatement(rule.getStatement()), sdkRule.statement());
+        Assert.assertEquals(rule.getStatement(), Converter.INSTANCE.invert(sdkRule).getStatement());
+    }
+
+    @Test
+    public void testNullStatement() {
+        Assert.assertNull(StatementTreeConverter.INSTANCE.convert(null));
+        Assert.assertNull(StatementTreeConverter.INSTANCE.invert(null));
+    }
+
+    @Test
+    public void testWideAndStatementKeepsOrder() {
+        final List<Statement> statements = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            statements.add(ipSetReferenceStatement("arn-" + i));
+        }
+        final Statement statement = Statement.builder().build();
+        statement.setAndStatement(AndStatement.builder().build());
+        statement.getAndStatement().setStatements(statements);
+
+        final software.amazon.awssdk.services.wafv2.model.Statement sdkStatement =
+                StatementTreeConverter.INSTANCE.convert(statement);
+        Assert.assertEquals(1000, sdkStatement.andStatement().statements().size());
+        Assert.assertEquals("arn-999", sdkStatement.andStatement().statements().get(999).ipSetReferenceStatement().arn());
+        Assert.assertEquals(statement, StatementTreeConverter.INSTANCE.invert(sdkStatement));
+    }
+
+    @Test
+    public void testDeeplyNestedStatement() {
+        // deep enough to overflow the stack of the recursive generated converter
+        final int depth = 50000;
+        Statement statement = geoMatchStatement("US");
+        for (int i = 0; i < depth; i++) {
+            final Statement parent = Statement.builder().build();
+            parent.setNotStatement(NotStatement.builder().build());
+            parent.getNotStatement().setStatement(statement);
+            statement = parent;
+        }
+
+        software.amazon.awssdk.services.wafv2.model.Statement sdkStatement =
+                StatementTreeConverter.INSTANCE.convert(statement);
+        Statement inverted = StatementTreeConverter.INSTANCE.invert(sdkStatement);
+        for (int i = 0; i < depth; i++) {
+            sdkStatement = sdkStatement.notStatement().statement();
+            inverted = inverted.getNotStatement().getStatement();
+        }
+        Assert.assertEquals(ImmutableList.of("US"), sdkStatement.geoMatchStatement().countryCodesAsStrings());
+        Assert.assertEquals(ImmutableList.of("US"), inverted.getGeoMatchStatement().getCountryCodes());
+    }
+
+    private static Statement ipSetReferenceStatement(final String arn) {
+        final Statement statement = Statement.builder().build();
+        statement.setIPSetReferenceStatement(IPSetReferenceStatement.builder().build());
+        statement.getIPSetReferenceStatement().setArn(arn);
+        return statement;
+    }
+
+    private static Statement geoMatchStatement(final String countryCode) {
+        final Statement statement = Statement.builder().build();
+        statement.setGeoMatchStatement(GeoMatchStatement.builder().build());
+        statement.getGeoMatchStatement().setCountryCodes(ImmutableList.of(countryCode));
+        return statement;
+    }
+}
@@ -0,0 +1,81 @@
+package com.amazonaws.wafv2.webacl;
+
+import com.amazonaws.wafv2.commons.CommonVariables;
+import com.amazonaws.wafv2.commons.CustomerAPIClientBuilder;
+import com.amazonaws.wafv2.commons.ExceptionTranslationWrapper;
+import com.amazonaws.wafv2.commons.HandlerMetrics;
+import com.amazonaws.wafv2.commons.ScopedPageLister;
+import com.amazonaws.wafv2.commons.ScopedResourceLister;
+import lombok.RequiredArgsConstructor;
+import software.amazon.awssdk.services.wafv2.Wafv2Client;
+import software.amazon.awssdk.services.wafv2.model.ListWebAcLsRequest;
+import software.amazon.awssdk.services.wafv2.model.ListWebAcLsResponse;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+
+import java.util.stream.Collectors;
+
+@RequiredArgsConstructor
+public class ListHandler extends BaseHandler<CallbackContext> {
+
+    private final Wafv2Client client;
+    // maximum number of web ACLs requested per scope and invocation
+    private final int pageLimit;
+
+    public ListHandler() {
+        this(CustomerAPIClientBuilder.getClient());
+        Warmup.warmup();
+    }
+
+    public ListHandler(final Wafv2Client client) {
+        this(client, CommonVariables.LIST_PAGE_LIMIT);
+    }
+
+    @Override
+    public ProgressEvent<ResourceModel, CallbackContext> handleRequest(
+            final AmazonWebServicesClientProxy proxy,
+            final ResourceHandlerRequest<ResourceModel> request,
+            final CallbackContext callbackContext,
+            final Logger logger) {
+        return HandlerMetrics.record(ResourceModel.TYPE_NAME, "List", request.getAwsAccountId(), logger,
+                () -> handle(proxy, request, callbackContext, logger));
+    }
+
+    private ProgressEvent<ResourceModel, CallbackContext> handle(
+            final AmazonWebServicesClientProxy proxy,
+            final ResourceHandlerRequest<ResourceModel> request,
+            final CallbackContext callbackContext,
+            final Logger logger) {
+
+        return ScopedResourceLister.list(request.getRegion(), request.getNextToken(),
+                (scope, marker) -> listWebACLsExceptionWrapper(proxy, scope, marker).execute(), null);
+    }
+
+    private ExceptionTranslationWrapper<ScopedPageLister.Page<ResourceModel>> listWebACLsExceptionWrapper(
+            final AmazonWebServicesClientProxy proxy,
+            final String scope,
+            final String marker) {
+        return new ExceptionTranslationWrapper<ScopedPageLister.Page<ResourceModel>>() {
+            @Override
+            public ScopedPageLister.Page<ResourceModel> doWithTranslation() throws RuntimeException {
+                final ListWebAcLsRequest listWebAcLsRequest = ListWebAcLsRequest.builder()
+                        .scope(scope)
+                        .nextMarker(marker)
+                        .limit(pageLimit)
+                        .build();
+                final ListWebAcLsResponse response = proxy.injectCredentialsAndInvokeV2(
+                        listWebAcLsRequest, client::listWebACLs);
+                return new ScopedPageLister.Page<>(response.webACLs().stream()
+                        .map(summary -> ResourceModel.builder()
+                                .name(summary.name())
+                                .id(summary.id())
+                                .scope(scope)
+                                .build())
+                        .collect(Collectors.toList()),
+                        response.nextMarker());
+            }
+        };
+    }
+}
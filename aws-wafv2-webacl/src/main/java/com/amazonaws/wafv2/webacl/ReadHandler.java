@@ -1,8 +1,13 @@
 package com.amazonaws.wafv2.webacl;
 
+import com.amazonaws.wafv2.commons.CommonVariables;
+import com.amazonaws.wafv2.commons.ConcurrentReader;
 import com.amazonaws.wafv2.commons.CustomerAPIClientBuilder;
 import com.amazonaws.wafv2.commons.ExceptionTranslationWrapper;
+import com.amazonaws.wafv2.commons.HandlerExecutors;
 import com.amazonaws.wafv2.commons.HandlerHelper;
+import com.amazonaws.wafv2.commons.HandlerMetrics;
+import com.amazonaws.wafv2.commons.LockTokenCache;
 import com.amazonaws.wafv2.webacl.converters.Converter;
 import com.amazonaws.wafv2.webacl.converters.StatementCommonsConverter;
 import com.google.common.collect.ImmutableList;
@@ -11,23 +16,43 @@ import org.apache.commons.collections.MapUtils;
 import software.amazon.awssdk.services.wafv2.Wafv2Client;
 import software.amazon.awssdk.services.wafv2.model.GetWebAclRequest;
 import software.amazon.awssdk.services.wafv2.model.GetWebAclResponse;
+import software.amazon.awssdk.services.wafv2.model.WebACL;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
 import software.amazon.cloudformation.proxy.Logger;
 import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @RequiredArgsConstructor
 public class ReadHandler extends BaseHandler<CallbackContext> {
 
+    // converted models shared by the handlers of the container, see LockTokenCache
+    private static final LockTokenCache<ResourceModel> READ_CACHE =
+            new LockTokenCache<>(CommonVariables.READ_CACHE_MAX_ENTRIES);
+
     private final Wafv2Client client;
+    private final LockTokenCache<ResourceModel> readCache;
 
     public ReadHandler() {
-        this.client = CustomerAPIClientBuilder.getClient();
+        this(CustomerAPIClientBuilder.getClient(), READ_CACHE);
+        Warmup.warmup();
+    }
+
+    /**
+     * @return the cache of the converted models shared by the Create, Read and Update handlers of the container
+     */
+    static LockTokenCache<ResourceModel> sharedReadCache() {
+        return READ_CACHE;
+    }
+
+    public ReadHandler(final Wafv2Client client) {
+        this(client, new LockTokenCache<>(CommonVariables.READ_CACHE_MAX_ENTRIES));
     }
 
     @Override
@@ -36,40 +61,36 @@ public class ReadHandler extends BaseHandler<CallbackContext> {
             final ResourceHandlerRequest<ResourceModel> request,
             final CallbackContext callbackContext,
             final Logger logger) {
+        return HandlerMetrics.record(ResourceModel.TYPE_NAME, "Read", request.getAwsAccountId(), logger,
+                () -> handle(proxy, request, callbackContext, logger));
+    }
+
+    private ProgressEvent<ResourceModel, CallbackContext> handle(
+            final AmazonWebServicesClientProxy proxy,
+            final ResourceHandlerRequest<ResourceModel> request,
+            final CallbackContext callbackContext,
+            final Logger logger) {
 
         final ResourceModel model = request.getDesiredResourceState();
 
         try {
-            final GetWebAclResponse response = getWebACLExceptionWrapper(proxy, model).execute();
-            final List<Tag> tags = HandlerHelper.getConvertedTags(proxy, client, response.webACL().arn(),
-                    tag -> Tag.builder()
-                            .key(tag.key())
-                            .value(tag.value())
-                            .build());
-            final ResourceModel.ResourceModelBuilder result = ResourceModel.builder()
-                    // primary identifiers
-                    .id(response.webACL().id())
-                    .name(response.webACL().name())
-                    .scope(model.getScope())
-                    // read only fields
-                    .arn(response.webACL().arn())
-                    .capacity(new Integer(Math.toIntExact(response.webACL().capacity().longValue())))
-                    // other fields
-                    .description(response.webACL().description())
-                    .defaultAction(StatementCommonsConverter.INSTANCE.invert(response.webACL().defaultAction()))
-                    .rules(Optional.ofNullable(response.webACL().rules()).orElse(ImmutableList.of()).stream()
-                            .map(rule -> Converter.INSTANCE.invert(rule))
-                            .collect(Collectors.toList()))
-                    .visibilityConfig(StatementCommonsConverter.INSTANCE.invert(response.webACL().visibilityConfig()))
-                    .labelNamespace(response.webACL().labelNamespace())
-                    .tags(tags);
-
-            if (MapUtils.isNotEmpty(response.webACL().customResponseBodies())) {
-                result.customResponseBodies(
-                    Converter.INSTANCE.invert(response.webACL().customResponseBodies()));
-            }
+            final ResourceModel result = ConcurrentReader.read(
+                    () -> getWebACLExceptionWrapper(proxy, model).execute(),
+                    response -> response.webACL().arn(),
+                    model.getArn() != null
+                            ? model.getArn()
+                            : HandlerHelper.buildArn(request, "webacl",
+                                    model.getScope(), model.getName(), model.getId()),
+                    arn -> HandlerHelper.getConvertedTags(proxy, client, arn,
+                            tag -> Tag.builder()
+                                    .key(tag.key())
+                                    .value(tag.value())
+                                    .build()),
+                    (response, tags) -> toResourceModel(model, response, tags),
+                    HandlerExecutors.shared());
+
             return ProgressEvent.<ResourceModel, CallbackContext>builder()
-                    .resourceModel(result.build())
+                    .resourceModel(result)
                     .status(OperationStatus.SUCCESS)
                     .build();
         } catch (RuntimeException e) {
@@ -81,6 +102,81 @@ public class ReadHandler extends BaseHandler<CallbackContext> {
         }
     }
 
+    /**
+     * Builds the model a Read would return after the desired state was written, without reading the WebACL back.
+     *
+     * @param desired        the written desired state
+     * @param id             the WebACL id
+     * @param arn            the WebACL ARN
+     * @param capacity       the capacity computed by WAF for the written rules
+     * @param labelNamespace the label namespace computed by WAF for the WebACL name
+     * @return the model of the written WebACL
+     */
+    static ResourceModel modelAfterWrite(final ResourceModel desired, final String id, final String arn,
+                                         final Integer capacity, final String labelNamespace) {
+        return ResourceModel.builder()
+                .id(id)
+                .name(desired.getName())
+                .scope(desired.getScope())
+                .arn(arn)
+                .capacity(capacity)
+                .description(desired.getDescription())
+                .defaultAction(desired.getDefaultAction())
+                .rules(Optional.ofNullable(desired.getRules()).orElse(ImmutableList.of()))
+                .visibilityConfig(desired.getVisibilityConfig())
+                .labelNamespace(labelNamespace)
+                .customResponseBodies(MapUtils.isNotEmpty(desired.getCustomResponseBodies())
+                        ? desired.getCustomResponseBodies()
+                        : null)
+                .tags(Optional.ofNullable(desired.getTags()).orElse(ImmutableList.of()))
+                .build();
+    }
+
+    // only the fields that take a conversion, shared between the models returned for the same lock token: neither
+    // the handlers nor the models they return may modify them
+    private static ResourceModel convert(final WebACL webACL) {
+        final ResourceModel.ResourceModelBuilder result = ResourceModel.builder()
+                .defaultAction(StatementCommonsConverter.INSTANCE.invert(webACL.defaultAction()))
+                .rules(Collections.unmodifiableList(Optional.ofNullable(webACL.rules()).orElse(ImmutableList.of())
+                        .stream()
+                        .map(rule -> Converter.INSTANCE.invert(rule))
+                        .collect(Collectors.toList())))
+                .visibilityConfig(StatementCommonsConverter.INSTANCE.invert(webACL.visibilityConfig()));
+        if (MapUtils.isNotEmpty(webACL.customResponseBodies())) {
+            result.customResponseBodies(Converter.INSTANCE.invert(webACL.customResponseBodies()));
+        }
+        return result.build();
+    }
+
+    // the rules are converted while the tags are listed, the tags are only waited for last
+    private ResourceModel toResourceModel(final ResourceModel model,
+                                          final GetWebAclResponse response,
+                                          final Supplier<List<Tag>> tags) {
+        // the converted fields only change with the lock token, reuse them while it is unchanged
+        ResourceModel converted = readCache.get(model.getScope(), response.webACL().id(), response.lockToken());
+        if (converted == null) {
+            converted = HandlerMetrics.time("Convert", () -> convert(response.webACL()));
+            readCache.put(model.getScope(), response.webACL().id(), response.lockToken(), converted);
+        }
+        return ResourceModel.builder()
+                // primary identifiers
+                .id(response.webACL().id())
+                .name(response.webACL().name())
+                .scope(model.getScope())
+                // read only fields
+                .arn(response.webACL().arn())
+                .capacity(new Integer(Math.toIntExact(response.webACL().capacity().longValue())))
+                // other fields
+                .description(response.webACL().description())
+                .defaultAction(converted.getDefaultAction())
+                .rules(converted.getRules())
+                .visibilityConfig(converted.getVisibilityConfig())
+                .labelNamespace(response.webACL().labelNamespace())
+                .customResponseBodies(converted.getCustomResponseBodies())
+                .tags(tags.get())
+                .build();
+    }
+
     private ExceptionTranslationWrapper<GetWebAclResponse> getWebACLExceptionWrapper(
             final AmazonWebServicesClientProxy proxy, final ResourceModel model) {
         return new ExceptionTranslationWrapper<GetWebAclResponse>() {
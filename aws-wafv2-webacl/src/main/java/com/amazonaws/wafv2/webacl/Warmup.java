@@ -0,0 +1,39 @@
+package com.amazonaws.wafv2.webacl;
+
+import com.amazonaws.wafv2.commons.HandlerWarmup;
+import com.amazonaws.wafv2.webacl.converters.Converter;
+import com.amazonaws.wafv2.webacl.converters.StatementCommonsConverter;
+import software.amazon.awssdk.services.wafv2.model.AllowAction;
+import software.amazon.awssdk.services.wafv2.model.DefaultAction;
+import software.amazon.awssdk.services.wafv2.model.Rule;
+
+/**
+ * Loads the WebACL converters, resource schema and SDK model classes ahead of the first request.
+ */
+public final class Warmup {
+
+    private Warmup() {
+    }
+
+    /**
+     * Warms up the module, only the first call in a container does any work.
+     */
+    public static void warmup() {
+        HandlerWarmup.runOnce(Warmup.class, Warmup::run);
+    }
+
+    private static void run() {
+        new Configuration().resourceSchemaJSONObject();
+        convertSamples();
+    }
+
+    // converts the sample rule of HandlerWarmup and the objects around it both ways
+    static void convertSamples() {
+        final Rule rule = HandlerWarmup.sampleRule();
+        Converter.INSTANCE.convert(Converter.INSTANCE.invert(rule));
+        StatementCommonsConverter.INSTANCE.convert(StatementCommonsConverter.INSTANCE.invert(
+                DefaultAction.builder().allow(AllowAction.builder().build()).build()));
+        StatementCommonsConverter.INSTANCE.convert(StatementCommonsConverter.INSTANCE.invert(rule.visibilityConfig()));
+        Converter.INSTANCE.convert(Tag.builder().key("warmup").value("warmup").build());
+    }
+}
@@ -2,8 +2,8 @@ package com.amazonaws.wafv2.webacl.converters;
 
 import org.mapstruct.Mapper;
 
+import org.mapstruct.Mapping;
 import org.mapstruct.NullValueCheckStrategy;
-import org.mapstruct.factory.Mappers;
 import software.amazon.awssdk.services.wafv2.model.CustomResponseBody;
 import software.amazon.awssdk.services.wafv2.model.Rule;
 import software.amazon.awssdk.services.wafv2.model.Tag;
@@ -16,12 +16,15 @@ import java.util.Map;
 @Mapper(uses = { StatementCommonsConverter.class, StatementConverter.class },
         nullValueCheckStrategy = NullValueCheckStrategy.ALWAYS)
 public interface Converter {
-    Converter INSTANCE = Mappers.getMapper(Converter.class);
+    Converter INSTANCE = new ConverterImpl();
 
     //---------------------------------------------------------------------
     // Rule
     //---------------------------------------------------------------------
+    // statement trees are converted iteratively, see StatementTreeConverter
+    @Mapping(target = "statement", expression = "java(StatementTreeConverter.INSTANCE.convert(source.getStatement()))")
     Rule convert(com.amazonaws.wafv2.webacl.Rule source);
+    @Mapping(target = "statement", expression = "java(StatementTreeConverter.INSTANCE.invert(source.statement()))")
     com.amazonaws.wafv2.webacl.Rule invert(Rule source);
 
     //---------------------------------------------------------------------
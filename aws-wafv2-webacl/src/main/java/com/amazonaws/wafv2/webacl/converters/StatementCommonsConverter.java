@@ -4,7 +4,6 @@ import com.google.common.collect.ImmutableMap;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.NullValueCheckStrategy;
-import org.mapstruct.factory.Mappers;
 import software.amazon.awssdk.core.SdkBytes;
 import software.amazon.awssdk.services.wafv2.model.All;
 import software.amazon.awssdk.services.wafv2.model.AllQueryArguments;
@@ -33,7 +32,7 @@ import java.util.Map;
  */
 @Mapper(nullValueCheckStrategy = NullValueCheckStrategy.ALWAYS)
 public interface StatementCommonsConverter {
-    StatementCommonsConverter INSTANCE = Mappers.getMapper(StatementCommonsConverter.class);
+    StatementCommonsConverter INSTANCE = new StatementCommonsConverterImpl();
 
     //---------------------------------------------------------------------
     // DefaultAction
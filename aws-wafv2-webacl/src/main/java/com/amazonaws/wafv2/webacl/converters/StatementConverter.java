@@ -3,8 +3,8 @@ package com.amazonaws.wafv2.webacl.converters;
 import com.amazonaws.util.Base64;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
+import org.mapstruct.Named;
 import org.mapstruct.NullValueCheckStrategy;
-import org.mapstruct.factory.Mappers;
 import software.amazon.awssdk.core.SdkBytes;
 import software.amazon.awssdk.services.wafv2.model.AndStatement;
 import software.amazon.awssdk.services.wafv2.model.ByteMatchStatement;
@@ -31,7 +31,7 @@ import java.util.stream.Collectors;
  */
 @Mapper(uses = StatementCommonsConverter.class, nullValueCheckStrategy = NullValueCheckStrategy.ALWAYS)
 public interface StatementConverter {
-    StatementConverter INSTANCE = Mappers.getMapper(StatementConverter.class);
+    StatementConverter INSTANCE = new StatementConverterImpl();
 
     //---------------------------------------------------------------------
     // AndStatement
@@ -58,6 +58,11 @@ public interface StatementConverter {
     //---------------------------------------------------------------------
     ManagedRuleGroupStatement convertManagedRuleGroupStatement(com.amazonaws.wafv2.webacl.ManagedRuleGroupStatement source);
     com.amazonaws.wafv2.webacl.ManagedRuleGroupStatement invertManagedRuleGroupStatement(ManagedRuleGroupStatement source);
+    // the leaf of a statement tree, whose scope-down statement is converted separately
+    @Named("withoutScopeDownStatement")
+    @Mapping(target = "scopeDownStatement", ignore = true)
+    ManagedRuleGroupStatement convertManagedRuleGroupStatementWithoutScopeDown(
+            com.amazonaws.wafv2.webacl.ManagedRuleGroupStatement source);
 
     //---------------------------------------------------------------------
     // NotStatement
@@ -76,6 +81,11 @@ public interface StatementConverter {
     //---------------------------------------------------------------------
     RateBasedStatement convertRateBasedStatement(com.amazonaws.wafv2.webacl.RateBasedStatement source);
     com.amazonaws.wafv2.webacl.RateBasedStatement invertRateBasedStatement(RateBasedStatement source);
+    // the leaf of a statement tree, whose scope-down statement is converted separately
+    @Named("withoutScopeDownStatement")
+    @Mapping(target = "scopeDownStatement", ignore = true)
+    RateBasedStatement convertRateBasedStatementWithoutScopeDown(
+            com.amazonaws.wafv2.webacl.RateBasedStatement source);
 
     //---------------------------------------------------------------------
     // RegexPatternSetReferenceStatement
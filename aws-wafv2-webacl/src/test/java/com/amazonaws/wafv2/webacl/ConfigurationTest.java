@@ -0,0 +1,16 @@
+package com.amazonaws.wafv2.webacl;
+
+import org.json.JSONObject;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ConfigurationTest {
+
+    @Test
+    public void testSchemaIsParsedOnce() {
+        final JSONObject schema = new Configuration().resourceSchemaJSONObject();
+
+        Assert.assertSame(schema, new Configuration().resourceSchemaJSONObject());
+        Assert.assertEquals("AWS::WAFv2::WebACL", schema.getString("typeName"));
+    }
+}
@@ -1,6 +1,9 @@
 package com.amazonaws.wafv2.webacl;
 
 import com.amazonaws.wafv2.commons.CommonVariables;
+import com.amazonaws.wafv2.commons.ExponentialBackoffStabilizationScheduler;
+import com.amazonaws.wafv2.commons.InProcessPoller;
+import com.amazonaws.wafv2.commons.LockTokenCache;
 import com.amazonaws.wafv2.webacl.helpers.WebACLHelper;
 import org.junit.Assert;
 import org.junit.Before;
@@ -32,6 +35,8 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 
 public class CreateHandlerTest {
 
@@ -227,7 +232,7 @@ public class CreateHandlerTest {
         Assert.assertNotNull(response);
         Assert.assertNotNull(response.getCallbackContext());
         Assert.assertEquals(OperationStatus.IN_PROGRESS, response.getStatus());
-        Assert.assertEquals(CommonVariables.CALLBACK_DELAY_SECONDS, response.getCallbackDelaySeconds());
+        Assert.assertEquals(CommonVariables.STABILIZATION_INITIAL_DELAY_SECONDS, response.getCallbackDelaySeconds());
     }
 
     @Test
@@ -236,7 +241,7 @@ public class CreateHandlerTest {
                 .desiredResourceState(resourceModel)
                 .build();
         final CallbackContext callbackContext = CallbackContext.builder()
-                .stabilizationRetriesRemaining(1)
+                .stabilizationAttempts(1)
                 .build();
 
         final WebACLSummary stubWebACLSummary = WebACLSummary.builder()
@@ -281,7 +286,7 @@ public class CreateHandlerTest {
                 .desiredResourceState(resourceModel)
                 .build();
         final CallbackContext callbackContext = CallbackContext.builder()
-                .stabilizationRetriesRemaining(0)
+                .stabilizationStartTimeMillis(System.currentTimeMillis() - CommonVariables.STABILIZATION_TIMEOUT_MILLIS)
                 .build();
 
         final ProgressEvent<ResourceModel, CallbackContext> response =
@@ -405,4 +410,41 @@ public class CreateHandlerTest {
         Assert.assertNotNull(ruleWithRuleLabels.getRuleLabels().get(1).getName());
         Assert.assertEquals("testRuleLabel2", ruleWithRuleLabels.getRuleLabels().get(1).getName());
     }
+
+    @Test
+    public void testCreateWebACLWithModelFromWriteResponse() {
+        final CreateHandler handler = new CreateHandler(mock(Wafv2Client.class),
+                ExponentialBackoffStabilizationScheduler.DEFAULT, InProcessPoller.DEFAULT,
+                new LockTokenCache<>(CommonVariables.READ_CACHE_MAX_ENTRIES), true);
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(resourceModel)
+                .build();
+
+        final CreateWebAclResponse stubCreateResponse = CreateWebAclResponse.builder()
+                .summary(WebACLSummary.builder()
+                        .arn(webACL.arn())
+                        .id(webACL.id())
+                        .name(webACL.name())
+                        .lockToken("dummyLockToken")
+                        .build())
+                .build();
+        final GetWebAclResponse stubGetResponse = GetWebAclResponse.builder()
+                .webACL(webACL.toBuilder().labelNamespace("awswaf:123456789012:webacl:test:").build())
+                .build();
+
+        doReturn(stubCreateResponse).when(proxy).injectCredentialsAndInvokeV2(any(CreateWebAclRequest.class), any());
+        doReturn(stubGetResponse).when(proxy).injectCredentialsAndInvokeV2(any(GetWebAclRequest.class), any());
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+                handler.handleRequest(proxy, request, null, logger);
+
+        Assert.assertEquals(OperationStatus.SUCCESS, response.getStatus());
+        Assert.assertEquals(webACL.id(), response.getResourceModel().getId());
+        Assert.assertEquals(webACL.arn(), response.getResourceModel().getArn());
+        Assert.assertEquals(webACL.capacity().intValue(), response.getResourceModel().getCapacity().intValue());
+        Assert.assertEquals("awswaf:123456789012:webacl:test:", response.getResourceModel().getLabelNamespace());
+        Assert.assertEquals(resourceModel.getRules(), response.getResourceModel().getRules());
+        Assert.assertEquals(resourceModel.getDefaultAction(), response.getResourceModel().getDefaultAction());
+        // the tags and the rules are not read back
+        verify(proxy, never()).injectCredentialsAndInvokeV2(any(ListTagsForResourceRequest.class), any());
+    }
 }
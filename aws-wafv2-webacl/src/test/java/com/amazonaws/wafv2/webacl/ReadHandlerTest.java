@@ -1,9 +1,12 @@
 package com.amazonaws.wafv2.webacl;
 
+import com.amazonaws.wafv2.commons.CommonVariables;
+import com.amazonaws.wafv2.commons.LockTokenCache;
 import com.amazonaws.wafv2.webacl.helpers.WebACLHelper;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import software.amazon.awssdk.services.wafv2.Wafv2Client;
 import software.amazon.awssdk.services.wafv2.model.GetWebAclRequest;
@@ -22,11 +25,17 @@ import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
 
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 public class ReadHandlerTest {
 
@@ -243,4 +252,91 @@ public class ReadHandlerTest {
         Assert.assertNotNull(ruleWithRuleLabels.getRuleLabels().get(1).getName());
         Assert.assertEquals("testRuleLabel2", ruleWithRuleLabels.getRuleLabels().get(1).getName());
     }
+
+    @Test
+    public void testConvertedModelIsReusedForTheSameLockToken() {
+        final LockTokenCache<ResourceModel> cache = new LockTokenCache<>(CommonVariables.READ_CACHE_MAX_ENTRIES);
+        final ReadHandler cachingHandler = new ReadHandler(mock(Wafv2Client.class), cache);
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(resourceModel)
+                .build();
+
+        doReturn(GetWebAclResponse.builder().webACL(webACL).lockToken("someLockToken").build())
+                .when(proxy).injectCredentialsAndInvokeV2(any(GetWebAclRequest.class), any());
+        final ResourceModel first = cachingHandler.handleRequest(proxy, request, null, logger).getResourceModel();
+        final ResourceModel second = cachingHandler.handleRequest(proxy, request, null, logger).getResourceModel();
+
+        Assert.assertEquals(1, cache.getMisses());
+        Assert.assertEquals(1, cache.getHits());
+        Assert.assertEquals(first, second);
+        Assert.assertSame(first.getRules(), second.getRules());
+
+        // an update changes the lock token, the WebACL is converted again
+        doReturn(GetWebAclResponse.builder().webACL(webACLCustomRequestResponse).lockToken("otherLockToken").build())
+                .when(proxy).injectCredentialsAndInvokeV2(any(GetWebAclRequest.class), any());
+        final ResourceModel updated = cachingHandler.handleRequest(proxy, request, null, logger).getResourceModel();
+
+        Assert.assertEquals(2, cache.getMisses());
+        Assert.assertEquals(1, cache.getHits());
+        Assert.assertEquals(3, updated.getRules().size());
+        Assert.assertNotNull(updated.getCustomResponseBodies());
+    }
+
+    @Test
+    public void testGetWebACLWithKnownArnListsTagsOnce() {
+        resourceModel.setArn(webACL.arn());
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(resourceModel)
+                .build();
+
+        doReturn(GetWebAclResponse.builder().webACL(webACL).lockToken("someLockToken").build())
+                .when(proxy).injectCredentialsAndInvokeV2(any(GetWebAclRequest.class), any());
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+                readHandler.handleRequest(proxy, request, null, logger);
+
+        Assert.assertEquals(OperationStatus.SUCCESS, response.getStatus());
+        Assert.assertEquals(webACL.arn(), response.getResourceModel().getArn());
+        Assert.assertEquals(1, response.getResourceModel().getTags().size());
+        Assert.assertEquals("k1", response.getResourceModel().getTags().get(0).getKey());
+        verify(proxy, times(1)).injectCredentialsAndInvokeV2(any(ListTagsForResourceRequest.class), any());
+    }
+
+    @Test
+    public void testGetWebACLWithoutArnListsTagsWhileGetting() {
+        // drift detection only passes the primary identifiers, the ARN is built from the request
+        final String arn = "arn:aws:wafv2:us-west-2:123456789012:regional/webacl/" + webACL.name() + "/" + webACL.id();
+        resourceModel.setId(webACL.id());
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(resourceModel)
+                .awsPartition("aws")
+                .awsAccountId("123456789012")
+                .region("us-west-2")
+                .build();
+        final CountDownLatch tagsListed = new CountDownLatch(1);
+        final AtomicBoolean listedBeforeGet = new AtomicBoolean();
+
+        doAnswer(invocation -> {
+            tagsListed.countDown();
+            return ListTagsForResourceResponse.builder()
+                    .tagInfoForResource(TagInfoForResource.builder()
+                            .tagList(Tag.builder().key("k1").value("v1").build())
+                            .build())
+                    .build();
+        }).when(proxy).injectCredentialsAndInvokeV2(any(ListTagsForResourceRequest.class), any());
+        doAnswer(invocation -> {
+            listedBeforeGet.set(tagsListed.await(5, TimeUnit.SECONDS));
+            return GetWebAclResponse.builder().webACL(webACL.toBuilder().arn(arn).build()).lockToken("token").build();
+        }).when(proxy).injectCredentialsAndInvokeV2(any(GetWebAclRequest.class), any());
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+                readHandler.handleRequest(proxy, request, null, logger);
+
+        Assert.assertEquals(OperationStatus.SUCCESS, response.getStatus());
+        Assert.assertEquals(arn, response.getResourceModel().getArn());
+        Assert.assertEquals("k1", response.getResourceModel().getTags().get(0).getKey());
+        Assert.assertTrue(listedBeforeGet.get());
+        final ArgumentCaptor<ListTagsForResourceRequest> listTags =
+                ArgumentCaptor.forClass(ListTagsForResourceRequest.class);
+        verify(proxy, times(1)).injectCredentialsAndInvokeV2(listTags.capture(), any());
+        Assert.assertEquals(arn, listTags.getValue().resourceARN());
+    }
 }
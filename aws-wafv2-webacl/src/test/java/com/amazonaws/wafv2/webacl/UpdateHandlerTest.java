@@ -1,10 +1,14 @@
 package com.amazonaws.wafv2.webacl;
 
 import com.amazonaws.wafv2.commons.CommonVariables;
+import com.amazonaws.wafv2.commons.ExponentialBackoffStabilizationScheduler;
+import com.amazonaws.wafv2.commons.LockTokenCache;
 import com.amazonaws.wafv2.webacl.helpers.WebACLHelper;
+import com.google.common.collect.ImmutableList;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentMatcher;
 import org.mockito.Mock;
 import software.amazon.awssdk.services.wafv2.Wafv2Client;
 import software.amazon.awssdk.services.wafv2.model.GetWebAclRequest;
@@ -13,9 +17,12 @@ import software.amazon.awssdk.services.wafv2.model.ListTagsForResourceRequest;
 import software.amazon.awssdk.services.wafv2.model.ListTagsForResourceResponse;
 import software.amazon.awssdk.services.wafv2.model.Tag;
 import software.amazon.awssdk.services.wafv2.model.TagInfoForResource;
+import software.amazon.awssdk.services.wafv2.model.TagResourceRequest;
+import software.amazon.awssdk.services.wafv2.model.UntagResourceRequest;
 import software.amazon.awssdk.services.wafv2.model.UpdateWebAclRequest;
 import software.amazon.awssdk.services.wafv2.model.UpdateWebAclResponse;
 import software.amazon.awssdk.services.wafv2.model.WafLimitsExceededException;
+import software.amazon.awssdk.services.wafv2.model.WafOptimisticLockException;
 import software.amazon.awssdk.services.wafv2.model.WafUnavailableEntityException;
 import software.amazon.awssdk.services.wafv2.model.WebACL;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
@@ -25,12 +32,17 @@ import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
 
+import java.util.List;
 import java.util.Map;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 public class UpdateHandlerTest {
 
@@ -219,7 +231,7 @@ public class UpdateHandlerTest {
         Assert.assertNotNull(response);
         Assert.assertNotNull(response.getCallbackContext());
         Assert.assertEquals(OperationStatus.IN_PROGRESS, response.getStatus());
-        Assert.assertEquals(CommonVariables.CALLBACK_DELAY_SECONDS, response.getCallbackDelaySeconds());
+        Assert.assertEquals(CommonVariables.STABILIZATION_INITIAL_DELAY_SECONDS, response.getCallbackDelaySeconds());
     }
 
     @Test
@@ -228,7 +240,7 @@ public class UpdateHandlerTest {
                 .desiredResourceState(resourceModel)
                 .build();
         final CallbackContext callbackContext = CallbackContext.builder()
-                .stabilizationRetriesRemaining(1)
+                .stabilizationAttempts(1)
                 .build();
 
         final UpdateWebAclResponse stubUpdateResponse = UpdateWebAclResponse.builder()
@@ -266,7 +278,7 @@ public class UpdateHandlerTest {
                 .desiredResourceState(resourceModel)
                 .build();
         final CallbackContext callbackContext = CallbackContext.builder()
-                .stabilizationRetriesRemaining(0)
+                .stabilizationStartTimeMillis(System.currentTimeMillis() - CommonVariables.STABILIZATION_TIMEOUT_MILLIS)
                 .build();
 
         final ProgressEvent<ResourceModel, CallbackContext> response =
@@ -381,4 +393,255 @@ public class UpdateHandlerTest {
         Assert.assertNotNull(ruleWithRuleLabels.getRuleLabels().get(1).getName());
         Assert.assertEquals("testRuleLabel2", ruleWithRuleLabels.getRuleLabels().get(1).getName());
     }
+
+    @Test
+    public void testUpdateReusesLockTokenFromCallbackContext() {
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(resourceModel)
+                .build();
+        final CallbackContext callbackContext = CallbackContext.builder()
+                .stabilizationAttempts(1)
+                .lockToken("cachedLockToken")
+                .build();
+
+        final UpdateWebAclResponse stubUpdateResponse = UpdateWebAclResponse.builder()
+                .nextLockToken("dummyLockToken")
+                .build();
+        final GetWebAclResponse stubGetResponse = GetWebAclResponse.builder()
+                .webACL(webACL)
+                .build();
+
+        doReturn(stubUpdateResponse).when(proxy).injectCredentialsAndInvokeV2(any(UpdateWebAclRequest.class), any());
+        doReturn(stubGetResponse).when(proxy).injectCredentialsAndInvokeV2(any(GetWebAclRequest.class), any());
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+                updateHandler.handleRequest(proxy, request, callbackContext, logger);
+
+        Assert.assertNotNull(response);
+        Assert.assertEquals(OperationStatus.SUCCESS, response.getStatus());
+        // the only Get is the read of the updated WebACL
+        verify(proxy, times(1)).injectCredentialsAndInvokeV2(any(GetWebAclRequest.class), any());
+        verify(proxy).injectCredentialsAndInvokeV2(updateRequestWithLockToken("cachedLockToken"), any());
+    }
+
+    @Test
+    public void testUpdateRefreshesStaleLockToken() {
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(resourceModel)
+                .build();
+        final CallbackContext callbackContext = CallbackContext.builder()
+                .stabilizationAttempts(1)
+                .lockToken("staleLockToken")
+                .build();
+
+        final UpdateWebAclResponse stubUpdateResponse = UpdateWebAclResponse.builder()
+                .nextLockToken("dummyLockToken")
+                .build();
+        final GetWebAclResponse stubGetResponse = GetWebAclResponse.builder()
+                .webACL(webACL)
+                .lockToken("freshLockToken")
+                .build();
+
+        doThrow(WafOptimisticLockException.builder().build())
+                .doReturn(stubUpdateResponse)
+                .when(proxy).injectCredentialsAndInvokeV2(any(UpdateWebAclRequest.class), any());
+        doReturn(stubGetResponse).when(proxy).injectCredentialsAndInvokeV2(any(GetWebAclRequest.class), any());
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+                updateHandler.handleRequest(proxy, request, callbackContext, logger);
+
+        Assert.assertNotNull(response);
+        Assert.assertEquals(OperationStatus.SUCCESS, response.getStatus());
+        verify(proxy, times(2)).injectCredentialsAndInvokeV2(any(UpdateWebAclRequest.class), any());
+        verify(proxy).injectCredentialsAndInvokeV2(updateRequestWithLockToken("freshLockToken"), any());
+    }
+
+    @Test
+    public void testUpdateWithStabilizationPersistsLockToken() {
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(resourceModel)
+                .build();
+        final GetWebAclResponse stubGetResponse = GetWebAclResponse.builder()
+                .webACL(webACL)
+                .lockToken("dummyLockToken")
+                .build();
+
+        doReturn(stubGetResponse)
+                .when(proxy).injectCredentialsAndInvokeV2(any(GetWebAclRequest.class), any());
+        doThrow(WafUnavailableEntityException.builder().build())
+                .when(proxy).injectCredentialsAndInvokeV2(any(UpdateWebAclRequest.class), any());
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+                updateHandler.handleRequest(proxy, request, null, logger);
+
+        Assert.assertNotNull(response);
+        Assert.assertEquals(OperationStatus.IN_PROGRESS, response.getStatus());
+        Assert.assertEquals("dummyLockToken", response.getCallbackContext().getLockToken());
+    }
+
+    @Test
+    public void testUpdateReconcilesChangedTags() {
+        final ResourceModel previousModel = WebACLHelper.getTestResourceModel();
+        previousModel.setArn("previousArn");
+        previousModel.setTags(ImmutableList.of(modelTag("k1", "v1"), modelTag("k2", "v2"), modelTag("k3", "v3")));
+        resourceModel.setTags(ImmutableList.of(modelTag("k1", "v1"), modelTag("k2", "changed"), modelTag("k4", "v4")));
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(resourceModel)
+                .previousResourceState(previousModel)
+                .build();
+
+        doReturn(UpdateWebAclResponse.builder().nextLockToken("dummyLockToken").build())
+                .when(proxy).injectCredentialsAndInvokeV2(any(UpdateWebAclRequest.class), any());
+        doReturn(GetWebAclResponse.builder().webACL(webACL).lockToken("dummyLockToken").build())
+                .when(proxy).injectCredentialsAndInvokeV2(any(GetWebAclRequest.class), any());
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+                updateHandler.handleRequest(proxy, request, null, logger);
+
+        Assert.assertEquals(OperationStatus.SUCCESS, response.getStatus());
+        verify(proxy, times(1)).injectCredentialsAndInvokeV2(tagResourceRequest("previousArn", ImmutableList.of(
+                Tag.builder().key("k2").value("changed").build(),
+                Tag.builder().key("k4").value("v4").build())), any());
+        verify(proxy, times(1)).injectCredentialsAndInvokeV2(untagResourceRequest("previousArn",
+                ImmutableList.of("k3")), any());
+    }
+
+    @Test
+    public void testUpdateSkipsUnchangedTags() {
+        final ResourceModel previousModel = WebACLHelper.getTestResourceModel();
+        previousModel.setTags(ImmutableList.of(modelTag("k1", "v1")));
+        resourceModel.setTags(ImmutableList.of(modelTag("k1", "v1")));
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(resourceModel)
+                .previousResourceState(previousModel)
+                .build();
+
+        doReturn(UpdateWebAclResponse.builder().nextLockToken("dummyLockToken").build())
+                .when(proxy).injectCredentialsAndInvokeV2(any(UpdateWebAclRequest.class), any());
+        doReturn(GetWebAclResponse.builder().webACL(webACL).lockToken("dummyLockToken").build())
+                .when(proxy).injectCredentialsAndInvokeV2(any(GetWebAclRequest.class), any());
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+                updateHandler.handleRequest(proxy, request, null, logger);
+
+        Assert.assertEquals(OperationStatus.SUCCESS, response.getStatus());
+        verify(proxy, never()).injectCredentialsAndInvokeV2(any(TagResourceRequest.class), any());
+        verify(proxy, never()).injectCredentialsAndInvokeV2(any(UntagResourceRequest.class), any());
+    }
+
+    private static com.amazonaws.wafv2.webacl.Tag modelTag(final String key, final String value) {
+        return com.amazonaws.wafv2.webacl.Tag.builder().key(key).value(value).build();
+    }
+
+    private static TagResourceRequest tagResourceRequest(final String arn, final List<Tag> tags) {
+        return argThat(new ArgumentMatcher<TagResourceRequest>() {
+            @Override
+            public boolean matches(final TagResourceRequest tagRequest) {
+                return arn.equals(tagRequest.resourceARN()) && tags.equals(tagRequest.tags());
+            }
+        });
+    }
+
+    private static UntagResourceRequest untagResourceRequest(final String arn, final List<String> tagKeys) {
+        return argThat(new ArgumentMatcher<UntagResourceRequest>() {
+            @Override
+            public boolean matches(final UntagResourceRequest untagRequest) {
+                return arn.equals(untagRequest.resourceARN()) && tagKeys.equals(untagRequest.tagKeys());
+            }
+        });
+    }
+
+    private static UpdateWebAclRequest updateRequestWithLockToken(final String lockToken) {
+        return argThat(new ArgumentMatcher<UpdateWebAclRequest>() {
+            @Override
+            public boolean matches(final UpdateWebAclRequest updateRequest) {
+                return lockToken.equals(updateRequest.lockToken());
+            }
+        });
+    }
+
+    @Test
+    public void testUpdateWithModelFromWriteResponseKeepsComputedFieldsOfUnchangedRules() {
+        final UpdateHandler handler = new UpdateHandler(mock(Wafv2Client.class),
+                ExponentialBackoffStabilizationScheduler.DEFAULT,
+                new LockTokenCache<>(CommonVariables.READ_CACHE_MAX_ENTRIES), true);
+        final ResourceModel previousModel = WebACLHelper.getTestResourceModel();
+        previousModel.setArn("previousArn");
+        previousModel.setCapacity(7);
+        previousModel.setLabelNamespace("previousLabelNamespace");
+        resourceModel.setDescription("changed description");
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(resourceModel)
+                .previousResourceState(previousModel)
+                .build();
+        final CallbackContext callbackContext = CallbackContext.builder()
+                .lockToken("cachedLockToken")
+                .build();
+
+        doReturn(UpdateWebAclResponse.builder().nextLockToken("dummyLockToken").build())
+                .when(proxy).injectCredentialsAndInvokeV2(any(UpdateWebAclRequest.class), any());
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+                handler.handleRequest(proxy, request, callbackContext, logger);
+
+        Assert.assertEquals(OperationStatus.SUCCESS, response.getStatus());
+        Assert.assertEquals("previousArn", response.getResourceModel().getArn());
+        Assert.assertEquals(7, response.getResourceModel().getCapacity().intValue());
+        Assert.assertEquals("previousLabelNamespace", response.getResourceModel().getLabelNamespace());
+        Assert.assertEquals("changed description", response.getResourceModel().getDescription());
+        verify(proxy, never()).injectCredentialsAndInvokeV2(any(GetWebAclRequest.class), any());
+        verify(proxy, never()).injectCredentialsAndInvokeV2(any(ListTagsForResourceRequest.class), any());
+    }
+
+    @Test
+    public void testUpdateWithModelFromWriteResponseFetchesCapacityOfChangedRules() {
+        final UpdateHandler handler = new UpdateHandler(mock(Wafv2Client.class),
+                ExponentialBackoffStabilizationScheduler.DEFAULT,
+                new LockTokenCache<>(CommonVariables.READ_CACHE_MAX_ENTRIES), true);
+        final ResourceModel previousModel = WebACLHelper.getTestResourceModel();
+        previousModel.setArn("previousArn");
+        previousModel.setCapacity(7);
+        previousModel.setLabelNamespace("previousLabelNamespace");
+        previousModel.setRules(ImmutableList.of());
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(resourceModel)
+                .previousResourceState(previousModel)
+                .build();
+        final CallbackContext callbackContext = CallbackContext.builder()
+                .lockToken("cachedLockToken")
+                .build();
+
+        doReturn(UpdateWebAclResponse.builder().nextLockToken("dummyLockToken").build())
+                .when(proxy).injectCredentialsAndInvokeV2(any(UpdateWebAclRequest.class), any());
+        doReturn(GetWebAclResponse.builder().webACL(webACL).lockToken("dummyLockToken").build())
+                .when(proxy).injectCredentialsAndInvokeV2(any(GetWebAclRequest.class), any());
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+                handler.handleRequest(proxy, request, callbackContext, logger);
+
+        Assert.assertEquals(OperationStatus.SUCCESS, response.getStatus());
+        Assert.assertEquals(webACL.capacity().intValue(), response.getResourceModel().getCapacity().intValue());
+        Assert.assertEquals(resourceModel.getRules(), response.getResourceModel().getRules());
+        verify(proxy, times(1)).injectCredentialsAndInvokeV2(any(GetWebAclRequest.class), any());
+        verify(proxy, never()).injectCredentialsAndInvokeV2(any(ListTagsForResourceRequest.class), any());
+    }
+
+    @Test
+    public void testUpdateSkipsUnchangedWebACL() {
+        final ResourceModel previousModel = WebACLHelper.getTestResourceModel();
+        previousModel.setArn("previousArn");
+        previousModel.setCapacity(7);
+        previousModel.setLabelNamespace("previousLabelNamespace");
+        previousModel.setTags(ImmutableList.of(modelTag("k1", "v1")));
+        resourceModel.setTags(ImmutableList.of(modelTag("k1", "changed")));
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(resourceModel)
+                .previousResourceState(previousModel)
+                .build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+                updateHandler.handleRequest(proxy, request, null, logger);
+
+        Assert.assertEquals(OperationStatus.SUCCESS, response.getStatus());
+        Assert.assertEquals("previousArn", response.getResourceModel().getArn());
+        Assert.assertEquals(7, response.getResourceModel().getCapacity().intValue());
+        Assert.assertEquals(resourceModel.getTags(), response.getResourceModel().getTags());
+        verify(proxy, never()).injectCredentialsAndInvokeV2(any(UpdateWebAclRequest.class), any());
+        verify(proxy, never()).injectCredentialsAndInvokeV2(any(GetWebAclRequest.class), any());
+        verify(proxy, times(1)).injectCredentialsAndInvokeV2(tagResourceRequest("previousArn", ImmutableList.of(
+                Tag.builder().key("k1").value("changed").build())), any());
+    }
 }
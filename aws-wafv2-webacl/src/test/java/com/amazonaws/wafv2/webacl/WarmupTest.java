@@ -0,0 +1,12 @@
+package com.amazonaws.wafv2.webacl;
+
+import org.junit.Test;
+
+public class WarmupTest {
+
+    @Test
+    public void testConvertSamples() {
+        // warmup failures are ignored at runtime, make sure the samples themselves convert
+        Warmup.convertSamples();
+    }
+}
@@ -1,5 +1,7 @@
 package com.amazonaws.wafv2.webaclassociation;
 
+import com.amazonaws.wafv2.commons.StabilizationState;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -9,6 +11,9 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
-public class CallbackContext {
-    private int stabilizationRetriesRemaining;
+// contexts persisted by earlier handler versions may still carry stabilizationRetriesRemaining
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class CallbackContext implements StabilizationState {
+    private int stabilizationAttempts;
+    private long stabilizationStartTimeMillis;
 }
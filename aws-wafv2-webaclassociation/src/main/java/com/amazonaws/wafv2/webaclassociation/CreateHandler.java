@@ -1,8 +1,11 @@
 package com.amazonaws.wafv2.webaclassociation;
 
-import com.amazonaws.wafv2.commons.CommonVariables;
 import com.amazonaws.wafv2.commons.CustomerAPIClientBuilder;
 import com.amazonaws.wafv2.commons.ExceptionTranslationWrapper;
+import com.amazonaws.wafv2.commons.ExponentialBackoffStabilizationScheduler;
+import com.amazonaws.wafv2.commons.HandlerMetrics;
+import com.amazonaws.wafv2.commons.InProcessPoller;
+import com.amazonaws.wafv2.commons.StabilizationScheduler;
 import lombok.RequiredArgsConstructor;
 import software.amazon.awssdk.services.wafv2.Wafv2Client;
 import software.amazon.awssdk.services.wafv2.model.AssociateWebAclRequest;
@@ -15,13 +18,22 @@ import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
 
+import java.util.OptionalInt;
+
 @RequiredArgsConstructor
 public class CreateHandler extends BaseHandler<CallbackContext> {
 
     private final Wafv2Client client;
+    private final StabilizationScheduler stabilizationScheduler;
+    private final InProcessPoller inProcessPoller;
 
     public CreateHandler() {
-        this.client = CustomerAPIClientBuilder.getClient();
+        this(CustomerAPIClientBuilder.getClient());
+        Warmup.warmup();
+    }
+
+    public CreateHandler(final Wafv2Client client) {
+        this(client, ExponentialBackoffStabilizationScheduler.DEFAULT, InProcessPoller.DEFAULT);
     }
 
     @Override
@@ -30,23 +42,35 @@ public class CreateHandler extends BaseHandler<CallbackContext> {
         final ResourceHandlerRequest<ResourceModel> request,
         final CallbackContext callbackContext,
         final Logger logger) {
+        return HandlerMetrics.record(ResourceModel.TYPE_NAME, "Create", request.getAwsAccountId(), logger,
+                () -> handle(proxy, request, callbackContext, logger));
+    }
+
+    private ProgressEvent<ResourceModel, CallbackContext> handle(
+        final AmazonWebServicesClientProxy proxy,
+        final ResourceHandlerRequest<ResourceModel> request,
+        final CallbackContext callbackContext,
+        final Logger logger) {
 
+        final long invocationStartMillis = inProcessPoller.currentTimeMillis();
         final ResourceModel model = request.getDesiredResourceState();
         final CallbackContext currentContext = callbackContext == null ?
-                CallbackContext.builder()
-                        .stabilizationRetriesRemaining(CommonVariables.NUMBER_OF_STATE_POLL_RETRIES)
-                        .build()
+                CallbackContext.builder().build()
                 : callbackContext;
-        log(logger, model, "retries left: " + currentContext.getStabilizationRetriesRemaining());
-        if (currentContext.getStabilizationRetriesRemaining() <= 0) {
-            log(logger, model, "no more retries remaining");
+        if (currentContext.getStabilizationStartTimeMillis() == 0) {
+            currentContext.setStabilizationStartTimeMillis(stabilizationScheduler.currentTimeMillis());
+        }
+        log(logger, model, "stabilization attempts: " + currentContext.getStabilizationAttempts());
+        if (stabilizationScheduler.isExhausted(currentContext)) {
+            log(logger, model, "stabilization time budget exhausted");
             return ProgressEvent.<ResourceModel, CallbackContext>builder()
                     .status(OperationStatus.FAILED)
                     .errorCode(HandlerErrorCode.NotStabilized)
                     .build();
         }
         try {
-            associateWebACLExceptionWrapper(proxy, model).execute();
+            inProcessPoller.poll(invocationStartMillis,
+                    () -> associateWebACLExceptionWrapper(proxy, model).execute(), logger);
             log(logger, model, "created successfully");
             // propogate input values to make CFN happy, since these two make up the resource primary key.
             final ResourceModel result = ResourceModel.builder()
@@ -58,19 +82,29 @@ public class CreateHandler extends BaseHandler<CallbackContext> {
                     .status(OperationStatus.SUCCESS)
                     .build();
         } catch (WafUnavailableEntityException e) {
-            int retryLeft = currentContext.getStabilizationRetriesRemaining() - 1;
-            int delaySeconds = CommonVariables.CALLBACK_DELAY_SECONDS;
-            String message = String.format("WafUnavailableEntityException: %s Retryleft: %d NextDelay: %d",
-                    e.getMessage(), retryLeft, delaySeconds);
+            final int attempts = currentContext.getStabilizationAttempts() + 1;
+            final OptionalInt delaySeconds = stabilizationScheduler.nextCallbackDelaySeconds(currentContext);
+            if (!delaySeconds.isPresent()) {
+                log(logger, model, String.format("WafUnavailableEntityException: %s Attempts: %d, no time left",
+                        e.getMessage(), attempts));
+                return ProgressEvent.<ResourceModel, CallbackContext>builder()
+                        .status(OperationStatus.FAILED)
+                        .errorCode(HandlerErrorCode.NotStabilized)
+                        .message(e.getMessage())
+                        .build();
+            }
+            String message = String.format("WafUnavailableEntityException: %s Attempts: %d NextDelay: %d",
+                    e.getMessage(), attempts, delaySeconds.getAsInt());
             log(logger, model, message);
             // WebACL still being sequenced
             return ProgressEvent.<ResourceModel, CallbackContext>builder()
                     .resourceModel(model)
                     .status(OperationStatus.IN_PROGRESS)
                     .callbackContext(CallbackContext.builder()
-                            .stabilizationRetriesRemaining(retryLeft)
+                            .stabilizationAttempts(attempts)
+                            .stabilizationStartTimeMillis(currentContext.getStabilizationStartTimeMillis())
                             .build())
-                    .callbackDelaySeconds(delaySeconds)
+                    .callbackDelaySeconds(delaySeconds.getAsInt())
                     .build();
         } catch (RuntimeException e) {
             log(logger, model, String.format("[%s]: %s",  e.getClass().getSimpleName(), e.getMessage()));
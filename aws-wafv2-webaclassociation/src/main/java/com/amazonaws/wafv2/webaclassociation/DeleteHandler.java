@@ -2,6 +2,7 @@ package com.amazonaws.wafv2.webaclassociation;
 
 import com.amazonaws.wafv2.commons.CustomerAPIClientBuilder;
 import com.amazonaws.wafv2.commons.ExceptionTranslationWrapper;
+import com.amazonaws.wafv2.commons.HandlerMetrics;
 import lombok.RequiredArgsConstructor;
 import org.apache.commons.lang3.StringUtils;
 import software.amazon.awssdk.services.wafv2.Wafv2Client;
@@ -25,6 +26,7 @@ public class DeleteHandler extends BaseHandler<CallbackContext> {
 
     public DeleteHandler() {
         this.client = CustomerAPIClientBuilder.getClient();
+        Warmup.warmup();
     }
 
     @Override
@@ -33,6 +35,15 @@ public class DeleteHandler extends BaseHandler<CallbackContext> {
             final ResourceHandlerRequest<ResourceModel> request,
             final CallbackContext callbackContext,
             final Logger logger) {
+        return HandlerMetrics.record(ResourceModel.TYPE_NAME, "Delete", request.getAwsAccountId(), logger,
+                () -> handle(proxy, request, callbackContext, logger));
+    }
+
+    private ProgressEvent<ResourceModel, CallbackContext> handle(
+            final AmazonWebServicesClientProxy proxy,
+            final ResourceHandlerRequest<ResourceModel> request,
+            final CallbackContext callbackContext,
+            final Logger logger) {
 
         final ResourceModel model = request.getDesiredResourceState();
         log(logger, model, "invoked");
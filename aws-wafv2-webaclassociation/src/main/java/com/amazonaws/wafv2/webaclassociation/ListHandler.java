@@ -0,0 +1,146 @@
+package com.amazonaws.wafv2.webaclassociation;
+
+import com.amazonaws.wafv2.commons.BoundedParallelMapper;
+import com.amazonaws.wafv2.commons.CustomerAPIClientBuilder;
+import com.amazonaws.wafv2.commons.ExceptionTranslationWrapper;
+import com.amazonaws.wafv2.commons.HandlerExecutors;
+import com.amazonaws.wafv2.commons.HandlerMetrics;
+import lombok.RequiredArgsConstructor;
+import org.apache.commons.lang3.StringUtils;
+import software.amazon.awssdk.services.wafv2.Wafv2Client;
+import software.amazon.awssdk.services.wafv2.model.ListResourcesForWebAclRequest;
+import software.amazon.awssdk.services.wafv2.model.ListResourcesForWebAclResponse;
+import software.amazon.awssdk.services.wafv2.model.ResourceType;
+import software.amazon.awssdk.services.wafv2.model.WafInvalidParameterException;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+@RequiredArgsConstructor
+public class ListHandler extends BaseHandler<CallbackContext> {
+
+    // every resource type a web ACL can be associated with, listed one call each
+    private static final List<ResourceType> RESOURCE_TYPES = Arrays.stream(ResourceType.values())
+            .filter(resourceType -> resourceType != ResourceType.UNKNOWN_TO_SDK_VERSION)
+            .collect(Collectors.toList());
+    // only REGIONAL web ACLs are associated through WAF, CLOUDFRONT ones are associated through the distributions
+    private static final Pattern REGIONAL_WEB_ACL_ARN =
+            Pattern.compile("arn:[^:]+:wafv2:[^:]+:[^:]+:regional/webacl/[^/]+/[^/]+");
+
+    private final Wafv2Client client;
+
+    public ListHandler() {
+        this.client = CustomerAPIClientBuilder.getClient();
+        Warmup.warmup();
+    }
+
+    @Override
+    public ProgressEvent<ResourceModel, CallbackContext> handleRequest(
+            final AmazonWebServicesClientProxy proxy,
+            final ResourceHandlerRequest<ResourceModel> request,
+            final CallbackContext callbackContext,
+            final Logger logger) {
+        return HandlerMetrics.record(ResourceModel.TYPE_NAME, "List", request.getAwsAccountId(), logger,
+                () -> handle(proxy, request, callbackContext, logger));
+    }
+
+    private ProgressEvent<ResourceModel, CallbackContext> handle(
+            final AmazonWebServicesClientProxy proxy,
+            final ResourceHandlerRequest<ResourceModel> request,
+            final CallbackContext callbackContext,
+            final Logger logger) {
+
+        final ResourceModel model = request.getDesiredResourceState();
+        final String webACLArn = model == null ? null : model.getWebACLArn();
+        if (StringUtils.isEmpty(webACLArn)) {
+            return ProgressEvent.<ResourceModel, CallbackContext>builder()
+                    .status(OperationStatus.FAILED)
+                    .errorCode(HandlerErrorCode.InvalidRequest)
+                    .message("WebACLArn is required to list web ACL associations")
+                    .build();
+        }
+        if (!REGIONAL_WEB_ACL_ARN.matcher(webACLArn).matches()) {
+            return ProgressEvent.<ResourceModel, CallbackContext>builder()
+                    .status(OperationStatus.FAILED)
+                    .errorCode(HandlerErrorCode.InvalidRequest)
+                    .message(String.format("WebACLArn %s is not the ARN of a REGIONAL web ACL", webACLArn))
+                    .build();
+        }
+        try {
+            // the resource types are listed in parallel and merged in resource type order
+            final List<List<String>> resourceArns = BoundedParallelMapper.map(RESOURCE_TYPES,
+                    resourceType -> listResourceArns(proxy, webACLArn, resourceType, logger),
+                    RESOURCE_TYPES.size(),
+                    HandlerExecutors.shared());
+            if (resourceArns.stream().allMatch(Objects::isNull)) {
+                return ProgressEvent.<ResourceModel, CallbackContext>builder()
+                        .status(OperationStatus.FAILED)
+                        .errorCode(HandlerErrorCode.InvalidRequest)
+                        .message(String.format("WebACLArn %s was rejected for every resource type", webACLArn))
+                        .build();
+            }
+            final List<ResourceModel> models = resourceArns.stream()
+                    .filter(Objects::nonNull)
+                    .flatMap(List::stream)
+                    .map(resourceArn -> ResourceModel.builder()
+                            .resourceArn(resourceArn)
+                            .webACLArn(webACLArn)
+                            .build())
+                    .collect(Collectors.toList());
+            return ProgressEvent.<ResourceModel, CallbackContext>builder()
+                    .resourceModels(models)
+                    .status(OperationStatus.SUCCESS)
+                    .build();
+        } catch (RuntimeException e) {
+            logger.log(String.format("ListHandler - webACL arn: %s message: [%s]: %s",
+                    webACLArn, e.getClass().getSimpleName(), e.getMessage()));
+            return ProgressEvent.<ResourceModel, CallbackContext>builder()
+                    .status(OperationStatus.FAILED)
+                    .errorCode(ExceptionTranslationWrapper.translateExceptionIntoErrorCode(e))
+                    .message(e.getMessage())
+                    .build();
+        }
+    }
+
+    // a resource type the region does not support is rejected as an invalid parameter and skipped, null is returned
+    // for it; the web ACL ARN itself is invalid when every resource type is rejected
+    private List<String> listResourceArns(final AmazonWebServicesClientProxy proxy,
+                                          final String webACLArn,
+                                          final ResourceType resourceType,
+                                          final Logger logger) {
+        try {
+            return listResourcesForWebACLExceptionWrapper(proxy, webACLArn, resourceType).execute().resourceArns();
+        } catch (WafInvalidParameterException e) {
+            logger.log(String.format("ListHandler - webACL arn: %s resource type %s skipped: %s",
+                    webACLArn, resourceType, e.getMessage()));
+            return null;
+        }
+    }
+
+    private ExceptionTranslationWrapper<ListResourcesForWebAclResponse> listResourcesForWebACLExceptionWrapper(
+            final AmazonWebServicesClientProxy proxy,
+            final String webACLArn,
+            final ResourceType resourceType) {
+        return new ExceptionTranslationWrapper<ListResourcesForWebAclResponse>() {
+            @Override
+            public ListResourcesForWebAclResponse doWithTranslation() throws RuntimeException {
+                final ListResourcesForWebAclRequest listResourcesForWebAclRequest =
+                        ListResourcesForWebAclRequest.builder()
+                                .webACLArn(webACLArn)
+                                .resourceType(resourceType)
+                                .build();
+                return proxy.injectCredentialsAndInvokeV2(
+                        listResourcesForWebAclRequest, client::listResourcesForWebACL);
+            }
+        };
+    }
+}
@@ -1,6 +1,7 @@
 package com.amazonaws.wafv2.webaclassociation;
 
 import com.amazonaws.wafv2.commons.CustomerAPIClientBuilder;
+import com.amazonaws.wafv2.commons.HandlerMetrics;
 import lombok.RequiredArgsConstructor;
 import software.amazon.awssdk.services.wafv2.Wafv2Client;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
@@ -16,6 +17,7 @@ public class UpdateHandler extends BaseHandler<CallbackContext> {
 
     public UpdateHandler() {
         this.client = CustomerAPIClientBuilder.getClient();
+        Warmup.warmup();
     }
 
     @Override
@@ -24,6 +26,15 @@ public class UpdateHandler extends BaseHandler<CallbackContext> {
             final ResourceHandlerRequest<ResourceModel> request,
             final CallbackContext callbackContext,
             final Logger logger) {
+        return HandlerMetrics.record(ResourceModel.TYPE_NAME, "Update", request.getAwsAccountId(), logger,
+                () -> handle(proxy, request, callbackContext, logger));
+    }
+
+    private ProgressEvent<ResourceModel, CallbackContext> handle(
+            final AmazonWebServicesClientProxy proxy,
+            final ResourceHandlerRequest<ResourceModel> request,
+            final CallbackContext callbackContext,
+            final Logger logger) {
         final ResourceModel model = request.getDesiredResourceState();
         log(logger, model, "updated successfully");
         // propogate input values to make CFN happy, since these two make up the resource primary key.
@@ -0,0 +1,28 @@
+package com.amazonaws.wafv2.webaclassociation;
+
+import com.amazonaws.wafv2.commons.HandlerWarmup;
+import software.amazon.awssdk.services.wafv2.model.AssociateWebAclRequest;
+import software.amazon.awssdk.services.wafv2.model.GetWebAclForResourceRequest;
+
+/**
+ * Loads the resource schema and SDK model classes ahead of the first request.
+ */
+public final class Warmup {
+
+    private Warmup() {
+    }
+
+    /**
+     * Warms up the module, only the first call in a container does any work.
+     */
+    public static void warmup() {
+        HandlerWarmup.runOnce(Warmup.class, Warmup::run);
+    }
+
+    private static void run() {
+        new Configuration().resourceSchemaJSONObject();
+
+        AssociateWebAclRequest.builder().resourceArn("warmup").webACLArn("warmup").build();
+        GetWebAclForResourceRequest.builder().resourceArn("warmup").build();
+    }
+}
@@ -15,12 +15,25 @@ public class CallbackContextSerializationTest {
 
     @Test
     public void deserializeCallbackContext() throws IOException {
+        String json = "{\"stabilizationAttempts\":10, \"stabilizationStartTimeMillis\":1000}";
+
+        CallbackContext context = mapper.reader()
+                .forType(CallbackContext.class)
+                .readValue(json);
+
+        Assert.assertEquals(10, context.getStabilizationAttempts());
+        Assert.assertEquals(1000L, context.getStabilizationStartTimeMillis());
+    }
+
+    @Test
+    public void deserializeCallbackContextWithRetryCount() throws IOException {
         String json = "{\"stabilizationRetriesRemaining\":100}";
 
         CallbackContext context = mapper.reader()
                 .forType(CallbackContext.class)
                 .readValue(json);
 
-        Assert.assertEquals(100, context.getStabilizationRetriesRemaining());
+        Assert.assertEquals(0, context.getStabilizationAttempts());
+        Assert.assertEquals(0L, context.getStabilizationStartTimeMillis());
     }
 }
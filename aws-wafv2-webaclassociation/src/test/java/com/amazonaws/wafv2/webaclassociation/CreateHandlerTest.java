@@ -1,6 +1,8 @@
 package com.amazonaws.wafv2.webaclassociation;
 
 import com.amazonaws.wafv2.commons.CommonVariables;
+import com.amazonaws.wafv2.commons.ExponentialBackoffStabilizationScheduler;
+import com.amazonaws.wafv2.commons.InProcessPoller;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -21,6 +23,8 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 public class CreateHandlerTest {
 
@@ -80,7 +84,48 @@ public class CreateHandlerTest {
         Assert.assertNotNull(response);
         Assert.assertNotNull(response.getCallbackContext());
         Assert.assertEquals(OperationStatus.IN_PROGRESS, response.getStatus());
-        Assert.assertEquals(CommonVariables.CALLBACK_DELAY_SECONDS, response.getCallbackDelaySeconds());
+        Assert.assertEquals(CommonVariables.STABILIZATION_INITIAL_DELAY_SECONDS, response.getCallbackDelaySeconds());
+    }
+
+    @Test
+    public void testAssociateWebACLWithInProcessPolling() {
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(resourceModel)
+                .build();
+        final CreateHandler pollingHandler = new CreateHandler(mock(Wafv2Client.class),
+                ExponentialBackoffStabilizationScheduler.DEFAULT,
+                InProcessPoller.builder().enabled(true).initialIntervalMillis(1).maxIntervalMillis(1).build());
+
+        doThrow(WafUnavailableEntityException.builder().build())
+                .doThrow(WafUnavailableEntityException.builder().build())
+                .doReturn(AssociateWebAclResponse.builder().build())
+                .when(proxy).injectCredentialsAndInvokeV2(any(AssociateWebAclRequest.class), any());
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+                pollingHandler.handleRequest(proxy, request, null, logger);
+
+        Assert.assertNotNull(response);
+        Assert.assertEquals(OperationStatus.SUCCESS, response.getStatus());
+        Assert.assertNull(response.getCallbackContext());
+        verify(proxy, times(3)).injectCredentialsAndInvokeV2(any(AssociateWebAclRequest.class), any());
+    }
+
+    @Test
+    public void testAssociateWebACLWithInProcessPollingDeadline() {
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(resourceModel)
+                .build();
+        final CreateHandler pollingHandler = new CreateHandler(mock(Wafv2Client.class),
+                ExponentialBackoffStabilizationScheduler.DEFAULT,
+                InProcessPoller.builder().enabled(true).maxPollMillis(20).initialIntervalMillis(5).build());
+
+        doThrow(WafUnavailableEntityException.builder().build())
+                .when(proxy).injectCredentialsAndInvokeV2(any(AssociateWebAclRequest.class), any());
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+                pollingHandler.handleRequest(proxy, request, null, logger);
+
+        Assert.assertNotNull(response);
+        Assert.assertEquals(OperationStatus.IN_PROGRESS, response.getStatus());
+        Assert.assertEquals(1, response.getCallbackContext().getStabilizationAttempts());
     }
 
     @Test
@@ -89,7 +134,7 @@ public class CreateHandlerTest {
                 .desiredResourceState(resourceModel)
                 .build();
         final CallbackContext callbackContext = CallbackContext.builder()
-                .stabilizationRetriesRemaining(1)
+                .stabilizationAttempts(1)
                 .build();
 
         doReturn(AssociateWebAclResponse.builder().build()).when(proxy).injectCredentialsAndInvokeV2(any(AssociateWebAclRequest.class), any());
@@ -110,7 +155,7 @@ public class CreateHandlerTest {
                 .desiredResourceState(resourceModel)
                 .build();
         final CallbackContext callbackContext = CallbackContext.builder()
-                .stabilizationRetriesRemaining(0)
+                .stabilizationStartTimeMillis(System.currentTimeMillis() - CommonVariables.STABILIZATION_TIMEOUT_MILLIS)
                 .build();
 
         final ProgressEvent<ResourceModel, CallbackContext> response =
@@ -0,0 +1,177 @@
+package com.amazonaws.wafv2.webaclassociation;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import software.amazon.awssdk.services.wafv2.Wafv2Client;
+import software.amazon.awssdk.services.wafv2.model.ListResourcesForWebAclRequest;
+import software.amazon.awssdk.services.wafv2.model.ListResourcesForWebAclResponse;
+import software.amazon.awssdk.services.wafv2.model.ResourceType;
+import software.amazon.awssdk.services.wafv2.model.WafInternalErrorException;
+import software.amazon.awssdk.services.wafv2.model.WafInvalidParameterException;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+
+public class ListHandlerTest {
+    private static final String WEB_ACL_ARN =
+            "arn:aws:wafv2:us-west-2:123456789012:regional/webacl/name/8208f8fc-bf93-4607-9aed-81c497c9eae0";
+
+    @Mock
+    private AmazonWebServicesClientProxy proxy;
+
+    @Mock
+    private Logger logger;
+
+    private ListHandler listHandler;
+    private List<ListResourcesForWebAclRequest> listRequests;
+
+    @Before
+    public void setup() {
+        proxy = mock(AmazonWebServicesClientProxy.class);
+        logger = mock(Logger.class);
+        listHandler = new ListHandler(mock(Wafv2Client.class));
+        listRequests = Collections.synchronizedList(new ArrayList<>());
+
+        doAnswer(invocation -> {
+            final ListResourcesForWebAclRequest listRequest = invocation.getArgument(0);
+            listRequests.add(listRequest);
+            // only load balancers and API stages are associated
+            switch (listRequest.resourceType()) {
+                case APPLICATION_LOAD_BALANCER:
+                    return ListResourcesForWebAclResponse.builder()
+                            .resourceArns("albARN1", "albARN2")
+                            .build();
+                case API_GATEWAY:
+                    return ListResourcesForWebAclResponse.builder()
+                            .resourceArns("apiStageARN")
+                            .build();
+                default:
+                    return ListResourcesForWebAclResponse.builder().build();
+            }
+        }).when(proxy).injectCredentialsAndInvokeV2(any(ListResourcesForWebAclRequest.class), any());
+    }
+
+    @Test
+    public void testListAssociationsForAllResourceTypes() {
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(ResourceModel.builder().webACLArn(WEB_ACL_ARN).build())
+                .build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+                listHandler.handleRequest(proxy, request, null, logger);
+
+        Assert.assertEquals(OperationStatus.SUCCESS, response.getStatus());
+        Assert.assertEquals(3, response.getResourceModels().size());
+        Assert.assertTrue(response.getResourceModels().stream()
+                .allMatch(model -> WEB_ACL_ARN.equals(model.getWebACLArn())));
+        Assert.assertEquals(Arrays.asList("albARN1", "albARN2", "apiStageARN"), response.getResourceModels().stream()
+                .map(ResourceModel::getResourceArn)
+                .collect(Collectors.toList()));
+        Assert.assertNull(response.getNextToken());
+        Assert.assertEquals(ResourceType.knownValues(), listRequests.stream()
+                .map(ListResourcesForWebAclRequest::resourceType)
+                .collect(Collectors.toSet()));
+        Assert.assertEquals(ResourceType.knownValues().size(), listRequests.size());
+    }
+
+    @Test
+    public void testListWithoutWebACLArn() {
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(ResourceModel.builder().build())
+                .build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+                listHandler.handleRequest(proxy, request, null, logger);
+
+        Assert.assertEquals(OperationStatus.FAILED, response.getStatus());
+        Assert.assertEquals(HandlerErrorCode.InvalidRequest, response.getErrorCode());
+        Assert.assertTrue(listRequests.isEmpty());
+    }
+
+    @Test
+    public void testListFailure() {
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(ResourceModel.builder().webACLArn(WEB_ACL_ARN).build())
+                .build();
+
+        doThrow(WafInternalErrorException.builder().build())
+                .when(proxy).injectCredentialsAndInvokeV2(any(ListResourcesForWebAclRequest.class), any());
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+                listHandler.handleRequest(proxy, request, null, logger);
+
+        Assert.assertEquals(OperationStatus.FAILED, response.getStatus());
+        Assert.assertEquals(HandlerErrorCode.ServiceInternalError, response.getErrorCode());
+        Assert.assertNull(response.getResourceModels());
+    }
+
+    @Test
+    public void testUnsupportedResourceTypesAreSkipped() {
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(ResourceModel.builder().webACLArn(WEB_ACL_ARN).build())
+                .build();
+
+        doAnswer(invocation -> {
+            final ListResourcesForWebAclRequest listRequest = invocation.getArgument(0);
+            if (listRequest.resourceType() != ResourceType.APPLICATION_LOAD_BALANCER) {
+                throw WafInvalidParameterException.builder().message("unsupported resource type").build();
+            }
+            return ListResourcesForWebAclResponse.builder().resourceArns("albARN1").build();
+        }).when(proxy).injectCredentialsAndInvokeV2(any(ListResourcesForWebAclRequest.class), any());
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+                listHandler.handleRequest(proxy, request, null, logger);
+
+        Assert.assertEquals(OperationStatus.SUCCESS, response.getStatus());
+        Assert.assertEquals(Collections.singletonList("albARN1"), response.getResourceModels().stream()
+                .map(ResourceModel::getResourceArn)
+                .collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testListWithoutRegionalWebACLArn() {
+        for (final String webACLArn : Arrays.asList("webACLARN",
+                "arn:aws:wafv2:us-east-1:123456789012:global/webacl/name/8208f8fc-bf93-4607-9aed-81c497c9eae0")) {
+            final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                    .desiredResourceState(ResourceModel.builder().webACLArn(webACLArn).build())
+                    .build();
+
+            final ProgressEvent<ResourceModel, CallbackContext> response =
+                    listHandler.handleRequest(proxy, request, null, logger);
+
+            Assert.assertEquals(OperationStatus.FAILED, response.getStatus());
+            Assert.assertEquals(HandlerErrorCode.InvalidRequest, response.getErrorCode());
+        }
+        Assert.assertTrue(listRequests.isEmpty());
+    }
+
+    @Test
+    public void testEveryResourceTypeRejectedIsAnInvalidRequest() {
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(ResourceModel.builder().webACLArn(WEB_ACL_ARN).build())
+                .build();
+
+        doThrow(WafInvalidParameterException.builder().message("invalid web ACL ARN").build())
+                .when(proxy).injectCredentialsAndInvokeV2(any(ListResourcesForWebAclRequest.class), any());
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+                listHandler.handleRequest(proxy, request, null, logger);
+
+        Assert.assertEquals(OperationStatus.FAILED, response.getStatus());
+        Assert.assertEquals(HandlerErrorCode.InvalidRequest, response.getErrorCode());
+        Assert.assertNull(response.getResourceModels());
+    }
+}
@@ -43,7 +43,7 @@ public class UpdateHandlerTest {
                 .desiredResourceState(resourceModel)
                 .build();
         final CallbackContext callbackContext = CallbackContext.builder()
-                .stabilizationRetriesRemaining(1)
+                .stabilizationAttempts(1)
                 .build();
 
         final ProgressEvent<ResourceModel, CallbackContext> response =